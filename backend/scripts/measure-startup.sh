@@ -0,0 +1,38 @@
+#!/bin/sh
+# 컨테이너 시작부터 첫 WebSocket 연결 수락(HTTP 101)까지 걸린 시간을 측정합니다.
+#
+# 사용법: ./scripts/measure-startup.sh [image] [port]
+#   image : 측정할 이미지 (기본값: toychat-backend)
+#   port  : 호스트에 노출할 포트 (기본값: 8080)
+#
+# 빠른 기동 모드 비교 예시:
+#   docker build -t toychat-backend .
+#   docker build -t toychat-backend:plain --build-arg FAST_STARTUP=false .
+#   ./scripts/measure-startup.sh toychat-backend
+#   ./scripts/measure-startup.sh toychat-backend:plain
+#
+# 애플리케이션 로그의 "First WebSocket connection accepted: N ms since JVM start" 는
+# JVM 내부 기준 시간으로, 여기서 측정한 값에서 컨테이너 기동 오버헤드를 뺀 값입니다.
+
+IMAGE=${1:-toychat-backend}
+PORT=${2:-8080}
+
+start=$(date +%s%3N)
+container=$(docker run -d --rm -p "$PORT:8080" --network toy-chatting_chatting \
+    -e SPRING_PROFILES_ACTIVE=local "$IMAGE")
+
+while :; do
+    status=$(curl -s -o /dev/null -w '%{http_code}' --max-time 1 \
+        -H 'Connection: Upgrade' -H 'Upgrade: websocket' \
+        -H 'Sec-WebSocket-Version: 13' -H 'Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==' \
+        "http://localhost:$PORT/ws")
+    if [ "$status" = "101" ]; then
+        break
+    fi
+    sleep 0.05
+done
+end=$(date +%s%3N)
+
+echo "time-to-first-accepted-WebSocket-connection: $((end - start)) ms"
+docker logs "$container" 2>&1 | grep -E 'Application ready|First WebSocket connection accepted'
+docker stop "$container" > /dev/null
@@ -0,0 +1,31 @@
+package com.example.toychat;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 (test 프로파일, H2 인메모리 DB, 임의 포트).
+ * 실제 빈 구성(키 링, 폐기 목록, 리포지토리, 메트릭/트레이싱 인터셉터)을 그대로 측정합니다.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param name H2 DB 이름 (벤치마크마다 분리)
+     * @return 기동된 컨텍스트 (TearDown에서 close)
+     */
+    public static ConfigurableApplicationContext start(String name) {
+        System.setProperty("spring.devtools.restart.enabled", "false"); // jmh 클래스패스에 포함된 devtools 재시작 비활성화
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.toychat=WARN")
+                .run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.toychat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 두 JMH JSON 결과(기준, 현재)를 벤치마크 + 파라미터 단위로 비교해 탭으로 구분된 표를 출력합니다.
+ * <pre>
+ * ./gradlew jmhDiff -Pbaseline=jmh-main.json -Pcurrent=build/results/jmh/results.json
+ * </pre>
+ * change는 (현재 - 기준) / 기준 이며, 처리량(thrpt) 모드는 값이 클수록, 그 외 모드는 값이 작을수록 좋습니다.
+ * 차이가 두 결과의 오차(99.9% 신뢰구간) 합보다 작으면 significant가 false입니다.
+ */
+public final class JmhResultDiff {
+
+    private JmhResultDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JmhResultDiff <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> current = read(Path.of(args[1]));
+
+        Map<String, Boolean> keys = new TreeMap<>();
+        baseline.keySet().forEach(key -> keys.put(key, true));
+        current.keySet().forEach(key -> keys.put(key, true));
+
+        System.out.println("benchmark\tmode\tunit\tbaseline\tcurrent\tchange\tsignificant");
+        for (String key : keys.keySet()) {
+            JsonNode before = baseline.get(key);
+            JsonNode after = current.get(key);
+            JsonNode any = after != null ? after : before;
+            String mode = any.path("mode").asText();
+            String unit = any.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null || after == null) {
+                System.out.printf("%s\t%s\t%s\t%s\t%s\t\t%n", key, mode, unit, score(before), score(after));
+                continue;
+            }
+            double b = before.path("primaryMetric").path("score").asDouble();
+            double a = after.path("primaryMetric").path("score").asDouble();
+            double error = errorOf(before) + errorOf(after);
+            double change = b != 0 ? (a - b) / b : 0;
+            System.out.printf("%s\t%s\t%s\t%.3f\t%.3f\t%+.1f%%\t%b%n", key, mode, unit, b, a, change * 100, Math.abs(a - b) > error);
+        }
+    }
+
+    // "벤치마크 이름{param=value,...}" → 결과
+    private static Map<String, JsonNode> read(Path path) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(path.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText().replace("com.example.toychat.", ""));
+            JsonNode params = result.path("params");
+            if (params.size() > 0) {
+                key.append('{');
+                Iterator<Map.Entry<String, JsonNode>> it = params.fields();
+                while (it.hasNext()) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (it.hasNext()) {
+                        key.append(',');
+                    }
+                }
+                key.append('}');
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String score(JsonNode result) {
+        return result != null ? String.format("%.3f", result.path("primaryMetric").path("score").asDouble()) : "-";
+    }
+
+    private static double errorOf(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.toychat.controller;
+
+import com.example.toychat.dto.response.MessageResponseDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /topic/public/{id} 브로드캐스트 한 번의 STOMP 프레임 인코딩 비용.
+ * 응답 DTO를 JSON으로 한 번 변환한 뒤, 구독자마다 StompSubProtocolHandler처럼 MESSAGE 헤더(subscription, message-id)를 만들어 프레임으로 인코딩합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class StompBroadcastEncodingBenchmark {
+
+    private static final String DESTINATION = "/topic/public/1";
+
+    @Param({"1", "50"})
+    public int subscribers;
+
+    private final StompEncoder encoder = new StompEncoder();
+
+    private ObjectMapper objectMapper;
+
+    private MessageResponseDTO message;
+
+    private String[] subscriptionIds;
+
+    private long messageId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        message = new MessageResponseDTO(1L, "bench-user", 1L, "안녕하세요, 벤치마크 메시지입니다. hello benchmark", LocalDateTime.of(2024, 10, 1, 12, 0), 1L, 0);
+        subscriptionIds = new String[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            subscriptionIds[i] = "sub-" + i;
+        }
+    }
+
+    @Benchmark
+    public void broadcast(Blackhole blackhole) throws Exception {
+        byte[] payload = objectMapper.writeValueAsBytes(message);
+        for (String subscriptionId : subscriptionIds) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setDestination(DESTINATION);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setMessageId(Long.toString(messageId++));
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            blackhole.consume(encoder.encode(accessor.getMessageHeaders(), payload));
+        }
+    }
+}
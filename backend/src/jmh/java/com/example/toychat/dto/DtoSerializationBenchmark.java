@@ -0,0 +1,85 @@
+package com.example.toychat.dto;
+
+import com.example.toychat.dto.response.ChatRoomListResponseDTO;
+import com.example.toychat.dto.response.MessageResponseDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 DTO JSON 직렬화 비용.
+ * 브로드캐스트 메시지(MessageResponseDTO 하나, 메시지 목록)와 채팅방 목록(ChatRoomListResponseDTO)을
+ * Spring Boot와 같은 설정의 ObjectMapper로 byte[]에 씁니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 10, 1, 12, 0);
+
+    private ObjectMapper objectMapper;
+
+    private MessageResponseDTO message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); // JavaTimeModule 등록, WRITE_DATES_AS_TIMESTAMPS 비활성화
+        message = new MessageResponseDTO(1L, "bench-user", 1L, "안녕하세요, 벤치마크 메시지입니다. hello benchmark", NOW, 1L, 0);
+    }
+
+    /**
+     * 목록 응답 (메시지 목록 조회, 채팅방 목록 조회)
+     */
+    @State(Scope.Benchmark)
+    public static class Lists {
+
+        @Param({"10", "100"})
+        public int listSize;
+
+        private List<MessageResponseDTO> messages;
+
+        private List<ChatRoomListResponseDTO> chatRooms;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            messages = new ArrayList<>();
+            chatRooms = new ArrayList<>();
+            for (int i = 0; i < listSize; i++) {
+                messages.add(new MessageResponseDTO((long) i, "user-" + (i % 7), (long) (i % 7), "message content #" + i, NOW.plusSeconds(i), (long) i + 1, 0));
+                chatRooms.add(new ChatRoomListResponseDTO((long) i, (long) (i % 7), "채팅방 " + i, 10, i % 3 == 0, i % 10));
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] messageResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] messageResponseList(Lists lists) throws Exception {
+        return objectMapper.writeValueAsBytes(lists.messages);
+    }
+
+    @Benchmark
+    public byte[] chatRoomList(Lists lists) throws Exception {
+        return objectMapper.writeValueAsBytes(lists.chatRooms);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.toychat.security;
+
+import com.example.toychat.BenchmarkContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil 토큰 발급/파싱 비용 (HS256 서명 + kid 키 선택 + 폐기 목록 확인).
+ * extractUsername은 JwtFilter와 STOMP 메시지 전송마다, validateToken은 토큰을 두 번 파싱합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String USERNAME = "bench-user";
+
+    private ConfigurableApplicationContext context;
+
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("jwt-bench");
+        jwtUtil = context.getBean(JwtUtil.class);
+        token = jwtUtil.generateToken(USERNAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, USERNAME);
+    }
+}
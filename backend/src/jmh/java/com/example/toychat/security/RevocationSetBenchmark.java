@@ -0,0 +1,87 @@
+package com.example.toychat.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtFilter 경로의 토큰 폐기 확인 비용.
+ * revoked 개의 토큰이 폐기된 상태에서 폐기되지 않은 토큰(대부분의 요청)과 폐기된 토큰을 확인하며,
+ * 정확한 집합(ConcurrentHashMap)만 사용하는 경우와 비교합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RevocationSetBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"1000", "100000"})
+    public int revoked;
+
+    private RevocationSet revocationSet;
+
+    private Map<String, Long> exactOnly;
+
+    private String[] liveTokenIds;
+
+    private String[] revokedTokenIds;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + TimeUnit.MINUTES.toMillis(15);
+        revocationSet = new RevocationSet(10_000);
+        exactOnly = new ConcurrentHashMap<>();
+        revokedTokenIds = new String[PROBES];
+        for (int i = 0; i < revoked; i++) {
+            String jti = UUID.randomUUID().toString();
+            revocationSet.add(RevocationSet.TOKEN, jti, now, expiresAt);
+            exactOnly.put(jti, expiresAt);
+            if (i < PROBES) {
+                revokedTokenIds[i] = jti;
+            }
+        }
+        for (int i = revoked; i < PROBES; i++) {
+            revokedTokenIds[i] = revokedTokenIds[i % revoked];
+        }
+        revocationSet.add(RevocationSet.SUBJECT, "deleted-user", now, expiresAt);
+
+        liveTokenIds = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            liveTokenIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean liveToken() {
+        return revocationSet.isRevoked(liveTokenIds[next()], "user", 0L);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return revocationSet.isRevoked(revokedTokenIds[next()], "user", 0L);
+    }
+
+    @Benchmark
+    public boolean liveTokenExactSetOnly() {
+        return exactOnly.containsKey(liveTokenIds[next()]) || exactOnly.containsKey("user");
+    }
+
+    private int next() {
+        return index = (index + 1) & (PROBES - 1);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.toychat.service;
+
+import com.example.toychat.BenchmarkContext;
+
+import com.example.toychat.dto.response.MessageExportDTO;
+
+import com.example.toychat.entity.ChatRoom;
+import com.example.toychat.entity.Message;
+import com.example.toychat.entity.User;
+
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.MessageRepository;
+import com.example.toychat.repository.UserRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 기록 내보내기의 메모리 사용량이 채팅방 크기와 관계없이 일정한지 확인합니다.
+ * <ul>
+ *     <li>streaming: MessageExportService.writeNdjson (전진 전용 커서 + 주기적인 영속성 컨텍스트 비우기)</li>
+ *     <li>materialized: 기존 getMessages 방식 (채팅방 전체 엔티티와 DTO 리스트를 만든 뒤 씀)</li>
+ * </ul>
+ * 실행 시간과 함께, 내보내는 동안 GC 직후 힙 사용량의 최댓값을 보조 지표 peakHeapAfterGcMb로 보고합니다.
+ * streaming은 messages가 10배가 되어도 거의 같고, materialized는 메시지 수에 비례해 늘어납니다.
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=MessageExportBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class MessageExportBenchmark {
+
+    private static final int INSERT_BATCH = 5_000;
+
+    private static final AtomicLong peakHeapAfterGc = new AtomicLong(); // 측정 구간 중 GC 직후 힙 사용량 최댓값 (bytes)
+
+    @Param({"20000", "200000"})
+    public int messages;
+
+    @Param({"streaming", "materialized"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+
+    private MessageExportService messageExportService;
+
+    private MessageRepository messageRepository;
+
+    private ChatRoomRepository chatRoomRepository;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private ObjectWriter writer;
+
+    private Long chatroomId;
+
+    private final List<Runnable> listenerRemovals = new ArrayList<>();
+
+    /**
+     * 반복마다 보고하는 보조 지표
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapCounters {
+
+        public double peakHeapAfterGcMb;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("export-bench-" + mode + "-" + messages);
+        messageExportService = context.getBean(MessageExportService.class);
+        messageRepository = context.getBean(MessageRepository.class);
+        chatRoomRepository = context.getBean(ChatRoomRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        writer = context.getBean(ObjectMapper.class).writerFor(MessageExportDTO.class);
+
+        User user = new User();
+        user.setUsername("bench-user");
+        user.setEmail("bench@example.com");
+        user.setPasswordHash("unused");
+        user = context.getBean(UserRepository.class).save(user);
+
+        ChatRoom chatRoom = new ChatRoom();
+        chatRoom.setTitle("bench");
+        chatRoom.setMaxMembers(10);
+        chatRoom.setCreator(user);
+        chatroomId = chatRoomRepository.save(chatRoom).getId();
+
+        // 메시지는 JDBC 배치로 채움
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String content = "안녕하세요, 내보내기 벤치마크 메시지입니다. export benchmark message content ".repeat(2);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long userId = user.getId();
+        for (int from = 0; from < messages; from += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = from; i < Math.min(messages, from + INSERT_BATCH); i++) {
+                rows.add(new Object[]{chatroomId, userId, (long) i + 1, content + i, now, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO Message (chatroom_id, user_id, seq, content, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)", rows);
+        }
+
+        // GC가 끝날 때마다 GC 직후 힙 사용량 기록
+        NotificationListener listener = (notification, handback) -> {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            long used = info.getGcInfo().getMemoryUsageAfterGc().values().stream().mapToLong(MemoryUsage::getUsed).sum();
+            peakHeapAfterGc.accumulateAndGet(used, Math::max);
+        };
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            NotificationEmitter emitter = (NotificationEmitter) gc;
+            emitter.addNotificationListener(listener, null, null);
+            listenerRemovals.add(() -> {
+                try {
+                    emitter.removeNotificationListener(listener);
+                } catch (Exception ignored) {
+                    // 이미 제거됨
+                }
+            });
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeak() throws InterruptedException {
+        System.gc();
+        Thread.sleep(100); // GC 알림이 처리될 때까지 대기
+        peakHeapAfterGc.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        listenerRemovals.forEach(Runnable::run);
+        context.close();
+    }
+
+    @Benchmark
+    public long export(HeapCounters counters) {
+        long count = "streaming".equals(mode)
+                ? messageExportService.writeNdjson(chatroomId, OutputStream.nullOutputStream())
+                : exportMaterialized(OutputStream.nullOutputStream());
+        System.gc(); // 마지막 GC 이후 쌓인 객체도 반영
+        counters.peakHeapAfterGcMb = peakHeapAfterGc.get() / (1024.0 * 1024.0);
+        return count;
+    }
+
+    // 변경 전 getMessages 방식: 채팅방 전체를 엔티티 리스트와 DTO 리스트로 만든 뒤 씀
+    private long exportMaterialized(OutputStream out) {
+        return readOnlyTransaction.execute(status -> {
+            ChatRoom chatRoom = chatRoomRepository.findById(chatroomId).orElseThrow();
+            List<Message> entities = messageRepository.findByChatRoomOrderByCreatedAtAsc(chatRoom);
+            List<MessageExportDTO> dtos = new ArrayList<>();
+            for (Message message : entities) {
+                dtos.add(new MessageExportDTO(message.getId(), message.getSeq(), message.getUser().getId(), message.getUser().getUsername(),
+                        message.getContent(), message.getCreatedAt(), message.getUpdatedAt(), message.getVersion()));
+            }
+            try {
+                for (MessageExportDTO dto : dtos) {
+                    out.write(writer.writeValueAsBytes(dto));
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return (long) dtos.size();
+        });
+    }
+}
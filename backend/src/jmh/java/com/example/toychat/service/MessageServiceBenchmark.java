@@ -0,0 +1,88 @@
+package com.example.toychat.service;
+
+import com.example.toychat.BenchmarkContext;
+
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.response.MessageResponseDTO;
+
+import com.example.toychat.entity.ChatRoom;
+import com.example.toychat.entity.ChatRoomMember;
+import com.example.toychat.entity.User;
+
+import com.example.toychat.repository.ChatRoomMemberRepository;
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.UserRepository;
+
+import com.example.toychat.security.JwtUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageService.sendMessage 전체 경로 (JWT 파싱, 사용자/채팅방/멤버 조회, 메시지 INSERT) 비용.
+ * H2 인메모리 DB를 사용하므로 네트워크 왕복을 뺀 애플리케이션 쪽 비용(JPA, 커넥션 풀, 계측)을 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MessageServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private MessageService messageService;
+
+    private String token;
+
+    private Long chatroomId;
+
+    private MessageSendRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("message-bench");
+        messageService = context.getBean(MessageService.class);
+
+        User user = new User();
+        user.setUsername("bench-user");
+        user.setEmail("bench@example.com");
+        user.setPasswordHash("unused");
+        user = context.getBean(UserRepository.class).save(user);
+
+        ChatRoom chatRoom = new ChatRoom();
+        chatRoom.setTitle("bench");
+        chatRoom.setMaxMembers(10);
+        chatRoom.setCreator(user);
+        chatRoom = context.getBean(ChatRoomRepository.class).save(chatRoom);
+
+        ChatRoomMember member = new ChatRoomMember();
+        member.setChatRoom(chatRoom);
+        member.setUser(user);
+        context.getBean(ChatRoomMemberRepository.class).save(member);
+
+        token = context.getBean(JwtUtil.class).generateToken(user.getUsername());
+        chatroomId = chatRoom.getId();
+        request = new MessageSendRequestDTO();
+        request.setContent("안녕하세요, 벤치마크 메시지입니다. hello benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MessageResponseDTO sendMessage() {
+        return messageService.sendMessage(token, chatroomId, request);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.toychat.timer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계층형 타이밍 휠과 ScheduledThreadPoolExecutor의 예약/취소 비용 비교.
+ * pending 개의 타이머(1시간 뒤 만료)가 이미 대기 중인 상태에서 타이머 하나를 예약하고 바로 취소합니다.
+ * <ul>
+ *     <li>*ScheduleCancel (4 스레드): 호출 스레드가 기다리는 시간. 휠은 대기열에 넣기만 하고 버킷 반영은 ticker가 나중에 하므로
+ *     휠 쪽 값은 enqueue 비용만이며 전체 비용 비교가 아닙니다.</li>
+ *     <li>*ScheduleCancelDrained (1 스레드): 전체 비용. 휠은 ticker 없이 만들어 예약과 취소 뒤마다 {@code tick()}으로
+ *     버킷 추가/제거까지 호출 스레드에서 실행하고, 실행기는 힙 추가/제거를 동기로 하므로 그대로 측정합니다.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TimerBenchmark {
+
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"10000", "1000000"})
+    public int pending;
+
+    private HierarchicalTimingWheel timingWheel;
+
+    private ScheduledThreadPoolExecutor scheduledExecutor;
+
+    private HierarchicalTimingWheel manualTimingWheel; // ticker 없음, 벤치마크 스레드가 tick()으로 진행
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        timingWheel = new HierarchicalTimingWheel("bench", 100, 512, Runnable::run);
+        scheduledExecutor = new ScheduledThreadPoolExecutor(1);
+        scheduledExecutor.setRemoveOnCancelPolicy(true);
+        manualTimingWheel = new HierarchicalTimingWheel("bench-manual", 100, 512, Runnable::run, false);
+
+        for (int i = 0; i < pending; i++) {
+            long delay = TimeUnit.HOURS.toMillis(1) + i;
+            timingWheel.schedule(NOOP, delay, TimeUnit.MILLISECONDS);
+            scheduledExecutor.schedule(NOOP, delay, TimeUnit.MILLISECONDS);
+            manualTimingWheel.schedule(NOOP, delay, TimeUnit.MILLISECONDS);
+        }
+        manualTimingWheel.tick();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timingWheel.close();
+        manualTimingWheel.close();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean timingWheelScheduleCancel() {
+        long delay = ThreadLocalRandom.current().nextLong(1_000, 600_000);
+        return timingWheel.schedule(NOOP, delay, TimeUnit.MILLISECONDS).cancel();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean scheduledExecutorScheduleCancel() {
+        long delay = ThreadLocalRandom.current().nextLong(1_000, 600_000);
+        ScheduledFuture<?> future = scheduledExecutor.schedule(NOOP, delay, TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean timingWheelScheduleCancelDrained() {
+        long delay = ThreadLocalRandom.current().nextLong(1_000, 600_000);
+        Timeout timeout = manualTimingWheel.schedule(NOOP, delay, TimeUnit.MILLISECONDS);
+        manualTimingWheel.tick(); // 버킷에 추가
+        boolean cancelled = timeout.cancel();
+        manualTimingWheel.tick(); // 버킷에서 제거
+        return cancelled;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean scheduledExecutorScheduleCancelDrained() {
+        long delay = ThreadLocalRandom.current().nextLong(1_000, 600_000);
+        ScheduledFuture<?> future = scheduledExecutor.schedule(NOOP, delay, TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+}
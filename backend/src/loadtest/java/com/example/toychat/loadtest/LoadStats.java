@@ -0,0 +1,98 @@
+package com.example.toychat.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전송-수신 지연 시간과 처리량 집계.
+ * <p>
+ * 측정 구간에 <b>예정된</b> 전송만 집계하므로 웜업 중에 보낸 메시지가 늦게 도착해도 결과에 섞이지 않습니다.
+ * 지연 시간은 실제 전송 시각이 아니라 예정 전송 시각부터 재므로 전송 스케줄러가 밀린 시간도 포함됩니다 (coordinated omission 보정).
+ * 모든 클라이언트가 같은 JVM에 있으므로 System.nanoTime()을 송신자와 수신자 사이의 시계로 씁니다.
+ */
+final class LoadStats {
+
+    private final Recorder latency = new Recorder(3); // ns, 유효 숫자 3자리
+
+    private final LongAdder sent = new LongAdder();
+
+    private final LongAdder expectedDeliveries = new LongAdder();
+
+    private final LongAdder delivered = new LongAdder();
+
+    private final LongAdder sendErrors = new LongAdder();
+
+    private final LongAdder sessionErrors = new LongAdder();
+
+    private volatile long windowStart = Long.MAX_VALUE;
+
+    private volatile long windowEnd = Long.MAX_VALUE;
+
+    void startWindow(long nanos) {
+        windowStart = nanos;
+    }
+
+    void endWindow(long nanos) {
+        windowEnd = nanos;
+    }
+
+    boolean inWindow(long scheduledNanos) {
+        return scheduledNanos >= windowStart && scheduledNanos < windowEnd;
+    }
+
+    /**
+     * @param scheduledNanos 예정 전송 시각
+     * @param roomSize       받을 세션 수 (보낸 클라이언트 포함)
+     */
+    void recordSent(long scheduledNanos, int roomSize) {
+        if (inWindow(scheduledNanos)) {
+            sent.increment();
+            expectedDeliveries.add(roomSize);
+        }
+    }
+
+    void recordDelivered(long scheduledNanos, long receivedNanos) {
+        if (inWindow(scheduledNanos)) {
+            delivered.increment();
+            latency.recordValue(Math.max(0, receivedNanos - scheduledNanos));
+        }
+    }
+
+    void recordSendError() {
+        sendErrors.increment();
+    }
+
+    void recordSessionError() {
+        sessionErrors.increment();
+    }
+
+    /**
+     * @param recycle 재사용할 이전 구간 히스토그램 (없으면 null)
+     * @return 마지막 호출 이후 기록된 지연 시간
+     */
+    Histogram intervalHistogram(Histogram recycle) {
+        return latency.getIntervalHistogram(recycle);
+    }
+
+    long sent() {
+        return sent.sum();
+    }
+
+    long expectedDeliveries() {
+        return expectedDeliveries.sum();
+    }
+
+    long delivered() {
+        return delivered.sum();
+    }
+
+    long sendErrors() {
+        return sendErrors.sum();
+    }
+
+    long sessionErrors() {
+        return sessionErrors.sum();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.toychat.loadtest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 부하 테스트 준비 단계(가입, 로그인, 채팅방 생성/참여)에 쓰는 REST 클라이언트.
+ * 가입/로그인은 IP 기준 레이트 리밋을 받고 비밀번호 해시 큐가 가득 차면 거절되므로,
+ * 429, 503 응답은 Retry-After(없으면 1초)만큼 기다렸다가 다시 시도합니다.
+ */
+final class LoadTestApi {
+
+    private static final int MAX_ATTEMPTS = 30;
+
+    private final RestClient restClient;
+
+    LoadTestApi(String baseUrl) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(new JdkClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    /**
+     * 사용자를 가입시킵니다. 이전 실행에서 이미 가입한 사용자는 그대로 사용합니다.
+     */
+    void register(String username, String email, String password) {
+        withRetry(() -> {
+            try {
+                restClient.post().uri("/api/register")
+                        .body(Map.of("username", username, "email", email, "password", password))
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (HttpClientErrorException.Forbidden e) {
+                // Username or Email already exists
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return 액세스 토큰
+     */
+    String login(String email, String password) {
+        Map<?, ?> body = withRetry(() -> restClient.post().uri("/api/login")
+                .body(Map.of("email", email, "password", password))
+                .retrieve()
+                .body(Map.class));
+        return (String) body.get("token");
+    }
+
+    /**
+     * @return 생성된 채팅방 ID
+     */
+    long createChatRoom(String token, String title, int maxMembers) {
+        Map<?, ?> body = withRetry(() -> restClient.post().uri("/api/chatrooms")
+                .header("Authorization", "Bearer " + token)
+                .body(Map.of("title", title, "max_members", maxMembers, "is_private", true))
+                .retrieve()
+                .body(Map.class));
+        return ((Number) body.get("chatroom_id")).longValue();
+    }
+
+    void joinChatRoom(String token, long chatroomId) {
+        withRetry(() -> restClient.post().uri("/api/chatrooms/join")
+                .header("Authorization", "Bearer " + token)
+                .body(Map.of("chatroom_id", chatroomId))
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    private static <T> T withRetry(Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (HttpStatusCodeException e) {
+                boolean retryable = e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS || e.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE;
+                if (!retryable || attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                String retryAfter = e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst("Retry-After") : null;
+                sleep(Duration.ofSeconds(retryAfter != null ? Long.parseLong(retryAfter) : 1));
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for rate limit", e);
+        }
+    }
+}
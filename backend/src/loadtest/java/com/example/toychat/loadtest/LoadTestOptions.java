@@ -0,0 +1,115 @@
+package com.example.toychat.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 옵션. key=value 형식의 인자로 기본값을 덮어씁니다.
+ * <pre>
+ * ./gradlew loadTest --args='clients=2000 rooms=2:30,5:40,20:30 duration=PT2M'
+ * </pre>
+ */
+final class LoadTestOptions {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("url", "http://localhost:8080");           // 백엔드 주소 (STOMP 엔드포인트는 ws://.../ws)
+        DEFAULTS.put("clients", "1000");                        // STOMP 클라이언트(= 사용자) 수
+        DEFAULTS.put("rooms", "2:30,5:40,20:30");               // 채팅방 크기 분포 (크기:클라이언트 비율)
+        DEFAULTS.put("interval", "PT1S");                       // 클라이언트별 메시지 전송 간격
+        DEFAULTS.put("warmup", "PT10S");                        // 측정에서 제외할 초기 구간
+        DEFAULTS.put("duration", "PT60S");                      // 측정 구간
+        DEFAULTS.put("drain", "PT5S");                          // 전송 중단 후 늦은 수신을 기다리는 시간
+        DEFAULTS.put("payload", "64");                          // 메시지 content 길이 (bytes)
+        DEFAULTS.put("user-prefix", "loadtest");                // 사용자 이름 접두사 (같은 접두사면 다음 실행에서 계정 재사용)
+        DEFAULTS.put("password", "loadtest-password");
+        DEFAULTS.put("setup-concurrency", "8");                 // 가입/로그인/참여/연결 동시 요청 수
+        DEFAULTS.put("sender-threads", "8");                    // 메시지 전송 스케줄러 스레드 수
+        DEFAULTS.put("output", "build/loadtest");               // 결과 저장 디렉터리
+        DEFAULTS.put("label", "");                              // 실행 비교용 라벨 (예: 브랜치 이름)
+    }
+
+    final URI baseUrl;
+
+    final int clients;
+
+    final RoomSizeDistribution rooms;
+
+    final Duration interval;
+
+    final Duration warmup;
+
+    final Duration duration;
+
+    final Duration drain;
+
+    final int payloadBytes;
+
+    final String userPrefix;
+
+    final String password;
+
+    final int setupConcurrency;
+
+    final int senderThreads;
+
+    final Path outputDir;
+
+    final String label;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.baseUrl = URI.create(stripTrailingSlash(values.get("url")));
+        this.clients = positive(values, "clients");
+        this.rooms = RoomSizeDistribution.parse(values.get("rooms"));
+        this.interval = Duration.parse(values.get("interval"));
+        this.warmup = Duration.parse(values.get("warmup"));
+        this.duration = Duration.parse(values.get("duration"));
+        this.drain = Duration.parse(values.get("drain"));
+        this.payloadBytes = positive(values, "payload");
+        this.userPrefix = values.get("user-prefix");
+        this.password = values.get("password");
+        this.setupConcurrency = positive(values, "setup-concurrency");
+        this.senderThreads = positive(values, "sender-threads");
+        this.outputDir = Path.of(values.get("output"));
+        this.label = values.get("label");
+        if (interval.isZero() || interval.isNegative() || duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("interval and duration must be positive");
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = separator > 0 ? arg.substring(0, separator) : arg;
+            if (separator <= 0 || !DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown option: " + arg + " (options: " + DEFAULTS.keySet() + ")");
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    /**
+     * @return STOMP over WebSocket 엔드포인트 주소
+     */
+    String webSocketUrl() {
+        return baseUrl.toString().replaceFirst("^http", "ws") + "/ws";
+    }
+
+    private static int positive(Map<String, String> values, String key) {
+        int value = Integer.parseInt(values.get(key));
+        if (value < 1) {
+            throw new IllegalArgumentException(key + " must be positive");
+        }
+        return value;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
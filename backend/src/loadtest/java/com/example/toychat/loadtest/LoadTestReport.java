@@ -0,0 +1,149 @@
+package com.example.toychat.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.example.toychat.loadtest.StompLoadTest.millis;
+
+/**
+ * 부하 테스트 결과 저장.
+ * <ul>
+ *     <li>summary.json: 옵션, 처리량, 전달률, 지연 시간 백분위 (ms)</li>
+ *     <li>latency.hgrm: 백분위 분포 (HdrHistogram plotter 입력 형식, ms)</li>
+ *     <li>../runs.tsv: 실행마다 한 줄씩 추가되는 요약 (실행 간 비교용)</li>
+ * </ul>
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private static final String RUNS_HEADER = "run\tclients\trooms\troom_sizes\tinterval\tsent_per_sec\tdelivered_per_sec\tdelivery_ratio\tp50_ms\tp90_ms\tp99_ms\tp999_ms\tmax_ms\terrors";
+
+    private final LoadTestOptions options;
+
+    private final String runId;
+
+    private final List<Integer> roomSizes;
+
+    private final LoadStats stats;
+
+    private final Histogram latency;
+
+    LoadTestReport(LoadTestOptions options, String runId, List<Integer> roomSizes, LoadStats stats, Histogram latency) {
+        this.options = options;
+        this.runId = runId;
+        this.roomSizes = roomSizes;
+        this.stats = stats;
+        this.latency = latency;
+    }
+
+    void write(Path runDir) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(runDir.resolve("summary.json").toFile(), summary());
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(runDir.resolve("latency.hgrm")), false, StandardCharsets.UTF_8)) {
+            latency.outputPercentileDistribution(out, 1_000_000.0); // ns → ms
+        }
+
+        Path runs = runDir.getParent().resolve("runs.tsv");
+        if (Files.notExists(runs)) {
+            Files.writeString(runs, RUNS_HEADER + "\n");
+        }
+        String row = String.join("\t", runId, String.valueOf(options.clients), String.valueOf(roomSizes.size()), options.rooms.toString(),
+                options.interval.toString(), format(sentPerSecond()), format(deliveredPerSecond()), format(deliveryRatio()),
+                format(millis(latency.getValueAtPercentile(50))), format(millis(latency.getValueAtPercentile(90))),
+                format(millis(latency.getValueAtPercentile(99))), format(millis(latency.getValueAtPercentile(99.9))),
+                format(millis(latency.getMaxValue())), String.valueOf(stats.sendErrors() + stats.sessionErrors()));
+        Files.writeString(runs, row + "\n", StandardOpenOption.APPEND);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nRun %s%n", runId);
+        out.printf("  sent:      %d msg (%.1f msg/s)%n", stats.sent(), sentPerSecond());
+        out.printf("  delivered: %d / %d (%.4f), %.1f msg/s%n", stats.delivered(), stats.expectedDeliveries(), deliveryRatio(), deliveredPerSecond());
+        out.printf("  errors:    send=%d session=%d%n", stats.sendErrors(), stats.sessionErrors());
+        for (double percentile : PERCENTILES) {
+            out.printf("  %-9s  %.2f ms%n", percentileName(percentile), millis(latency.getValueAtPercentile(percentile)));
+        }
+        out.printf("  max        %.2f ms%n", millis(latency.getMaxValue()));
+        out.printf("Results saved to %s%n", options.outputDir.resolve(runId).toAbsolutePath());
+    }
+
+    private Map<String, Object> summary() {
+        Map<Integer, Integer> roomSizeCounts = new TreeMap<>(); // 방 크기 → 방 수
+        for (int size : roomSizes) {
+            roomSizeCounts.merge(size, 1, Integer::sum);
+        }
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("url", options.baseUrl.toString());
+        config.put("clients", options.clients);
+        config.put("room_sizes", options.rooms.toString());
+        config.put("rooms", roomSizeCounts);
+        config.put("interval", options.interval.toString());
+        config.put("warmup", options.warmup.toString());
+        config.put("duration", options.duration.toString());
+        config.put("payload_bytes", options.payloadBytes);
+
+        Map<String, Object> latencyMs = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latencyMs.put(percentileName(percentile), millis(latency.getValueAtPercentile(percentile)));
+        }
+        latencyMs.put("max", millis(latency.getMaxValue()));
+        latencyMs.put("mean", latency.getMean() / 1_000_000.0);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("run", runId);
+        summary.put("label", options.label);
+        summary.put("config", config);
+        summary.put("sent", stats.sent());
+        summary.put("expected_deliveries", stats.expectedDeliveries());
+        summary.put("delivered", stats.delivered());
+        summary.put("delivery_ratio", deliveryRatio());
+        summary.put("sent_per_sec", sentPerSecond());
+        summary.put("delivered_per_sec", deliveredPerSecond());
+        summary.put("send_errors", stats.sendErrors());
+        summary.put("session_errors", stats.sessionErrors());
+        summary.put("latency_ms", latencyMs);
+        return summary;
+    }
+
+    private double sentPerSecond() {
+        return stats.sent() / seconds();
+    }
+
+    private double deliveredPerSecond() {
+        return stats.delivered() / seconds();
+    }
+
+    private double deliveryRatio() {
+        return stats.expectedDeliveries() == 0 ? 0 : (double) stats.delivered() / stats.expectedDeliveries();
+    }
+
+    private double seconds() {
+        return options.duration.toNanos() / 1e9;
+    }
+
+    // 50 → p50, 99.9 → p99.9
+    private static String percentileName(double percentile) {
+        return "p" + (percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
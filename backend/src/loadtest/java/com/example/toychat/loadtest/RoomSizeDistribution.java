@@ -0,0 +1,83 @@
+package com.example.toychat.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 채팅방 크기 분포.
+ * <p>
+ * "2:30,5:40,20:30" 은 클라이언트의 30%를 2인 방, 40%를 5인 방, 30%를 20인 방에 배치한다는 뜻입니다.
+ * 가중치는 합이 100일 필요가 없으며, 나누어떨어지지 않아 남는 클라이언트는 마지막 크기의 방을 채우고,
+ * 각 크기의 마지막 방은 정원보다 적을 수 있습니다.
+ */
+final class RoomSizeDistribution {
+
+    static final int MAX_ROOM_SIZE = 20; // ChatRoomService의 max_members 상한
+
+    private final String spec;
+
+    private final int[] sizes;
+
+    private final double[] weights;
+
+    private RoomSizeDistribution(String spec, int[] sizes, double[] weights) {
+        this.spec = spec;
+        this.sizes = sizes;
+        this.weights = weights;
+    }
+
+    static RoomSizeDistribution parse(String spec) {
+        String[] items = spec.split(",");
+        int[] sizes = new int[items.length];
+        double[] weights = new double[items.length];
+        for (int i = 0; i < items.length; i++) {
+            String[] parts = items[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid room size entry, expected size:weight: " + items[i]);
+            }
+            sizes[i] = Integer.parseInt(parts[0].trim());
+            weights[i] = Double.parseDouble(parts[1].trim());
+            if (sizes[i] < 1 || sizes[i] > MAX_ROOM_SIZE || weights[i] < 0) {
+                throw new IllegalArgumentException("Room size must be 1.." + MAX_ROOM_SIZE + " with a non-negative weight: " + items[i]);
+            }
+        }
+        return new RoomSizeDistribution(spec, sizes, weights);
+    }
+
+    /**
+     * 클라이언트 수를 채팅방별 인원 수로 나눕니다.
+     *
+     * @param clients 전체 클라이언트 수
+     * @return 채팅방별 인원 수 (합은 clients)
+     */
+    List<Integer> assign(int clients) {
+        double totalWeight = 0;
+        for (double weight : weights) {
+            totalWeight += weight;
+        }
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Room size weights must not all be zero: " + spec);
+        }
+
+        List<Integer> rooms = new ArrayList<>();
+        int assigned = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            int share = i == sizes.length - 1
+                    ? clients - assigned
+                    : (int) Math.round(clients * weights[i] / totalWeight);
+            share = Math.min(share, clients - assigned);
+            assigned += share;
+            while (share > 0) {
+                int size = Math.min(sizes[i], share);
+                rooms.add(size);
+                share -= size;
+            }
+        }
+        return rooms;
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.toychat.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 한 명의 STOMP 세션.
+ * 자기 채팅방(/topic/public/{id})을 구독하고 일정 간격으로 메시지를 보내며,
+ * 받은 메시지의 content에 담긴 예정 전송 시각으로 지연 시간을 기록합니다.
+ */
+final class StompLoadClient extends StompSessionHandlerAdapter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String MARKER = "lt:"; // content = "lt:<예정 전송 시각 ns>:<padding>"
+
+    final String username;
+
+    final String email;
+
+    String token;
+
+    long chatroomId;
+
+    int roomSize;
+
+    private final LoadStats stats;
+
+    private volatile StompSession session;
+
+    private ScheduledFuture<?> sendTask;
+
+    StompLoadClient(String username, String email, LoadStats stats) {
+        this.username = username;
+        this.email = email;
+        this.stats = stats;
+    }
+
+    CompletableFuture<StompSession> connect(WebSocketStompClient stompClient, String url) {
+        return stompClient.connectAsync(url, this).thenApply(connected -> {
+            this.session = connected;
+            connected.subscribe("/topic/public/" + chatroomId, new RoomFrameHandler());
+            return connected;
+        });
+    }
+
+    /**
+     * 첫 전송을 [0, interval) 사이의 임의 시점으로 흩뜨려 모든 클라이언트가 동시에 보내지 않도록 합니다.
+     */
+    void startSending(ScheduledExecutorService scheduler, long intervalNanos, int payloadBytes) {
+        long initialDelay = ThreadLocalRandom.current().nextLong(intervalNanos);
+        long firstSend = System.nanoTime() + initialDelay;
+        char[] padding = new char[Math.max(0, payloadBytes - 24)];
+        Arrays.fill(padding, 'x');
+        String suffix = ":" + new String(padding);
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination("/app/chat.sendMessage/" + chatroomId);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.set("Authorization", "Bearer " + token);
+
+        long[] sequence = {0};
+        sendTask = scheduler.scheduleAtFixedRate(() -> {
+            long scheduled = firstSend + sequence[0]++ * intervalNanos;
+            StompSession current = session;
+            if (current == null || !current.isConnected()) {
+                stats.recordSendError();
+                return;
+            }
+            try {
+                byte[] payload = OBJECT_MAPPER.writeValueAsBytes(new Content(MARKER + scheduled + suffix));
+                current.send(headers, payload);
+                stats.recordSent(scheduled, roomSize);
+            } catch (RuntimeException | IOException e) {
+                stats.recordSendError();
+            }
+        }, initialDelay, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void stopSending() {
+        if (sendTask != null) {
+            sendTask.cancel(false);
+        }
+    }
+
+    void disconnect() {
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+    }
+
+    /**
+     * 세션 핸들러로 오는 프레임은 ERROR 프레임 (예: 레이트 리밋 거절)
+     */
+    @Override
+    public Type getPayloadType(StompHeaders headers) {
+        return byte[].class;
+    }
+
+    @Override
+    public void handleFrame(StompHeaders headers, Object payload) {
+        stats.recordSessionError();
+    }
+
+    @Override
+    public void handleException(StompSession session, StompCommand command, StompHeaders headers, byte[] payload, Throwable exception) {
+        stats.recordSessionError();
+    }
+
+    @Override
+    public void handleTransportError(StompSession session, Throwable exception) {
+        stats.recordSessionError();
+        if (!session.isConnected()) {
+            System.err.println("Session of " + username + " closed: " + exception);
+        }
+    }
+
+    // 채팅방 브로드캐스트 수신
+    private final class RoomFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long received = System.nanoTime();
+            try {
+                String text = OBJECT_MAPPER.readTree((byte[]) payload).path("content").asText();
+                if (text.startsWith(MARKER)) {
+                    int end = text.indexOf(':', MARKER.length());
+                    stats.recordDelivered(Long.parseLong(text.substring(MARKER.length(), end)), received);
+                }
+            } catch (IOException | RuntimeException e) {
+                stats.recordSessionError();
+            }
+        }
+    }
+
+    // MessageSendRequestDTO와 같은 JSON 형태
+    private record Content(String content) {
+    }
+}
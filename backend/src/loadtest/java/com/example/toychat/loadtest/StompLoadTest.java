@@ -0,0 +1,202 @@
+package com.example.toychat.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * STOMP 부하 테스트.
+ * <p>
+ * 1. 사용자 가입/로그인, 채팅방 크기 분포에 따라 채팅방 생성/참여 (REST)
+ * 2. 클라이언트마다 WebSocket STOMP 세션을 열어 자기 채팅방 구독
+ * 3. 클라이언트마다 interval 간격으로 메시지 전송, 웜업 후 duration 동안 전송-수신 지연 시간과 처리량 측정
+ * <p>
+ * 결과는 output/&lt;시각&gt;[-라벨]/ 아래에 저장되며 (summary.json, latency.hgrm, latency.hlog),
+ * 실행마다 output/runs.tsv에 한 줄씩 추가되어 이전 실행과 비교할 수 있습니다.
+ */
+public final class StompLoadTest {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final LoadTestOptions options;
+
+    private final LoadStats stats = new LoadStats();
+
+    private final List<StompLoadClient> clients = new ArrayList<>();
+
+    private final List<Integer> roomSizes;
+
+    private StompLoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.roomSizes = options.rooms.assign(options.clients);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        new StompLoadTest(options).run();
+        System.exit(0); // WebSocket 클라이언트의 non-daemon 스레드가 남지 않도록 종료
+    }
+
+    private void run() throws Exception {
+        String runId = LocalDateTime.now().format(RUN_ID) + (options.label.isEmpty() ? "" : "-" + options.label);
+        System.out.printf("Run %s: %d clients in %d rooms (%s) against %s%n",
+                runId, options.clients, roomSizes.size(), options.rooms, options.baseUrl);
+
+        ExecutorService setupPool = Executors.newFixedThreadPool(options.setupConcurrency);
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(options.senderThreads);
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setDefaultHeartbeat(new long[]{0, 0}); // 하트비트 프레임이 측정에 섞이지 않도록 비활성화
+        try {
+            prepareUsersAndRooms(setupPool, runId);
+            connect(stompClient);
+
+            long intervalNanos = options.interval.toNanos();
+            clients.forEach(client -> client.startSending(scheduler, intervalNanos, options.payloadBytes));
+
+            Path runDir = Files.createDirectories(options.outputDir.resolve(runId));
+            Histogram total = measure(runDir);
+
+            LoadTestReport report = new LoadTestReport(options, runId, roomSizes, stats, total);
+            report.write(runDir);
+            report.print(System.out);
+        } finally {
+            clients.forEach(StompLoadClient::disconnect);
+            stompClient.stop();
+            scheduler.shutdownNow();
+            setupPool.shutdownNow();
+        }
+    }
+
+    // 가입, 로그인 후 방마다 첫 번째 클라이언트가 방을 만들고 나머지가 참여
+    private void prepareUsersAndRooms(ExecutorService setupPool, String runId) {
+        LoadTestApi api = new LoadTestApi(options.baseUrl.toString());
+        for (int i = 0; i < options.clients; i++) {
+            String username = options.userPrefix + "-" + i;
+            clients.add(new StompLoadClient(username, username + "@loadtest.example.com", stats));
+        }
+
+        long started = System.nanoTime();
+        forEachClient(setupPool, "login", client -> {
+            api.register(client.username, client.email, options.password);
+            client.token = api.login(client.email, options.password);
+        });
+
+        List<List<StompLoadClient>> rooms = new ArrayList<>();
+        int next = 0;
+        for (int size : roomSizes) {
+            rooms.add(clients.subList(next, next + size));
+            next += size;
+        }
+        List<CompletableFuture<Void>> creations = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            List<StompLoadClient> members = rooms.get(i);
+            String title = "loadtest " + runId + " #" + i;
+            creations.add(CompletableFuture.runAsync(() -> {
+                long chatroomId = api.createChatRoom(members.get(0).token, title, members.size());
+                for (StompLoadClient member : members) {
+                    member.chatroomId = chatroomId;
+                    member.roomSize = members.size();
+                    if (member != members.get(0)) {
+                        api.joinChatRoom(member.token, chatroomId);
+                    }
+                }
+            }, setupPool));
+        }
+        await("create and join rooms", creations);
+        System.out.printf("Prepared %d users and %d rooms in %d ms%n",
+                clients.size(), rooms.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // 동시에 여는 연결 수를 setup-concurrency로 제한
+    private void connect(WebSocketStompClient stompClient) throws InterruptedException {
+        long started = System.nanoTime();
+        Semaphore permits = new Semaphore(options.setupConcurrency);
+        List<CompletableFuture<Void>> connections = new ArrayList<>();
+        for (StompLoadClient client : clients) {
+            permits.acquire();
+            connections.add(client.connect(stompClient, options.webSocketUrl())
+                    .<Void>thenApply(session -> null)
+                    .whenComplete((ignored, error) -> permits.release()));
+        }
+        await("connect", connections);
+        System.out.printf("Connected %d STOMP sessions in %d ms%n",
+                clients.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // 웜업, 측정, drain 구간 동안 1초마다 구간 히스토그램을 로그에 남기고 누적
+    private Histogram measure(Path runDir) throws IOException, InterruptedException {
+        Thread.sleep(options.warmup.toMillis());
+
+        Histogram total = new Histogram(3);
+        Histogram interval = null;
+        try (PrintStream log = new PrintStream(Files.newOutputStream(runDir.resolve("latency.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            long startMillis = System.currentTimeMillis();
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.setBaseTime(startMillis);
+            writer.outputLegend();
+
+            long start = System.nanoTime();
+            long end = start + options.duration.toNanos();
+            long drainEnd = end + options.drain.toNanos();
+            stats.startWindow(start);
+            stats.endWindow(end);
+            boolean stopped = false;
+            while (System.nanoTime() < drainEnd) {
+                Thread.sleep(1000);
+                if (!stopped && System.nanoTime() >= end) {
+                    clients.forEach(StompLoadClient::stopSending); // 이후에는 늦게 도착하는 메시지만 기다림
+                    stopped = true;
+                }
+                interval = stats.intervalHistogram(interval);
+                writer.outputIntervalHistogram(interval);
+                total.add(interval);
+                System.out.printf("t=%3ds sent=%d delivered=%d/%d p50=%.2fms p99=%.2fms max=%.2fms errors=%d/%d%n",
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start),
+                        stats.sent(), stats.delivered(), stats.expectedDeliveries(),
+                        millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)), millis(interval.getMaxValue()),
+                        stats.sendErrors(), stats.sessionErrors());
+            }
+        }
+        return total;
+    }
+
+    private void forEachClient(ExecutorService pool, String step, Consumer<StompLoadClient> action) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (StompLoadClient client : clients) {
+            futures.add(CompletableFuture.runAsync(() -> action.accept(client), pool));
+        }
+        await(step, futures);
+    }
+
+    private static void await(String step, List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Load test setup failed at step: " + step, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.toychat.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 세그먼트에 저장된 메시지. 작성자 이름까지 함께 저장하므로 읽을 때 DB를 조회하지 않습니다.
+ */
+public record ArchivedMessage(long id, Long seq, long userId, String username, String content,
+                              LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+}
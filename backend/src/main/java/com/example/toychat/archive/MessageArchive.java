@@ -0,0 +1,370 @@
+package com.example.toychat.archive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 오래된 메시지의 보관 저장소 (콜드 티어).
+ * <p>
+ * 채팅방마다 디렉터리를 두고 {@link MessageSegment} 파일을 추가만 합니다. 기동 시 헤더만 읽어 채팅방별 세그먼트 목록을
+ * 메모리에 두고, 읽을 때는 요청한 ID/순번 범위와 겹치는 세그먼트만 풉니다.
+ * 같은 메시지가 여러 세그먼트에 있으면 (수정 후 다시 보관, 보관 중 중단) 버전이 가장 큰 것만 돌려줍니다.
+ * 쓰기 (추가, 채팅방/사용자 삭제)는 하나씩 실행하고, 읽기는 잠그지 않습니다 (세그먼트 목록은 통째로 교체).
+ * 읽는 도중 세그먼트 파일이 없으면 사용자 삭제로 교체된 것이므로 (목록을 먼저 바꾸고 파일을 지움) 현재 목록으로 다시 읽습니다.
+ */
+@Component
+public class MessageArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageArchive.class);
+
+    private static final Comparator<ArchivedMessage> BY_SEQ = Comparator
+            .comparing(ArchivedMessage::seq, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(ArchivedMessage::id);
+
+    @Value("${toychat.archive.dir:archive}")
+    private String directory;
+
+    private Path root;
+
+    private final Map<Long, List<MessageSegment>> segments = new ConcurrentHashMap<>(); // 채팅방 ID → 첫 메시지 ID 순 세그먼트
+
+    private final Object writeLock = new Object();
+
+    public MessageArchive(MeterRegistry meterRegistry) {
+        Gauge.builder("toychat.archive.segments", this, archive -> archive.allSegments().count())
+                .description("Message archive segment files")
+                .register(meterRegistry);
+        Gauge.builder("toychat.archive.bytes", this, archive -> archive.allSegments().mapToLong(MessageSegment::size).sum())
+                .description("Total size of message archive segment files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 보관 디렉터리의 세그먼트 헤더를 읽습니다. 쓰다가 중단된 임시 파일은 지웁니다.
+     */
+    @PostConstruct
+    public void load() throws IOException {
+        root = Paths.get(directory);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        int loaded = 0;
+        try (Stream<Path> rooms = Files.list(root)) {
+            for (Path roomDirectory : rooms.filter(Files::isDirectory).toList()) {
+                List<MessageSegment> roomSegments = new ArrayList<>();
+                try (Stream<Path> files = Files.list(roomDirectory)) {
+                    for (Path file : files.toList()) {
+                        String name = file.getFileName().toString();
+                        if (name.endsWith(MessageSegment.SUFFIX + ".tmp")) {
+                            Files.deleteIfExists(file);
+                        } else if (name.endsWith(MessageSegment.SUFFIX)) {
+                            roomSegments.add(MessageSegment.open(file));
+                        }
+                    }
+                }
+                if (!roomSegments.isEmpty()) {
+                    roomSegments.sort(Comparator.comparingLong(MessageSegment::firstId));
+                    segments.put(roomSegments.get(0).chatroomId(), List.copyOf(roomSegments));
+                    loaded += roomSegments.size();
+                }
+            }
+        }
+        logger.info("Message archive loaded: {} segments of {} chatting rooms from {}", loaded, segments.size(), root.toAbsolutePath());
+    }
+
+    /**
+     * 메시지를 새 세그먼트로 보관합니다. 반환되면 파일이 디스크에 기록되어 있습니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @param messages   보관할 메시지
+     */
+    public void append(Long chatroomId, List<ArchivedMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<ArchivedMessage> sorted = messages.stream().sorted(Comparator.comparingLong(ArchivedMessage::id)).toList();
+        synchronized (writeLock) {
+            try {
+                MessageSegment segment = MessageSegment.write(roomDirectory(chatroomId), chatroomId, sorted);
+                replace(chatroomId, List.of(), List.of(segment));
+                logger.debug("Archived {} messages of chatting room {} to {}", sorted.size(), chatroomId, segment.path());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return 채팅방에 보관된 메시지가 있는지
+     */
+    public boolean contains(Long chatroomId) {
+        return segments.containsKey(chatroomId);
+    }
+
+    /**
+     * 채팅방에 보관된 모든 메시지를 순번 순으로 읽습니다.
+     */
+    public List<ArchivedMessage> read(Long chatroomId) {
+        return sortedBySeq(load(chatroomId, segment -> true, message -> true));
+    }
+
+    /**
+     * 채팅방에 보관된 메시지를 ID 순으로 세그먼트 단위로 읽습니다. 반복하면서 세그먼트를 하나씩 풀므로
+     * 채팅방 크기와 관계없이 힙 사용량이 세그먼트 하나 크기로 일정합니다 (ID 범위가 겹치는 세그먼트는 함께 풀어 중복을 없앰).
+     *
+     * @param chatroomId 채팅방 ID
+     * @return ID 오름차순의 메시지 묶음
+     */
+    public Iterable<List<ArchivedMessage>> segments(Long chatroomId) {
+        List<List<MessageSegment>> groups = new ArrayList<>();
+        long groupLastId = Long.MIN_VALUE;
+        for (MessageSegment segment : segments.getOrDefault(chatroomId, List.of())) { // 첫 메시지 ID 순
+            if (groups.isEmpty() || segment.firstId() > groupLastId) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(groups.size() - 1).add(segment);
+            groupLastId = Math.max(groupLastId, segment.lastId());
+        }
+        return () -> groups.stream().map(group -> readGroup(chatroomId, group)).filter(messages -> !messages.isEmpty()).iterator();
+    }
+
+    /**
+     * 채팅방에 보관된 메시지 중 순번 구간 [fromSeq, toSeq]의 메시지를 순번 순으로 읽습니다.
+     */
+    public List<ArchivedMessage> readSeqRange(Long chatroomId, long fromSeq, long toSeq) {
+        return sortedBySeq(load(chatroomId, segment -> segment.overlapsSeq(fromSeq, toSeq),
+                message -> message.seq() != null && message.seq() >= fromSeq && message.seq() <= toSeq));
+    }
+
+    /**
+     * 채팅방에 보관된 메시지 중 순번이 가장 큰 limit개를 순번 순으로 읽습니다. 최근 세그먼트부터 필요한 만큼만 풉니다.
+     */
+    public List<ArchivedMessage> readLatest(Long chatroomId, int limit) {
+        return readConsistently(chatroomId, snapshot -> readLatest(snapshot, limit));
+    }
+
+    private static List<ArchivedMessage> readLatest(List<MessageSegment> snapshot, int limit) {
+        List<MessageSegment> roomSegments = new ArrayList<>(snapshot);
+        roomSegments.sort(Comparator.comparingLong(MessageSegment::maxSeq).reversed());
+        Map<Long, ArchivedMessage> found = new HashMap<>();
+        long floorSeq = Long.MIN_VALUE; // 모은 메시지 중 limit번째로 큰 순번
+        for (MessageSegment segment : roomSegments) {
+            if (found.size() >= limit && segment.maxSeq() < floorSeq) {
+                break; // 남은 세그먼트에는 더 큰 순번이 없음
+            }
+            readInto(segment, message -> true, found);
+            List<ArchivedMessage> sorted = sortedBySeq(found);
+            if (sorted.size() >= limit) {
+                Long seq = sorted.get(sorted.size() - limit).seq();
+                floorSeq = seq == null ? Long.MIN_VALUE : seq;
+            }
+        }
+        List<ArchivedMessage> sorted = sortedBySeq(found);
+        return sorted.subList(Math.max(0, sorted.size() - limit), sorted.size());
+    }
+
+    /**
+     * 채팅방에 보관된 메시지 중 주어진 ID의 메시지를 찾습니다.
+     *
+     * @return 메시지 ID → 메시지
+     */
+    public Map<Long, ArchivedMessage> findByIds(Long chatroomId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> wanted = new HashSet<>(ids);
+        long fromId = ids.stream().mapToLong(Long::longValue).min().orElseThrow();
+        long toId = ids.stream().mapToLong(Long::longValue).max().orElseThrow();
+        return load(chatroomId, segment -> segment.overlapsIds(fromId, toId), message -> wanted.contains(message.id()));
+    }
+
+    /**
+     * @return 채팅방에 보관된 메시지의 가장 큰 순번 (없으면 0)
+     */
+    public long maxSeq(Long chatroomId) {
+        return segments.getOrDefault(chatroomId, List.of()).stream().mapToLong(MessageSegment::maxSeq).max().orElse(0);
+    }
+
+    /**
+     * 채팅방의 보관 메시지를 모두 삭제합니다.
+     */
+    public void removeChatRoom(Long chatroomId) {
+        synchronized (writeLock) {
+            List<MessageSegment> removed = segments.remove(chatroomId);
+            try {
+                Path roomDirectory = roomDirectory(chatroomId);
+                if (Files.isDirectory(roomDirectory)) {
+                    try (Stream<Path> files = Files.list(roomDirectory)) {
+                        for (Path file : files.toList()) {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                    Files.deleteIfExists(roomDirectory);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (removed != null) {
+                logger.info("Removed {} archive segments of chatting room {}", removed.size(), chatroomId);
+            }
+        }
+    }
+
+    /**
+     * 사용자가 작성한 보관 메시지를 삭제합니다. 해당 메시지가 있는 세그먼트는 나머지 메시지로 새로 쓴 뒤 기존 파일을 지웁니다.
+     * 헤더의 작성자 목록에 사용자가 없는 세그먼트는 풀지 않으므로, 비용은 사용자가 쓴 메시지가 있는 세그먼트 수에 비례합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 삭제한 메시지 ID
+     */
+    public List<Long> removeUser(Long userId) {
+        List<Long> removedIds = new ArrayList<>();
+        synchronized (writeLock) {
+            for (Long chatroomId : List.copyOf(segments.keySet())) {
+                for (MessageSegment segment : segments.getOrDefault(chatroomId, List.of())) {
+                    if (!segment.mayContainAuthor(userId)) {
+                        continue; // 헤더의 작성자 목록에 없음 (압축을 풀지 않음)
+                    }
+                    try {
+                        List<ArchivedMessage> messages = segment.readOnce();
+                        List<ArchivedMessage> kept = messages.stream().filter(message -> message.userId() != userId).toList();
+                        if (kept.size() == messages.size()) {
+                            continue;
+                        }
+                        messages.stream().filter(message -> message.userId() == userId).forEach(message -> removedIds.add(message.id()));
+                        List<MessageSegment> added = kept.isEmpty() ? List.of()
+                                : List.of(MessageSegment.write(roomDirectory(chatroomId), chatroomId, kept));
+                        replace(chatroomId, List.of(segment), added);
+                        Files.deleteIfExists(segment.path());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+        }
+        if (!removedIds.isEmpty()) {
+            logger.info("Removed {} archived messages of user {}", removedIds.size(), userId);
+        }
+        return removedIds;
+    }
+
+    private Stream<MessageSegment> allSegments() {
+        return segments.values().stream().flatMap(List::stream);
+    }
+
+    private Path roomDirectory(Long chatroomId) {
+        return root.resolve(String.valueOf(chatroomId));
+    }
+
+    // writeLock 안에서 호출
+    private void replace(Long chatroomId, List<MessageSegment> removed, List<MessageSegment> added) {
+        List<MessageSegment> next = new ArrayList<>(segments.getOrDefault(chatroomId, List.of()));
+        next.removeAll(removed);
+        next.addAll(added);
+        next.sort(Comparator.comparingLong(MessageSegment::firstId));
+        if (next.isEmpty()) {
+            segments.remove(chatroomId);
+        } else {
+            segments.put(chatroomId, List.copyOf(next));
+        }
+    }
+
+    private Map<Long, ArchivedMessage> load(Long chatroomId, Predicate<MessageSegment> segmentFilter, Predicate<ArchivedMessage> messageFilter) {
+        return readConsistently(chatroomId, snapshot -> {
+            Map<Long, ArchivedMessage> found = new HashMap<>();
+            for (MessageSegment segment : snapshot) {
+                if (segmentFilter.test(segment)) {
+                    readInto(segment, messageFilter, found);
+                }
+            }
+            return found;
+        });
+    }
+
+    // 채팅방의 세그먼트 목록으로 읽고, 그사이 교체되어 지워진 파일이 있으면 새 목록으로 처음부터 다시 읽음
+    private <T> T readConsistently(Long chatroomId, Function<List<MessageSegment>, T> reader) {
+        while (true) {
+            List<MessageSegment> snapshot = segments.getOrDefault(chatroomId, List.of());
+            try {
+                return reader.apply(snapshot);
+            } catch (UncheckedIOException e) {
+                if (!(e.getCause() instanceof NoSuchFileException) || segments.getOrDefault(chatroomId, List.of()) == snapshot) {
+                    throw e; // 목록에 있는 세그먼트의 파일이 없음
+                }
+                logger.debug("Archive segments of chatting room {} were replaced while reading, retrying", chatroomId);
+            }
+        }
+    }
+
+    // ID 범위가 겹치는 세그먼트 묶음을 읽음. 그사이 교체된 세그먼트가 있으면 현재 목록에서 같은 ID 범위의 세그먼트로 다시 읽음
+    private List<ArchivedMessage> readGroup(Long chatroomId, List<MessageSegment> group) {
+        long fromId = group.get(0).firstId();
+        long toId = group.stream().mapToLong(MessageSegment::lastId).max().orElseThrow();
+        List<MessageSegment> current = group;
+        while (true) {
+            Map<Long, ArchivedMessage> found = new HashMap<>();
+            try {
+                for (MessageSegment segment : current) {
+                    readInto(segment, message -> message.id() >= fromId && message.id() <= toId, found); // 다른 묶음과 겹치는 새 세그먼트의 메시지 제외
+                }
+            } catch (UncheckedIOException e) {
+                List<MessageSegment> latest = segments.getOrDefault(chatroomId, List.of());
+                if (!(e.getCause() instanceof NoSuchFileException) || latest.containsAll(current)) {
+                    throw e;
+                }
+                logger.debug("Archive segments of chatting room {} were replaced while reading, retrying ids {}-{}", chatroomId, fromId, toId);
+                current = latest.stream().filter(segment -> segment.overlapsIds(fromId, toId)).toList();
+                continue;
+            }
+            List<ArchivedMessage> sorted = new ArrayList<>(found.values());
+            sorted.sort(Comparator.comparingLong(ArchivedMessage::id));
+            return sorted;
+        }
+    }
+
+    private static void readInto(MessageSegment segment, Predicate<ArchivedMessage> filter, Map<Long, ArchivedMessage> found) {
+        try {
+            for (ArchivedMessage message : segment.read()) {
+                if (filter.test(message)) {
+                    found.merge(message.id(), message, (a, b) -> a.version() >= b.version() ? a : b);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<ArchivedMessage> sortedBySeq(Map<Long, ArchivedMessage> messages) {
+        List<ArchivedMessage> sorted = new ArrayList<>(messages.values());
+        sorted.sort(BY_SEQ);
+        return sorted;
+    }
+}
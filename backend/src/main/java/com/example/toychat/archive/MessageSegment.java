@@ -0,0 +1,359 @@
+package com.example.toychat.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * 한 채팅방의 메시지 묶음을 담은 변경 불가 세그먼트 파일.
+ * <pre>
+ * 헤더 (압축 안 함): magic, 형식 버전, 채팅방 ID, 메시지 수, 첫/마지막 메시지 ID, 최소/최대 순번, 본문 길이 (56바이트)
+ *                    작성자 수, 작성자 ID 오름차순 (형식 버전 2부터)
+ * 본문 (deflate): 메시지 ID 순으로 (id, seq, user_id, username, content, created_at, updated_at, version)
+ * </pre>
+ * 기동 시에는 헤더만 읽어 ID/순번 범위로 필요한 세그먼트를 고르고 (작성자 목록으로 사용자 삭제 대상 세그먼트도 고름), 본문은 처음 읽을 때 파일을 메모리에 매핑해
+ * 힙으로 복사하지 않고 바로 압축을 풉니다. 파일은 임시 이름으로 쓰고 fsync한 뒤 이름을 바꾸므로 반쯤 쓰인 세그먼트는 보이지 않습니다.
+ */
+public final class MessageSegment {
+
+    static final String SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x54435347; // "TCSG"
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 56; // 고정 길이 부분 (형식 버전 1은 헤더 전체)
+
+    private static final long NULL_VALUE = Long.MIN_VALUE; // seq, 시각이 null인 경우
+
+    private final Path path;
+
+    private final long chatroomId;
+
+    private final int count;
+
+    private final long firstId;
+
+    private final long lastId;
+
+    private final long minSeq;
+
+    private final long maxSeq;
+
+    private final int payloadLength;
+
+    private final long[] authors; // 작성자 ID 오름차순 (형식 버전 1 파일이면 null: 알 수 없음)
+
+    private final long payloadOffset;
+
+    private volatile MappedByteBuffer mapped; // 처음 읽을 때 매핑
+
+    private MessageSegment(Path path, long chatroomId, int count, long firstId, long lastId, long minSeq, long maxSeq, int payloadLength,
+                           long[] authors) {
+        this.path = path;
+        this.chatroomId = chatroomId;
+        this.count = count;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.minSeq = minSeq;
+        this.maxSeq = maxSeq;
+        this.payloadLength = payloadLength;
+        this.authors = authors;
+        this.payloadOffset = authors == null ? HEADER_SIZE : HEADER_SIZE + 4 + 8L * authors.length;
+    }
+
+    /**
+     * 메시지를 새 세그먼트 파일로 씁니다.
+     *
+     * @param directory  채팅방 디렉터리
+     * @param chatroomId 채팅방 ID
+     * @param messages   메시지 ID 오름차순의 메시지 (1건 이상)
+     * @return 쓴 세그먼트
+     */
+    static MessageSegment write(Path directory, long chatroomId, List<ArchivedMessage> messages) throws IOException {
+        long minSeq = NULL_VALUE;
+        long maxSeq = NULL_VALUE;
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(payload, deflater, 8192))) {
+            for (ArchivedMessage message : messages) {
+                if (message.seq() != null) {
+                    minSeq = minSeq == NULL_VALUE ? message.seq() : Math.min(minSeq, message.seq());
+                    maxSeq = Math.max(maxSeq, message.seq());
+                }
+                out.writeLong(message.id());
+                out.writeLong(message.seq() == null ? NULL_VALUE : message.seq());
+                out.writeLong(message.userId());
+                writeString(out, message.username());
+                writeString(out, message.content());
+                writeTime(out, message.createdAt());
+                writeTime(out, message.updatedAt());
+                out.writeLong(message.version());
+            }
+        } finally {
+            deflater.end();
+        }
+
+        long[] authors = messages.stream().mapToLong(ArchivedMessage::userId).distinct().sorted().toArray();
+        long firstId = messages.get(0).id();
+        long lastId = messages.get(messages.size() - 1).id();
+        Files.createDirectories(directory);
+        Path target = directory.resolve(firstId + "-" + lastId + "-" + System.currentTimeMillis() + SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + 4 + 8 * authors.length);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(chatroomId).putInt(messages.size())
+                    .putLong(firstId).putLong(lastId).putLong(minSeq).putLong(maxSeq).putInt(payload.size());
+            header.putInt(authors.length);
+            for (long author : authors) {
+                header.putLong(author);
+            }
+            out.write(header.array());
+            payload.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return new MessageSegment(target, chatroomId, messages.size(), firstId, lastId, minSeq, maxSeq, payload.size(), authors);
+    }
+
+    /**
+     * 세그먼트 파일의 헤더만 읽습니다.
+     */
+    static MessageSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, HEADER_SIZE);
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Not a message segment: " + path);
+            }
+            int formatVersion = header.getInt();
+            if (formatVersion != 1 && formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported segment format " + formatVersion + ": " + path);
+            }
+            long chatroomId = header.getLong();
+            int count = header.getInt();
+            long firstId = header.getLong();
+            long lastId = header.getLong();
+            long minSeq = header.getLong();
+            long maxSeq = header.getLong();
+            int payloadLength = header.getInt();
+            long[] authors = null;
+            if (formatVersion >= 2) {
+                ByteBuffer authorCount = readFully(channel, 4);
+                int authorsLength = authorCount.remaining() == 4 ? authorCount.getInt() : -1;
+                if (authorsLength < 0 || authorsLength > count) {
+                    throw new IOException("Truncated message segment: " + path);
+                }
+                ByteBuffer authorIds = readFully(channel, 8 * authorsLength);
+                if (authorIds.remaining() < 8 * authorsLength) {
+                    throw new IOException("Truncated message segment: " + path);
+                }
+                authors = new long[authorsLength];
+                for (int i = 0; i < authorsLength; i++) {
+                    authors[i] = authorIds.getLong();
+                }
+            }
+            MessageSegment segment = new MessageSegment(path, chatroomId, count, firstId, lastId, minSeq, maxSeq, payloadLength, authors);
+            if (channel.size() != segment.size()) {
+                throw new IOException("Truncated message segment: " + path);
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * 세그먼트의 메시지를 모두 읽습니다.
+     *
+     * @return 메시지 ID 오름차순의 메시지
+     */
+    List<ArchivedMessage> read() throws IOException {
+        return decode(map());
+    }
+
+    /**
+     * 매핑을 남기지 않고 메시지를 모두 읽습니다 (곧 교체할 세그먼트: 지운 파일의 공간이 매핑 때문에 남지 않게 함).
+     *
+     * @return 메시지 ID 오름차순의 메시지
+     */
+    List<ArchivedMessage> readOnce() throws IOException {
+        MappedByteBuffer buffer = mapped;
+        if (buffer == null) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size());
+            }
+        }
+        return decode(buffer);
+    }
+
+    private List<ArchivedMessage> decode(MappedByteBuffer buffer) throws IOException {
+        ByteBuffer body = buffer.duplicate().position((int) payloadOffset); // 스레드마다 위치를 따로 씀
+        List<ArchivedMessage> messages = new ArrayList<>(count);
+        try (DataInputStream in = new DataInputStream(new InflatingInputStream(body))) {
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                long seq = in.readLong();
+                long userId = in.readLong();
+                String username = readString(in);
+                String content = readString(in);
+                LocalDateTime createdAt = readTime(in);
+                LocalDateTime updatedAt = readTime(in);
+                long version = in.readLong();
+                messages.add(new ArchivedMessage(id, seq == NULL_VALUE ? null : seq, userId, username, content, createdAt, updatedAt, version));
+            }
+        }
+        return messages;
+    }
+
+    private MappedByteBuffer map() throws IOException {
+        MappedByteBuffer buffer = mapped;
+        if (buffer == null) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size()); // 채널을 닫아도 매핑은 유지됨
+            }
+            mapped = buffer;
+        }
+        return buffer;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long chatroomId() {
+        return chatroomId;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstId() {
+        return firstId;
+    }
+
+    long lastId() {
+        return lastId;
+    }
+
+    /**
+     * @return 최대 순번 (순번이 있는 메시지가 없으면 0)
+     */
+    long maxSeq() {
+        return maxSeq == NULL_VALUE ? 0 : maxSeq;
+    }
+
+    /**
+     * @return 사용자가 작성한 메시지가 있을 수 있는지 (작성자 목록이 없는 형식 버전 1 파일은 항상 true)
+     */
+    boolean mayContainAuthor(long userId) {
+        return authors == null || Arrays.binarySearch(authors, userId) >= 0;
+    }
+
+    boolean overlapsIds(long fromId, long toId) {
+        return firstId <= toId && lastId >= fromId;
+    }
+
+    boolean overlapsSeq(long fromSeq, long toSeq) {
+        return minSeq != NULL_VALUE && minSeq <= toSeq && maxSeq >= fromSeq;
+    }
+
+    long size() {
+        return payloadOffset + payloadLength;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // 다 읽거나 파일이 끝날 때까지
+        }
+        return buffer.flip();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8); // writeUTF는 64KB 제한이 있어 길이를 직접 씀
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time == null ? NULL_VALUE : time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time == null ? 0 : time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return seconds == NULL_VALUE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * 매핑된 버퍼에서 바로 압축을 푸는 입력 스트림
+     */
+    private static final class InflatingInputStream extends InputStream {
+
+        private final Inflater inflater = new Inflater();
+
+        private final byte[] single = new byte[1];
+
+        InflatingInputStream(ByteBuffer input) {
+            inflater.setInput(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            try {
+                int inflated;
+                while ((inflated = inflater.inflate(buffer, offset, length)) == 0) {
+                    if (inflater.finished() || inflater.needsInput()) {
+                        return -1;
+                    }
+                }
+                return inflated;
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted message segment", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            inflater.end();
+        }
+    }
+}
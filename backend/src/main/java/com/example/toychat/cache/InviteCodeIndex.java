@@ -0,0 +1,213 @@
+package com.example.toychat.cache;
+
+import com.example.toychat.entity.InviteCode;
+
+import com.example.toychat.timer.ExpiryService;
+import com.example.toychat.timer.Timeout;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 초대 코드 → 채팅방 ID 인메모리 인덱스.
+ * 코드 발급 시 인덱스에 먼저 예약하여 중복 없는 코드를 할당합니다.
+ * 만료된 코드는 {@link ExpiryService} 타이머 또는 조회 시점에 인덱스에서 제거한 뒤 DB 일괄 삭제 대기열에 넣습니다.
+ */
+@Component
+public class InviteCodeIndex {
+
+    private static final int CODE_SPACE = 1_000_000; // 6자리 코드 공간
+
+    private static final int MAX_ALLOCATION_ATTEMPTS = 100;
+
+    @Autowired
+    private ExpiryService expiryService; // 만료 타이머
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final Map<String, Entry> byCode = new ConcurrentHashMap<>(); // 초대 코드 → 채팅방/만료 일시
+
+    private final Map<Long, String> byChatRoom = new ConcurrentHashMap<>(); // 채팅방 ID → 초대 코드
+
+    private final Queue<String> expiredCodes = new ConcurrentLinkedQueue<>(); // DB 일괄 삭제 대기 중인 만료 코드
+
+    private volatile Runnable expiredListener = () -> { }; // 만료 코드가 대기열에 추가될 때 호출
+
+    /**
+     * 인덱스에 등록된 초대 코드 정보
+     */
+    private static final class Entry {
+
+        private final Long chatroomId;
+
+        private final LocalDateTime expirationDate;
+
+        private volatile Timeout expiryTimer; // 만료 시각에 인덱스에서 제거하는 타이머
+
+        private Entry(Long chatroomId, LocalDateTime expirationDate) {
+            this.chatroomId = chatroomId;
+            this.expirationDate = expirationDate;
+        }
+
+        boolean isExpired(LocalDateTime now) {
+            return expirationDate.isBefore(now);
+        }
+
+        void cancelTimer() {
+            Timeout timer = expiryTimer;
+            if (timer != null) {
+                timer.cancel();
+            }
+        }
+    }
+
+    /**
+     * 사용 중이지 않은 6자리 코드를 할당하고 인덱스에 예약합니다.
+     * 예약된 코드는 DB 저장 후 {@link #register}로 확정하거나, 실패 시 {@link #release}로 반환해야 합니다.
+     *
+     * @param chatroomId     채팅방 ID
+     * @param expirationDate 만료 일시
+     * @return 할당된 초대 코드
+     * @throws IllegalStateException 사용 가능한 코드를 찾지 못한 경우
+     */
+    public String allocate(Long chatroomId, LocalDateTime expirationDate) {
+        Entry entry = new Entry(chatroomId, expirationDate);
+        for (int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS; attempt++) {
+            String code = String.format("%06d", random.nextInt(CODE_SPACE));
+            if (byCode.putIfAbsent(code, entry) == null) {
+                byChatRoom.put(chatroomId, code);
+                return code;
+            }
+        }
+        throw new IllegalStateException("No invite code available");
+    }
+
+    /**
+     * DB에 저장된 초대 코드를 인덱스에 등록합니다.
+     *
+     * @param inviteCode 초대 코드 엔티티
+     */
+    public void register(InviteCode inviteCode) {
+        String code = inviteCode.getInviteCode();
+        Long chatroomId = inviteCode.getChatRoom().getId();
+        Entry entry = new Entry(chatroomId, inviteCode.getExpirationDate());
+
+        Entry previous = byCode.put(code, entry);
+        if (previous != null) {
+            previous.cancelTimer();
+        }
+        byChatRoom.put(chatroomId, code);
+        entry.expiryTimer = expiryService.scheduleAt(() -> {
+            if (evict(code, entry)) {
+                expiredListener.run();
+            }
+        }, entry.expirationDate);
+    }
+
+    /**
+     * 예약했지만 저장하지 못한 코드를 반환합니다.
+     *
+     * @param code 초대 코드
+     */
+    public void release(String code) {
+        Entry entry = byCode.remove(code);
+        if (entry != null) {
+            entry.cancelTimer();
+            byChatRoom.remove(entry.chatroomId, code);
+        }
+    }
+
+    /**
+     * 초대 코드로 채팅방 ID를 조회합니다. 만료된 코드는 인덱스에서 제거하고 DB 삭제 대기열에 넣습니다.
+     *
+     * @param code 초대 코드
+     * @return 유효한 코드인 경우 채팅방 ID
+     */
+    public Optional<Long> resolve(String code) {
+        Entry entry = byCode.get(code);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(LocalDateTime.now())) {
+            // 타이머보다 조회가 먼저 도착한 경우
+            if (evict(code, entry)) {
+                expiredListener.run();
+            }
+            return Optional.empty();
+        }
+        return Optional.of(entry.chatroomId);
+    }
+
+    /**
+     * 채팅방 삭제 시 해당 채팅방의 코드를 인덱스에서 제거합니다. (DB 행은 cascade로 삭제됨)
+     *
+     * @param chatroomId 채팅방 ID
+     */
+    public void evictChatRoom(Long chatroomId) {
+        String code = byChatRoom.remove(chatroomId);
+        if (code != null) {
+            Entry entry = byCode.remove(code);
+            if (entry != null) {
+                entry.cancelTimer();
+            }
+        }
+    }
+
+    /**
+     * 만료 코드가 DB 삭제 대기열에 추가될 때 호출할 리스너를 등록합니다.
+     *
+     * @param listener 리스너
+     */
+    public void onExpired(Runnable listener) {
+        this.expiredListener = listener;
+    }
+
+    /**
+     * DB 삭제 대기열에서 최대 max 개의 만료 코드를 꺼냅니다.
+     *
+     * @param max 최대 개수
+     * @return 만료 코드 목록
+     */
+    public List<String> drainExpired(int max) {
+        List<String> codes = new ArrayList<>();
+        String code;
+        while (codes.size() < max && (code = expiredCodes.poll()) != null) {
+            codes.add(code);
+        }
+        return codes;
+    }
+
+    /**
+     * DB에 저장된 유효한 초대 코드로 인덱스를 채웁니다.
+     *
+     * @param inviteCodes 초대 코드 목록
+     */
+    public void loadAll(Collection<InviteCode> inviteCodes) {
+        inviteCodes.forEach(this::register);
+    }
+
+    public int size() {
+        return byCode.size();
+    }
+
+    private boolean evict(String code, Entry entry) {
+        if (!byCode.remove(code, entry)) {
+            return false; // 다른 스레드가 이미 제거함
+        }
+        entry.cancelTimer();
+        byChatRoom.remove(entry.chatroomId, code);
+        expiredCodes.add(code);
+        return true;
+    }
+}
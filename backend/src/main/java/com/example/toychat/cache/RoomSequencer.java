@@ -0,0 +1,102 @@
+package com.example.toychat.cache;
+
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.repository.MessageRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * 채팅방별 메시지 순번 발급기.
+ * 채팅방마다 마지막 순번을 메모리에 두고 처음 사용할 때만 DB의 최댓값으로 초기화하므로, 순번 발급에 DB 조회가 필요 없습니다.
+ * 순번 발급과 메시지 저장을 채팅방 단위로 직렬화하여, 저장에 성공한 메시지만 순번을 소비합니다 (빈 번호 없음, 저장 순서 = 순번 순서).
+ */
+@Component
+public class RoomSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomSequencer.class);
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageArchive messageArchive; // 테이블에서 옮겨진 메시지의 순번
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>(); // 채팅방 ID → 마지막 순번
+
+    /**
+     * 채팅방의 마지막 순번 (seeded가 false면 아직 DB에서 읽지 않음)
+     */
+    private static final class Counter {
+
+        private boolean seeded;
+
+        private long last;
+    }
+
+    /**
+     * 다음 순번으로 메시지를 저장합니다. 저장이 실패하면 순번은 소비되지 않습니다.
+     * 다른 인스턴스가 같은 순번을 먼저 사용해 (chatroom_id, seq) 유일 제약에 걸리면 DB에서 순번을 다시 읽고 한 번 재시도합니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @param insert     순번을 받아 메시지를 저장하는 함수
+     * @return insert의 반환 값
+     */
+    public <T> T next(Long chatroomId, LongFunction<T> insert) {
+        return nextBlock(chatroomId, 1, insert);
+    }
+
+    /**
+     * 연속된 순번 count개로 메시지 여러 건을 한 번에 저장합니다 (대량 가져오기).
+     * 저장하는 동안 채팅방의 다른 메시지 저장은 기다리므로, 한 번에 저장하는 건수를 제한해야 합니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @param count      저장할 메시지 수
+     * @param insert     첫 순번을 받아 count건을 저장하는 함수
+     * @return insert의 반환 값
+     */
+    public <T> T nextBlock(Long chatroomId, int count, LongFunction<T> insert) {
+        Counter counter = counters.computeIfAbsent(chatroomId, id -> new Counter());
+        synchronized (counter) {
+            if (!counter.seeded) {
+                counter.last = seed(chatroomId);
+                counter.seeded = true;
+            }
+            T result;
+            try {
+                result = insert.apply(counter.last + 1);
+            } catch (DataIntegrityViolationException e) {
+                long stale = counter.last;
+                counter.last = seed(chatroomId);
+                if (counter.last == stale) {
+                    throw e; // 순번 충돌이 아닌 제약 위반 (예: 삭제된 채팅방)
+                }
+                logger.warn("Sequence of chatting room {} was behind the database ({} < {}), retrying", chatroomId, stale, counter.last);
+                result = insert.apply(counter.last + 1);
+            }
+            counter.last += count;
+            return result;
+        }
+    }
+
+    /**
+     * 삭제된 채팅방의 순번을 메모리에서 제거합니다.
+     */
+    public void forget(Long chatroomId) {
+        counters.remove(chatroomId);
+    }
+
+    private long seed(Long chatroomId) {
+        Long max = messageRepository.findMaxSeq(chatroomId);
+        return Math.max(max == null ? 0L : max, messageArchive.maxSeq(chatroomId)); // 오래된 메시지가 모두 보관되어 테이블이 비어 있을 수 있음
+    }
+}
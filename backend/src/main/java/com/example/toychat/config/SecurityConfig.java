@@ -1,8 +1,10 @@
 package com.example.toychat.config;
 
+import com.example.toychat.ratelimit.RateLimitFilter;
 import com.example.toychat.security.JwtFilter;
-
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -18,18 +20,23 @@ public class SecurityConfig {
 
     private final JwtFilter jwtFilter; // JWT 필터를 위한 필드
 
+    private final RateLimitFilter rateLimitFilter; // 레이트 리밋 필터를 위한 필드
+
     @Autowired
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, RateLimitFilter rateLimitFilter) {
         this.jwtFilter = jwtFilter; // 생성자 주입을 통해 JwtFilter 인스턴스를 초기화
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
      * 비밀번호 암호화를 위한 PasswordEncoder 빈을 생성합니다.
+     * cost(strength)를 바꾸면 기존 사용자는 다음 로그인 시 새 cost로 재해시됩니다.
+     * @param strength BCrypt cost
      * @return BCryptPasswordEncoder 인스턴스
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${toychat.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     /**
@@ -44,11 +51,16 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers("/api/register", "/api/login").permitAll() // 등록 및 로그인 API는 인증 없이 접근 허용
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // 스트리밍 응답의 비동기 디스패치 (최초 요청에서 이미 인가됨)
+                        .requestMatchers("/api/register", "/api/login", "/api/token/refresh").permitAll() // 등록, 로그인, 토큰 재발급 API는 인증 없이 접근 허용
                         .requestMatchers("/ws/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // 헬스 체크, Prometheus 수집
+                        .requestMatchers("/actuator/jfr/**", "/actuator/jfr").hasAuthority("ADMIN") // JFR 녹화 관리는 관리자만
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN") // 채팅방 기록 내보내기 등 관리자 API
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtFilter.class); // 인증된 사용자 기준으로 제한
 
         return http.build();
     }
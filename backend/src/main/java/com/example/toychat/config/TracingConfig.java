@@ -0,0 +1,34 @@
+package com.example.toychat.config;
+
+import com.example.toychat.tracing.ConfiguredSpanExporter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 트레이스 exporter 설정.
+ * toychat.tracing.exporter 값에 따라 span을 메모리(memory) 또는 JSON Lines 파일(file)로 내보내거나 내보내지 않습니다(none).
+ * 값은 실행 시점에 읽으므로 AOT로 빌드한 이미지에서도 TRACING_EXPORTER로 바꿀 수 있습니다.
+ * 샘플링 비율은 management.tracing.sampling.probability로 조정하며, 클라이언트가 보낸 traceparent의 샘플링 여부를 따릅니다.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * @param type     exporter 종류 (none, memory, file)
+     * @param capacity memory: 보관할 최대 span 수
+     * @param path     file: span을 추가할 파일 경로
+     * @return 설정에 따라 고른 exporter
+     * @throws IOException 파일을 열 수 없는 경우
+     */
+    @Bean
+    public ConfiguredSpanExporter configuredSpanExporter(@Value("${toychat.tracing.exporter:none}") String type,
+                                                         @Value("${toychat.tracing.memory.capacity:10000}") int capacity,
+                                                         @Value("${toychat.tracing.file.path:traces.jsonl}") Path path) throws IOException {
+        return new ConfiguredSpanExporter(type, capacity, path);
+    }
+}
@@ -1,12 +1,24 @@
 package com.example.toychat.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${toychat.async.timeout:PT1H}")
+    private Duration asyncTimeout; // 비동기 응답 제한 시간 (채팅방 기록 내보내기처럼 오래 스트리밍하는 응답 포함)
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -1,6 +1,21 @@
 package com.example.toychat.config;
 
+import com.example.toychat.monitoring.BroadcastMetricsInterceptor;
+import com.example.toychat.monitoring.StartupTimeRecorder;
+import com.example.toychat.monitoring.StompInboundMetricsInterceptor;
+import com.example.toychat.monitoring.StompOutboundJfrInterceptor;
+import com.example.toychat.ratelimit.ClientAddressHandshakeInterceptor;
+import com.example.toychat.ratelimit.RateLimitChannelInterceptor;
+import com.example.toychat.ratelimit.StompErrorReplyInterceptor;
+import com.example.toychat.ratelimit.StompRateLimitErrorHandler;
+import com.example.toychat.security.StompAuthChannelInterceptor;
+import com.example.toychat.tracing.StompBroadcastTracingInterceptor;
+import com.example.toychat.tracing.StompInboundTracingInterceptor;
+import com.example.toychat.tracing.StompOutboundTracingInterceptor;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -10,6 +25,42 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private StartupTimeRecorder startupTimeRecorder;
+
+    @Autowired
+    private StompErrorReplyInterceptor stompErrorReplyInterceptor;
+
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Autowired
+    private RateLimitChannelInterceptor rateLimitChannelInterceptor;
+
+    @Autowired
+    private ClientAddressHandshakeInterceptor clientAddressHandshakeInterceptor;
+
+    @Autowired
+    private StompRateLimitErrorHandler stompRateLimitErrorHandler;
+
+    @Autowired
+    private StompInboundMetricsInterceptor stompInboundMetricsInterceptor;
+
+    @Autowired
+    private BroadcastMetricsInterceptor broadcastMetricsInterceptor;
+
+    @Autowired
+    private StompOutboundJfrInterceptor stompOutboundJfrInterceptor;
+
+    @Autowired
+    private StompInboundTracingInterceptor stompInboundTracingInterceptor;
+
+    @Autowired
+    private StompBroadcastTracingInterceptor stompBroadcastTracingInterceptor;
+
+    @Autowired
+    private StompOutboundTracingInterceptor stompOutboundTracingInterceptor;
+
     /**
      * 메시지 브로커를 구성하는 메소드
      * @param config MessageBrokerRegistry 객체를 사용하여 메시지 브로커를 설정
@@ -20,6 +71,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        config.setPreservePublishOrder(true); // 세션별 발행 순서 유지 (같은 발신자의 메시지가 구독자에게 뒤바뀌어 도착하지 않도록)
+        config.configureBrokerChannel().interceptors(broadcastMetricsInterceptor, stompBroadcastTracingInterceptor); // 브로드캐스트 fan-out 기록, 트레이스 헤더 전파
     }
 
     /**
@@ -31,6 +84,30 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
-                .setAllowedOrigins("*");
+                .setAllowedOrigins("*")
+                .addInterceptors(startupTimeRecorder, clientAddressHandshakeInterceptor); // 첫 WebSocket 연결 수락 시점 기록, 익명 세션 레이트 리밋용 클라이언트 IP 저장
+        registry.setPreserveReceiveOrder(true); // 세션별 수신 순서대로 처리 (같은 세션의 SEND가 병렬 처리되어 순서가 바뀌지 않도록)
+        registry.setErrorHandler(stompRateLimitErrorHandler); // 레이트 리밋 거절 시 ERROR 프레임 구성
+    }
+
+    /**
+     * 클라이언트 inbound 채널을 구성하는 메소드
+     * @param registration ChannelRegistration 객체를 사용하여 인터셉터를 등록
+     * CONNECT의 토큰으로 세션 사용자를 설정하는 인터셉터, 메시지 전송(SEND)을 사용자, 채팅방별로 제한하는 인터셉터와
+     * 처리 시간, 트레이스를 기록하는 인터셉터를 등록합니다. 맨 앞의 인터셉터는 뒤쪽 인터셉터의 거절을 ERROR 프레임으로 응답합니다.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompErrorReplyInterceptor, stompAuthChannelInterceptor, rateLimitChannelInterceptor, stompInboundMetricsInterceptor, stompInboundTracingInterceptor);
+    }
+
+    /**
+     * 클라이언트 outbound 채널을 구성하는 메소드
+     * @param registration ChannelRegistration 객체를 사용하여 인터셉터를 등록
+     * 세션별 프레임 전송을 JFR 이벤트와 트레이스 span으로 기록하는 인터셉터를 등록합니다.
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompOutboundJfrInterceptor, stompOutboundTracingInterceptor);
     }
 }
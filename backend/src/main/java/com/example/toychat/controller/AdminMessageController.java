@@ -0,0 +1,79 @@
+package com.example.toychat.controller;
+
+import com.example.toychat.dto.response.MessageImportResponseDTO;
+import com.example.toychat.dto.response.ResponseDTO;
+
+import com.example.toychat.service.MessageExportService;
+import com.example.toychat.service.MessageImportService;
+import com.example.toychat.service.MessageSearchService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.security.Principal;
+
+/**
+ * 관리자용 채팅방 기록 API (/api/admin/**는 ADMIN 권한 필요)
+ */
+@RestController
+@RequestMapping("/api/admin/chatrooms")
+public class AdminMessageController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    @Autowired
+    private MessageExportService messageExportService;
+
+    @Autowired
+    private MessageImportService messageImportService;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    // 채팅방 전체 메시지 내보내기 (NDJSON, gzip=true면 압축 파일)
+    @GetMapping("/{chatroom_id}/messages/export")
+    public ResponseEntity<StreamingResponseBody> exportMessages(
+            @PathVariable("chatroom_id") Long chatroomId,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            Principal principal) {
+        StreamingResponseBody body = messageExportService.export(chatroomId, gzip, principal.getName());
+        String filename = "chatroom-" + chatroomId + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // 다른 시스템의 기록 가져오기 (내보내기와 같은 NDJSON, import_id를 주면 커밋된 줄 다음부터 이어서 가져옴)
+    @PostMapping("/{chatroom_id}/messages/import")
+    public ResponseEntity<MessageImportResponseDTO> importMessages(
+            @PathVariable("chatroom_id") Long chatroomId,
+            @RequestParam(value = "import_id", required = false) Long importId,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            InputStream body,
+            Principal principal) {
+        return messageImportService.importMessages(chatroomId, importId, gzip, body, principal.getName());
+    }
+
+    // 가져오기 진행 상황 조회
+    @GetMapping("/{chatroom_id}/messages/import/{import_id}")
+    public ResponseEntity<MessageImportResponseDTO> getImportProgress(
+            @PathVariable("chatroom_id") Long chatroomId,
+            @PathVariable("import_id") Long importId) {
+        return messageImportService.getProgress(chatroomId, importId);
+    }
+
+    // 채팅방 메시지를 Message 테이블에서 다시 검색 색인
+    @PostMapping("/{chatroom_id}/messages/reindex")
+    public ResponseEntity<ResponseDTO> reindexMessages(@PathVariable("chatroom_id") Long chatroomId) {
+        return messageSearchService.reindexChatRoom(chatroomId);
+    }
+}
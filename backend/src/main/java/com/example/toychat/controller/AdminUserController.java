@@ -0,0 +1,26 @@
+package com.example.toychat.controller;
+
+import com.example.toychat.dto.response.AccountErasureResponseDTO;
+
+import com.example.toychat.service.AccountErasureService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 관리자용 사용자 API (/api/admin/**는 ADMIN 권한 필요)
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+public class AdminUserController {
+
+    @Autowired
+    private AccountErasureService accountErasureService;
+
+    // 탈퇴한 사용자의 메시지 삭제 진행 상황 조회
+    @GetMapping("/erasures/{erasure_id}")
+    public ResponseEntity<AccountErasureResponseDTO> getErasureProgress(@PathVariable("erasure_id") Long erasureId) {
+        return accountErasureService.getProgress(erasureId);
+    }
+}
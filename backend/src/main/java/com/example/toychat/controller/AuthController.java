@@ -1,13 +1,17 @@
 package com.example.toychat.controller;
 
 import com.example.toychat.dto.AuthDTO;
+import com.example.toychat.dto.request.TokenRefreshRequestDTO;
 
 import com.example.toychat.service.AuthService;
+import com.example.toychat.service.TokenService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api")
 public class AuthController {
@@ -15,16 +19,33 @@ public class AuthController {
     @Autowired
     private AuthService authService; // 인증 서비스에 대한 의존성 주입
 
+    @Autowired
+    private TokenService tokenService; // 토큰 서비스에 대한 의존성 주입
+
+    // 비밀번호 해시가 끝날 때까지 요청 스레드를 점유하지 않도록 비동기 응답
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody AuthDTO authDTO) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody AuthDTO authDTO) {
         return authService.register(authDTO);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthDTO authDTO) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody AuthDTO authDTO) {
         return authService.login(authDTO);
     }
 
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refresh(@RequestBody TokenRefreshRequestDTO refreshRequestDTO) {
+        return tokenService.refresh(refreshRequestDTO.getRefreshToken());
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestBody(required = false) TokenRefreshRequestDTO refreshRequestDTO) {
+        String token = authorizationHeader.substring(7); // "Bearer " 제거
+        return tokenService.logout(token, refreshRequestDTO != null ? refreshRequestDTO.getRefreshToken() : null);
+    }
+
     @DeleteMapping("/delete")
     public ResponseEntity<?> deleteUser(@RequestHeader("Authorization") String authorizationHeader) {
         String token = authorizationHeader.substring(7); // "Bearer " 제거
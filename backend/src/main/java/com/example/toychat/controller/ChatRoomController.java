@@ -5,9 +5,11 @@ import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
 import com.example.toychat.dto.response.ChatRoomCreateResponseDTO;
 import com.example.toychat.dto.response.ChatRoomListResponseDTO;
 import com.example.toychat.dto.response.ChatRoomMemberResponseDTO;
+import com.example.toychat.dto.response.ChatRoomSnapshotResponseDTO;
 import com.example.toychat.dto.response.ResponseDTO;
 
 import com.example.toychat.service.ChatRoomService;
+import com.example.toychat.service.ChatRoomSnapshotService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +24,9 @@ public class ChatRoomController {
     @Autowired
     private ChatRoomService chatRoomService;
 
+    @Autowired
+    private ChatRoomSnapshotService chatRoomSnapshotService;
+
     // 채팅방 생성
     @PostMapping
     public ResponseEntity<ChatRoomCreateResponseDTO> createChatRoom(
@@ -65,6 +70,15 @@ public class ChatRoomController {
         return chatRoomService.getChatRoomMembers(token, chatroomId);
     }
 
+    // 채팅방 정보, 멤버 목록, 최신 메시지를 한 번에 조회
+    @GetMapping("/{chatroom_id}/snapshot")
+    public ResponseEntity<ChatRoomSnapshotResponseDTO> getChatRoomSnapshot(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @PathVariable("chatroom_id") Long chatroomId) {
+        String token = authorizationHeader.substring(7); // "Bearer " 제거
+        return chatRoomSnapshotService.getSnapshot(token, chatroomId);
+    }
+
     // 채팅방 탈퇴 및 삭제
     @DeleteMapping("/{chatroom_id}/delete")
     public ResponseEntity<ResponseDTO> leaveOrDeleteChatRoom(
@@ -1,9 +1,13 @@
 package com.example.toychat.controller;
 
+import com.example.toychat.dto.request.MessageSyncRequestDTO;
 import com.example.toychat.dto.request.MessageUpdateRequestDTO;
 import com.example.toychat.dto.response.MessageResponseDTO;
+import com.example.toychat.dto.response.MessageSearchResponseDTO;
+import com.example.toychat.dto.response.MessageSyncResponseDTO;
 import com.example.toychat.dto.response.ResponseDTO;
 
+import com.example.toychat.service.MessageSearchService;
 import com.example.toychat.service.MessageService;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +23,9 @@ public class MessageController {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private MessageSearchService messageSearchService;
+
     // 채팅방 메시지 조회
     @GetMapping("/{chatroom_id}")
     public ResponseEntity<List<MessageResponseDTO>> getMessages(
@@ -28,6 +35,38 @@ public class MessageController {
         return messageService.getMessages(token, chatroomId);
     }
 
+    // 순번 구간의 메시지 조회 (빠진 순번 복구)
+    @GetMapping("/{chatroom_id}/range")
+    public ResponseEntity<List<MessageResponseDTO>> getMessagesBySeqRange(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @PathVariable("chatroom_id") Long chatroomId,
+            @RequestParam("from_seq") Long fromSeq,
+            @RequestParam("to_seq") Long toSeq) {
+        String token = authorizationHeader.substring(7); // "Bearer " 제거
+        return messageService.getMessagesBySeqRange(token, chatroomId, fromSeq, toSeq);
+    }
+
+    // 참여 중인 채팅방의 메시지 검색 (chatroom_id를 주면 그 채팅방만)
+    @GetMapping("/search")
+    public ResponseEntity<MessageSearchResponseDTO> searchMessages(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestParam("q") String query,
+            @RequestParam(value = "chatroom_id", required = false) Long chatroomId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        String token = authorizationHeader.substring(7); // "Bearer " 제거
+        return messageSearchService.search(token, query, chatroomId, page, size);
+    }
+
+    // 재연결 후 놓친 메시지와 수정 내역만 조회
+    @PostMapping("/sync")
+    public ResponseEntity<MessageSyncResponseDTO> syncMessages(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestBody MessageSyncRequestDTO requestDTO) {
+        String token = authorizationHeader.substring(7); // "Bearer " 제거
+        return messageService.syncMessages(token, requestDTO);
+    }
+
     // 메시지 수정
     @PutMapping("/{chatroom_id}/{message_id}")
     public ResponseEntity<ResponseDTO> updateMessage(
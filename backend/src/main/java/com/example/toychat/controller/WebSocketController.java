@@ -3,12 +3,16 @@ package com.example.toychat.controller;
 import com.example.toychat.dto.request.MessageSendRequestDTO;
 import com.example.toychat.dto.response.MessageResponseDTO;
 
+import com.example.toychat.monitoring.StompSendEvent;
+
 import com.example.toychat.service.MessageService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.*;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+
 @RestController
 public class WebSocketController {
 
@@ -22,7 +26,20 @@ public class WebSocketController {
             @DestinationVariable("chatroom_id") Long chatroomId,
             @Payload MessageSendRequestDTO sendRequestDTO,
             @Header("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // "Bearer " 제거
-        return messageService.sendMessage(token, chatroomId, sendRequestDTO);
+        StompSendEvent event = new StompSendEvent(); // JFR 녹화 중이 아니면 begin/commit은 아무 일도 하지 않음
+        event.begin();
+        try {
+            String token = authorizationHeader.substring(7); // "Bearer " 제거
+            MessageResponseDTO response = messageService.sendMessage(token, chatroomId, sendRequestDTO);
+            event.success = true;
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.roomId = chatroomId;
+                event.payloadSize = sendRequestDTO.getContent() != null ? sendRequestDTO.getContent().getBytes(StandardCharsets.UTF_8).length : 0;
+                event.commit();
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.toychat.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSyncRequestDTO {
+
+    private List<RoomCursor> rooms;
+
+    private Integer limit;  // 응답에 담을 최대 메시지 수 (서버 상한보다 크면 상한 적용)
+
+    /**
+     * 채팅방별로 클라이언트가 마지막으로 받은 위치
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomCursor {
+
+        @JsonProperty("chatroom_id")
+        private Long chatroomId;
+
+        @JsonProperty("last_message_id")
+        private Long lastMessageId;  // 마지막으로 받은 메시지 ID (없으면 처음부터)
+
+        private LocalDateTime since;  // 이전 동기화 응답의 since (없으면 수정 내역은 보내지 않음)
+    }
+}
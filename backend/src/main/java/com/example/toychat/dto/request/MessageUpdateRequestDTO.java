@@ -10,4 +10,10 @@ import lombok.NoArgsConstructor;
 public class MessageUpdateRequestDTO {
 
     private String content;
+
+    private Long version;  // 수정 전에 받은 메시지 버전 (있으면 그사이 다른 수정이 있었을 때 409, 없으면 마지막 수정이 반영)
+
+    public MessageUpdateRequestDTO(String content) {
+        this.content = content;
+    }
 }
@@ -0,0 +1,15 @@
+package com.example.toychat.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRefreshRequestDTO {
+
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+}
@@ -0,0 +1,39 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 탈퇴한 사용자의 메시지 삭제 진행 상황
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountErasureResponseDTO {
+
+    @JsonProperty("erasure_id")
+    private Long erasureId;
+
+    @JsonProperty("user_id")
+    private Long userId;
+
+    private String username;
+
+    private String status;  // RUNNING, COMPLETED
+
+    @JsonProperty("last_message_id")
+    private long lastMessageId;  // 삭제가 커밋된 마지막 메시지 ID
+
+    @JsonProperty("deleted_messages")
+    private long deletedMessages;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+}
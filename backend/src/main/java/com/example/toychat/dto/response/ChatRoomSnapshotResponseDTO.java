@@ -0,0 +1,41 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRoomSnapshotResponseDTO {
+
+    @JsonProperty("chatroom_id")
+    private Long chatroomId;
+
+    private String title;
+
+    @JsonProperty("creator_id")
+    private Long creatorId;
+
+    @JsonProperty("max_members")
+    private int maxMembers;
+
+    @JsonProperty("is_private")
+    private boolean isPrivate;
+
+    private List<ChatRoomMemberResponseDTO> members;
+
+    private List<MessageResponseDTO> messages;  // 최신 메시지 한 페이지 (순번 오름차순)
+
+    @JsonProperty("has_older")
+    private boolean hasOlder;  // 페이지보다 이전 메시지가 있음 (순번 구간 조회로 받음)
+
+    @JsonProperty("last_message_id")
+    private Long lastMessageId;  // 이후 /api/messages/sync 커서
+
+    private LocalDateTime since;  // 이후 /api/messages/sync 커서
+}
@@ -0,0 +1,35 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InboxEventDTO {
+
+    private String type;  // message, member_joined, member_left, room_deleted, invite
+
+    @JsonProperty("chatroom_id")
+    private Long chatroomId;
+
+    private String username;  // 메시지 작성자, 참여/탈퇴한 사용자, 초대 코드 발급자
+
+    @JsonProperty("message_id")
+    private Long messageId;
+
+    private Long seq;
+
+    private String preview;  // 메시지 앞부분
+
+    @JsonProperty("current_members")
+    private Integer currentMembers;
+
+    private LocalDateTime at;
+}
@@ -0,0 +1,30 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 토픽(/topic/public/{chatroom_id})으로 보내는 메시지 수정 알림.
+ * 새 메시지와 구분되도록 type이 있으며, 클라이언트는 가진 메시지보다 버전이 클 때만 제자리에서 교체합니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageEditEventDTO {
+
+    private String type;  // edited
+
+    @JsonProperty("message_id")
+    private Long messageId;
+
+    private String content;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    private long version;
+}
@@ -0,0 +1,37 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 기록 내보내기(NDJSON)의 한 줄
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageExportDTO {
+
+    @JsonProperty("message_id")
+    private Long messageId;
+
+    private Long seq;
+
+    @JsonProperty("user_id")
+    private Long userId;
+
+    private String username;
+
+    private String content;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    private long version;
+}
@@ -0,0 +1,38 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메시지 대량 가져오기 진행 상황
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageImportResponseDTO {
+
+    @JsonProperty("import_id")
+    private Long importId;
+
+    @JsonProperty("chatroom_id")
+    private Long chatroomId;
+
+    private String status;  // RUNNING, FAILED, COMPLETED
+
+    @JsonProperty("committed_offset")
+    private long committedOffset;  // 저장이 끝난 입력 줄 수 (import_id로 다시 시작하면 이 줄 다음부터 가져옴)
+
+    private long imported;  // 저장된 메시지 수
+
+    private String error;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+}
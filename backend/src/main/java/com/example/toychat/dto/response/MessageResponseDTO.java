@@ -25,4 +25,8 @@ public class MessageResponseDTO {
     @JsonProperty("updated_at")
     private LocalDateTime updatedAt;
 
+    private Long seq;  // 채팅방 내 순번 (빠진 순번이 있으면 클라이언트가 해당 구간만 다시 조회)
+
+    private long version;  // 수정 버전 (수정 이벤트는 이보다 큰 버전만 반영)
+
 }
@@ -0,0 +1,37 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메시지 검색 결과 한 건
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSearchHitDTO {
+
+    @JsonProperty("chatroom_id")
+    private Long chatroomId;
+
+    @JsonProperty("message_id")
+    private Long messageId;
+
+    private String username;
+
+    @JsonProperty("user_id")
+    private Long userId;
+
+    private String content;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    private Long seq;  // 결과 주변 메시지는 순번 구간 조회로 받음
+
+    private double score;  // 관련도 (클수록 관련 높음)
+}
@@ -0,0 +1,23 @@
+package com.example.toychat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSearchResponseDTO {
+
+    private String query;
+
+    private int page;
+
+    private int size;
+
+    private long total;  // 검색어를 모두 포함한 메시지 수
+
+    private List<MessageSearchHitDTO> results;  // 관련도순, 같으면 최신순
+}
@@ -0,0 +1,48 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSyncResponseDTO {
+
+    private List<RoomDelta> rooms;
+
+    @JsonProperty("has_more")
+    private boolean hasMore;  // 크기 상한에 걸려 다 담지 못한 채팅방이 있음 (응답의 커서로 다시 요청)
+
+    /**
+     * 채팅방별 변경분과 다음 요청에 쓸 커서
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RoomDelta {
+
+        @JsonProperty("chatroom_id")
+        private Long chatroomId;
+
+        private List<MessageResponseDTO> messages;  // last_message_id 이후 새 메시지 (ID 오름차순)
+
+        private List<MessageResponseDTO> edited;  // last_message_id 이하 메시지 중 since 이후 수정된 메시지
+
+        @JsonProperty("last_message_id")
+        private Long lastMessageId;
+
+        private LocalDateTime since;
+
+        @JsonProperty("has_more")
+        private boolean hasMore;
+
+        private String error;  // 채팅방이 없거나 멤버가 아니면 사유 (나머지 필드는 비어 있음)
+    }
+}
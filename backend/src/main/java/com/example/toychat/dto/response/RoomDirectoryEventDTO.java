@@ -0,0 +1,30 @@
+package com.example.toychat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoomDirectoryEventDTO {
+
+    private String type;  // created, deleted, members
+
+    @JsonProperty("chatroom_id")
+    private Long chatroomId;
+
+    @JsonProperty("creator_id")
+    private Long creatorId;  // created만
+
+    private String title;  // created만
+
+    @JsonProperty("max_members")
+    private Integer maxMembers;  // created만
+
+    @JsonProperty("current_members")
+    private Integer currentMembers;  // created, members
+}
@@ -0,0 +1,51 @@
+package com.example.toychat.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 탈퇴한 사용자의 메시지 삭제 진행 상황. 메시지 배치와 같은 트랜잭션에서 갱신되므로 lastMessageId까지는 반드시 삭제되어 있습니다.
+ * 사용자 행이 삭제된 뒤에도 기록으로 남습니다.
+ */
+@Entity
+@Table(name = "AccountErasure", indexes = {
+        @Index(name = "idx_account_erasure_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class AccountErasure {
+
+    public enum Status {
+        RUNNING, COMPLETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "last_message_id", nullable = false)
+    private long lastMessageId; // 삭제가 커밋된 마지막 메시지 ID (다시 시작하면 이 ID 다음부터)
+
+    @Column(name = "deleted_messages", nullable = false)
+    private long deletedMessages; // 삭제된 메시지 수
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -37,6 +37,9 @@ public class ChatRoom {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt; // 삭제 표시 시각 (메시지, 멤버, 초대 코드를 백그라운드에서 정리한 뒤 행 삭제)
+
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.ALL)
     private List<ChatRoomMember> members;
 
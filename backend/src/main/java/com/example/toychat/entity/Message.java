@@ -7,7 +7,12 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Message")
+@Table(name = "Message", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_message_chatroom_seq", columnNames = {"chatroom_id", "seq"})
+}, indexes = {
+        @Index(name = "idx_message_chatroom_updated_at", columnList = "chatroom_id, updated_at"), // 동기화 API의 수정 내역 조회
+        @Index(name = "idx_message_updated_at", columnList = "updated_at") // 검색 색인 따라잡기 (전체 채팅방의 최근 전송/수정)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +30,9 @@ public class Message {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Column(name = "seq", updatable = false)
+    private Long seq; // 채팅방 내 순번 (1부터 빈틈 없이 증가, 순번 도입 전 메시지는 null)
+
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
@@ -34,6 +42,10 @@ public class Message {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version; // 수정할 때마다 1씩 증가 (동시 수정 감지, 클라이언트는 더 큰 버전의 수정만 반영)
+
     @PrePersist
     public void prePersist() {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,53 @@
+package com.example.toychat.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 메시지 대량 가져오기 진행 상황. 메시지 배치와 같은 트랜잭션에서 갱신되므로 committedOffset까지는 반드시 저장되어 있습니다.
+ */
+@Entity
+@Table(name = "MessageImport", indexes = {
+        @Index(name = "idx_message_import_chatroom_id", columnList = "chatroom_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class MessageImport {
+
+    public enum Status {
+        RUNNING, FAILED, COMPLETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "chatroom_id", nullable = false)
+    private Long chatroomId;
+
+    @Column(name = "requested_by", nullable = false, length = 50)
+    private String requestedBy; // 가져오기를 시작한 관리자
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "committed_offset", nullable = false)
+    private long committedOffset; // 커밋된 입력 줄 수 (다시 시작하면 이만큼 건너뜀)
+
+    @Column(nullable = false)
+    private long imported; // 저장된 메시지 수
+
+    @Column(length = 500)
+    private String error; // 마지막 실패 원인
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.example.toychat.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "RefreshToken", indexes = {
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_username", columnList = "username")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash; // 토큰 원문은 저장하지 않고 SHA-256 해시만 저장
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId; // 같은 로그인에서 교체되며 이어진 토큰 묶음
+
+    @Column(nullable = false)
+    private boolean used; // 교체에 사용된 토큰 (다시 사용되면 탈취로 간주)
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.toychat.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "RevokedToken", indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 1)
+    private String kind; // j: 토큰(jti), s: 사용자(subject) 전체
+
+    @Column(name = "token_key", nullable = false, length = 100)
+    private String tokenKey; // jti 또는 사용자 이름
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // 이후에는 해당 토큰이 모두 만료되어 항목이 필요 없음
+}
@@ -33,6 +33,9 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt; // 탈퇴 시각 (로그인 불가, 메시지를 백그라운드에서 삭제한 뒤 행 삭제)
+
     @OneToMany(mappedBy = "creator", cascade = CascadeType.ALL)
     private List<ChatRoom> chatRooms;
 
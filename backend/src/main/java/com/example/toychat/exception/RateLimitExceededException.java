@@ -0,0 +1,21 @@
+package com.example.toychat.exception;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+
+/**
+ * STOMP 메시지가 레이트 리밋에 걸렸을 때 발생하는 예외
+ */
+public class RateLimitExceededException extends MessagingException {
+
+    private final String scope; // 제한된 범위 (user, room)
+
+    public RateLimitExceededException(Message<?> message, String scope) {
+        super(message, "Rate limit exceeded (" + scope + ")");
+        this.scope = scope;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.toychat.exception;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * 폐기된 JWT가 사용되었을 때 발생하는 예외
+ */
+public class RevokedTokenException extends JwtException {
+
+    public RevokedTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.toychat.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 브로커 채널로 들어오는 /topic 브로드캐스트마다 구독 수(fan-out)를 기록합니다.
+ */
+@Component
+public class BroadcastMetricsInterceptor implements ChannelInterceptor {
+
+    private final ChatMetrics chatMetrics;
+
+    private final ObjectProvider<SimpleBrokerMessageHandler> simpleBroker; // WebSocket 설정과의 순환 참조를 피하기 위해 지연 조회
+
+    public BroadcastMetricsInterceptor(ChatMetrics chatMetrics, ObjectProvider<SimpleBrokerMessageHandler> simpleBroker) {
+        this.chatMetrics = chatMetrics;
+        this.simpleBroker = simpleBroker;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        SimpleBrokerMessageHandler broker = simpleBroker.getIfAvailable();
+        if (destination != null && destination.startsWith("/topic/") && broker != null) {
+            chatMetrics.recordBroadcast(broker.getSubscriptionRegistry().findSubscriptions(message).size());
+        }
+        return message;
+    }
+}
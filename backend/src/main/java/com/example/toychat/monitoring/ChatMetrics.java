@@ -0,0 +1,49 @@
+package com.example.toychat.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 도메인 메트릭.
+ * 채팅방 ID를 그대로 태그로 쓰면 시계열이 방 수만큼 늘어나므로 ID를 ROOM_BUCKETS 개의 버킷으로 묶어 기록합니다.
+ */
+@Component
+public class ChatMetrics {
+
+    static final int ROOM_BUCKETS = 16;
+
+    private final Counter[] messagesSent = new Counter[ROOM_BUCKETS];
+
+    private final DistributionSummary broadcastFanout;
+
+    public ChatMetrics(MeterRegistry meterRegistry) {
+        for (int i = 0; i < ROOM_BUCKETS; i++) {
+            messagesSent[i] = Counter.builder("toychat.messages.sent")
+                    .description("Chat messages persisted, by room bucket (chatroom id % " + ROOM_BUCKETS + ")")
+                    .tag("room_bucket", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        this.broadcastFanout = DistributionSummary.builder("toychat.stomp.broadcast.fanout")
+                .description("Subscribers a broadcast was delivered to")
+                .baseUnit("sessions")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param chatroomId 메시지가 저장된 채팅방 ID
+     */
+    public void recordMessageSent(Long chatroomId) {
+        messagesSent[(int) Math.floorMod(chatroomId, (long) ROOM_BUCKETS)].increment();
+    }
+
+    /**
+     * @param subscribers 브로드캐스트를 받은 구독 수
+     */
+    public void recordBroadcast(int subscribers) {
+        broadcastFanout.record(subscribers);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.toychat.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * JFR 녹화 관리 엔드포인트 (관리자 전용)
+ * <ul>
+ *     <li>GET /actuator/jfr : 녹화 상태</li>
+ *     <li>POST /actuator/jfr/start?settings=default|profile : 녹화 시작</li>
+ *     <li>POST /actuator/jfr/stop : 녹화 중지</li>
+ *     <li>GET /actuator/jfr/dump : 녹화 내용(.jfr) 다운로드</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private final JfrRecordingService jfrRecordingService;
+
+    public JfrEndpoint(JfrRecordingService jfrRecordingService) {
+        this.jfrRecordingService = jfrRecordingService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return jfrRecordingService.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> control(@Selector String action, @Nullable String settings) throws Exception {
+        return switch (action) {
+            case "start" -> new WebEndpointResponse<>(jfrRecordingService.start(settings));
+            case "stop" -> new WebEndpointResponse<>(jfrRecordingService.stop());
+            default -> new WebEndpointResponse<>(Map.of("message", "Unknown action: " + action), WebEndpointResponse.STATUS_BAD_REQUEST);
+        };
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String action) throws Exception {
+        if (!"dump".equals(action)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = jfrRecordingService.dump();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.toychat.monitoring;
+
+import jakarta.annotation.PreDestroy;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 운영 중 JDK Flight Recorder 녹화를 시작/중지/덤프합니다. 한 번에 하나의 녹화만 관리합니다.
+ */
+@Component
+public class JfrRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(30); // 녹화 중 보관할 최대 기간
+
+    private static final long MAX_SIZE = 256L * 1024 * 1024; // 녹화 중 보관할 최대 크기
+
+    private Recording recording;
+
+    private Path lastDump;
+
+    /**
+     * 녹화를 시작합니다. 이미 녹화 중이면 그대로 둡니다.
+     *
+     * @param settings JFR 설정 이름 (default: 상시 녹화용, profile: 상세)
+     * @return 녹화 상태
+     */
+    public synchronized Map<String, Object> start(String settings) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings != null ? settings : "default"));
+        newRecording.setName("toychat");
+        newRecording.setMaxAge(MAX_AGE);
+        newRecording.setMaxSize(MAX_SIZE);
+        newRecording.setToDisk(true);
+        newRecording.enable(StompSendEvent.class);
+        newRecording.enable(MessagePersistEvent.class);
+        newRecording.enable(StompOutboundEvent.class);
+        newRecording.start();
+        recording = newRecording;
+        logger.info("JFR recording started with settings: {}", settings);
+        return status();
+    }
+
+    /**
+     * 녹화를 중지합니다. 중지된 녹화도 덤프할 수 있습니다.
+     *
+     * @return 녹화 상태
+     */
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("JFR recording stopped");
+        }
+        return status();
+    }
+
+    /**
+     * 현재까지의 녹화 내용을 파일로 씁니다.
+     *
+     * @return .jfr 파일 경로, 녹화가 없으면 null
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        Path file = Files.createTempFile("toychat-", ".jfr");
+        recording.dump(file);
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump); // 이전 덤프 파일 정리
+        }
+        lastDump = file;
+        logger.info("JFR recording dumped to {} ({} bytes)", file, Files.size(file));
+        return file;
+    }
+
+    /**
+     * @return 녹화 상태
+     */
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("start_time", recording.getStartTime());
+            status.put("size", recording.getSize());
+        }
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() throws IOException {
+        closeRecording();
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+        }
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
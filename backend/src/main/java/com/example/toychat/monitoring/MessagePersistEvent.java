@@ -0,0 +1,70 @@
+package com.example.toychat.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * MessageService.sendMessage 단계별 소요 시간 JFR 이벤트 (JWT 파싱, 사용자/채팅방/멤버 조회, 저장)
+ */
+@Name("com.example.toychat.MessagePersist")
+@Label("Message Persist")
+@Category({"ToyChat", "Messaging"})
+@Description("Per-stage durations of MessageService.sendMessage")
+@StackTrace(false)
+public class MessagePersistEvent extends jdk.jfr.Event {
+
+    @Label("Room ID")
+    public long roomId;
+
+    @Label("Payload Size")
+    @DataAmount(DataAmount.BYTES)
+    public long payloadSize;
+
+    @Label("JWT Parse")
+    @Timespan(Timespan.NANOSECONDS)
+    public long jwtParse;
+
+    @Label("User Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    public long userLookup;
+
+    @Label("Room Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    public long roomLookup;
+
+    @Label("Membership Check")
+    @Timespan(Timespan.NANOSECONDS)
+    public long membershipCheck;
+
+    @Label("Insert")
+    @Timespan(Timespan.NANOSECONDS)
+    public long insert;
+
+    @Label("Success")
+    public boolean success;
+
+    private transient long lastMark; // transient 필드는 이벤트에 기록되지 않음
+
+    /**
+     * 이벤트 시작과 함께 단계 측정을 시작합니다.
+     */
+    public void beginStages() {
+        begin();
+        lastMark = System.nanoTime();
+    }
+
+    /**
+     * @return 직전 단계가 끝난 뒤 지금까지의 시간 (ns)
+     */
+    public long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - lastMark;
+        lastMark = now;
+        return elapsed;
+    }
+}
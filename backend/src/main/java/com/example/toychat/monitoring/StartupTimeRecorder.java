@@ -0,0 +1,69 @@
+package com.example.toychat.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class StartupTimeRecorder implements HandshakeInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeRecorder.class);
+
+    private final AtomicLong applicationReadyMillis = new AtomicLong(-1); // JVM 시작 ~ ApplicationReady (ms)
+
+    private final AtomicLong firstWebSocketMillis = new AtomicLong(-1); // JVM 시작 ~ 첫 WebSocket 연결 수락 (ms)
+
+    /**
+     * 애플리케이션이 요청을 받을 준비가 된 시점을 기록합니다.
+     *
+     * @param event ApplicationReadyEvent
+     */
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        applicationReadyMillis.set(uptime);
+        logger.info("Application ready: {} ms since JVM start (context startup: {} ms)", uptime, event.getTimeTaken().toMillis());
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        return true;
+    }
+
+    /**
+     * 첫 번째로 수락된 WebSocket 핸드셰이크 시점을 기록합니다.
+     * 롤링 배포/오토스케일링 시 실제로 트래픽을 받을 수 있게 되기까지의 시간을 측정하기 위한 값입니다.
+     */
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+        if (exception != null || firstWebSocketMillis.get() >= 0) {
+            return;
+        }
+
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstWebSocketMillis.compareAndSet(-1, uptime)) {
+            logger.info("First WebSocket connection accepted: {} ms since JVM start", uptime);
+        }
+    }
+
+    public long getApplicationReadyMillis() {
+        return applicationReadyMillis.get();
+    }
+
+    public long getFirstWebSocketMillis() {
+        return firstWebSocketMillis.get();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.toychat.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 클라이언트 inbound 채널에서 메시지 처리 시간(@MessageMapping 메소드, 브로커 처리)을 기록합니다.
+ * 목적지는 클라이언트가 정하는 값이므로 앱이 쓰는 목적지만 숫자 경로를 {id}로 바꾼 템플릿으로 기록하고,
+ * 나머지는 모두 other로 묶어 임의 목적지로 meter(히스토그램 시계열)가 늘어나지 않게 합니다.
+ */
+@Component
+public class StompInboundMetricsInterceptor implements ExecutorChannelInterceptor {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    // 태그로 기록하는 목적지: 메시지 전송, 채팅방 구독, 사용자별 알림, 채팅방 목록
+    private static final Pattern KNOWN_DESTINATION = Pattern.compile(
+            "/app/chat\\.sendMessage/\\d+|/topic/public/\\d+|/user/queue/inbox|/topic/rooms");
+
+    private final ThreadLocal<long[]> startedAt = ThreadLocal.withInitial(() -> new long[1]); // 같은 스레드에서 beforeHandle → afterMessageHandled
+
+    private final MeterRegistry meterRegistry;
+
+    public StompInboundMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        startedAt.get()[0] = System.nanoTime();
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        long elapsed = System.nanoTime() - startedAt.get()[0];
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+
+        Timer.builder("toychat.stomp.inbound")
+                .description("Time to handle an inbound STOMP message")
+                .tag("type", messageType != null ? messageType.name() : "UNKNOWN")
+                .tag("destination", destinationTag(destination))
+                .tag("handler", handler.getClass().getSimpleName())
+                .tag("outcome", ex == null ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private static String destinationTag(String destination) {
+        if (destination == null) {
+            return "none";
+        }
+        if (!KNOWN_DESTINATION.matcher(destination).matches()) {
+            return "other";
+        }
+        return NUMERIC_SEGMENT.matcher(destination).replaceAll("/{id}");
+    }
+}
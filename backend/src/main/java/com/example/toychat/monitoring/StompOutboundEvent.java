@@ -0,0 +1,32 @@
+package com.example.toychat.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 클라이언트 outbound 채널에서 세션 하나로 STOMP 프레임을 내보내는 JFR 이벤트 (브로드캐스트 fan-out 단위)
+ */
+@Name("com.example.toychat.StompOutbound")
+@Label("STOMP Outbound")
+@Category({"ToyChat", "Messaging"})
+@Description("Delivery of a STOMP frame to one WebSocket session")
+@StackTrace(false)
+public class StompOutboundEvent extends jdk.jfr.Event {
+
+    @Label("Room ID")
+    public long roomId;
+
+    @Label("Destination")
+    public String destination;
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Payload Size")
+    @DataAmount(DataAmount.BYTES)
+    public long payloadSize;
+}
@@ -0,0 +1,59 @@
+package com.example.toychat.monitoring;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클라이언트 outbound 채널에서 세션으로 프레임을 쓰는 시간을 StompOutboundEvent로 기록합니다.
+ * 녹화 중이 아니면 이벤트를 만들지 않습니다.
+ */
+@Component
+public class StompOutboundJfrInterceptor implements ExecutorChannelInterceptor {
+
+    private static final String ROOM_TOPIC_PREFIX = "/topic/public/";
+
+    private final ThreadLocal<StompOutboundEvent> currentEvent = new ThreadLocal<>(); // 같은 스레드에서 beforeHandle → afterMessageHandled
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        StompOutboundEvent event = new StompOutboundEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            currentEvent.set(event);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        StompOutboundEvent event = currentEvent.get();
+        if (event == null) {
+            return;
+        }
+        currentEvent.remove();
+        event.end();
+        if (event.shouldCommit()) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            event.destination = destination;
+            event.roomId = roomId(destination);
+            event.sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            event.payloadSize = message.getPayload() instanceof byte[] payload ? payload.length : 0;
+            event.commit();
+        }
+    }
+
+    private static long roomId(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_TOPIC_PREFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(destination.substring(ROOM_TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.toychat.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * WebSocketController.sendMessage 전체 (STOMP SEND 수신 ~ 브로드캐스트할 응답 생성) JFR 이벤트
+ */
+@Name("com.example.toychat.StompSend")
+@Label("STOMP Send")
+@Category({"ToyChat", "Messaging"})
+@Description("Handling of a chat message received over STOMP")
+@StackTrace(false)
+public class StompSendEvent extends jdk.jfr.Event {
+
+    @Label("Room ID")
+    public long roomId;
+
+    @Label("Payload Size")
+    @DataAmount(DataAmount.BYTES)
+    public long payloadSize;
+
+    @Label("Success")
+    public boolean success;
+}
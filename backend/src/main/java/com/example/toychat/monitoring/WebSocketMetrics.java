@@ -0,0 +1,62 @@
+package com.example.toychat.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * STOMP 채널 실행기의 대기열 크기와 활성 WebSocket 세션 수를 게이지로 등록합니다.
+ * WebSocket 메시지 브로커 설정이 만든 빈을 사용하므로 모든 싱글톤 생성 후에 등록합니다.
+ */
+@Component
+public class WebSocketMetrics implements SmartInitializingSingleton {
+
+    private static final String[] CHANNEL_EXECUTORS = {"clientInboundChannelExecutor", "clientOutboundChannelExecutor", "brokerChannelExecutor"};
+
+    private final ApplicationContext applicationContext;
+
+    private final MeterRegistry meterRegistry;
+
+    public WebSocketMetrics(ApplicationContext applicationContext, MeterRegistry meterRegistry) {
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : CHANNEL_EXECUTORS) {
+            if (!applicationContext.containsBean(beanName)) {
+                continue;
+            }
+            ThreadPoolTaskExecutor executor = applicationContext.getBean(beanName, ThreadPoolTaskExecutor.class);
+            String channel = beanName.replace("Executor", "");
+            Gauge.builder("toychat.stomp.channel.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                    .description("Messages waiting in the STOMP channel executor queue")
+                    .tag("channel", channel)
+                    .register(meterRegistry);
+            Gauge.builder("toychat.stomp.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                    .description("Threads handling messages in the STOMP channel executor")
+                    .tag("channel", channel)
+                    .register(meterRegistry);
+        }
+
+        if (applicationContext.containsBean("subProtocolWebSocketHandler")) {
+            WebSocketHandler handler = applicationContext.getBean("subProtocolWebSocketHandler", WebSocketHandler.class);
+            if (handler instanceof WebSocketHandlerDecorator decorator) {
+                handler = decorator.getLastHandler();
+            }
+            if (handler instanceof SubProtocolWebSocketHandler subProtocolHandler) {
+                Gauge.builder("toychat.websocket.sessions", subProtocolHandler, h -> h.getStats().getWebSocketSessions())
+                        .description("Active WebSocket sessions")
+                        .register(meterRegistry);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.toychat.ratelimit;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+@Component
+public class ClientAddressHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String CLIENT_ADDRESS = "clientAddress"; // 세션 속성 이름
+
+    /**
+     * 핸드셰이크 요청의 클라이언트 IP를 세션 속성에 저장합니다.
+     * 익명 세션의 메시지 전송 제한을 재연결해도 초기화되지 않는 IP 기준으로 적용하기 위한 값입니다.
+     * (프록시 뒤에서는 server.forward-headers-strategy로 X-Forwarded-For의 주소가 반영됨)
+     */
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress != null) {
+            attributes.put(CLIENT_ADDRESS, remoteAddress.getAddress() != null
+                    ? remoteAddress.getAddress().getHostAddress()
+                    : remoteAddress.getHostString());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.toychat.ratelimit;
+
+import com.example.toychat.exception.RateLimitExceededException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Map;
+
+@Component
+public class RateLimitChannelInterceptor implements ChannelInterceptor {
+
+    private static final String SEND_PREFIX = "/app/chat.sendMessage/";
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    /**
+     * 클라이언트 inbound 채널로 들어오는 메시지 전송(SEND)을 사용자(익명 세션은 클라이언트 IP), 채팅방 기준으로 제한합니다.
+     * 제한을 넘으면 예외를 던져 STOMP ERROR 프레임이 전송되도록 합니다.
+     *
+     * @param message 수신 메시지
+     * @param channel inbound 채널
+     * @return 통과시킬 메시지
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(SEND_PREFIX)) {
+            return message;
+        }
+
+        Principal user = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+        String userKey = user != null ? "user:" + user.getName() : anonymousKey(message);
+        String roomKey = destination.substring(SEND_PREFIX.length());
+
+        String rejectedScope = rateLimitService.tryAcquireStomp(userKey, roomKey);
+        if (rejectedScope != null) {
+            throw new RateLimitExceededException(message, rejectedScope);
+        }
+        return message;
+    }
+
+    // 익명 세션은 재연결해도 바뀌지 않도록 핸드셰이크 때 저장한 클라이언트 IP 기준 (없으면 세션 기준)
+    private static String anonymousKey(Message<?> message) {
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        Object address = attributes != null ? attributes.get(ClientAddressHandshakeInterceptor.CLIENT_ADDRESS) : null;
+        return address != null
+                ? "ip:" + address
+                : "session:" + SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.toychat.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // 채팅방 단위 경로 (/api/messages/{chatroom_id}..., /api/chatrooms/{chatroom_id}/...)
+    private static final Pattern ROOM_PATH = Pattern.compile("^/api/(?:messages|chatrooms)/(\\d+)(?:/.*)?$");
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    /**
+     * 인증된 사용자(없으면 클라이언트 IP) 기준으로, 채팅방 경로는 채팅방 기준으로도 REST 요청 수를 제한합니다.
+     * 프록시 뒤에서는 server.forward-headers-strategy=native로 X-Forwarded-For의 클라이언트 IP가 remoteAddr에 반영됩니다.
+     * 제한을 넘으면 429 응답을 반환합니다.
+     *
+     * @param request     HTTP 요청
+     * @param response    HTTP 응답
+     * @param filterChain 필터 체인
+     * @throws ServletException 서블릿 예외
+     * @throws IOException      IO 예외
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // WebSocket 메시지는 STOMP 인터셉터에서 제한
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/ws") || uri.startsWith("/actuator")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String key = authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)
+                ? "user:" + authentication.getName()
+                : "ip:" + request.getRemoteAddr();
+
+        Matcher roomMatcher = ROOM_PATH.matcher(uri);
+        String roomKey = roomMatcher.matches() ? roomMatcher.group(1) : null;
+
+        String rejectedScope = rateLimitService.tryAcquireRest(key, roomKey);
+        if (rejectedScope != null) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"status\":\"429 TOO_MANY_REQUESTS\",\"message\":\"Too many requests\",\"scope\":\"" + rejectedScope + "\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.toychat.ratelimit;
+
+import com.example.toychat.timer.ExpiryService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * REST/STOMP 유입 요청의 사용자별, 채팅방별 레이트 리밋.
+ * 거절 횟수는 toychat.ratelimit.rejected 카운터(ingress, scope 태그)로 노출됩니다.
+ */
+@Component
+public class RateLimitService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitService.class);
+
+    private static final Duration EVICT_INTERVAL = Duration.ofSeconds(60); // 유휴 버킷 정리 주기
+
+    private final RateLimiter restUserLimiter;
+
+    private final RateLimiter restRoomLimiter;
+
+    private final RateLimiter stompUserLimiter;
+
+    private final RateLimiter stompRoomLimiter;
+
+    private final Counter restUserRejected;
+
+    private final Counter restRoomRejected;
+
+    private final Counter stompUserRejected;
+
+    private final Counter stompRoomRejected;
+
+    private final ExpiryService expiryService;
+
+    public RateLimitService(@Value("${toychat.ratelimit.rest.user.burst:50}") int restUserBurst,
+                            @Value("${toychat.ratelimit.rest.user.per-second:20}") int restUserPerSecond,
+                            @Value("${toychat.ratelimit.rest.room.burst:100}") int restRoomBurst,
+                            @Value("${toychat.ratelimit.rest.room.per-second:50}") int restRoomPerSecond,
+                            @Value("${toychat.ratelimit.stomp.user.burst:20}") int stompUserBurst,
+                            @Value("${toychat.ratelimit.stomp.user.per-second:10}") int stompUserPerSecond,
+                            @Value("${toychat.ratelimit.stomp.room.burst:100}") int stompRoomBurst,
+                            @Value("${toychat.ratelimit.stomp.room.per-second:50}") int stompRoomPerSecond,
+                            MeterRegistry meterRegistry,
+                            ExpiryService expiryService) {
+        this.restUserLimiter = new RateLimiter("rest.user", restUserBurst, restUserPerSecond);
+        this.restRoomLimiter = new RateLimiter("rest.room", restRoomBurst, restRoomPerSecond);
+        this.stompUserLimiter = new RateLimiter("stomp.user", stompUserBurst, stompUserPerSecond);
+        this.stompRoomLimiter = new RateLimiter("stomp.room", stompRoomBurst, stompRoomPerSecond);
+        this.restUserRejected = rejectedCounter(meterRegistry, "rest", "user");
+        this.restRoomRejected = rejectedCounter(meterRegistry, "rest", "room");
+        this.stompUserRejected = rejectedCounter(meterRegistry, "stomp", "user");
+        this.stompRoomRejected = rejectedCounter(meterRegistry, "stomp", "room");
+        this.expiryService = expiryService;
+
+        for (RateLimiter limiter : new RateLimiter[]{restUserLimiter, restRoomLimiter, stompUserLimiter, stompRoomLimiter}) {
+            Gauge.builder("toychat.ratelimit.buckets", limiter, RateLimiter::size)
+                    .tag("limiter", limiter.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    // 가득 찬 버킷은 새 버킷과 같으므로 주기적으로 제거하여 메모리 사용량 유지
+    @PostConstruct
+    public void scheduleEviction() {
+        expiryService.scheduleWithFixedDelay(this::evictIdle, EVICT_INTERVAL);
+    }
+
+    /**
+     * REST 요청 하나를 사용자, 채팅방 기준으로 허용할지 결정합니다.
+     *
+     * @param userKey 사용자 이름 (미인증 요청은 클라이언트 IP)
+     * @param roomKey 채팅방 키 (채팅방 경로가 아니면 null)
+     * @return 거절된 범위, 허용되면 null
+     */
+    public String tryAcquireRest(String userKey, String roomKey) {
+        if (!restUserLimiter.tryAcquire(userKey)) {
+            restUserRejected.increment();
+            return "user";
+        }
+        if (roomKey != null && !restRoomLimiter.tryAcquire(roomKey)) {
+            restRoomRejected.increment();
+            return "room";
+        }
+        return null;
+    }
+
+    /**
+     * STOMP 메시지 전송 하나를 사용자, 채팅방 기준으로 허용할지 결정합니다.
+     *
+     * @param userKey 사용자 키
+     * @param roomKey 채팅방 키
+     * @return 거절된 범위, 허용되면 null
+     */
+    public String tryAcquireStomp(String userKey, String roomKey) {
+        if (!stompUserLimiter.tryAcquire(userKey)) {
+            stompUserRejected.increment();
+            return "user";
+        }
+        if (roomKey != null && !stompRoomLimiter.tryAcquire(roomKey)) {
+            stompRoomRejected.increment();
+            return "room";
+        }
+        return null;
+    }
+
+    private void evictIdle() {
+        int evicted = restUserLimiter.evictIdle() + restRoomLimiter.evictIdle() + stompUserLimiter.evictIdle() + stompRoomLimiter.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Idle rate limit buckets evicted: {}", evicted);
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String ingress, String scope) {
+        return Counter.builder("toychat.ratelimit.rejected")
+                .description("Requests rejected by rate limiting")
+                .tag("ingress", ingress)
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
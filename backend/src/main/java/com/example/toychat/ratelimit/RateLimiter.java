@@ -0,0 +1,104 @@
+package com.example.toychat.ratelimit;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 키(사용자, 채팅방 등)별 토큰 버킷 레이트 리미터.
+ * 버킷은 여러 개의 ConcurrentHashMap(stripe)에 나누어 저장하여 유휴 버킷 정리가 한 번에 전체 맵을 잡지 않도록 합니다.
+ */
+public class RateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final String name;
+
+    private final long capacity; // 1/1000 토큰 단위
+
+    private final long refillPerSecond;
+
+    private final long startNanos = System.nanoTime();
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes = new ConcurrentHashMap[STRIPES];
+
+    /**
+     * @param name            리미터 이름 (메트릭 태그)
+     * @param burst           최대 연속 허용 요청 수
+     * @param refillPerSecond 초당 허용 요청 수
+     */
+    public RateLimiter(String name, int burst, int refillPerSecond) {
+        if (burst < 1 || (long) burst * TokenBucket.ONE_TOKEN > TokenBucket.TOKEN_MASK || refillPerSecond < 1) {
+            throw new IllegalArgumentException("Invalid rate limit for " + name + ": burst=" + burst + ", refill=" + refillPerSecond);
+        }
+        this.name = name;
+        this.capacity = burst * TokenBucket.ONE_TOKEN;
+        this.refillPerSecond = refillPerSecond;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * 키에 대한 요청 하나를 허용할지 결정합니다.
+     *
+     * @param key 제한 키
+     * @return 허용되면 true
+     */
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, nowMs());
+    }
+
+    // 테스트에서 시각을 지정하기 위한 메서드
+    boolean tryAcquire(String key, long now) {
+        TokenBucket bucket = stripe(key).computeIfAbsent(key, k -> new TokenBucket(now, capacity));
+        return bucket.tryConsume(now, capacity, refillPerSecond);
+    }
+
+    /**
+     * 토큰이 가득 찬(유휴) 버킷을 제거합니다.
+     *
+     * @return 제거된 버킷 수
+     */
+    public int evictIdle() {
+        return evictIdle(nowMs());
+    }
+
+    int evictIdle(long now) {
+        int evicted = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            Iterator<TokenBucket> it = stripe.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().isFull(now, capacity, refillPerSecond)) {
+                    it.remove();
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @return 현재 추적 중인 버킷 수
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private ConcurrentHashMap<String, TokenBucket> stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private long nowMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
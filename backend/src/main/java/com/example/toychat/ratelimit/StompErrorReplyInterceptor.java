@@ -0,0 +1,45 @@
+package com.example.toychat.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * inbound 인터셉터가 거절한 메시지에 대해 ERROR 프레임을 클라이언트에 보냅니다.
+ * 세션별 수신 순서를 유지하도록 설정하면 (setPreserveReceiveOrder) inbound 채널 전송이 세션 큐를 거치면서
+ * 인터셉터 예외가 STOMP 핸들러까지 전달되지 않으므로, 가장 앞에 등록된 이 인터셉터가 예외를 받아 ERROR 프레임을 대신 보냅니다.
+ */
+@Component
+public class StompErrorReplyInterceptor implements ChannelInterceptor {
+
+    @Autowired
+    private StompRateLimitErrorHandler stompErrorHandler; // ERROR 프레임 구성 (레이트 리밋이면 사유와 재시도 시간 포함)
+
+    @Lazy
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private MessageChannel clientOutboundChannel;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (ex == null || sessionId == null || !(message.getPayload() instanceof byte[])) {
+            return;
+        }
+        Message<byte[]> error = stompErrorHandler.handleClientMessageProcessingError((Message<byte[]>) message, ex);
+        if (error == null) {
+            return;
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(error);
+        accessor.setSessionId(sessionId); // 세션 ID로 해당 WebSocket 세션에 전달 (ERROR 전송 후 세션은 닫힘)
+        clientOutboundChannel.send(MessageBuilder.createMessage(error.getPayload(), accessor.getMessageHeaders()));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.toychat.ratelimit;
+
+import com.example.toychat.exception.RateLimitExceededException;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.StompSubProtocolErrorHandler;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 레이트 리밋으로 거절된 STOMP 메시지에 대해 사유와 재시도 시간을 담은 ERROR 프레임을 만듭니다.
+ */
+@Component
+public class StompRateLimitErrorHandler extends StompSubProtocolErrorHandler {
+
+    @Override
+    public Message<byte[]> handleClientMessageProcessingError(Message<byte[]> clientMessage, Throwable ex) {
+        RateLimitExceededException rateLimitException = findRateLimitException(ex);
+        if (rateLimitException == null) {
+            return super.handleClientMessageProcessingError(clientMessage, ex);
+        }
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.ERROR);
+        accessor.setMessage("Rate limit exceeded");
+        accessor.setNativeHeader("retry-after", "1");
+        accessor.setNativeHeader("rate-limit-scope", rateLimitException.getScope());
+        String body = "{\"message\":\"Too many messages\",\"scope\":\"" + rateLimitException.getScope() + "\"}";
+        return handleInternal(accessor, body.getBytes(StandardCharsets.UTF_8), ex,
+                clientMessage != null ? StompHeaderAccessor.wrap(clientMessage) : null);
+    }
+
+    private static RateLimitExceededException findRateLimitException(Throwable ex) {
+        while (ex != null) {
+            if (ex instanceof RateLimitExceededException rateLimitException) {
+                return rateLimitException;
+            }
+            ex = ex.getCause();
+        }
+        return null;
+    }
+}
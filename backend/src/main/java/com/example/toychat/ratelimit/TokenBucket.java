@@ -0,0 +1,67 @@
+package com.example.toychat.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * lock-free 토큰 버킷.
+ * 마지막 갱신 시각(ms)과 남은 토큰(1/1000 단위)을 하나의 long에 담아 CAS로 갱신합니다.
+ */
+final class TokenBucket {
+
+    static final int TOKEN_BITS = 20; // 1/1000 토큰 단위로 최대 1048 토큰
+
+    static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    static final long ONE_TOKEN = 1000;
+
+    private static final AtomicLongFieldUpdater<TokenBucket> STATE =
+            AtomicLongFieldUpdater.newUpdater(TokenBucket.class, "state");
+
+    private volatile long state; // (마지막 갱신 시각 ms << TOKEN_BITS) | 남은 토큰(1/1000 단위)
+
+    TokenBucket(long nowMs, long capacity) {
+        this.state = (nowMs << TOKEN_BITS) | capacity;
+    }
+
+    /**
+     * 토큰 하나를 소비합니다.
+     *
+     * @param nowMs           현재 시각 (ms)
+     * @param capacity        최대 토큰 (1/1000 단위)
+     * @param refillPerSecond 초당 충전 토큰 수 (= ms 당 1/1000 토큰 수)
+     * @return 토큰이 있어 소비한 경우 true
+     */
+    boolean tryConsume(long nowMs, long capacity, long refillPerSecond) {
+        while (true) {
+            long current = state;
+            long available = available(current, nowMs, capacity, refillPerSecond);
+            if (available < ONE_TOKEN) {
+                return false;
+            }
+            long updatedAt = Math.max(nowMs, current >>> TOKEN_BITS);
+            long next = (updatedAt << TOKEN_BITS) | (available - ONE_TOKEN);
+            if (STATE.compareAndSet(this, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 토큰이 가득 찬 버킷은 새로 만든 버킷과 같으므로 제거해도 제한 동작이 바뀌지 않습니다.
+     *
+     * @return 가득 찬(유휴) 버킷인 경우 true
+     */
+    boolean isFull(long nowMs, long capacity, long refillPerSecond) {
+        return available(state, nowMs, capacity, refillPerSecond) >= capacity;
+    }
+
+    private static long available(long state, long nowMs, long capacity, long refillPerSecond) {
+        long updatedAt = state >>> TOKEN_BITS;
+        long tokens = state & TOKEN_MASK;
+        long elapsed = Math.max(0, nowMs - updatedAt);
+        if (elapsed >= capacity) {
+            return capacity; // 오버플로 방지 (refillPerSecond >= 1 이면 capacity ms 후 가득 참)
+        }
+        return Math.min(capacity, tokens + elapsed * refillPerSecond);
+    }
+}
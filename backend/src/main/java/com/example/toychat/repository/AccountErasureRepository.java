@@ -0,0 +1,30 @@
+package com.example.toychat.repository;
+
+import com.example.toychat.entity.AccountErasure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AccountErasureRepository extends JpaRepository<AccountErasure, Long> {
+    // 진행 중인 삭제 작업 ID 조회 (중단된 작업 재개용)
+    @Query("SELECT e.id FROM AccountErasure e WHERE e.status = :status ORDER BY e.id ASC")
+    List<Long> findIdsByStatus(@Param("status") AccountErasure.Status status);
+
+    // 배치 삭제 기록 (메시지 배치 삭제와 같은 트랜잭션에서 호출)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AccountErasure e SET e.lastMessageId = :lastMessageId, e.deletedMessages = e.deletedMessages + :count, e.updatedAt = :now WHERE e.id = :id")
+    int recordBatch(@Param("id") Long id, @Param("lastMessageId") long lastMessageId, @Param("count") long count, @Param("now") LocalDateTime now);
+
+    // 상태 변경
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AccountErasure e SET e.status = :status, e.updatedAt = :now WHERE e.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") AccountErasure.Status status, @Param("now") LocalDateTime now);
+}
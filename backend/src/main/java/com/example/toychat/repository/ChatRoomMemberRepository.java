@@ -5,9 +5,14 @@ import com.example.toychat.entity.ChatRoomMember;
 import com.example.toychat.entity.User;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember, Long> {
     // 채팅방에 사용자 참여 여부 확인
@@ -20,9 +25,44 @@ public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember,
     @Query("SELECT cr FROM ChatRoom cr JOIN cr.members crm WHERE crm.user = :user")
     List<ChatRoom> findChatRoomsByUser(User user);
 
+    // 주어진 채팅방 중 사용자가 참여한 채팅방 ID 조회
+    @Query("SELECT crm.chatRoom.id FROM ChatRoomMember crm WHERE crm.user = :user AND crm.chatRoom.id IN :chatroomIds")
+    Set<Long> findJoinedChatRoomIds(@Param("user") User user, @Param("chatroomIds") Collection<Long> chatroomIds);
+
+    // 채팅방 멤버의 사용자 이름 조회
+    @Query("SELECT crm.user.username FROM ChatRoomMember crm WHERE crm.chatRoom.id = :chatroomId")
+    List<String> findMemberUsernames(@Param("chatroomId") Long chatroomId);
+
     // 채팅방의 멤버 목록 조회
     List<ChatRoomMember> findByChatRoom(ChatRoom chatRoom);
 
+    // 채팅방의 멤버 목록을 사용자와 함께 조회 (트랜잭션 밖에서 DTO로 변환할 때)
+    @Query("SELECT crm FROM ChatRoomMember crm JOIN FETCH crm.user WHERE crm.chatRoom.id = :chatroomId ORDER BY crm.id ASC")
+    List<ChatRoomMember> findWithUserByChatRoomId(@Param("chatroomId") Long chatroomId);
+
+    // 사용자 이름으로 채팅방 참여 여부 확인 (사용자를 따로 조회하지 않음)
+    @Query("SELECT COUNT(crm) > 0 FROM ChatRoomMember crm WHERE crm.chatRoom.id = :chatroomId AND crm.user.username = :username")
+    boolean existsMember(@Param("chatroomId") Long chatroomId, @Param("username") String username);
+
+    // 사용자 이름으로 참여 중인 채팅방 ID 조회 (메시지 검색 범위)
+    @Query("SELECT crm.chatRoom.id FROM ChatRoomMember crm WHERE crm.user.username = :username")
+    List<Long> findChatRoomIdsByUsername(@Param("username") String username);
+
+    // 사용자가 채팅방에 참여 중인지 확인
+    boolean existsByUser(User user);
+
     // 채팅방에 참여한 회원 삭제
     void deleteByChatRoomAndUser(ChatRoom chatRoom, User user);
+
+    // 채팅방의 멤버 일괄 삭제 (삭제된 채팅방 정리)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ChatRoomMember crm WHERE crm.chatRoom.id = :chatroomId")
+    int deleteAllByChatRoomId(@Param("chatroomId") Long chatroomId);
+
+    // 사용자의 멤버 정보 일괄 삭제 (탈퇴 사용자 정리)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ChatRoomMember crm WHERE crm.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -2,8 +2,60 @@ package com.example.toychat.repository;
 
 import com.example.toychat.entity.ChatRoom;
 
+import jakarta.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
+    // 채팅방 행을 잠그고 조회 (참여, 나가기, 삭제처럼 멤버 수를 확인한 뒤 바꾸는 작업을 채팅방 단위로 직렬화)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cr FROM ChatRoom cr WHERE cr.id = :id")
+    Optional<ChatRoom> findByIdForUpdate(@Param("id") Long id);
+
+    // 삭제 표시되지 않은 채팅방을 잠그고 조회 (잠금을 얻은 뒤의 최신 행으로 판단하도록 조건은 조회 후에 확인)
+    default Optional<ChatRoom> findActiveByIdForUpdate(Long id) {
+        return findByIdForUpdate(id).filter(chatRoom -> chatRoom.getDeletedAt() == null);
+    }
+
+    // 삭제 표시되지 않은 채팅방 조회
+    @Query("SELECT cr FROM ChatRoom cr WHERE cr.id = :id AND cr.deletedAt IS NULL")
+    Optional<ChatRoom> findActiveById(@Param("id") Long id);
+
+    // 삭제 표시되지 않은 채팅방인지 확인
+    @Query("SELECT COUNT(cr) > 0 FROM ChatRoom cr WHERE cr.id = :id AND cr.deletedAt IS NULL")
+    boolean existsActiveById(@Param("id") Long id);
+
+    // 삭제 표시되지 않은 전체 채팅방 조회
+    List<ChatRoom> findByDeletedAtIsNull();
+
+    // 주어진 채팅방 중 공개 채팅방의 현재 인원 수 조회 ([채팅방 ID, 인원 수], 삭제된 채팅방은 결과에 없음)
+    @Query("SELECT cr.id, COUNT(crm) FROM ChatRoom cr LEFT JOIN cr.members crm WHERE cr.id IN :ids AND cr.isPrivate = false AND cr.deletedAt IS NULL GROUP BY cr.id")
+    List<Object[]> countMembersOfPublicRooms(@Param("ids") Collection<Long> ids);
+
+    // 전체 채팅방 ID 조회 (검색 색인 재구축용)
+    @Query("SELECT cr.id FROM ChatRoom cr WHERE cr.deletedAt IS NULL ORDER BY cr.id ASC")
+    List<Long> findAllIds();
+
+    // 삭제 표시만 되고 아직 정리되지 않은 채팅방 ID 조회 (중단된 정리 재개용)
+    @Query("SELECT cr.id FROM ChatRoom cr WHERE cr.deletedAt IS NOT NULL ORDER BY cr.id ASC")
+    List<Long> findDeletedIds();
+
+    // 사용자가 만든 채팅방 중 삭제 표시만 되고 아직 정리되지 않은 채팅방 ID 조회 (탈퇴 사용자 행을 지우기 전에 정리)
+    @Query("SELECT cr.id FROM ChatRoom cr WHERE cr.creator.id = :userId AND cr.deletedAt IS NOT NULL ORDER BY cr.id ASC")
+    List<Long> findDeletedIdsByCreatorId(@Param("userId") Long userId);
 
+    // 정리가 끝난 삭제 표시 채팅방 행 삭제 (cascade로 연관 행을 하나씩 읽어 지우지 않도록 JPQL로 직접 삭제)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ChatRoom cr WHERE cr.id = :id AND cr.deletedAt IS NOT NULL")
+    int deleteMarked(@Param("id") Long id);
 }
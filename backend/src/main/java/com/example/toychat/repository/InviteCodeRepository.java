@@ -7,8 +7,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,11 +21,23 @@ public interface InviteCodeRepository extends JpaRepository<InviteCode, Long> {
     // 초대 코드 정보를 조회
     Optional<InviteCode> findByInviteCode(String inviteCode);
 
-    // 만료된 초대 코드를 검색
-    List<InviteCode> findByExpirationDate(LocalDateTime dateTime);
+    // 만료되지 않은 초대 코드를 조회
+    List<InviteCode> findByExpirationDateAfter(LocalDateTime dateTime);
 
     // 만료된 초대 코드를 삭제
     @Modifying
     @Query("DELETE FROM InviteCode i WHERE i.expirationDate < :now")
-    void deleteExpiredInviteCodes(@Param("now") LocalDateTime now);
+    int deleteExpiredInviteCodes(@Param("now") LocalDateTime now);
+
+    // 만료된 초대 코드 목록을 일괄 삭제 (같은 코드로 재발급된 유효한 코드는 삭제하지 않음)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM InviteCode i WHERE i.inviteCode IN :codes AND i.expirationDate < :now")
+    int deleteExpiredByInviteCodes(@Param("codes") Collection<String> codes, @Param("now") LocalDateTime now);
+
+    // 채팅방의 초대 코드 삭제 (삭제된 채팅방 정리)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM InviteCode i WHERE i.chatRoom.id = :chatroomId")
+    int deleteByChatRoomId(@Param("chatroomId") Long chatroomId);
 }
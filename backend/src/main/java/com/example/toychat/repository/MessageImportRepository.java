@@ -0,0 +1,25 @@
+package com.example.toychat.repository;
+
+import com.example.toychat.entity.MessageImport;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface MessageImportRepository extends JpaRepository<MessageImport, Long> {
+    // 배치 커밋 기록 (메시지 배치와 같은 트랜잭션에서 호출)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MessageImport i SET i.committedOffset = :committedOffset, i.imported = i.imported + :count, i.updatedAt = :now WHERE i.id = :id")
+    int recordBatch(@Param("id") Long id, @Param("committedOffset") long committedOffset, @Param("count") long count, @Param("now") LocalDateTime now);
+
+    // 상태 변경
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MessageImport i SET i.status = :status, i.error = :error, i.updatedAt = :now WHERE i.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") MessageImport.Status status, @Param("error") String error, @Param("now") LocalDateTime now);
+}
@@ -3,11 +3,116 @@ package com.example.toychat.repository;
 import com.example.toychat.entity.ChatRoom;
 import com.example.toychat.entity.Message;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
     // 채팅방의 메시지를 오름차순으로 조회
     List<Message> findByChatRoomOrderByCreatedAtAsc(ChatRoom chatRoom);
-}
\ No newline at end of file
+
+    // 채팅방에서 주어진 ID 이후의 메시지를 ID 오름차순으로 조회 (작성자 함께 조회)
+    @Query("SELECT m FROM Message m JOIN FETCH m.user WHERE m.chatRoom.id = :chatroomId AND m.id > :afterId ORDER BY m.id ASC")
+    List<Message> findNewMessages(@Param("chatroomId") Long chatroomId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 채팅방에서 주어진 ID 이하 메시지 중 since 이후 수정된 메시지를 수정 시각 순으로 조회 (작성자 함께 조회)
+    @Query("SELECT m FROM Message m JOIN FETCH m.user WHERE m.chatRoom.id = :chatroomId AND m.id <= :upToId " +
+            "AND m.updatedAt >= :since AND m.updatedAt > m.createdAt ORDER BY m.updatedAt ASC, m.id ASC")
+    List<Message> findEditedMessages(@Param("chatroomId") Long chatroomId, @Param("upToId") Long upToId,
+                                     @Param("since") LocalDateTime since, Pageable pageable);
+
+    // (updatedAt, id) 이후에 전송/수정된 메시지를 수정 시각 순으로 조회 (삭제 표시된 채팅방 제외, 검색 색인 따라잡기용)
+    // 결과: [메시지 ID, 채팅방 ID, 버전, 내용, 수정 시각]
+    @Query("SELECT m.id, m.chatRoom.id, m.version, m.content, m.updatedAt FROM Message m WHERE m.chatRoom.deletedAt IS NULL " +
+            "AND (m.updatedAt > :afterUpdatedAt OR (m.updatedAt = :afterUpdatedAt AND m.id > :afterId)) ORDER BY m.updatedAt ASC, m.id ASC")
+    List<Object[]> findUpdatedAfter(@Param("afterUpdatedAt") LocalDateTime afterUpdatedAt, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 채팅방의 마지막 메시지 순번 조회 (순번 발급기 초기화용)
+    @Query("SELECT MAX(m.seq) FROM Message m WHERE m.chatRoom.id = :chatroomId")
+    Long findMaxSeq(@Param("chatroomId") Long chatroomId);
+
+    // 채팅방의 최신 메시지를 ID 내림차순으로 조회 (작성자 함께 조회)
+    @Query("SELECT m FROM Message m JOIN FETCH m.user WHERE m.chatRoom.id = :chatroomId ORDER BY m.id DESC")
+    List<Message> findLatestMessages(@Param("chatroomId") Long chatroomId, Pageable pageable);
+
+    // 메시지 내용 수정 후 버전 증가 (expectedVersion이 있으면 그 버전일 때만 수정, 다른 수정이 먼저 반영됐으면 0 반환)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Message m SET m.content = :content, m.updatedAt = :updatedAt, m.version = m.version + 1 " +
+            "WHERE m.id = :id AND (:expectedVersion IS NULL OR m.version = :expectedVersion)")
+    int updateContent(@Param("id") Long id, @Param("content") String content, @Param("updatedAt") LocalDateTime updatedAt,
+                      @Param("expectedVersion") Long expectedVersion);
+
+    // 채팅방에서 순번 구간의 메시지를 순번 순으로 조회 (작성자 함께 조회)
+    @Query("SELECT m FROM Message m JOIN FETCH m.user WHERE m.chatRoom.id = :chatroomId AND m.seq BETWEEN :fromSeq AND :toSeq ORDER BY m.seq ASC")
+    List<Message> findBySeqRange(@Param("chatroomId") Long chatroomId, @Param("fromSeq") Long fromSeq, @Param("toSeq") Long toSeq);
+
+    // 주어진 ID의 메시지 조회 (작성자 함께 조회, 검색 결과용)
+    @Query("SELECT m FROM Message m JOIN FETCH m.user WHERE m.id IN :ids")
+    List<Message> findWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 채팅방의 전체 메시지를 ID 순으로 흘려보내며 조회 (내보내기용, 전진 전용 커서로 fetch size만큼씩 읽고 스냅샷을 만들지 않음)
+    // MySQL은 URL에 useCursorFetch=true가 있어야 fetch size 단위로 읽음 (없으면 드라이버가 결과 전체를 메모리에 올림)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM Message m JOIN FETCH m.user WHERE m.chatRoom.id = :chatroomId ORDER BY m.id ASC")
+    Stream<Message> streamByChatRoomId(@Param("chatroomId") Long chatroomId);
+
+    // 채팅방에서 주어진 ID 이후의 메시지 ID를 오름차순으로 조회 (삭제된 채팅방을 키 순서대로 나눠 정리할 때 구간 결정)
+    @Query("SELECT m.id FROM Message m WHERE m.chatRoom.id = :chatroomId AND m.id > :afterId ORDER BY m.id ASC")
+    List<Long> findIdsAfter(@Param("chatroomId") Long chatroomId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 채팅방에서 ID 구간 (afterId, upToId]의 메시지 일괄 삭제 (구간마다 별도 트랜잭션)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Message m WHERE m.chatRoom.id = :chatroomId AND m.id > :afterId AND m.id <= :upToId")
+    int deleteRange(@Param("chatroomId") Long chatroomId, @Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    // 사용자가 작성한 메시지 중 주어진 ID 이후의 ID를 오름차순으로 조회 (탈퇴 사용자의 메시지를 나눠 삭제할 때 구간 결정)
+    @Query("SELECT m.id FROM Message m WHERE m.user.id = :userId AND m.id > :afterId ORDER BY m.id ASC")
+    List<Long> findIdsByUserAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 사용자가 작성한 메시지 중 ID 구간 (afterId, upToId]의 메시지 일괄 삭제
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Message m WHERE m.user.id = :userId AND m.id > :afterId AND m.id <= :upToId")
+    int deleteRangeByUser(@Param("userId") Long userId, @Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    // 채팅방에서 cutoff 이전에 작성되고 그 뒤로 수정되지 않은 메시지를 ID 순으로 조회 (보관 대상, 탈퇴 처리 중인 사용자의 메시지는 제외)
+    @Query("SELECT m FROM Message m JOIN FETCH m.user u WHERE m.chatRoom.id = :chatroomId AND m.id > :afterId " +
+            "AND m.createdAt < :cutoff AND m.updatedAt < :cutoff AND u.deletedAt IS NULL ORDER BY m.id ASC")
+    List<Message> findArchivable(@Param("chatroomId") Long chatroomId, @Param("afterId") Long afterId,
+                                 @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // 채팅방에서 ID 구간 [fromId, toId]에 남아 있는 메시지 ID 조회 (보관 세그먼트와 겹쳐 테이블에도 남은 메시지 확인)
+    @Query("SELECT m.id FROM Message m WHERE m.chatRoom.id = :chatroomId AND m.id BETWEEN :fromId AND :toId")
+    List<Long> findIdsBetween(@Param("chatroomId") Long chatroomId, @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // 보관된 메시지를 같은 ID로 테이블에 되돌림 (수정할 때, 동시에 되돌린 요청이 있으면 무시)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT IGNORE INTO Message (id, chatroom_id, user_id, seq, content, created_at, updated_at, version) " +
+            "VALUES (:id, :chatroomId, :userId, :seq, :content, :createdAt, :updatedAt, :version)", nativeQuery = true)
+    int restoreArchived(@Param("id") Long id, @Param("chatroomId") Long chatroomId, @Param("userId") Long userId, @Param("seq") Long seq,
+                        @Param("content") String content, @Param("createdAt") LocalDateTime createdAt,
+                        @Param("updatedAt") LocalDateTime updatedAt, @Param("version") long version);
+
+    // 보관한 메시지 삭제 (보관 후 수정된 메시지는 남김)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Message m WHERE m.chatRoom.id = :chatroomId AND m.id IN :ids AND m.updatedAt < :cutoff")
+    int deleteArchived(@Param("chatroomId") Long chatroomId, @Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+}
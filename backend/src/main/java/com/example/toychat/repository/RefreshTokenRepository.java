@@ -0,0 +1,43 @@
+package com.example.toychat.repository;
+
+import com.example.toychat.entity.RefreshToken;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    // 토큰 해시로 리프레시 토큰을 조회
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // 토큰 행을 잠그고 조회 (같은 토큰으로 동시에 들어온 교체 요청을 직렬화해, 뒤의 요청이 앞의 요청이 발급한 토큰까지 무효화하도록 함)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RefreshToken r WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashForUpdate(@Param("tokenHash") String tokenHash);
+
+    // 토큰 묶음 전체를 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    // 사용자의 리프레시 토큰을 모두 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.username = :username")
+    int deleteByUsername(@Param("username") String username);
+
+    // 만료된 리프레시 토큰을 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
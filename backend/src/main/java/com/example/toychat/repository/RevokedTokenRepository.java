@@ -0,0 +1,26 @@
+package com.example.toychat.repository;
+
+import com.example.toychat.entity.RevokedToken;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    // 만료되지 않은 폐기 항목을 조회
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime dateTime);
+
+    // 주어진 시각 이후에 폐기된 항목을 조회 (증분 동기화)
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(LocalDateTime dateTime);
+
+    // 만료된 폐기 항목을 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
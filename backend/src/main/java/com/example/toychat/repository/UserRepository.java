@@ -3,7 +3,13 @@ package com.example.toychat.repository;
 import com.example.toychat.entity.User;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -12,4 +18,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // 이메일로 사용자 정보를 조회
     Optional<User> findByEmail(String email);
+
+    // 비밀번호 해시만 갱신 (로그인 시 재해시, 비밀번호가 그사이 바뀌었으면 갱신하지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    // 전체 사용자 이름과 ID (엔티티를 만들지 않음, 메시지 가져오기의 작성자 확인용)
+    @Query("SELECT u.username, u.id FROM User u WHERE u.deletedAt IS NULL")
+    List<Object[]> findAllUsernameIds();
+
+    // 탈퇴 처리 (로그인을 막고 메시지 삭제는 백그라운드에서 진행)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.deletedAt = :now WHERE u.id = :id AND u.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 메시지 삭제가 끝난 탈퇴 사용자 행 삭제 (cascade로 메시지를 하나씩 읽어 지우지 않도록 JPQL로 직접 삭제)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id = :id AND u.deletedAt IS NOT NULL")
+    int deleteMarked(@Param("id") Long id);
 }
@@ -0,0 +1,39 @@
+package com.example.toychat.scheduler;
+
+import com.example.toychat.service.AccountErasureService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountErasureScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountErasureScheduler.class);
+
+    @Autowired
+    private AccountErasureService accountErasureService;
+
+    // 기동 시 이전 실행에서 끝나지 않은 탈퇴 처리 재개
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeErasures() {
+        int pending = accountErasureService.resumeAll();
+        if (pending > 0) {
+            logger.info("Resuming {} account erasures", pending);
+        }
+    }
+
+    // 실패한 탈퇴 처리를 주기적으로 다시 시도
+    @Scheduled(fixedDelayString = "${toychat.erasure.retry-interval:PT10M}", initialDelayString = "${toychat.erasure.retry-interval:PT10M}")
+    public void retryErasures() {
+        int pending = accountErasureService.resumeAll();
+        if (pending > 0) {
+            logger.info("Retrying {} account erasures", pending);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.toychat.scheduler;
+
+import com.example.toychat.service.ChatRoomPurgeService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChatRoomPurgeScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatRoomPurgeScheduler.class);
+
+    @Autowired
+    private ChatRoomPurgeService chatRoomPurgeService;
+
+    // 기동 시 이전 실행에서 끝나지 않은 채팅방 정리 재개
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePurges() {
+        int pending = chatRoomPurgeService.resumeAll();
+        if (pending > 0) {
+            logger.info("Resuming purge of {} deleted chatting rooms", pending);
+        }
+    }
+
+    // 실패한 정리를 주기적으로 다시 시도
+    @Scheduled(fixedDelayString = "${toychat.purge.retry-interval:PT10M}", initialDelayString = "${toychat.purge.retry-interval:PT10M}")
+    public void retryPurges() {
+        int pending = chatRoomPurgeService.resumeAll();
+        if (pending > 0) {
+            logger.info("Retrying purge of {} deleted chatting rooms", pending);
+        }
+    }
+}
@@ -1,36 +1,84 @@
 package com.example.toychat.scheduler;
 
+import com.example.toychat.cache.InviteCodeIndex;
 import com.example.toychat.entity.InviteCode;
 
 import com.example.toychat.repository.InviteCodeRepository;
 
+import com.example.toychat.timer.ExpiryService;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 public class InviteCodeScheduler {
 
+    private static final Logger logger = LoggerFactory.getLogger(InviteCodeScheduler.class);
+
+    private static final int DELETE_BATCH_SIZE = 500; // 한 번에 삭제할 만료 코드 수
+
+    private static final Duration DELETE_DELAY = Duration.ofSeconds(5); // 만료 코드를 모아서 삭제하기 위한 지연
+
     @Autowired
     private InviteCodeRepository inviteCodeRepository;
 
-    // 1분마다 초대 코드 만료 시 삭제
-    @Scheduled(fixedRate = 60000)
+    @Autowired
+    private InviteCodeIndex inviteCodeIndex;
+
+    @Autowired
+    private ExpiryService expiryService;
+
+    private final AtomicBoolean deleteScheduled = new AtomicBoolean(false);
+
+    // 초대 코드 만료 타이머가 동작하면 DB 일괄 삭제 예약
+    @PostConstruct
+    public void registerExpiredListener() {
+        inviteCodeIndex.onExpired(this::scheduleDelete);
+    }
+
+    // 기동 시 만료된 초대 코드 삭제 후 유효한 초대 코드로 인덱스 적재 (각 코드의 만료 타이머 등록)
+    @EventListener(ApplicationReadyEvent.class)
     @Transactional
-    public void deleteExpiredInviteCodes() {
+    public void loadInviteCodes() {
         LocalDateTime now = LocalDateTime.now();
 
-        List<InviteCode> expiredInviteCodes = inviteCodeRepository.findByExpirationDate(now);
+        int deleted = inviteCodeRepository.deleteExpiredInviteCodes(now);
+        List<InviteCode> inviteCodes = inviteCodeRepository.findByExpirationDateAfter(now);
+        inviteCodeIndex.loadAll(inviteCodes);
+        logger.info("Invite code index loaded: {} codes ({} expired codes deleted)", inviteCodes.size(), deleted);
+    }
+
+    // 만료 코드를 DELETE_DELAY 동안 모은 뒤 한 번만 삭제하도록 예약
+    private void scheduleDelete() {
+        if (deleteScheduled.compareAndSet(false, true)) {
+            expiryService.schedule(this::deleteExpiredInviteCodes, DELETE_DELAY);
+        }
+    }
 
-        if (!expiredInviteCodes.isEmpty()) {
+    // 만료된 초대 코드를 DB에서 일괄 삭제
+    private void deleteExpiredInviteCodes() {
+        deleteScheduled.set(false);
+        LocalDateTime now = LocalDateTime.now();
+
+        int deleted = 0;
+        List<String> expiredCodes;
+        while (!(expiredCodes = inviteCodeIndex.drainExpired(DELETE_BATCH_SIZE)).isEmpty()) {
             // 배치 삭제 호출
-            inviteCodeRepository.deleteExpiredInviteCodes(now);
-            System.out.println("만료된 초대코드가 삭제되었습니다.");
+            deleted += inviteCodeRepository.deleteExpiredByInviteCodes(expiredCodes, now);
         }
+        logger.info("Expired invite codes deleted: {}", deleted);
     }
 }
-
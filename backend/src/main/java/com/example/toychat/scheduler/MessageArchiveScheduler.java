@@ -0,0 +1,36 @@
+package com.example.toychat.scheduler;
+
+import com.example.toychat.service.MessageArchiveService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MessageArchiveScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageArchiveScheduler.class);
+
+    @Autowired
+    private MessageArchiveService messageArchiveService;
+
+    @Value("${toychat.archive.enabled:true}")
+    private boolean enabled;
+
+    // 오래된 메시지를 주기적으로 보관 세그먼트로 이동
+    @Scheduled(fixedDelayString = "${toychat.archive.interval:PT1H}", initialDelayString = "${toychat.archive.interval:PT1H}")
+    public void archiveMessages() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            messageArchiveService.archiveAll();
+        } catch (RuntimeException e) {
+            logger.error("Failed to archive messages", e);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.example.toychat.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메시지 내용 인메모리 역색인.
+ * 채팅방마다 단어 → (메시지 ID, 등장 횟수) 목록을 메시지 ID 순으로 정렬해 두고, 검색은 사용자가 참여한 채팅방의 목록만 교집합합니다.
+ * 순위는 검색 범위(참여 채팅방 전체)의 통계로 계산한 BM25 점수이며, 점수가 같으면 최신 메시지가 먼저입니다.
+ * <p>
+ * 메시지 버전을 함께 기록해 오래된 버전이 새 버전을 덮어쓰지 않으므로, 재구축, 따라잡기와 실시간 갱신이 겹쳐도 됩니다.
+ * 잠금은 채팅방 색인마다 따로 두어, 쓰기는 해당 채팅방의 짧은 쓰기 잠금만, 검색은 검색 범위 채팅방의 읽기 잠금만 잡습니다
+ * (서로 다른 채팅방의 전송, 검색과 관계없는 채팅방의 전송은 서로 기다리지 않음).
+ */
+@Component
+public class MessageSearchIndex {
+
+    private static final double K1 = 1.2; // BM25 단어 빈도 포화 정도
+
+    private static final double B = 0.75; // BM25 문서 길이 보정 정도
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::messageId);
+
+    private final Map<Long, RoomIndex> rooms = new ConcurrentHashMap<>(); // 채팅방 ID → 채팅방 색인
+
+    private final Map<Long, Long> messageRooms = new ConcurrentHashMap<>(); // 메시지 ID → 채팅방 ID (ID만으로 제거할 때)
+
+    private final LongAdder documentCount = new LongAdder();
+
+    private final LongAdder termCount = new LongAdder(); // 채팅방별 단어 목록 수
+
+    private final LongAdder postingCount = new LongAdder(); // (단어, 메시지) 쌍 수
+
+    private final Timer queryTimer;
+
+    /**
+     * 검색 결과 한 건
+     */
+    public record Hit(long messageId, long chatroomId, double score) {
+    }
+
+    /**
+     * @param total 조건에 맞는 전체 메시지 수
+     * @param hits  요청한 페이지의 결과 (순위순)
+     */
+    public record Result(long total, List<Hit> hits) {
+    }
+
+    /**
+     * 색인된 메시지 (수정/삭제 시 기존 단어 목록에서 빼기 위해 단어를 보관)
+     */
+    private record Document(long version, int length, String[] terms) {
+    }
+
+    /**
+     * 채팅방 하나의 색인
+     */
+    private static final class RoomIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Map<String, Postings> postings = new HashMap<>();
+
+        private final Map<Long, Document> documents = new HashMap<>(); // 메시지 ID → 색인된 메시지
+
+        private boolean removed; // 채팅방 삭제로 맵에서 빠짐 (잠금을 기다리던 쓰기는 새 색인에 다시 씀)
+
+        private long totalLength; // 토큰 수 합계 (평균 문서 길이 계산용)
+    }
+
+    /**
+     * 단어 하나의 (메시지 ID, 등장 횟수) 목록. 메시지 ID 오름차순 배열이며 새 메시지는 끝에 붙습니다.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+
+        private int[] frequencies = new int[4];
+
+        private int size;
+
+        /**
+         * @return 새로 추가되었으면 true, 기존 항목을 갱신했으면 false
+         */
+        boolean put(long id, int frequency) {
+            int index = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                return false;
+            }
+            int insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            frequencies[insertAt] = frequency;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * from 이후에서 id를 찾습니다.
+         *
+         * @return 찾으면 위치, 없으면 -(삽입 위치 + 1)
+         */
+        int find(long id, int from) {
+            return Arrays.binarySearch(ids, from, size, id);
+        }
+    }
+
+    public MessageSearchIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("toychat.search.index.documents", documentCount, LongAdder::sum)
+                .description("Messages in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("toychat.search.index.terms", termCount, LongAdder::sum)
+                .description("Per-room term lists in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("toychat.search.index.postings", postingCount, LongAdder::sum)
+                .description("(term, message) entries in the in-memory search index")
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("toychat.search.query")
+                .description("Time to evaluate a search query against the index")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지를 색인하거나 새 버전으로 바꿉니다. 이미 같거나 더 새 버전이 색인되어 있으면 무시합니다.
+     * 해당 채팅방 색인의 쓰기 잠금만 잡습니다.
+     *
+     * @param messageId  메시지 ID
+     * @param chatroomId 채팅방 ID
+     * @param version    메시지 버전
+     * @param content    메시지 내용
+     */
+    public void index(Long messageId, Long chatroomId, long version, String content) {
+        List<String> tokens = MessageTokenizer.tokenize(content);
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        while (true) {
+            RoomIndex room = rooms.computeIfAbsent(chatroomId, id -> new RoomIndex());
+            room.lock.writeLock().lock();
+            try {
+                if (room.removed) {
+                    continue; // 잠금을 기다리는 동안 채팅방 색인이 삭제됨
+                }
+                Document previous = room.documents.get(messageId);
+                if (previous != null) {
+                    if (previous.version() >= version) {
+                        return; // 재구축이 읽은 이전 버전이거나, 따라잡기가 겹쳐 읽은 같은 버전
+                    }
+                    removeDocument(room, messageId, previous);
+                }
+                for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                    Postings postings = room.postings.get(entry.getKey());
+                    if (postings == null) {
+                        postings = new Postings();
+                        room.postings.put(entry.getKey(), postings);
+                        termCount.increment();
+                    }
+                    if (postings.put(messageId, entry.getValue())) {
+                        postingCount.increment();
+                    }
+                }
+                room.totalLength += tokens.size();
+                room.documents.put(messageId, new Document(version, tokens.size(), frequencies.keySet().toArray(new String[0])));
+                documentCount.increment();
+                messageRooms.put(messageId, chatroomId);
+                return;
+            } finally {
+                room.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 메시지를 색인에서 제거합니다.
+     *
+     * @param messageId 메시지 ID
+     */
+    public void remove(Long messageId) {
+        Long chatroomId = messageRooms.get(messageId);
+        RoomIndex room = chatroomId == null ? null : rooms.get(chatroomId);
+        if (room == null) {
+            return;
+        }
+        room.lock.writeLock().lock();
+        try {
+            Document document = room.documents.get(messageId);
+            if (document != null) {
+                removeDocument(room, messageId, document);
+                messageRooms.remove(messageId);
+            }
+        } finally {
+            room.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 삭제된 채팅방의 메시지를 모두 제거합니다.
+     *
+     * @param chatroomId 채팅방 ID
+     */
+    public void removeChatRoom(Long chatroomId) {
+        RoomIndex room = rooms.remove(chatroomId);
+        if (room == null) {
+            return;
+        }
+        room.lock.writeLock().lock();
+        try {
+            room.removed = true;
+            termCount.add(-room.postings.size());
+            for (Postings postings : room.postings.values()) {
+                postingCount.add(-postings.size);
+            }
+            documentCount.add(-room.documents.size());
+            room.documents.keySet().forEach(messageRooms::remove);
+            room.postings.clear();
+            room.documents.clear();
+            room.totalLength = 0;
+        } finally {
+            room.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 검색어 토큰을 포함한 메시지를 찾아 순위순으로 돌려줍니다.
+     * 검색 범위 채팅방 색인의 읽기 잠금을 채팅방 ID 순으로 잡아 검색이 끝날 때까지 유지합니다
+     * (쓰기는 채팅방 하나의 잠금만 잡으므로 교착되지 않음).
+     *
+     * @param chatroomIds 검색할 채팅방 ID
+     * @param terms       검색어 토큰 ({@link MessageTokenizer#tokenize})
+     * @param offset      건너뛸 결과 수
+     * @param limit       돌려줄 최대 결과 수
+     * @return 전체 결과 수와 요청한 페이지
+     */
+    public Result search(Collection<Long> chatroomIds, Collection<String> terms, int offset, int limit) {
+        long started = System.nanoTime();
+        String[] queryTerms = terms.stream().distinct().toArray(String[]::new);
+        PriorityQueue<Hit> top = new PriorityQueue<>(RANKING); // 점수가 가장 낮은 결과가 맨 앞
+        int keep = offset + limit;
+        long total = 0;
+
+        List<RoomIndex> scoped = new ArrayList<>();
+        List<Long> scopedIds = new ArrayList<>();
+        try {
+            for (Long chatroomId : chatroomIds.stream().distinct().sorted().toList()) {
+                RoomIndex room = rooms.get(chatroomId);
+                if (room == null) {
+                    continue;
+                }
+                room.lock.readLock().lock(); // 그사이 삭제된 채팅방은 비어 있음
+                scoped.add(room);
+                scopedIds.add(chatroomId);
+            }
+
+            // 검색 범위 전체의 문서 수, 평균 길이, 단어별 문서 수
+            long documentsInScope = 0;
+            long lengthInScope = 0;
+            long[] documentFrequency = new long[queryTerms.length];
+            for (RoomIndex room : scoped) {
+                documentsInScope += room.documents.size();
+                lengthInScope += room.totalLength;
+                for (int t = 0; t < queryTerms.length; t++) {
+                    Postings postings = room.postings.get(queryTerms[t]);
+                    documentFrequency[t] += postings == null ? 0 : postings.size;
+                }
+            }
+            if (queryTerms.length == 0 || documentsInScope == 0 || Arrays.stream(documentFrequency).anyMatch(df -> df == 0)) {
+                return new Result(0, List.of());
+            }
+            double averageLength = Math.max(1.0, (double) lengthInScope / documentsInScope);
+            double[] idf = new double[queryTerms.length];
+            for (int t = 0; t < queryTerms.length; t++) {
+                idf[t] = Math.log(1 + (documentsInScope - documentFrequency[t] + 0.5) / (documentFrequency[t] + 0.5));
+            }
+
+            for (int r = 0; r < scoped.size(); r++) {
+                RoomIndex room = scoped.get(r);
+                long chatroomId = scopedIds.get(r);
+                Postings[] lists = new Postings[queryTerms.length];
+                Integer[] order = new Integer[queryTerms.length];
+                boolean missing = false;
+                for (int t = 0; t < queryTerms.length; t++) {
+                    lists[t] = room.postings.get(queryTerms[t]);
+                    order[t] = t;
+                    missing |= lists[t] == null;
+                }
+                if (missing) {
+                    continue;
+                }
+                Arrays.sort(order, Comparator.comparingInt(t -> lists[t].size)); // 가장 짧은 목록을 기준으로 교집합
+
+                Postings shortest = lists[order[0]];
+                int[] cursors = new int[queryTerms.length];
+                int[] frequency = new int[queryTerms.length];
+                candidates:
+                for (int i = 0; i < shortest.size; i++) {
+                    long id = shortest.ids[i];
+                    frequency[order[0]] = shortest.frequencies[i];
+                    for (int k = 1; k < order.length; k++) {
+                        Postings other = lists[order[k]];
+                        int found = other.find(id, cursors[k]);
+                        if (found < 0) {
+                            cursors[k] = -(found + 1); // 이후 후보는 더 큰 ID이므로 이 위치부터 찾음
+                            continue candidates;
+                        }
+                        cursors[k] = found + 1;
+                        frequency[order[k]] = other.frequencies[found];
+                    }
+
+                    total++;
+                    double lengthNorm = K1 * (1 - B + B * room.documents.get(id).length() / averageLength);
+                    double score = 0;
+                    for (int t = 0; t < queryTerms.length; t++) {
+                        score += idf[t] * frequency[t] * (K1 + 1) / (frequency[t] + lengthNorm);
+                    }
+                    Hit hit = new Hit(id, chatroomId, score);
+                    if (top.size() < keep) {
+                        top.add(hit);
+                    } else if (RANKING.compare(hit, top.peek()) > 0) {
+                        top.poll();
+                        top.add(hit);
+                    }
+                }
+            }
+        } finally {
+            for (RoomIndex room : scoped) {
+                room.lock.readLock().unlock();
+            }
+            queryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING.reversed());
+        return new Result(total, offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size()));
+    }
+
+    public long size() {
+        return documentCount.sum();
+    }
+
+    // 채팅방 색인의 쓰기 잠금을 잡은 상태에서 호출
+    private void removeDocument(RoomIndex room, Long messageId, Document document) {
+        room.documents.remove(messageId);
+        for (String term : document.terms()) {
+            Postings postings = room.postings.get(term);
+            if (postings != null && postings.remove(messageId)) {
+                postingCount.decrement();
+                if (postings.size == 0) {
+                    room.postings.remove(term);
+                    termCount.decrement();
+                }
+            }
+        }
+        room.totalLength -= document.length();
+        documentCount.decrement();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.toychat.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 메시지 검색용 토크나이저.
+ * <ul>
+ *     <li>영문/숫자 등: 공백과 문장 부호로 나눈 소문자 단어</li>
+ *     <li>한글/한자/가나: 이어진 글자를 두 글자씩 겹쳐 자른 바이그램 (한 글자뿐이면 그 글자)</li>
+ * </ul>
+ * 한국어는 띄어쓰기 단위에 조사가 붙으므로 ("채팅방에서" → 채팅, 팅방, 방에, 에서) 형태소 분석 없이도
+ * "채팅방"(채팅, 팅방) 검색이 찾아지도록 바이그램을 씁니다. 인덱싱과 검색어에 같은 규칙을 적용합니다.
+ */
+public final class MessageTokenizer {
+
+    static final int MAX_WORD_LENGTH = 32; // 더 긴 단어는 잘라서 색인 (URL, 해시 등)
+
+    private MessageTokenizer() {
+    }
+
+    /**
+     * @param text 메시지 내용 또는 검색어
+     * @return 등장 순서대로의 토큰 (중복 포함)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT); // 전각/반각, 호환 문자 통일
+
+        StringBuilder word = new StringBuilder();
+        int[] cjk = new int[normalized.length()];
+        int cjkLength = 0;
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjk[cjkLength++] = codePoint;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                cjkLength = flushCjk(cjk, cjkLength, tokens);
+                if (word.length() < MAX_WORD_LENGTH) {
+                    word.appendCodePoint(codePoint);
+                }
+            } else {
+                flushWord(word, tokens);
+                cjkLength = flushCjk(cjk, cjkLength, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjk, cjkLength, tokens);
+        return tokens;
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA || script == Character.UnicodeScript.KATAKANA;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static int flushCjk(int[] run, int length, List<String> tokens) {
+        if (length == 1) {
+            tokens.add(new String(run, 0, 1));
+        }
+        for (int i = 0; i + 1 < length; i++) {
+            tokens.add(new String(run, i, 2));
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.toychat.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 키용 Bloom filter.
+ * <p>
+ * 비트 배열은 AtomicLongArray로 두어 조회는 락 없이, 추가는 CAS로 여러 스레드가 동시에 할 수 있습니다.
+ * 키 종류(kind)를 해시 시드로 사용하여 접두사 문자열을 만들지 않고도 종류별로 구분합니다.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitMask; // 비트 수는 2의 거듭제곱 (나눗셈 대신 마스크)
+
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 예상 키 수
+     * @param falsePositiveRate  허용 오탐률
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(1, (m + 63) >>> 6)) * 2 - 1);
+        long bitCount = (long) words << 6;
+        this.bits = new AtomicLongArray(words);
+        this.bitMask = bitCount - 1;
+        this.hashCount = (int) Math.max(1, Math.min(16, Math.round(-Math.log(falsePositiveRate) / Math.log(2))));
+    }
+
+    void put(char kind, String key) {
+        long hash = hash(kind, key);
+        long h1 = hash;
+        long h2 = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (h1 + i * h2) & bitMask;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                // 다른 스레드가 같은 word를 바꾼 경우 재시도
+            }
+        }
+    }
+
+    boolean mightContain(char kind, String key) {
+        long hash = hash(kind, key);
+        long h1 = hash;
+        long h2 = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (h1 + i * h2) & bitMask;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // String이 캐시해 두는 hashCode를 64비트로 섞어 사용 (조회마다 문자열을 다시 훑지 않음)
+    private static long hash(char kind, String key) {
+        return mix(((long) kind << 32) ^ (key.hashCode() & 0xffffffffL));
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.toychat.security;
 
-import com.example.toychat.service.AuthService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -16,18 +22,22 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.util.Set;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtFilter.class);
+
     @Autowired
     private JwtUtil jwtUtil; // JWT 유틸리티를 주입
 
-    @Autowired
-    private AuthService authService; // 인증 서비스를 주입
+    @Value("${toychat.admin.usernames:}")
+    private Set<String> adminUsernames; // 관리자 권한(ADMIN)을 부여할 사용자 이름 목록
 
     /**
      * 요청을 필터링하여 JWT의 유효성을 검사하고 인증 정보를 설정합니다.
+     * 탈퇴 등으로 무효가 된 토큰은 폐기 목록(메모리)으로 걸러내므로 요청마다 사용자를 DB에서 조회하지 않습니다.
      *
      * @param request     HTTP 요청
      * @param response    HTTP 응답
@@ -47,25 +57,25 @@ public class JwtFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization"); // Authorization 헤더 가져오기
 
-        String username = null; // 사용자 이름 변수 초기화
-        String jwt = null; // JWT 변수 초기화
-
-        // Authorization 헤더가 존재하고 Bearer로 시작하는지 확인
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7); // JWT 추출
-            username = jwtUtil.extractUsername(jwt); // JWT에서 사용자 이름 추출
-        }
+        // Authorization 헤더가 존재하고 Bearer로 시작하며, 현재 인증되지 않은 경우
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7); // JWT 추출
 
-        // 사용자 이름이 존재하고, 현재 인증되지 않은 경우
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = authService.loadUserByUsername(username);  // AuthService에서 사용자 로드
+            try {
+                Claims claims = jwtUtil.extractAllClaims(jwt); // 서명, 만료, 폐기 여부 검사 (한 번만 파싱)
 
-            // JWT가 유효한지 검사
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+                String username = claims.getSubject();
+                UserDetails userDetails = User.withUsername(username)
+                        .password("") // 토큰 인증이므로 비밀번호는 사용하지 않음
+                        .authorities(adminUsernames.contains(username) ? new String[]{"USER", "ADMIN"} : new String[]{"USER"})
+                        .build();
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request)); // 추가 인증 정보 설정
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken); // SecurityContext에 인증 정보 저장
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rejected JWT: {}", e.getMessage()); // 인증 정보 없이 진행 (보호된 API는 거절됨)
             }
         }
 
@@ -0,0 +1,351 @@
+package com.example.toychat.security;
+
+import com.example.toychat.timer.ExpiryService;
+import com.example.toychat.timer.Timeout;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT 서명 키 링.
+ * <p>
+ * 키는 설정(toychat.jwt.keys) 또는 PKCS12 키스토어 파일에서 읽어 모든 레플리카가 같은 키를 쓰도록 합니다.
+ * 각 키는 활성화 시각을 가지며, 활성화된 키 중 가장 최근 키로 서명합니다.
+ * 아직 활성화되지 않은 키도 검증에는 쓰므로 먼저 배포된 레플리카가 서명한 토큰을 다른 레플리카가 거절하지 않고,
+ * 이전 키는 다음 키가 활성화된 뒤 overlap 동안 검증에 남아 있다가 제거됩니다.
+ * <p>
+ * 키가 없으면 프로세스마다 임시 키를 만들므로 로컬/테스트에서만 허용하고,
+ * toychat.jwt.require-keys가 켜진 환경(prod 프로필)에서는 기동을 실패시킵니다.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final String configuredKeys;
+
+    private final String keystorePath;
+
+    private final String keystorePassword;
+
+    private final Duration activationDelay;
+
+    private final Duration overlap;
+
+    private final Duration reloadInterval;
+
+    private final boolean requireKeys;
+
+    private final ExpiryService expiryService;
+
+    private final Clock clock;
+
+    private volatile List<KeyEntry> keys = List.of();
+
+    private volatile Snapshot snapshot;
+
+    private Timeout transitionTimer;
+
+    private Timeout reloadTimer;
+
+    /**
+     * @param configuredKeys   "kid:base64Secret[:활성화 시각(ISO-8601)]" 형식을 쉼표로 나열한 키 목록 (뒤에 있을수록 최신)
+     * @param keystorePath     비밀 키 항목(alias = kid)을 담은 PKCS12 키스토어 경로
+     * @param keystorePassword 키스토어 비밀번호
+     * @param activationDelay  키스토어에 추가된 키가 서명에 쓰이기까지의 지연 (모든 레플리카가 키를 읽을 시간)
+     * @param overlap          새 키가 활성화된 뒤 이전 키로 검증을 계속 허용할 기간 (토큰 수명 이상)
+     * @param reloadInterval   키스토어를 다시 읽는 주기
+     * @param requireKeys      키가 설정되지 않았으면 임시 키 대신 기동 실패 (레플리카가 여럿이거나 재시작 후에도 토큰이 유효해야 하는 환경)
+     */
+    @Autowired
+    public JwtKeyRing(@Value("${toychat.jwt.keys:}") String configuredKeys,
+                      @Value("${toychat.jwt.keystore.path:}") String keystorePath,
+                      @Value("${toychat.jwt.keystore.password:}") String keystorePassword,
+                      @Value("${toychat.jwt.keystore.activation-delay:PT10M}") Duration activationDelay,
+                      @Value("${toychat.jwt.rotation-overlap:PT10H}") Duration overlap,
+                      @Value("${toychat.jwt.keystore.reload-interval:PT5M}") Duration reloadInterval,
+                      @Value("${toychat.jwt.require-keys:false}") boolean requireKeys,
+                      ExpiryService expiryService) {
+        this(configuredKeys, keystorePath, keystorePassword, activationDelay, overlap, reloadInterval, requireKeys, expiryService, Clock.systemUTC());
+    }
+
+    // 테스트에서 시각을 옮겨 가며 키 전환을 확인하기 위한 생성자
+    JwtKeyRing(String configuredKeys, String keystorePath, String keystorePassword, Duration activationDelay, Duration overlap,
+               Duration reloadInterval, boolean requireKeys, ExpiryService expiryService, Clock clock) {
+        this.configuredKeys = configuredKeys;
+        this.keystorePath = keystorePath;
+        this.keystorePassword = keystorePassword;
+        this.activationDelay = activationDelay;
+        this.overlap = overlap;
+        this.reloadInterval = reloadInterval;
+        this.requireKeys = requireKeys;
+        this.expiryService = expiryService;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        List<KeyEntry> loaded = loadKeys();
+        if (loaded.isEmpty() && requireKeys) {
+            throw new IllegalStateException("No JWT keys configured (toychat.jwt.keys / toychat.jwt.keystore.path) "
+                    + "and toychat.jwt.require-keys is set; set JWT_KEYS or JWT_KEYSTORE_PATH");
+        }
+        if (loaded.isEmpty()) {
+            // 키가 설정되지 않은 로컬 환경: 재시작하면 기존 토큰은 무효가 됨
+            logger.warn("No JWT keys configured (toychat.jwt.keys / toychat.jwt.keystore.path), using an ephemeral key");
+            loaded = List.of(new KeyEntry("ephemeral", Keys.secretKeyFor(SignatureAlgorithm.HS256), Instant.EPOCH));
+        }
+        keys = loaded;
+        refresh();
+
+        if (StringUtils.hasText(keystorePath)) {
+            reloadTimer = expiryService.scheduleWithFixedDelay(this::reload, reloadInterval);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cancelTimers();
+    }
+
+    /**
+     * @return 현재 서명에 사용할 키 ID
+     */
+    public String signingKeyId() {
+        return snapshot.signingKey.id;
+    }
+
+    /**
+     * @return 현재 서명에 사용할 키
+     */
+    public SecretKey signingKey() {
+        return snapshot.signingKey.secretKey;
+    }
+
+    /**
+     * 토큰 헤더의 kid로 검증 키를 골라 서명을 검증하고 클레임을 반환합니다.
+     *
+     * @param token JWT 문자열
+     * @return Claims 객체
+     */
+    public Claims parseClaims(String token) {
+        return snapshot.parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * @return 현재 검증에 사용하는 키 ID 목록
+     */
+    public List<String> verificationKeyIds() {
+        return List.copyOf(snapshot.verificationKeys.keySet());
+    }
+
+    // 키스토어를 다시 읽어 새로 추가되거나 삭제된 키를 반영
+    private void reload() {
+        try {
+            List<KeyEntry> loaded = loadKeys();
+            if (loaded.isEmpty()) {
+                logger.warn("JWT keystore reload returned no keys, keeping the current key ring");
+                return;
+            }
+            keys = loaded;
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload JWT keystore, keeping the current key ring", e);
+        }
+    }
+
+    // 현재 시각 기준으로 서명 키와 검증 키를 다시 계산하고 다음 전환 시각에 타이머 예약
+    private synchronized void refresh() {
+        Instant now = clock.instant();
+        List<KeyEntry> ordered = keys;
+
+        KeyEntry signingKey = null;
+        for (KeyEntry key : ordered) {
+            if (!key.activatesAt.isAfter(now)) {
+                signingKey = key;
+            }
+        }
+        if (signingKey == null) {
+            signingKey = ordered.get(0); // 모든 키가 아직 활성화 전이면 가장 먼저 활성화될 키로 서명
+        }
+
+        Map<String, SecretKey> verificationKeys = new LinkedHashMap<>();
+        Instant nextTransition = null;
+        for (int i = 0; i < ordered.size(); i++) {
+            KeyEntry key = ordered.get(i);
+            Instant retiresAt = i + 1 < ordered.size() ? ordered.get(i + 1).activatesAt.plus(overlap) : null;
+            if (key != signingKey && retiresAt != null && !retiresAt.isAfter(now)) {
+                continue; // overlap이 지난 이전 키
+            }
+            verificationKeys.put(key.id, key.secretKey);
+            if (key.activatesAt.isAfter(now)) {
+                nextTransition = earliest(nextTransition, key.activatesAt);
+            }
+            if (retiresAt != null && retiresAt.isAfter(now)) {
+                nextTransition = earliest(nextTransition, retiresAt);
+            }
+        }
+
+        Snapshot previous = snapshot;
+        snapshot = new Snapshot(signingKey, Collections.unmodifiableMap(verificationKeys));
+        if (previous == null || previous.signingKey != signingKey || !previous.verificationKeys.keySet().equals(verificationKeys.keySet())) {
+            logger.info("JWT key ring updated: signing kid={}, verification kids={}", signingKey.id, verificationKeys.keySet());
+        }
+
+        if (transitionTimer != null) {
+            transitionTimer.cancel();
+        }
+        transitionTimer = nextTransition != null
+                ? expiryService.scheduleAt(this::refresh, LocalDateTime.ofInstant(nextTransition, ZoneId.systemDefault()))
+                : null;
+    }
+
+    private synchronized void cancelTimers() {
+        if (transitionTimer != null) {
+            transitionTimer.cancel();
+        }
+        if (reloadTimer != null) {
+            reloadTimer.cancel();
+        }
+    }
+
+    private List<KeyEntry> loadKeys() {
+        List<KeyEntry> loaded = new ArrayList<>();
+        if (StringUtils.hasText(configuredKeys)) {
+            loaded.addAll(parseConfiguredKeys(configuredKeys));
+        }
+        if (StringUtils.hasText(keystorePath)) {
+            loaded.addAll(loadKeystore(Path.of(keystorePath), keystorePassword.toCharArray()));
+        }
+        loaded.sort(Comparator.comparing(key -> key.activatesAt)); // 정렬은 안정적이므로 같은 시각이면 나열 순서 유지
+        return loaded;
+    }
+
+    // kid:base64Secret[:activatesAt]
+    private static List<KeyEntry> parseConfiguredKeys(String value) {
+        List<KeyEntry> entries = new ArrayList<>();
+        for (String item : value.split(",")) {
+            String trimmed = item.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":", 3);
+            if (parts.length < 2) {
+                throw new IllegalStateException("Invalid JWT key entry, expected kid:base64Secret[:activatesAt]");
+            }
+            SecretKey secretKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(parts[1]));
+            Instant activatesAt = parts.length == 3 ? Instant.parse(parts[2]) : Instant.EPOCH;
+            entries.add(new KeyEntry(parts[0], secretKey, activatesAt));
+        }
+        return entries;
+    }
+
+    // alias를 kid로, 생성 시각 + activationDelay를 활성화 시각으로 사용
+    private List<KeyEntry> loadKeystore(Path path, char[] password) {
+        try (InputStream in = Files.newInputStream(path)) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+
+            List<KeyEntry> entries = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (!keyStore.isKeyEntry(alias)) {
+                    continue;
+                }
+                Key key = keyStore.getKey(alias, password);
+                if (!(key instanceof SecretKey)) {
+                    continue;
+                }
+                Instant activatesAt = keyStore.getCreationDate(alias).toInstant().plus(activationDelay);
+                entries.add(new KeyEntry(alias, Keys.hmacShaKeyFor(key.getEncoded()), activatesAt));
+            }
+            return entries;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to load JWT keystore: " + path, e);
+        }
+    }
+
+    private static Instant earliest(Instant current, Instant candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    private static final class KeyEntry {
+
+        private final String id;
+
+        private final SecretKey secretKey;
+
+        private final Instant activatesAt;
+
+        private KeyEntry(String id, SecretKey secretKey, Instant activatesAt) {
+            this.id = id;
+            this.secretKey = secretKey;
+            this.activatesAt = activatesAt;
+        }
+    }
+
+    /**
+     * 키 링 상태. 변경 시 통째로 교체하므로 검증 경로는 락 없이 읽습니다.
+     */
+    private static final class Snapshot {
+
+        private final KeyEntry signingKey;
+
+        private final Map<String, SecretKey> verificationKeys;
+
+        private final JwtParser parser; // 미리 만들어 둔 파서 (요청마다 파서를 만들지 않음)
+
+        private Snapshot(KeyEntry signingKey, Map<String, SecretKey> verificationKeys) {
+            this.signingKey = signingKey;
+            this.verificationKeys = verificationKeys;
+            this.parser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            String kid = header.getKeyId();
+                            SecretKey key = kid != null ? verificationKeys.get(kid) : null;
+                            if (key == null) {
+                                throw new SignatureException("Unknown JWT key id: " + kid);
+                            }
+                            return key;
+                        }
+                    })
+                    .build();
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package com.example.toychat.security;
 
+import com.example.toychat.exception.RevokedTokenException;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    private final SecretKey SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256); // 안전한 SecretKey 생성
+    @Autowired
+    private JwtKeyRing jwtKeyRing; // 레플리카 간 공유되는 서명 키 링
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService; // 토큰 폐기 목록
+
+    @Value("${toychat.jwt.access-token-ttl:PT15M}")
+    private Duration accessTokenTtl; // 액세스 토큰 수명 (만료 후에는 리프레시 토큰으로 재발급)
 
     /**
      * 사용자 이름을 기반으로 JWT를 생성합니다.
@@ -35,12 +45,15 @@ public class JwtUtil {
      * @return 생성된 JWT 문자열
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setHeaderParam("kid", jwtKeyRing.signingKeyId()) // 검증 시 키를 고를 수 있도록 키 ID 설정
                 .setClaims(claims) // 클레임 설정
+                .setId(UUID.randomUUID().toString()) // 토큰 단위 폐기를 위한 토큰 ID 설정
                 .setSubject(subject) // 주제 설정
-                .setIssuedAt(new Date(System.currentTimeMillis())) // 발행 일시 설정
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10시간 후 만료 설정
-                .signWith(SECRET_KEY) // SecretKey로 서명
+                .setIssuedAt(new Date(now)) // 발행 일시 설정
+                .setExpiration(new Date(now + accessTokenTtl.toMillis())) // 액세스 토큰 수명 후 만료 설정
+                .signWith(jwtKeyRing.signingKey()) // 현재 서명 키로 서명
                 .compact(); // 토큰 문자열로 변환
     }
 
@@ -67,17 +80,18 @@ public class JwtUtil {
     }
 
     /**
-     * JWT에서 모든 클레임을 추출합니다.
+     * JWT의 서명, 만료, 폐기 여부를 검사하고 모든 클레임을 추출합니다.
      *
      * @param token JWT 문자열
      * @return Claims 객체
+     * @throws io.jsonwebtoken.JwtException 유효하지 않거나 폐기된 토큰인 경우
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY) // SecretKey 설정
-                .build()
-                .parseClaimsJws(token) // JWT 파싱
-                .getBody(); // 클레임 본문 반환
+    public Claims extractAllClaims(String token) {
+        Claims claims = jwtKeyRing.parseClaims(token); // kid에 해당하는 키로 검증 후 클레임 반환
+        if (tokenRevocationService.isRevoked(claims)) {
+            throw new RevokedTokenException("Token has been revoked");
+        }
+        return claims;
     }
 
     /**
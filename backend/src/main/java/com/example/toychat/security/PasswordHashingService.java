@@ -0,0 +1,168 @@
+package com.example.toychat.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 해시/검증 전용 실행기.
+ * <p>
+ * BCrypt는 CPU를 많이 쓰므로 요청 스레드 대신 코어 수만큼의 전용 스레드에서 실행하고,
+ * 대기열이 가득 차면 즉시 503으로 거절하여 로그인/가입 폭주가 채팅 요청을 굶기지 않도록 합니다.
+ */
+@Component
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final int strength;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+
+    private final Timer verifyTimer;
+
+    private final Timer queueWaitTimer;
+
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${toychat.security.bcrypt-strength:10}") int strength,
+                                  @Value("${toychat.security.hashing.threads:0}") int threads,
+                                  @Value("${toychat.security.hashing.queue-capacity:64}") int queueCapacity,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors(); // 기본값: 코어 수
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("toychat.password.hashing")
+                .description("BCrypt hashing time")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("toychat.password.hashing")
+                .description("BCrypt hashing time")
+                .tag("operation", "verify")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("toychat.password.queue.wait")
+                .description("Time spent waiting for a hashing thread")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("toychat.password.rejected")
+                .description("Hashing requests shed because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("toychat.password.queue.size", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("toychat.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        logger.info("Password hashing executor started: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * 비밀번호를 해시합니다.
+     *
+     * @param rawPassword 평문 비밀번호
+     * @return 해시 결과
+     * @throws ResponseStatusException 대기열이 가득 찬 경우 (503)
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * 비밀번호를 검증하고, 일치하면서 저장된 해시의 cost가 설정과 다르면 새 해시를 함께 만듭니다.
+     *
+     * @param rawPassword 평문 비밀번호
+     * @param storedHash  저장된 해시
+     * @return 검증 결과
+     * @throws ResponseStatusException 대기열이 가득 찬 경우 (503)
+     */
+    public CompletableFuture<Verification> verify(CharSequence rawPassword, String storedHash) {
+        return submit(() -> {
+            boolean matches = verifyTimer.record(() -> passwordEncoder.matches(rawPassword, storedHash));
+            if (!matches) {
+                return new Verification(false, null);
+            }
+            String rehashed = needsRehash(storedHash)
+                    ? encodeTimer.record(() -> passwordEncoder.encode(rawPassword))
+                    : null;
+            return new Verification(true, rehashed);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // 저장된 해시의 cost($2a$10$...)가 설정값과 다르면 재해시 대상
+    private boolean needsRehash(String storedHash) {
+        if (passwordEncoder.upgradeEncoding(storedHash)) {
+            return true;
+        }
+        if (storedHash == null || storedHash.length() < 7 || storedHash.charAt(0) != '$') {
+            return false;
+        }
+        int costStart = storedHash.indexOf('$', 1) + 1;
+        try {
+            return Integer.parseInt(storedHash.substring(costStart, costStart + 2)) != strength;
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            logger.warn("Password hashing queue is full, request rejected");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry");
+        }
+    }
+
+    /**
+     * 비밀번호 검증 결과
+     *
+     * @param matches  비밀번호 일치 여부
+     * @param rehashed cost가 바뀌어 새로 만든 해시 (재해시가 필요 없으면 null)
+     */
+    public record Verification(boolean matches, String rehashed) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.toychat.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 폐기된 토큰(jti)과 사용자(subject) 목록.
+ * <p>
+ * 대부분의 토큰은 폐기되지 않았으므로 Bloom filter에서 바로 걸러지고,
+ * 오탐이거나 실제로 폐기된 경우에만 정확한 집합(ConcurrentHashMap)을 조회합니다.
+ * Bloom filter는 항목을 지울 수 없으므로 만료 항목 정리 시 정확한 집합으로부터 새로 만들어 교체합니다.
+ */
+final class RevocationSet {
+
+    static final char TOKEN = 'j';
+
+    static final char SUBJECT = 's';
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> subjects = new ConcurrentHashMap<>();
+
+    private final int minCapacity;
+
+    private volatile BloomFilter filter;
+
+    private volatile int filterCapacity;
+
+    RevocationSet(int minCapacity) {
+        this.minCapacity = minCapacity;
+        this.filterCapacity = minCapacity;
+        this.filter = new BloomFilter(minCapacity, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * @param jti        토큰 ID (없으면 null)
+     * @param subject    사용자 이름
+     * @param issuedAtMs 토큰 발급 시각 (epoch ms)
+     * @return 토큰 자체가 폐기되었거나, 사용자 전체 폐기 시각 이전에 발급된 경우 true
+     */
+    boolean isRevoked(String jti, String subject, long issuedAtMs) {
+        BloomFilter current = filter;
+        if (jti != null && current.mightContain(TOKEN, jti) && tokens.containsKey(jti)) {
+            return true;
+        }
+        if (subject != null && current.mightContain(SUBJECT, subject)) {
+            Entry entry = subjects.get(subject);
+            return entry != null && issuedAtMs <= entry.revokedAtMs;
+        }
+        return false;
+    }
+
+    /**
+     * @param kind        TOKEN 또는 SUBJECT
+     * @param key         jti 또는 사용자 이름
+     * @param revokedAtMs 폐기 시각 (epoch ms)
+     * @param expiresAtMs 이 항목이 더 이상 필요 없는 시각 (epoch ms)
+     */
+    void add(char kind, String key, long revokedAtMs, long expiresAtMs) {
+        Map<String, Entry> target = kind == SUBJECT ? subjects : tokens;
+        target.merge(key, new Entry(revokedAtMs, expiresAtMs), (a, b) -> a.revokedAtMs >= b.revokedAtMs ? a : b);
+        filter.put(kind, key);
+        if (tokens.size() + subjects.size() > filterCapacity) {
+            rebuild(); // 오탐률 유지를 위해 더 큰 filter로 교체
+        }
+    }
+
+    /**
+     * 만료된 항목을 제거하고 Bloom filter를 다시 만듭니다.
+     *
+     * @param nowMs 현재 시각 (epoch ms)
+     * @return 제거된 항목 수
+     */
+    int purgeExpired(long nowMs) {
+        int before = size();
+        tokens.values().removeIf(entry -> entry.expiresAtMs <= nowMs);
+        subjects.values().removeIf(entry -> entry.expiresAtMs <= nowMs);
+        int removed = before - size();
+        if (removed > 0) {
+            rebuild();
+        }
+        return removed;
+    }
+
+    int size() {
+        return tokens.size() + subjects.size();
+    }
+
+    // 새 filter를 채운 뒤 교체하므로 조회 중인 스레드는 항상 완전한 filter를 봄
+    private synchronized void rebuild() {
+        int capacity = Math.max(minCapacity, size() * 2);
+        BloomFilter next = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        tokens.keySet().forEach(key -> next.put(TOKEN, key));
+        subjects.keySet().forEach(key -> next.put(SUBJECT, key));
+        filterCapacity = capacity;
+        filter = next;
+        // 교체 직전에 추가된 항목이 빠지지 않도록 한 번 더 반영
+        tokens.keySet().forEach(key -> next.put(TOKEN, key));
+        subjects.keySet().forEach(key -> next.put(SUBJECT, key));
+    }
+
+    private record Entry(long revokedAtMs, long expiresAtMs) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.toychat.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompAuthChannelInterceptor.class);
+
+    @Autowired
+    private JwtUtil jwtUtil; // JWT 유틸리티를 주입
+
+    /**
+     * STOMP CONNECT 프레임의 Authorization 헤더로 세션 사용자를 설정합니다.
+     * 설정된 사용자 이름으로 /user/queue/... 목적지가 해당 사용자의 세션들로 전달됩니다.
+     * 헤더가 없으면 익명 세션으로 연결하고 (채팅방 토픽 구독, 토큰을 붙인 SEND는 그대로 가능), 유효하지 않은 토큰이면 연결을 거절합니다.
+     *
+     * @param message 수신 메시지
+     * @param channel inbound 채널
+     * @return 통과시킬 메시지
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String authorizationHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return message;
+        }
+
+        try {
+            Claims claims = jwtUtil.extractAllClaims(authorizationHeader.substring(7)); // 서명, 만료, 폐기 여부 검사
+            accessor.setUser(new UsernamePasswordAuthenticationToken(claims.getSubject(), null, AuthorityUtils.createAuthorityList("USER")));
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected STOMP CONNECT: {}", e.getMessage());
+            throw new MessagingException(message, "Invalid token");
+        }
+        return message;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.toychat.security;
+
+import com.example.toychat.entity.RevokedToken;
+
+import com.example.toychat.repository.RevokedTokenRepository;
+
+import com.example.toychat.timer.ExpiryService;
+
+import io.jsonwebtoken.Claims;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 액세스 토큰 폐기 목록.
+ * <p>
+ * 폐기 항목은 DB에 저장하여 모든 레플리카가 공유하고, 각 레플리카는 최근 폐기 항목만 주기적으로 읽어
+ * 메모리의 RevocationSet(Bloom filter + 정확한 집합)에 반영합니다.
+ * 따라서 JwtFilter의 폐기 확인은 DB 조회 없이 메모리에서 끝납니다.
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final Duration SYNC_MARGIN = Duration.ofSeconds(30); // 레플리카 간 시계 차이, 늦게 커밋된 항목 보정
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(10); // 만료 항목 정리 주기
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final ExpiryService expiryService;
+
+    private final Duration accessTokenTtl;
+
+    private final Duration syncInterval;
+
+    private final RevocationSet revocationSet;
+
+    private volatile LocalDateTime lastSyncAt;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  ExpiryService expiryService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${toychat.jwt.access-token-ttl:PT15M}") Duration accessTokenTtl,
+                                  @Value("${toychat.jwt.revocation.sync-interval:PT2S}") Duration syncInterval,
+                                  @Value("${toychat.jwt.revocation.initial-capacity:10000}") int initialCapacity) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expiryService = expiryService;
+        this.accessTokenTtl = accessTokenTtl;
+        this.syncInterval = syncInterval;
+        this.revocationSet = new RevocationSet(initialCapacity);
+
+        Gauge.builder("toychat.jwt.revocations", revocationSet, RevocationSet::size)
+                .description("Revoked tokens and subjects held in memory")
+                .register(meterRegistry);
+    }
+
+    // 기동 시 유효한 폐기 항목 적재 후 증분 동기화, 만료 항목 정리 예약
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findByExpiresAtAfter(now);
+        revokedTokens.forEach(this::apply);
+        lastSyncAt = now;
+        logger.info("Token revocation list loaded: {} entries", revokedTokens.size());
+
+        expiryService.scheduleWithFixedDelay(this::sync, syncInterval);
+        expiryService.scheduleWithFixedDelay(this::purgeExpired, PURGE_INTERVAL);
+    }
+
+    /**
+     * @param claims 서명 검증이 끝난 토큰의 클레임
+     * @return 폐기된 토큰이면 true
+     */
+    public boolean isRevoked(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return revocationSet.isRevoked(claims.getId(), claims.getSubject(), issuedAt != null ? issuedAt.getTime() : 0L);
+    }
+
+    /**
+     * 토큰 하나를 폐기합니다.
+     *
+     * @param jti       토큰 ID
+     * @param expiresAt 토큰 만료 시각
+     */
+    public void revokeToken(String jti, Date expiresAt) {
+        if (jti == null) {
+            return;
+        }
+        save(RevocationSet.TOKEN, jti, LocalDateTime.now(), LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()));
+    }
+
+    /**
+     * 지금까지 사용자에게 발급된 액세스 토큰을 모두 폐기합니다.
+     *
+     * @param username 사용자 이름
+     */
+    public void revokeSubject(String username) {
+        LocalDateTime now = LocalDateTime.now();
+        save(RevocationSet.SUBJECT, username, now, now.plus(accessTokenTtl)); // 이후에는 이전 토큰이 모두 만료됨
+    }
+
+    private void save(char kind, String key, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setKind(String.valueOf(kind));
+        revokedToken.setTokenKey(key);
+        revokedToken.setRevokedAt(revokedAt);
+        revokedToken.setExpiresAt(expiresAt);
+        revokedTokenRepository.save(revokedToken);
+        apply(revokedToken); // 이 레플리카에는 즉시 반영
+    }
+
+    // 마지막 동기화 이후(SYNC_MARGIN 포함)에 폐기된 항목만 읽어 반영
+    private void sync() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findByRevokedAtGreaterThanEqual(lastSyncAt.minus(SYNC_MARGIN));
+        revokedTokens.forEach(this::apply);
+        lastSyncAt = startedAt;
+    }
+
+    private void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = revocationSet.purgeExpired(toEpochMilli(now));
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        logger.info("Expired token revocations purged: {} in memory, {} in DB", removed, deleted);
+    }
+
+    private void apply(RevokedToken revokedToken) {
+        revocationSet.add(revokedToken.getKind().charAt(0), revokedToken.getTokenKey(),
+                toEpochMilli(revokedToken.getRevokedAt()), toEpochMilli(revokedToken.getExpiresAt()));
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
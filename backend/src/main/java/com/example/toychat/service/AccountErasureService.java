@@ -0,0 +1,273 @@
+package com.example.toychat.service;
+
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.dto.response.AccountErasureResponseDTO;
+
+import com.example.toychat.entity.AccountErasure;
+import com.example.toychat.entity.User;
+
+import com.example.toychat.repository.AccountErasureRepository;
+import com.example.toychat.repository.ChatRoomMemberRepository;
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.MessageRepository;
+import com.example.toychat.repository.UserRepository;
+
+import com.example.toychat.search.MessageSearchIndex;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 탈퇴한 사용자의 메시지를 백그라운드에서 삭제한 뒤 사용자 행을 삭제합니다.
+ * <p>
+ * 탈퇴 요청은 사용자에 삭제 표시만 하고 (로그인 불가) {@link AccountErasure} 작업을 만듭니다.
+ * 메시지는 ID 순서로 batch-size개씩 삭제하며, 삭제와 진행 상황 기록을 같은 트랜잭션에서 커밋하므로
+ * 중단되어도 기동 시와 주기적으로 lastMessageId 다음부터 다시 이어집니다.
+ */
+@Service
+public class AccountErasureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountErasureService.class);
+
+    @Autowired
+    private AccountErasureRepository accountErasureRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private ChatRoomPurgeService chatRoomPurgeService; // 사용자가 만든 삭제된 채팅방 정리
+
+    @Autowired
+    private MessageSearchIndex messageSearchIndex; // 메시지 검색 색인
+
+    @Autowired
+    private MessageArchive messageArchive; // 보관된 메시지 세그먼트
+
+    @Autowired
+    private InboxService inboxService; // 채팅방 멤버 캐시
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${toychat.erasure.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${toychat.erasure.pause:PT0.05S}")
+    private Duration pause; // 메시지 배치 삭제 사이 대기
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "account-erasure");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet(); // 예약되었거나 진행 중인 작업 ID
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 사용자에 삭제 표시를 하고 메시지 삭제 작업을 만듭니다. 작업은 커밋된 뒤에 시작합니다.
+     *
+     * @param user 탈퇴할 사용자
+     * @return 메시지 삭제 작업
+     */
+    @Transactional
+    public AccountErasure start(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        if (userRepository.markDeleted(user.getId(), now) == 0) {
+            logger.warn("User {} is already deleted", user.getUsername());
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User does not exist");
+        }
+
+        AccountErasure erasure = new AccountErasure();
+        erasure.setUserId(user.getId());
+        erasure.setUsername(user.getUsername());
+        erasure.setStatus(AccountErasure.Status.RUNNING);
+        erasure.setCreatedAt(now);
+        erasure.setUpdatedAt(now);
+        accountErasureRepository.save(erasure);
+
+        Long erasureId = erasure.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(erasureId);
+            }
+        });
+        logger.info("Account erasure {} created for user {}", erasureId, user.getUsername());
+        return erasure;
+    }
+
+    /**
+     * 진행 중인 작업을 모두 다시 예약합니다. 이미 예약된 작업은 건너뜁니다.
+     *
+     * @return 진행 중인 작업 수
+     */
+    public int resumeAll() {
+        List<Long> erasureIds = accountErasureRepository.findIdsByStatus(AccountErasure.Status.RUNNING);
+        erasureIds.forEach(this::submit);
+        return erasureIds.size();
+    }
+
+    /**
+     * 메시지 삭제 진행 상황을 조회합니다.
+     *
+     * @param erasureId 작업 ID
+     * @return 진행 상황
+     */
+    public ResponseEntity<AccountErasureResponseDTO> getProgress(Long erasureId) {
+        AccountErasure erasure = accountErasureRepository.findById(erasureId).orElseThrow(() -> {
+            logger.error("Account erasure not found for ID: {}", erasureId);
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Account erasure not found");
+        });
+        return ResponseEntity.ok(toResponseDTO(erasure));
+    }
+
+    private void submit(Long erasureId) {
+        if (!queued.add(erasureId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    erase(erasureId);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to erase account for erasure {} (will be retried)", erasureId, e);
+                } finally {
+                    queued.remove(erasureId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(erasureId);
+            logger.warn("Account erasure {} rejected: executor is shut down", erasureId);
+        }
+    }
+
+    /**
+     * 사용자의 메시지를 배치로 삭제하고, 남은 멤버 정보와 사용자가 만든 삭제된 채팅방을 정리한 뒤 사용자 행을 삭제합니다.
+     * 완료된 작업은 다시 실행하지 않습니다.
+     *
+     * @param erasureId 작업 ID
+     * @return 이번 실행에서 삭제한 메시지 수 (중단되면 그때까지 삭제한 수)
+     */
+    public long erase(Long erasureId) {
+        AccountErasure erasure = accountErasureRepository.findById(erasureId).orElse(null);
+        if (erasure == null || erasure.getStatus() == AccountErasure.Status.COMPLETED) {
+            return 0;
+        }
+        Long userId = erasure.getUserId();
+        long started = System.nanoTime();
+        long deleted = 0;
+
+        // 마지막으로 삭제를 기록한 ID 이후만 조회 (user_id 인덱스 범위 조회)
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long afterId = erasure.getLastMessageId();
+        List<Long> ids;
+        while (!(ids = messageRepository.findIdsByUserAfter(userId, afterId, PageRequest.of(0, batchSize))).isEmpty()) {
+            Long fromId = afterId;
+            Long upToId = ids.get(ids.size() - 1);
+            Integer count = transaction.execute(status -> {
+                int removed = messageRepository.deleteRangeByUser(userId, fromId, upToId);
+                accountErasureRepository.recordBatch(erasureId, upToId, removed, LocalDateTime.now());
+                return removed;
+            });
+            ids.forEach(messageSearchIndex::remove);
+            deleted += count;
+            afterId = upToId;
+            logger.debug("Erased {} messages of user {} (up to message {})", deleted, erasure.getUsername(), upToId);
+            if (!pause()) {
+                logger.info("Account erasure {} interrupted after {} messages", erasureId, deleted);
+                return deleted;
+            }
+        }
+
+        // 보관 세그먼트의 메시지는 해당 세그먼트를 다시 써서 제거 (세그먼트 단위로 교체되므로 재실행해도 안전)
+        List<Long> archived = messageArchive.removeUser(userId);
+        if (!archived.isEmpty()) {
+            Long lastMessageId = afterId;
+            transaction.executeWithoutResult(status ->
+                    accountErasureRepository.recordBatch(erasureId, lastMessageId, archived.size(), LocalDateTime.now()));
+            archived.forEach(messageSearchIndex::remove);
+            deleted += archived.size();
+        }
+
+        // 사용자가 만든 채팅방이 남아 있으면 사용자 행을 지울 수 없으므로 먼저 정리
+        for (Long chatroomId : chatRoomRepository.findDeletedIdsByCreatorId(userId)) {
+            chatRoomPurgeService.purge(chatroomId);
+        }
+
+        transaction.executeWithoutResult(status -> {
+            chatRoomMemberRepository.deleteAllByUserId(userId);
+            userRepository.deleteMarked(userId);
+            accountErasureRepository.updateStatus(erasureId, AccountErasure.Status.COMPLETED, LocalDateTime.now());
+        });
+        inboxService.userRemoved(erasure.getUsername());
+        logger.info("Account erasure {} completed for user {}: {} messages in {} ms",
+                erasureId, erasure.getUsername(), deleted, (System.nanoTime() - started) / 1_000_000);
+        return deleted;
+    }
+
+    private boolean pause() {
+        if (pause.isZero()) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static AccountErasureResponseDTO toResponseDTO(AccountErasure erasure) {
+        return new AccountErasureResponseDTO(
+                erasure.getId(),
+                erasure.getUserId(),
+                erasure.getUsername(),
+                erasure.getStatus().name(),
+                erasure.getLastMessageId(),
+                erasure.getDeletedMessages(),
+                erasure.getCreatedAt(),
+                erasure.getUpdatedAt()
+        );
+    }
+}
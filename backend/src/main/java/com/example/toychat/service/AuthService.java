@@ -2,26 +2,38 @@ package com.example.toychat.service;
 
 import com.example.toychat.dto.AuthDTO;
 
+import com.example.toychat.entity.AccountErasure;
 import com.example.toychat.entity.User;
 
+import com.example.toychat.repository.ChatRoomMemberRepository;
 import com.example.toychat.repository.UserRepository;
 
 import com.example.toychat.security.JwtUtil;
+import com.example.toychat.security.PasswordHashingService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class AuthService {
@@ -34,7 +46,40 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil; // JWT 유틸리티 주입
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(); // 비밀번호 인코더 생성
+    @Autowired
+    private TokenService tokenService; // 리프레시 토큰 발급, 토큰 폐기
+
+    @Autowired
+    private PasswordHashingService passwordHashingService; // 비밀번호 해시 전용 실행기 주입
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private AccountErasureService accountErasureService; // 탈퇴 사용자의 메시지 백그라운드 삭제
+
+    @Value("${toychat.auth.threads:8}")
+    private int threads; // 해시가 끝난 뒤 사용자 저장, 토큰 발급을 실행하는 스레드 수
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        // 해시 스레드가 DB 지연을 기다리지 않도록 해시 이후 단계는 별도 스레드에서 실행
+        // (유입은 해시 실행기의 대기열이 이미 제한하므로 대기열은 제한하지 않음)
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "auth-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
 
     /**
      * 사용자 이름으로 사용자를 로드합니다.
@@ -48,6 +93,7 @@ public class AuthService {
 
         // 사용자 찾기
         User user = userRepository.findByUsername(username)
+                .filter(found -> found.getDeletedAt() == null) // 탈퇴 처리 중인 사용자 제외
                 .orElseThrow(() -> {
                     logger.error("User not found with username: {}", username);
                     return new UsernameNotFoundException("User not found with username: " + username);
@@ -64,98 +110,122 @@ public class AuthService {
 
     /**
      * 회원 가입 기능을 수행합니다.
+     * 비밀번호 해시는 전용 실행기에서 수행되며, 해시가 끝나면 별도 스레드에서 사용자 정보를 저장합니다.
      *
      * @param authDTO 사용자 등록 정보가 담긴 DTO
      * @return 회원 가입 결과 응답
      */
-    public ResponseEntity<?> register(AuthDTO authDTO) {
+    public CompletableFuture<ResponseEntity<?>> register(AuthDTO authDTO) {
         logger.info("Attempting to register user with email: {}", authDTO.getEmail());
 
         // 사용자 이름이 비어 있는지 확인
         if (!StringUtils.hasText(authDTO.getUsername())) {
             logger.warn("Username is required for registration.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Username is required"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Username is required")));
         }
 
         // 비밀번호가 비어 있는지 확인
         if (!StringUtils.hasText(authDTO.getPassword())) {
             logger.warn("Password is required for registration.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Password is required"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Password is required")));
         }
 
         // 이메일이 비어 있는지 확인하고 이메일 형식 검사
         if (!StringUtils.hasText(authDTO.getEmail()) || !authDTO.getEmail().contains("@")) {
             logger.warn("Invalid email format provided.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Invalid email format"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Invalid email format")));
         }
 
         // 사용자 이름 또는 이메일이 이미 존재하는지 확인
         if (userRepository.findByUsername(authDTO.getUsername()).isPresent() ||
                 userRepository.findByEmail(authDTO.getEmail()).isPresent()) {
             logger.warn("Username or Email already exists: {}", authDTO.getEmail());
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
                     "message", "Username or Email already exists"
-            ));
+            )));
         }
 
-        // 사용자 정보 저장
-        User user = new User();
-        user.setUsername(authDTO.getUsername());
-        user.setPasswordHash(passwordEncoder.encode(authDTO.getPassword()));
-        user.setEmail(authDTO.getEmail());
-        userRepository.save(user);
-        logger.info("User created successfully with ID: {}", user.getId());
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
-                "message", "User created successfully",
-                "user_id", user.getId()
-        ));
+        // 비밀번호 해시 후 사용자 정보 저장
+        return passwordHashingService.encode(authDTO.getPassword()).thenApplyAsync(passwordHash -> {
+            User user = new User();
+            user.setUsername(authDTO.getUsername());
+            user.setPasswordHash(passwordHash);
+            user.setEmail(authDTO.getEmail());
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                // 해시하는 동안 같은 이름 또는 이메일로 먼저 가입한 경우 (unique 제약)
+                logger.warn("Username or Email already exists (concurrent registration): {}", authDTO.getEmail());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                        "message", "Username or Email already exists"
+                ));
+            }
+            logger.info("User created successfully with ID: {}", user.getId());
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                    "message", "User created successfully",
+                    "user_id", user.getId()
+            ));
+        }, executor);
     }
 
     /**
      * 사용자를 로그인하고 JWT를 반환합니다.
+     * 비밀번호 검증은 전용 실행기에서 수행되며, 저장된 해시의 cost가 설정과 다르면 새 해시로 갱신합니다.
+     * 해시 갱신과 토큰 발급은 별도 스레드에서 실행합니다.
      *
      * @param authDTO 로그인할 사용자 정보 데이터 전송 객체
      * @return 로그인 결과에 대한 응답
      */
-    public ResponseEntity<?> login(AuthDTO authDTO) {
+    public CompletableFuture<ResponseEntity<?>> login(AuthDTO authDTO) {
         logger.info("Attempting to login user with email: {}", authDTO.getEmail());
 
         // 이메일이 비어 있는지 확인하고 이메일 형식 검사
         if (!StringUtils.hasText(authDTO.getEmail()) || !authDTO.getEmail().contains("@")) {
             logger.warn("Invalid email format provided.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Invalid email format"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Invalid email format")));
         }
 
         // 비밀번호가 비어 있는지 확인
         if (!StringUtils.hasText(authDTO.getPassword())) {
             logger.warn("Password is required for login.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Password is required"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Password is required")));
         }
 
         // 이메일로 사용자 찾기
-        Optional<User> userOpt = userRepository.findByEmail(authDTO.getEmail());
+        Optional<User> userOpt = userRepository.findByEmail(authDTO.getEmail())
+                .filter(found -> found.getDeletedAt() == null); // 탈퇴 처리 중인 사용자는 로그인 불가
         if (userOpt.isEmpty()) {
             logger.error("Invalid email or password for email: {}", authDTO.getEmail());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid email"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid email")));
         }
         User user = userOpt.get();
 
         // 해당 이메일 사용자의 비밀번호 검증
-        if (!passwordEncoder.matches(authDTO.getPassword(), user.getPasswordHash())) {
-            logger.error("Invalid email or password for email: {}", authDTO.getEmail());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid password"));
-        }
-
-        // JWT 토큰 생성
-        String token = jwtUtil.generateToken(user.getUsername());
-        logger.info("Login successful for email: {}", authDTO.getEmail());
-
-        return ResponseEntity.ok(Map.of(
-                "message", "Login is successfully",
-                "token", token,
-                "user_id", user.getId()
-        ));
+        return passwordHashingService.verify(authDTO.getPassword(), user.getPasswordHash()).thenApplyAsync(verification -> {
+            if (!verification.matches()) {
+                logger.error("Invalid email or password for email: {}", authDTO.getEmail());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid password"));
+            }
+
+            // BCrypt cost가 바뀐 경우 새 해시로 갱신
+            if (verification.rehashed() != null) {
+                userRepository.updatePasswordHash(user.getId(), user.getPasswordHash(), verification.rehashed());
+                logger.info("Password rehashed with the configured cost for email: {}", authDTO.getEmail());
+            }
+
+            // JWT 액세스 토큰과 리프레시 토큰 생성
+            String token = jwtUtil.generateToken(user.getUsername());
+            String refreshToken = tokenService.createRefreshToken(user.getUsername());
+            logger.info("Login successful for email: {}", authDTO.getEmail());
+
+            return ResponseEntity.ok(Map.of(
+                    "message", "Login is successfully",
+                    "token", token,
+                    "refresh_token", refreshToken,
+                    "user_id", user.getId()
+            ));
+        }, executor);
     }
 
     /**
@@ -172,25 +242,28 @@ public class AuthService {
         logger.debug("Extracted username from JWT: {}", username);
 
         // 사용자 찾기
-        Optional<User> userOpt = userRepository.findByUsername(username);
+        Optional<User> userOpt = userRepository.findByUsername(username)
+                .filter(found -> found.getDeletedAt() == null);
         if (userOpt.isEmpty()) {
             logger.error("User not found for deletion: {}", username);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "User does not exist"));
         }
         User user = userOpt.get();
 
-        // 사용자 참여한 채팅방 확인
-        if (!user.getChatRooms().isEmpty()) {
+        // 사용자 참여한 채팅방 확인 (만든 채팅방도 생성자가 멤버로 남아 있는 동안은 포함됨)
+        if (chatRoomMemberRepository.existsByUser(user)) {
             logger.error("User still participates in chat rooms: {}", username);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "User must leave all chat rooms before deleting account"));
         }
 
-        // 사용자 삭제
-        userRepository.delete(user);
-        logger.info("User deleted successfully: {}", username);
+        // 삭제 표시 후 발급된 토큰 모두 무효화 (작성한 메시지와 사용자 행은 백그라운드에서 나눠서 삭제)
+        AccountErasure erasure = accountErasureService.start(user);
+        tokenService.revokeAll(username);
+        logger.info("User deleted successfully: {} (erasure {})", username, erasure.getId());
 
         return ResponseEntity.ok(Map.of(
-                "message", "User deleted successfully"
+                "message", "User deleted successfully",
+                "erasure_id", erasure.getId()
         ));
     }
 }
\ No newline at end of file
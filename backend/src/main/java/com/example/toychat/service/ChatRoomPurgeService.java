@@ -0,0 +1,174 @@
+package com.example.toychat.service;
+
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.repository.ChatRoomMemberRepository;
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.InviteCodeRepository;
+import com.example.toychat.repository.MessageRepository;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 삭제 표시된 채팅방의 메시지, 멤버, 초대 코드와 채팅방 행을 백그라운드에서 정리합니다.
+ * <p>
+ * 메시지는 ID 순서로 chunk-size개씩 구간을 정해 구간마다 별도 트랜잭션의 DELETE 한 번으로 지우고,
+ * 구간 사이에 pause만큼 쉬어 잠금과 복제 지연이 길어지지 않게 합니다.
+ * 진행 상태는 따로 저장하지 않습니다. 채팅방 행의 삭제 표시가 남아 있는 동안은 기동 시와 주기적으로 다시 예약되며,
+ * 이미 지운 구간은 다시 읽지 않으므로 중단된 지점부터 이어집니다.
+ */
+@Service
+public class ChatRoomPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatRoomPurgeService.class);
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private InviteCodeRepository inviteCodeRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageArchive messageArchive; // 보관된 메시지 세그먼트
+
+    @Value("${toychat.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${toychat.purge.pause:PT0.05S}")
+    private Duration pause; // 메시지 구간 삭제 사이 대기
+
+    // 채팅방 하나씩 순서대로 정리 (동시에 여러 채팅방을 지워 DB 부하가 겹치지 않도록)
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chatroom-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet(); // 예약되었거나 정리 중인 채팅방 ID
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 삭제 표시된 채팅방의 정리를 예약합니다. 트랜잭션 안에서 호출되면 커밋된 뒤에 시작합니다.
+     *
+     * @param chatroomId 채팅방 ID
+     */
+    public void schedule(Long chatroomId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(chatroomId);
+                }
+            });
+        } else {
+            submit(chatroomId);
+        }
+    }
+
+    /**
+     * 삭제 표시가 남아 있는 채팅방을 모두 다시 예약합니다. 이미 예약된 채팅방은 건너뜁니다.
+     *
+     * @return 삭제 표시가 남아 있는 채팅방 수
+     */
+    public int resumeAll() {
+        List<Long> chatroomIds = chatRoomRepository.findDeletedIds();
+        chatroomIds.forEach(this::submit);
+        return chatroomIds.size();
+    }
+
+    private void submit(Long chatroomId) {
+        if (!queued.add(chatroomId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    purge(chatroomId);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to purge chatting room {} (will be retried)", chatroomId, e);
+                } finally {
+                    queued.remove(chatroomId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(chatroomId);
+            logger.warn("Purge of chatting room {} rejected: executor is shut down", chatroomId);
+        }
+    }
+
+    /**
+     * 채팅방의 메시지를 구간별로 지운 뒤 보관 세그먼트, 멤버, 초대 코드, 채팅방 행을 삭제합니다.
+     *
+     * @param chatroomId 삭제 표시된 채팅방 ID
+     * @return 삭제한 메시지 수 (중단되면 그때까지 삭제한 수)
+     */
+    public long purge(Long chatroomId) {
+        long started = System.nanoTime();
+        long deleted = 0;
+        int chunks = 0;
+
+        // 마지막으로 지운 ID 이후만 조회 (지운 행을 다시 훑지 않음, (chatroom_id, id) 인덱스 범위 조회)
+        Long afterId = 0L;
+        List<Long> ids;
+        while (!(ids = messageRepository.findIdsAfter(chatroomId, afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            Long upToId = ids.get(ids.size() - 1);
+            deleted += messageRepository.deleteRange(chatroomId, afterId, upToId);
+            afterId = upToId;
+            chunks++;
+            logger.debug("Purged {} messages of chatting room {} (up to message {})", deleted, chatroomId, upToId);
+            if (!pause()) {
+                logger.info("Purge of chatting room {} interrupted after {} messages", chatroomId, deleted);
+                return deleted;
+            }
+        }
+
+        messageArchive.removeChatRoom(chatroomId);
+        int members = chatRoomMemberRepository.deleteAllByChatRoomId(chatroomId);
+        inviteCodeRepository.deleteByChatRoomId(chatroomId);
+        chatRoomRepository.deleteMarked(chatroomId);
+        logger.info("Chatting room {} purged: {} messages in {} chunks, {} members in {} ms",
+                chatroomId, deleted, chunks, members, (System.nanoTime() - started) / 1_000_000);
+        return deleted;
+    }
+
+    private boolean pause() {
+        if (pause.isZero()) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
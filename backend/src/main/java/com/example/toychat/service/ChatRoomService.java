@@ -1,5 +1,8 @@
 package com.example.toychat.service;
 
+import com.example.toychat.cache.InviteCodeIndex;
+import com.example.toychat.cache.RoomSequencer;
+
 import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
 import com.example.toychat.dto.response.*;
 import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
@@ -12,18 +15,24 @@ import com.example.toychat.repository.ChatRoomMemberRepository;
 import com.example.toychat.repository.ChatRoomRepository;
 import com.example.toychat.repository.UserRepository;
 
+import com.example.toychat.search.MessageSearchIndex;
+
 import com.example.toychat.security.JwtUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +55,24 @@ public class ChatRoomService {
     @Autowired
     private JwtUtil jwtUtil; // JWT 유틸리티 주입
 
+    @Autowired
+    private InviteCodeIndex inviteCodeIndex; // 초대 코드 인메모리 인덱스
+
+    @Autowired
+    private RoomSequencer roomSequencer; // 채팅방별 메시지 순번
+
+    @Autowired
+    private MessageSearchIndex messageSearchIndex; // 메시지 검색 색인
+
+    @Autowired
+    private InboxService inboxService; // 사용자별 활동 알림
+
+    @Autowired
+    private RoomDirectoryPublisher roomDirectoryPublisher; // 공개 채팅방 목록 변경 알림
+
+    @Autowired
+    private ChatRoomPurgeService chatRoomPurgeService; // 삭제된 채팅방 정리
+
     /**
      * 채팅방을 생성합니다.
      *
@@ -101,6 +128,7 @@ public class ChatRoomService {
         chatRoomMember.setUser(user);
         chatRoomMemberRepository.save(chatRoomMember);
         logger.info("User {} added as a member to the chatting room.", user.getUsername());
+        roomDirectoryPublisher.roomCreated(chatRoom, 1);
 
         // response
         ChatRoomCreateResponseDTO responseDTO = new ChatRoomCreateResponseDTO(
@@ -120,6 +148,7 @@ public class ChatRoomService {
      * @param joinRequestDTO 채팅방 참여 요청 데이터
      * @return 채팅방 참여 결과
      */
+    @Transactional(isolation = Isolation.READ_COMMITTED) // 채팅방 잠금을 얻은 뒤 다른 트랜잭션이 커밋한 멤버 수를 읽음
     public ResponseEntity<ResponseDTO> joinChatRoom(String token, ChatRoomJoinRequestDTO joinRequestDTO) {
         logger.info("Attempting to join chatting room with ID: {}", joinRequestDTO.getChatroomId());
 
@@ -144,8 +173,8 @@ public class ChatRoomService {
         User user = userOpt.get();
         logger.info("User found: {}", user.getUsername());
 
-        // 채팅방 찾기
-        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findById(joinRequestDTO.getChatroomId());
+        // 채팅방 찾기 (동시 참여, 삭제와 직렬화하기 위해 잠금)
+        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findActiveByIdForUpdate(joinRequestDTO.getChatroomId());
         if (chatRoomOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDTO("Chatting room not found"));
         }
@@ -160,8 +189,9 @@ public class ChatRoomService {
         }
 
         // 채팅방 최대 인원 확인
-        if (chatRoom.getMembers().size() >= chatRoom.getMaxMembers()) {
-            logger.warn("Chatting room {} is full. Current members: {}, Max members: {}", chatRoom.getId(), chatRoom.getMembers().size(), chatRoom.getMaxMembers());
+        int memberCount = chatRoomMemberRepository.countByChatRoom(chatRoom);
+        if (memberCount >= chatRoom.getMaxMembers()) {
+            logger.warn("Chatting room {} is full. Current members: {}, Max members: {}", chatRoom.getId(), memberCount, chatRoom.getMaxMembers());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ResponseDTO("Chatting room is full"));
         }
 
@@ -171,6 +201,8 @@ public class ChatRoomService {
         chatRoomMember.setUser(user);
         chatRoomMemberRepository.save(chatRoomMember);
         logger.info("User {} successfully joined chatting room {}", user.getUsername(), chatRoom.getId());
+        inboxService.memberJoined(chatRoom, user);
+        roomDirectoryPublisher.memberCountChanged(chatRoom);
 
         // response
         return ResponseEntity.ok(new ResponseDTO("Joined chatting room successfully"));
@@ -197,7 +229,7 @@ public class ChatRoomService {
         }
 
         // 모든 채팅방 조회
-        List<ChatRoom> chatRooms = chatRoomRepository.findAll();
+        List<ChatRoom> chatRooms = chatRoomRepository.findByDeletedAtIsNull();
         logger.info("Retrieved {} chatting rooms", chatRooms.size());
 
         // response
@@ -295,7 +327,7 @@ public class ChatRoomService {
         logger.info("User found: {}", user.getUsername());
 
         // 채팅방 조회
-        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findById(chatroomId);
+        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findActiveById(chatroomId);
         if (chatRoomOpt.isEmpty()) {
             logger.error("Chatting room not found for ID: {}", chatroomId);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Chatting room not found");
@@ -331,7 +363,7 @@ public class ChatRoomService {
      * @param chatroomId 나가거나 삭제할 채팅방의 ID
      * @return 상태 코드 (성공적으로 나갔거나 삭제된 경우 204, 또는 조건에 따라 403)
      */
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public ResponseEntity<ResponseDTO> leaveOrDeleteChatRoom(String token, Long chatroomId) {
         logger.info("Attempting to leave or delete chatting room ID: {}", chatroomId);
 
@@ -349,7 +381,7 @@ public class ChatRoomService {
         logger.info("User found: {}", user.getUsername());
 
         // 채팅방 조회
-        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findById(chatroomId);
+        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findActiveByIdForUpdate(chatroomId); // 삭제 중 참여가 끼어들지 않도록 잠금
         if (chatRoomOpt.isEmpty()) {
             logger.error("Chatting room not found for ID: {}", chatroomId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDTO("Chatting room not found"));
@@ -364,7 +396,20 @@ public class ChatRoomService {
             logger.debug("Chatting room ID: {} has {} members", chatRoom.getId(), memberCount);
 
             if (memberCount == 1) { // 생성자만 남음
-                chatRoomRepository.delete(chatRoom);
+                // 삭제 표시만 하고 메시지, 멤버, 초대 코드는 커밋 후 백그라운드에서 나눠서 삭제 (메시지 수와 관계없이 바로 응답)
+                chatRoom.setDeletedAt(LocalDateTime.now());
+                chatRoomMemberRepository.deleteByChatRoomAndUser(chatRoom, user);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() { // 롤백되면 채팅방이 그대로 남으므로 메모리 상태도 커밋된 뒤에만 정리
+                        inviteCodeIndex.evictChatRoom(chatRoom.getId());
+                        roomSequencer.forget(chatRoom.getId());
+                        messageSearchIndex.removeChatRoom(chatRoom.getId());
+                    }
+                });
+                inboxService.roomDeleted(chatRoom, user);
+                roomDirectoryPublisher.roomDeleted(chatRoom);
+                chatRoomPurgeService.schedule(chatRoom.getId());
                 logger.info("Chatting room ID: {} deleted successfully by creator {}", chatRoom.getId(), user.getUsername());
                 return ResponseEntity.ok(new ResponseDTO("Chatting room deleted successfully"));
             } else { // 다른 회원도 남음
@@ -374,6 +419,8 @@ public class ChatRoomService {
         } else {  // 생성자가 아니라면
             chatRoomMemberRepository.deleteByChatRoomAndUser(chatRoom, user);
             logger.info("User {} left the chatting room ID: {}", user.getUsername(), chatRoom.getId());
+            inboxService.memberLeft(chatRoom, user);
+            roomDirectoryPublisher.memberCountChanged(chatRoom);
             return ResponseEntity.ok(new ResponseDTO("Chatting room left successfully"));
         }
     }
@@ -0,0 +1,191 @@
+package com.example.toychat.service;
+
+import com.example.toychat.archive.ArchivedMessage;
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.dto.response.ChatRoomMemberResponseDTO;
+import com.example.toychat.dto.response.ChatRoomSnapshotResponseDTO;
+import com.example.toychat.dto.response.MessageResponseDTO;
+
+import com.example.toychat.entity.ChatRoom;
+import com.example.toychat.entity.Message;
+
+import com.example.toychat.repository.ChatRoomMemberRepository;
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.MessageRepository;
+
+import com.example.toychat.security.JwtUtil;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅방을 열 때 필요한 정보(채팅방 정보, 멤버 목록, 최신 메시지 한 페이지)를 한 번에 조회합니다.
+ * <p>
+ * 토큰 확인과 멤버 확인은 한 번만 하고, 서로 독립적인 멤버 목록과 메시지 조회는 병렬로 실행합니다.
+ * 멤버 목록은 전용 스레드에서, 메시지는 요청 스레드에서 조회하며 대기열이 가득 차면 요청 스레드에서 순서대로 조회합니다.
+ */
+@Service
+public class ChatRoomSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatRoomSnapshotService.class);
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil; // JWT 유틸리티 주입
+
+    @Autowired
+    private MessageArchive messageArchive; // 오래된 메시지 보관 세그먼트
+
+    @Value("${toychat.snapshot.page-size:50}")
+    private int pageSize; // 함께 보내는 최신 메시지 수
+
+    @Value("${toychat.snapshot.threads:4}")
+    private int threads;
+
+    @Value("${toychat.snapshot.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "room-snapshot-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 채팅방 스냅샷을 조회합니다.
+     *
+     * @param token      JWT 토큰
+     * @param chatroomId 채팅방 ID
+     * @return 채팅방 정보, 멤버 목록, 최신 메시지와 이후 동기화 커서
+     */
+    public ResponseEntity<ChatRoomSnapshotResponseDTO> getSnapshot(String token, Long chatroomId) {
+        logger.info("Attempting to load snapshot of chatting room ID: {}", chatroomId);
+
+        // JWT에서 사용자 이름 추출
+        String username = jwtUtil.extractUsername(token);
+        logger.debug("Extracted username from JWT: {}", username);
+
+        // 채팅방 조회
+        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findActiveById(chatroomId);
+        if (chatRoomOpt.isEmpty()) {
+            logger.error("Chatting room not found for ID: {}", chatroomId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Chatting room not found");
+        }
+        ChatRoom chatRoom = chatRoomOpt.get();
+
+        // 사용자가 채팅방의 멤버인지 확인 (사용자 조회 없이 이름으로 확인)
+        if (!chatRoomMemberRepository.existsMember(chatroomId, username)) {
+            logger.warn("User {} is not a member of chatting room {}", username, chatroomId);
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User not a member of the chatting room");
+        }
+
+        LocalDateTime snapshotAt = LocalDateTime.now(); // 조회 전에 기록해 조회 중 수정된 메시지도 다음 동기화에 포함
+
+        // 멤버 목록은 다른 스레드에서, 최신 메시지는 현재 스레드에서 동시에 조회
+        CompletableFuture<List<ChatRoomMemberResponseDTO>> membersFuture = CompletableFuture.supplyAsync(
+                () -> chatRoomMemberRepository.findWithUserByChatRoomId(chatroomId).stream()
+                        .map(member -> new ChatRoomMemberResponseDTO(
+                                member.getUser().getId(),
+                                member.getUser().getUsername(),
+                                member.getJoinedAt()
+                        ))
+                        .collect(Collectors.toList()),
+                executor);
+
+        List<Message> latest = new ArrayList<>(messageRepository.findLatestMessages(chatroomId, PageRequest.of(0, pageSize + 1)));
+        boolean hasOlder = latest.size() > pageSize;
+        if (hasOlder) {
+            latest.remove(latest.size() - 1);
+        }
+        Collections.reverse(latest);
+        List<MessageResponseDTO> messages = latest.stream().map(MessageService::toResponseDTO).collect(Collectors.toList());
+        Long lastMessageId = latest.isEmpty() ? null : latest.get(latest.size() - 1).getId();
+
+        // 테이블의 메시지가 한 페이지가 안 되면 보관된 이전 메시지로 채움
+        if (!hasOlder && messageArchive.contains(chatroomId)) {
+            Set<Long> hotIds = latest.stream().map(Message::getId).collect(Collectors.toSet());
+            List<ArchivedMessage> archived = new ArrayList<>(messageArchive.readLatest(chatroomId, pageSize + 1));
+            archived.removeIf(message -> hotIds.contains(message.id()));
+            int room = pageSize - messages.size();
+            hasOlder = archived.size() > room;
+            List<MessageResponseDTO> older = archived.subList(Math.max(0, archived.size() - room), archived.size()).stream()
+                    .map(MessageService::toResponseDTO).collect(Collectors.toList());
+            messages.addAll(0, older);
+            messages.sort(Comparator.comparing(MessageResponseDTO::getMessageId)); // 수정하려고 테이블로 되돌린 메시지를 제자리에
+            if (lastMessageId == null && !older.isEmpty()) {
+                lastMessageId = older.stream().mapToLong(MessageResponseDTO::getMessageId).max().getAsLong();
+            }
+        }
+
+        List<ChatRoomMemberResponseDTO> members;
+        try {
+            members = membersFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        logger.info("Returning snapshot of chatting room {} with {} members and {} messages", chatroomId, members.size(), messages.size());
+        return ResponseEntity.ok(new ChatRoomSnapshotResponseDTO(
+                chatRoom.getId(),
+                chatRoom.getTitle(),
+                chatRoom.getCreator().getId(),
+                chatRoom.getMaxMembers(),
+                chatRoom.isPrivate(),
+                members,
+                messages,
+                hasOlder,
+                lastMessageId,
+                snapshotAt
+        ));
+    }
+}
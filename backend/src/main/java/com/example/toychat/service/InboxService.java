@@ -0,0 +1,170 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.response.InboxEventDTO;
+
+import com.example.toychat.entity.ChatRoom;
+import com.example.toychat.entity.Message;
+import com.example.toychat.entity.User;
+
+import com.example.toychat.repository.ChatRoomMemberRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 활동 알림 (/user/queue/inbox).
+ * 사용자가 참여한 모든 채팅방의 새 메시지 요약, 멤버 변경, 초대 코드 발급을 하나의 구독으로 전달합니다.
+ * 받는 사람은 채팅방 멤버 중 STOMP 사용자 레지스트리에 연결된 세션이 있는 사용자이며,
+ * 트랜잭션 안에서 호출되면 커밋된 뒤에 전송합니다 (롤백된 변경은 알리지 않음).
+ * <p>
+ * 새 메시지 알림은 메시지 전송 경로에서 호출되므로 채팅방 멤버를 메모리에 캐시해 DB를 조회하지 않습니다.
+ * 멤버는 참여, 탈퇴, 채팅방 삭제, 계정 삭제로만 바뀌며, 이 경로들이 이 서비스에 알릴 때 캐시를 비웁니다.
+ */
+@Service
+public class InboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboxService.class);
+
+    public static final String INBOX_DESTINATION = "/queue/inbox"; // 클라이언트는 /user/queue/inbox 구독
+
+    private static final int PREVIEW_LENGTH = 50;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private SimpUserRegistry simpUserRegistry; // 사용자 이름 → 연결된 STOMP 세션
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    private final Map<Long, List<String>> members = new ConcurrentHashMap<>(); // 채팅방 ID → 멤버 사용자 이름 (새 메시지 알림용)
+
+    /**
+     * 새 메시지 요약을 채팅방 멤버에게 알립니다.
+     */
+    public void messageSent(Message message) {
+        InboxEventDTO event = event("message", message.getChatRoom(), message.getUser());
+        event.setMessageId(message.getId());
+        event.setSeq(message.getSeq());
+        event.setPreview(message.getContent().length() > PREVIEW_LENGTH ? message.getContent().substring(0, PREVIEW_LENGTH) : message.getContent());
+        publish(event, null);
+    }
+
+    /**
+     * 멤버 참여를 참여한 사용자를 포함한 채팅방 멤버에게 알립니다.
+     */
+    public void memberJoined(ChatRoom chatRoom, User user) {
+        forgetMembers(chatRoom.getId());
+        publish(event("member_joined", chatRoom, user), null);
+    }
+
+    /**
+     * 멤버 탈퇴를 남은 멤버와 나간 사용자에게 알립니다.
+     */
+    public void memberLeft(ChatRoom chatRoom, User user) {
+        forgetMembers(chatRoom.getId());
+        publish(event("member_left", chatRoom, user), user.getUsername());
+    }
+
+    /**
+     * 채팅방 삭제를 삭제한 생성자에게 알립니다 (삭제는 생성자만 남았을 때만 가능).
+     */
+    public void roomDeleted(ChatRoom chatRoom, User creator) {
+        forgetMembers(chatRoom.getId());
+        publish(event("room_deleted", chatRoom, creator), creator.getUsername());
+    }
+
+    /**
+     * 초대 코드 발급을 채팅방 멤버에게 알립니다.
+     */
+    public void inviteCreated(ChatRoom chatRoom, User creator) {
+        publish(event("invite", chatRoom, creator), null);
+    }
+
+    /**
+     * 계정 삭제로 모든 채팅방에서 빠진 사용자가 포함된 멤버 캐시를 비웁니다.
+     */
+    public void userRemoved(String username) {
+        members.values().removeIf(usernames -> usernames.contains(username));
+    }
+
+    // 지금 비우고, 트랜잭션 안이면 커밋 후 한 번 더 비움 (그사이 커밋 전 멤버로 다시 채워진 캐시 제거)
+    private void forgetMembers(Long chatroomId) {
+        members.remove(chatroomId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    members.remove(chatroomId);
+                }
+            });
+        }
+    }
+
+    private static InboxEventDTO event(String type, ChatRoom chatRoom, User user) {
+        InboxEventDTO event = new InboxEventDTO();
+        event.setType(type);
+        event.setChatroomId(chatRoom.getId());
+        event.setUsername(user.getUsername());
+        event.setAt(LocalDateTime.now());
+        return event;
+    }
+
+    // 받는 사람은 트랜잭션 안에서 조회하고 (방금 참여/탈퇴한 멤버 반영) 전송은 커밋 후
+    // 새 메시지는 캐시한 멤버로 보냄 (조회는 채팅방마다 한 번, computeIfAbsent라 캐시 비우기와 겹치지 않음)
+    private void publish(InboxEventDTO event, String extraRecipient) {
+        if (simpUserRegistry.getUserCount() == 0) {
+            return; // 연결된 사용자가 없으면 멤버 조회 생략
+        }
+        List<String> members;
+        if ("message".equals(event.getType())) {
+            members = this.members.computeIfAbsent(event.getChatroomId(), chatRoomMemberRepository::findMemberUsernames);
+        } else {
+            members = chatRoomMemberRepository.findMemberUsernames(event.getChatroomId());
+            event.setCurrentMembers(members.size());
+        }
+        List<String> recipients = new ArrayList<>();
+        for (String username : members) {
+            if (simpUserRegistry.getUser(username) != null) {
+                recipients.add(username);
+            }
+        }
+        if (extraRecipient != null && !members.contains(extraRecipient) && simpUserRegistry.getUser(extraRecipient) != null) {
+            recipients.add(extraRecipient);
+        }
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        Runnable send = () -> {
+            for (String username : recipients) {
+                messagingTemplate.convertAndSendToUser(username, INBOX_DESTINATION, event);
+            }
+            logger.debug("Inbox event {} of chatting room {} sent to {} users", event.getType(), event.getChatroomId(), recipients.size());
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+}
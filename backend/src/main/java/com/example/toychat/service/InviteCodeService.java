@@ -1,5 +1,7 @@
 package com.example.toychat.service;
 
+import com.example.toychat.cache.InviteCodeIndex;
+
 import com.example.toychat.dto.request.InviteCodeCreateRequestDTO;
 import com.example.toychat.dto.request.InviteCodeJoinRequestDTO;
 import com.example.toychat.dto.response.InviteCodeCreateResponseDTO;
@@ -20,11 +22,15 @@ import org.slf4j.LoggerFactory;
 
 import com.example.toychat.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -32,6 +38,8 @@ public class InviteCodeService {
 
     private static final Logger logger = LoggerFactory.getLogger(InviteCodeService.class);
 
+    private static final int MAX_CREATE_ATTEMPTS = 3; // 초대 코드 충돌 시 최대 시도 횟수
+
     @Autowired
     private ChatRoomRepository chatRoomRepository;
 
@@ -47,6 +55,15 @@ public class InviteCodeService {
     @Autowired
     private JwtUtil jwtUtil; // JWT 유틸리티 주입
 
+    @Autowired
+    private InviteCodeIndex inviteCodeIndex; // 초대 코드 인메모리 인덱스
+
+    @Autowired
+    private InboxService inboxService; // 사용자별 활동 알림
+
+    @Autowired
+    private RoomDirectoryPublisher roomDirectoryPublisher; // 공개 채팅방 목록 변경 알림
+
     /**
      * 채팅방 생성자가 초대 코드를 생성합니다.
      *
@@ -79,7 +96,7 @@ public class InviteCodeService {
         logger.info("User found: {}", user.getUsername());
 
         // 채팅방 찾기
-        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findById(createRequestDTO.getChatroomId());
+        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findActiveById(createRequestDTO.getChatroomId());
         if (chatRoomOpt.isEmpty()) {
             logger.error("Chatting room not found for ID: {}", createRequestDTO.getChatroomId());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new InviteCodeCreateResponseDTO("Chatting room not found", null));
@@ -96,20 +113,42 @@ public class InviteCodeService {
         // 이미 초대 코드가 있는지 확인
         Optional<InviteCode> existingCode = inviteCodeRepository.findByChatRoom(chatRoom);
         if (existingCode.isPresent()) {
-            logger.warn("Invite code already exists for chatting room ID: {}", chatRoom.getId());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new InviteCodeCreateResponseDTO("Invite code already exists for this chatting room", null));
+            if (!existingCode.get().getExpirationDate().isBefore(LocalDateTime.now())) {
+                logger.warn("Invite code already exists for chatting room ID: {}", chatRoom.getId());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new InviteCodeCreateResponseDTO("Invite code already exists for this chatting room", null));
+            }
+
+            // 만료된 초대 코드는 삭제 후 재발급
+            inviteCodeIndex.evictChatRoom(chatRoom.getId());
+            inviteCodeRepository.deleteExpiredByInviteCodes(List.of(existingCode.get().getInviteCode()), LocalDateTime.now());
+            logger.info("Expired invite code {} removed for chatting room ID: {}", existingCode.get().getInviteCode(), chatRoom.getId());
         }
 
-        // 6자리 랜덤 코드 생성
-        String inviteCode = String.format("%06d", (int) (Math.random() * 1000000));
-        logger.debug("Generated invite code: {}", inviteCode);
-
-        // 초대코드 정보 추가
-        InviteCode newInviteCode = new InviteCode();
-        newInviteCode.setChatRoom(chatRoom);
-        newInviteCode.setInviteCode(inviteCode);
-        inviteCodeRepository.save(newInviteCode);
+        // 사용 중이지 않은 6자리 코드 할당 후 초대코드 정보 추가
+        InviteCode newInviteCode = null;
+        for (int attempt = 1; newInviteCode == null; attempt++) {
+            String code = inviteCodeIndex.allocate(chatRoom.getId(), LocalDateTime.now().plusHours(1));
+            logger.debug("Allocated invite code: {}", code);
+
+            try {
+                InviteCode inviteCode = new InviteCode();
+                inviteCode.setChatRoom(chatRoom);
+                inviteCode.setInviteCode(code);
+                newInviteCode = inviteCodeRepository.saveAndFlush(inviteCode);
+            } catch (DataIntegrityViolationException e) {
+                // 다른 인스턴스에서 발급했거나 아직 삭제되지 않은 만료 코드와 충돌한 경우 재시도
+                inviteCodeIndex.release(code);
+                if (attempt >= MAX_CREATE_ATTEMPTS) {
+                    logger.error("Failed to allocate invite code for chatting room ID: {}", chatRoom.getId(), e);
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(new InviteCodeCreateResponseDTO("Failed to create invite code", null));
+                }
+                logger.warn("Invite code {} collided, retrying (attempt {})", code, attempt);
+            }
+        }
+        inviteCodeIndex.register(newInviteCode);
+        String inviteCode = newInviteCode.getInviteCode();
         logger.info("Invite code {} created successfully for chatting room ID: {}", inviteCode, chatRoom.getId());
+        inboxService.inviteCreated(chatRoom, user);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(new InviteCodeCreateResponseDTO("Invite code created successfully", inviteCode));
     }
@@ -121,6 +160,7 @@ public class InviteCodeService {
      * @param joinRequestDTO 초대 코드로 채팅방 참여 요청 DTO
      * @return ResponseEntity 참여 결과를 포함한 응답
      */
+    @Transactional(isolation = Isolation.READ_COMMITTED) // ChatRoomService.joinChatRoom과 같은 채팅방 잠금으로 직렬화
     public ResponseEntity<ResponseDTO> joinByInviteCode(String token, InviteCodeJoinRequestDTO joinRequestDTO) {
         logger.info("Attempting to join chatting room using invite code: {}", joinRequestDTO.getInviteCode());
 
@@ -144,13 +184,24 @@ public class InviteCodeService {
         }
         User user = userOpt.get();
 
-        // 초대 코드 조회
-        Optional<InviteCode> inviteCodeOpt = inviteCodeRepository.findByInviteCode(joinRequestDTO.getInviteCode());
-        if (inviteCodeOpt.isEmpty() || inviteCodeOpt.get().getExpirationDate().isBefore(LocalDateTime.now())) {
+        // 초대 코드 조회 (인메모리 인덱스, 다른 인스턴스에서 발급된 코드만 DB 조회)
+        Optional<Long> chatroomIdOpt = inviteCodeIndex.resolve(joinRequestDTO.getInviteCode())
+                .or(() -> inviteCodeRepository.findByInviteCode(joinRequestDTO.getInviteCode())
+                        .filter(code -> !code.getExpirationDate().isBefore(LocalDateTime.now()))
+                        .map(code -> {
+                            inviteCodeIndex.register(code);
+                            return code.getChatRoom().getId();
+                        }));
+        if (chatroomIdOpt.isEmpty()) {
             logger.warn("Invalid or expired invite code: {}", joinRequestDTO.getInviteCode());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDTO("Invalid or expired invite code"));
         }
-        ChatRoom chatRoom = inviteCodeOpt.get().getChatRoom();
+        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findActiveByIdForUpdate(chatroomIdOpt.get());
+        if (chatRoomOpt.isEmpty()) {
+            logger.warn("Chatting room {} for invite code {} no longer exists", chatroomIdOpt.get(), joinRequestDTO.getInviteCode());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDTO("Chatting room not found"));
+        }
+        ChatRoom chatRoom = chatRoomOpt.get();
         logger.info("Chatting room found for invite code: {} (ChatRoom ID: {})", joinRequestDTO.getInviteCode(), chatRoom.getId());
 
         // 사용자가 채팅방의 멤버인지 확인
@@ -160,12 +211,21 @@ public class InviteCodeService {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResponseDTO("User is already a member of this chatting room"));
         }
 
+        // 채팅방 최대 인원 확인
+        int memberCount = chatRoomMemberRepository.countByChatRoom(chatRoom);
+        if (memberCount >= chatRoom.getMaxMembers()) {
+            logger.warn("Chatting room {} is full. Current members: {}, Max members: {}", chatRoom.getId(), memberCount, chatRoom.getMaxMembers());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ResponseDTO("Chatting room is full"));
+        }
+
         // 초대 코드로 채팅방에 참여
         ChatRoomMember chatRoomMember = new ChatRoomMember();
         chatRoomMember.setChatRoom(chatRoom);
         chatRoomMember.setUser(user);
         chatRoomMemberRepository.save(chatRoomMember);
         logger.info("User {} successfully joined chatting room ID: {} using invite code", user.getUsername(), chatRoom.getId());
+        inboxService.memberJoined(chatRoom, user);
+        roomDirectoryPublisher.memberCountChanged(chatRoom);
 
         return ResponseEntity.ok(new ResponseDTO("Joined chatting room successfully using invite code"));
     }
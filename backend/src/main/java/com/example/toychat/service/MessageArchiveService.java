@@ -0,0 +1,121 @@
+package com.example.toychat.service;
+
+import com.example.toychat.archive.ArchivedMessage;
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.entity.Message;
+
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.MessageRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 오래된 메시지를 Message 테이블에서 보관 세그먼트로 옮겨 테이블과 인덱스를 작게 유지합니다.
+ * <p>
+ * age보다 오래 전에 작성되고 그 뒤로 수정되지 않은 메시지를 채팅방별로 ID 순서대로 batch-size개씩
+ * 세그먼트 파일에 기록한 뒤 (fsync) 테이블에서 삭제합니다. 기록과 삭제 사이에 중단되면 같은 메시지가 양쪽에 남지만,
+ * 다음 실행에서 이미 같은 버전이 보관된 메시지는 다시 쓰지 않고 삭제만 하며, 조회는 테이블의 메시지를 우선합니다.
+ */
+@Service
+public class MessageArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageArchiveService.class);
+
+    @Autowired
+    private MessageArchive messageArchive;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Value("${toychat.archive.age:P30D}")
+    private Duration age; // 이보다 오래된 메시지를 보관
+
+    @Value("${toychat.archive.batch-size:1000}")
+    private int batchSize; // 세그먼트 하나에 담는 최대 메시지 수
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 모든 채팅방의 오래된 메시지를 보관합니다. 이미 실행 중이면 건너뜁니다.
+     *
+     * @return 보관한 메시지 수
+     */
+    public long archiveAll() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Message archiving is already running");
+            return 0;
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDateTime cutoff = LocalDateTime.now().minus(age);
+            long archived = 0;
+            for (Long chatroomId : chatRoomRepository.findAllIds()) {
+                archived += archiveChatRoom(chatroomId, cutoff);
+            }
+            logger.info("Archived {} messages written before {} in {} ms", archived, cutoff, (System.nanoTime() - started) / 1_000_000);
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 채팅방에서 cutoff 이전의 메시지를 보관합니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @param cutoff     이 시각 이전에 작성되고 수정되지 않은 메시지를 보관
+     * @return 테이블에서 삭제한 메시지 수
+     */
+    public long archiveChatRoom(Long chatroomId, LocalDateTime cutoff) {
+        long archived = 0;
+        Long afterId = 0L;
+        List<Message> batch;
+        while (!(batch = messageRepository.findArchivable(chatroomId, afterId, cutoff, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<Long> ids = batch.stream().map(Message::getId).toList();
+
+            // 같은 버전이 이미 보관된 메시지 (이전 실행이 삭제 전에 중단)는 다시 쓰지 않음
+            Map<Long, ArchivedMessage> existing = messageArchive.findByIds(chatroomId, ids);
+            List<ArchivedMessage> pending = batch.stream()
+                    .filter(message -> !existing.containsKey(message.getId()) || existing.get(message.getId()).version() < message.getVersion())
+                    .map(MessageArchiveService::toArchivedMessage)
+                    .toList();
+            messageArchive.append(chatroomId, pending);
+
+            archived += messageRepository.deleteArchived(chatroomId, ids, cutoff);
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (archived > 0) {
+            logger.debug("Archived {} messages of chatting room {}", archived, chatroomId);
+        }
+        return archived;
+    }
+
+    private static ArchivedMessage toArchivedMessage(Message message) {
+        return new ArchivedMessage(
+                message.getId(),
+                message.getSeq(),
+                message.getUser().getId(),
+                message.getUser().getUsername(),
+                message.getContent(),
+                message.getCreatedAt(),
+                message.getUpdatedAt(),
+                message.getVersion()
+        );
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.toychat.service;
+
+import com.example.toychat.archive.ArchivedMessage;
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.dto.response.MessageExportDTO;
+
+import com.example.toychat.entity.Message;
+
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.MessageRepository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 채팅방 전체 기록을 NDJSON(메시지 한 건당 한 줄)으로 내보냅니다.
+ * <p>
+ * 메시지를 전진 전용 커서로 fetch size만큼씩 읽어 바로 응답에 쓰고, 일정 건수마다 영속성 컨텍스트를 비우므로
+ * 채팅방 크기와 관계없이 힙 사용량이 일정합니다. 내보내기는 오래 걸리므로 동시에 실행할 수 있는 수를 제한합니다.
+ */
+@Service
+public class MessageExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageExportService.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageArchive messageArchive; // 오래된 메시지 보관 세그먼트
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${toychat.export.clear-interval:1000}")
+    private int clearInterval; // 이 건수마다 영속성 컨텍스트를 비움
+
+    @Value("${toychat.export.max-concurrent:2}")
+    private int maxConcurrent;
+
+    private Semaphore permits; // 동시에 실행 중인 내보내기 수 제한
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * 채팅방 기록 내보내기 응답 본문을 만듭니다. 실제 조회와 쓰기는 응답을 보내는 스레드에서 실행됩니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @param gzip       gzip으로 압축할지 여부
+     * @param requester  요청한 관리자 (감사 로그)
+     * @return NDJSON 응답 본문
+     * @throws ResponseStatusException 채팅방이 없으면 404, 동시 내보내기 수를 넘으면 503
+     */
+    public StreamingResponseBody export(Long chatroomId, boolean gzip, String requester) {
+        if (!chatRoomRepository.existsActiveById(chatroomId)) {
+            logger.error("Chatting room not found for ID: {}", chatroomId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Chatting room not found");
+        }
+        if (!permits.tryAcquire()) {
+            logger.warn("Rejected export of chatting room {}: {} exports already running", chatroomId, maxConcurrent);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports in progress");
+        }
+        logger.info("Export of chatting room {} requested by {} (gzip: {})", chatroomId, requester, gzip);
+
+        return outputStream -> {
+            long started = System.nanoTime();
+            try {
+                long count;
+                if (gzip) {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                    count = writeNdjson(chatroomId, gzipStream);
+                    gzipStream.finish();
+                } else {
+                    count = writeNdjson(chatroomId, outputStream);
+                }
+                logger.info("Exported {} messages of chatting room {} in {} ms", count, chatroomId, (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * 채팅방의 전체 메시지를 ID 순으로 NDJSON으로 씁니다. 보관된 메시지를 세그먼트 단위로 먼저 쓰고 Message 테이블의 메시지를 이어 씁니다.
+     * 테이블에도 남아 있는 보관 메시지 (보관 중 중단)는 테이블 쪽으로 한 번만 씁니다.
+     * 출력 스트림은 닫지 않습니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @param out        출력 스트림
+     * @return 쓴 메시지 수
+     */
+    public long writeNdjson(Long chatroomId, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(MessageExportDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE); // 버퍼가 찰 때만 내보냄
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null); // 줄 구분은 직접 씀
+
+                long count = 0;
+                for (List<ArchivedMessage> segment : messageArchive.segments(chatroomId)) {
+                    Set<Long> hotIds = new HashSet<>(messageRepository.findIdsBetween(
+                            chatroomId, segment.get(0).id(), segment.get(segment.size() - 1).id()));
+                    for (ArchivedMessage message : segment) {
+                        if (hotIds.contains(message.id())) {
+                            continue;
+                        }
+                        writer.writeValue(generator, new MessageExportDTO(
+                                message.id(),
+                                message.seq(),
+                                message.userId(),
+                                message.username(),
+                                message.content(),
+                                message.createdAt(),
+                                message.updatedAt(),
+                                message.version()
+                        ));
+                        generator.writeRaw('\n');
+                        count++;
+                    }
+                }
+
+                try (Stream<Message> messages = messageRepository.streamByChatRoomId(chatroomId)) {
+                    Iterator<Message> iterator = messages.iterator();
+                    while (iterator.hasNext()) {
+                        Message message = iterator.next();
+                        writer.writeValue(generator, new MessageExportDTO(
+                                message.getId(),
+                                message.getSeq(),
+                                message.getUser().getId(),
+                                message.getUser().getUsername(),
+                                message.getContent(),
+                                message.getCreatedAt(),
+                                message.getUpdatedAt(),
+                                message.getVersion()
+                        ));
+                        generator.writeRaw('\n');
+                        if (++count % clearInterval == 0) {
+                            entityManager.clear(); // 이미 쓴 메시지와 작성자를 영속성 컨텍스트에서 제거
+                        }
+                    }
+                }
+                generator.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.toychat.service;
+
+import com.example.toychat.cache.RoomSequencer;
+
+import com.example.toychat.dto.response.MessageExportDTO;
+import com.example.toychat.dto.response.MessageImportResponseDTO;
+
+import com.example.toychat.entity.MessageImport;
+
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.MessageImportRepository;
+import com.example.toychat.repository.UserRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 다른 채팅 시스템의 기록을 NDJSON(내보내기와 같은 형식, 한 줄에 메시지 한 건)으로 받아 채팅방에 대량으로 저장합니다.
+ * <p>
+ * 작성자는 시작할 때 한 번 읽어 둔 사용자 이름 → ID 표로 확인하고, 메시지는 batch-size 건씩 JDBC 배치 INSERT로 저장합니다.
+ * 배치마다 별도 트랜잭션에서 지금까지 처리한 입력 줄 수(committed offset)를 함께 기록하므로, 잘못된 줄이나 연결 끊김으로 멈춰도
+ * 같은 import_id로 다시 보내면 커밋된 줄은 건너뛰고 이어서 가져옵니다.
+ * message_id, seq, user_id, version은 무시하며, 순번은 채팅방의 마지막 순번 다음부터 입력 순서대로 새로 발급합니다.
+ */
+@Service
+public class MessageImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageImportService.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO Message (chatroom_id, user_id, seq, content, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageImportRepository messageImportRepository;
+
+    @Autowired
+    private RoomSequencer roomSequencer; // 채팅방별 메시지 순번
+
+    @Autowired
+    private MessageSearchService messageSearchService; // 가져온 메시지 색인
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${toychat.import.batch-size:1000}")
+    private int batchSize; // 트랜잭션 하나에 저장하는 메시지 수
+
+    private final Set<Long> running = ConcurrentHashMap.newKeySet(); // 이 인스턴스에서 실행 중인 가져오기 ID
+
+    /**
+     * 저장을 기다리는 메시지 한 건 (순번은 저장할 때 발급)
+     */
+    private record Row(long userId, String content, Timestamp createdAt, Timestamp updatedAt) {
+    }
+
+    /**
+     * 입력 줄이 형식에 맞지 않거나 작성자를 찾을 수 없음
+     */
+    private static class InvalidLineException extends Exception {
+
+        InvalidLineException(long line, String message) {
+            super("Line " + line + ": " + message);
+        }
+    }
+
+    /**
+     * NDJSON 본문을 읽어 채팅방에 메시지를 저장합니다. 본문을 모두 읽거나 잘못된 줄을 만날 때까지 요청 스레드에서 실행됩니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @param importId   이어서 진행할 가져오기 ID (null이면 새로 시작)
+     * @param gzip       본문이 gzip으로 압축되었는지 여부
+     * @param body       요청 본문
+     * @param requester  요청한 관리자
+     * @return 진행 상황 (잘못된 줄이 있거나 본문을 끝까지 읽지 못하면 400, committed_offset부터 다시 보내면 됨)
+     * @throws ResponseStatusException 채팅방이나 가져오기가 없으면 404, 이미 완료되었거나 실행 중이면 409
+     */
+    public ResponseEntity<MessageImportResponseDTO> importMessages(Long chatroomId, Long importId, boolean gzip, InputStream body, String requester) {
+        if (!chatRoomRepository.existsActiveById(chatroomId)) {
+            logger.error("Chatting room not found for ID: {}", chatroomId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Chatting room not found");
+        }
+
+        MessageImport messageImport = importId == null ? create(chatroomId, requester) : findImport(chatroomId, importId);
+        if (messageImport.getStatus() == MessageImport.Status.COMPLETED) {
+            logger.warn("Import {} of chatting room {} is already completed", messageImport.getId(), chatroomId);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Import already completed");
+        }
+        if (!running.add(messageImport.getId())) {
+            logger.warn("Import {} of chatting room {} is already running", messageImport.getId(), chatroomId);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Import already running");
+        }
+
+        try {
+            HttpStatus status = run(messageImport, gzip, body, requester);
+            return ResponseEntity.status(status).body(toResponseDTO(findImport(chatroomId, messageImport.getId())));
+        } finally {
+            running.remove(messageImport.getId());
+        }
+    }
+
+    /**
+     * 가져오기 진행 상황을 조회합니다. 배치가 커밋될 때마다 갱신됩니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @param importId   가져오기 ID
+     * @return 진행 상황
+     */
+    public ResponseEntity<MessageImportResponseDTO> getProgress(Long chatroomId, Long importId) {
+        return ResponseEntity.ok(toResponseDTO(findImport(chatroomId, importId)));
+    }
+
+    private HttpStatus run(MessageImport messageImport, boolean gzip, InputStream body, String requester) {
+        Long importId = messageImport.getId();
+        Long chatroomId = messageImport.getChatroomId();
+        long offset = messageImport.getCommittedOffset();
+        messageImportRepository.updateStatus(importId, MessageImport.Status.RUNNING, null, LocalDateTime.now());
+        logger.info("Import {} into chatting room {} started by {} from line {}", importId, chatroomId, requester, offset + 1);
+
+        long started = System.nanoTime();
+        ObjectReader reader = objectMapper.readerFor(MessageExportDTO.class);
+        Map<String, Long> authors = loadAuthors();
+        List<Row> pending = new ArrayList<>(batchSize);
+        long line = 0;            // 읽은 줄 수
+        long accepted = offset;   // 저장 대기열에 넣었거나 빈 줄이라 건너뛴 마지막 줄
+        long committed = offset;  // 커밋된 마지막 줄
+        long imported = 0;
+        String error = null;
+        try {
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+                    gzip ? new GZIPInputStream(body, GZIP_BUFFER_SIZE) : body, StandardCharsets.UTF_8))) {
+                String text;
+                while ((text = lines.readLine()) != null) {
+                    if (++line <= offset) {
+                        continue; // 이전 시도에서 커밋된 줄
+                    }
+                    if (!text.isBlank()) {
+                        pending.add(parse(reader, text, line, authors));
+                    }
+                    accepted = line;
+                    if (pending.size() >= batchSize) {
+                        imported += flush(importId, chatroomId, pending, accepted);
+                        committed = accepted;
+                        logger.debug("Import {}: {} messages committed up to line {}", importId, imported, committed);
+                    }
+                }
+                if (line < offset) {
+                    error = "Input ended at line " + line + " before committed offset " + offset;
+                }
+            } catch (InvalidLineException | IOException e) {
+                error = e.getMessage();
+            }
+
+            // 잘못된 줄이나 끊긴 지점 앞까지 읽은 메시지도 저장 (다시 시작하면 그 줄부터 읽음)
+            if (accepted > committed) {
+                imported += flush(importId, chatroomId, pending, accepted);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Import {} into chatting room {} failed after {} messages", importId, chatroomId, imported, e);
+            messageImportRepository.updateStatus(importId, MessageImport.Status.FAILED, truncate(String.valueOf(e.getMessage())), LocalDateTime.now());
+            throw e;
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        if (error != null) {
+            logger.warn("Import {} into chatting room {} stopped after {} messages in {} ms: {}", importId, chatroomId, imported, elapsedMs, error);
+            messageImportRepository.updateStatus(importId, MessageImport.Status.FAILED, truncate(error), LocalDateTime.now());
+            return HttpStatus.BAD_REQUEST;
+        }
+        logger.info("Import {} into chatting room {} completed: {} messages in {} ms", importId, chatroomId, imported, elapsedMs);
+        messageImportRepository.updateStatus(importId, MessageImport.Status.COMPLETED, null, LocalDateTime.now());
+        return HttpStatus.OK;
+    }
+
+    // 한 트랜잭션에서 메시지를 배치로 저장하고 처리한 줄 수를 기록 (메시지가 없으면 줄 수만 기록)
+    private int flush(Long importId, Long chatroomId, List<Row> rows, long committedOffset) {
+        if (rows.isEmpty()) {
+            messageImportRepository.recordBatch(importId, committedOffset, 0, LocalDateTime.now());
+            return 0;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int count = rows.size();
+        long firstSeq = roomSequencer.nextBlock(chatroomId, count, seq -> transaction.execute(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Row row = rows.get(i);
+                    ps.setLong(1, chatroomId);
+                    ps.setLong(2, row.userId());
+                    ps.setLong(3, seq + i);
+                    ps.setString(4, row.content());
+                    ps.setTimestamp(5, row.createdAt());
+                    ps.setTimestamp(6, row.updatedAt());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            });
+            messageImportRepository.recordBatch(importId, committedOffset, count, LocalDateTime.now());
+            return seq;
+        }));
+        rows.clear();
+        messageSearchService.indexSeqRange(chatroomId, firstSeq, firstSeq + count - 1); // JDBC로 저장해 ID를 모르므로 이 배치의 순번 구간만 색인
+        return count;
+    }
+
+    private Row parse(ObjectReader reader, String text, long line, Map<String, Long> authors) throws InvalidLineException {
+        MessageExportDTO dto;
+        try {
+            dto = reader.readValue(text);
+        } catch (JsonProcessingException e) {
+            throw new InvalidLineException(line, "invalid JSON (" + e.getOriginalMessage() + ")");
+        }
+        Long userId = dto.getUsername() == null ? null : authors.get(dto.getUsername());
+        if (userId == null) {
+            throw new InvalidLineException(line, "unknown author '" + dto.getUsername() + "'");
+        }
+        if (dto.getContent() == null || dto.getContent().isBlank()) {
+            throw new InvalidLineException(line, "empty content");
+        }
+        if (dto.getCreatedAt() == null) {
+            throw new InvalidLineException(line, "missing created_at");
+        }
+        Timestamp createdAt = Timestamp.valueOf(dto.getCreatedAt());
+        return new Row(userId, dto.getContent(), createdAt, dto.getUpdatedAt() == null ? createdAt : Timestamp.valueOf(dto.getUpdatedAt()));
+    }
+
+    // 사용자 이름 → ID (가져오는 동안 작성자 확인에 DB 조회가 필요 없음)
+    private Map<String, Long> loadAuthors() {
+        Map<String, Long> authors = new HashMap<>();
+        for (Object[] row : userRepository.findAllUsernameIds()) {
+            authors.put((String) row[0], (Long) row[1]);
+        }
+        logger.debug("Loaded {} usernames for message import", authors.size());
+        return authors;
+    }
+
+    private MessageImport create(Long chatroomId, String requester) {
+        MessageImport messageImport = new MessageImport();
+        messageImport.setChatroomId(chatroomId);
+        messageImport.setRequestedBy(requester);
+        messageImport.setStatus(MessageImport.Status.RUNNING);
+        messageImport.setCreatedAt(LocalDateTime.now());
+        messageImport.setUpdatedAt(messageImport.getCreatedAt());
+        return messageImportRepository.save(messageImport);
+    }
+
+    private MessageImport findImport(Long chatroomId, Long importId) {
+        return messageImportRepository.findById(importId)
+                .filter(messageImport -> messageImport.getChatroomId().equals(chatroomId))
+                .orElseThrow(() -> {
+                    logger.error("Import {} not found for chatting room ID: {}", importId, chatroomId);
+                    return new ResponseStatusException(HttpStatus.NOT_FOUND, "Import not found");
+                });
+    }
+
+    private static MessageImportResponseDTO toResponseDTO(MessageImport messageImport) {
+        return new MessageImportResponseDTO(
+                messageImport.getId(),
+                messageImport.getChatroomId(),
+                messageImport.getStatus().name(),
+                messageImport.getCommittedOffset(),
+                messageImport.getImported(),
+                messageImport.getError(),
+                messageImport.getCreatedAt(),
+                messageImport.getUpdatedAt()
+        );
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
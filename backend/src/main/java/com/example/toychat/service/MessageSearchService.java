@@ -0,0 +1,341 @@
+package com.example.toychat.service;
+
+import com.example.toychat.archive.ArchivedMessage;
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.dto.response.MessageSearchHitDTO;
+import com.example.toychat.dto.response.MessageSearchResponseDTO;
+import com.example.toychat.dto.response.ResponseDTO;
+
+import com.example.toychat.entity.Message;
+
+import com.example.toychat.repository.ChatRoomMemberRepository;
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.MessageRepository;
+
+import com.example.toychat.search.MessageSearchIndex;
+import com.example.toychat.search.MessageTokenizer;
+
+import com.example.toychat.security.JwtUtil;
+
+import com.example.toychat.timer.ExpiryService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 참여 중인 채팅방의 메시지 검색.
+ * <p>
+ * 검색은 {@link MessageSearchIndex}만 사용하고, 결과 페이지의 메시지만 DB에서 한 번에 조회합니다.
+ * 색인은 메시지 전송/수정 시 갱신되며, 기동 후와 대량 가져오기 후에는 Message 테이블과 보관 세그먼트에서 다시 채웁니다.
+ * 색인은 레플리카마다 따로 있으므로 다른 레플리카가 처리한 전송/수정은 주기적으로 Message 테이블에서 최근 수정 시각 순으로 따라잡습니다.
+ */
+@Service
+public class MessageSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageSearchService.class);
+
+    private static final int REBUILD_CLEAR_INTERVAL = 1000; // 재구축 중 이 건수마다 영속성 컨텍스트를 비움
+
+    private static final int CATCH_UP_BATCH_SIZE = 500; // 따라잡기에서 한 번에 읽는 메시지 수
+
+    @Autowired
+    private MessageSearchIndex messageSearchIndex;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private MessageArchive messageArchive; // 오래된 메시지 보관 세그먼트
+
+    @Autowired
+    private JwtUtil jwtUtil; // JWT 유틸리티 주입
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ExpiryService expiryService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${toychat.search.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${toychat.search.max-results:1000}")
+    private int maxResults; // (page + 1) * size 상한 (깊은 페이지는 순위 계산 비용이 큼)
+
+    @Value("${toychat.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${toychat.search.catch-up-interval:PT5S}")
+    private Duration catchUpInterval; // 다른 레플리카의 전송/수정을 따라잡는 주기
+
+    @Value("${toychat.search.catch-up-lag:PT30S}")
+    private Duration catchUpLag; // 이만큼 이전부터 다시 읽음 (수정 시각을 정한 뒤 늦게 커밋된 메시지, 레플리카 간 시계 차이)
+
+    private LocalDateTime catchUpSince; // 다음 따라잡기를 시작할 수정 시각
+
+    /**
+     * 기동이 끝나면 별도 스레드에서 전체 채팅방의 색인을 채웁니다. 그동안 전송/수정된 메시지는 바로 색인됩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuildAll();
+            } catch (RuntimeException e) {
+                logger.error("Failed to rebuild search index", e);
+            }
+        }, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 기동이 끝나면 다른 레플리카가 처리한 전송/수정을 주기적으로 색인하도록 예약합니다.
+     * 기동 전의 메시지는 재구축이 채우므로 기동 시각부터 따라잡습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void scheduleCatchUp() {
+        catchUpSince = LocalDateTime.now().minus(catchUpLag);
+        expiryService.scheduleWithFixedDelay(() -> {
+            try {
+                catchUp();
+            } catch (RuntimeException e) {
+                logger.error("Failed to catch up search index", e);
+            }
+        }, catchUpInterval);
+    }
+
+    /**
+     * 마지막 따라잡기 이후(겹치는 구간 포함) 전송/수정된 메시지를 색인합니다. 이미 색인된 버전은 건너뜁니다.
+     *
+     * @return 읽은 메시지 수
+     */
+    public synchronized long catchUp() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime afterUpdatedAt = catchUpSince;
+        long afterId = 0;
+        long count = 0;
+        List<Object[]> page;
+        do {
+            page = messageRepository.findUpdatedAfter(afterUpdatedAt, afterId, PageRequest.of(0, CATCH_UP_BATCH_SIZE));
+            for (Object[] row : page) {
+                Long messageId = (Long) row[0];
+                messageSearchIndex.index(messageId, (Long) row[1], (Long) row[2], (String) row[3]);
+                afterUpdatedAt = (LocalDateTime) row[4];
+                afterId = messageId;
+            }
+            count += page.size();
+        } while (page.size() == CATCH_UP_BATCH_SIZE);
+        catchUpSince = startedAt.minus(catchUpLag);
+        logger.debug("Search index catch-up read {} messages", count);
+        return count;
+    }
+
+    /**
+     * 전체 채팅방의 메시지를 색인합니다.
+     *
+     * @return 색인한 메시지 수
+     */
+    public long rebuildAll() {
+        long started = System.nanoTime();
+        long count = 0;
+        List<Long> chatroomIds = chatRoomRepository.findAllIds();
+        for (Long chatroomId : chatroomIds) {
+            count += rebuildChatRoom(chatroomId);
+        }
+        logger.info("Indexed {} messages of {} chatting rooms in {} ms", count, chatroomIds.size(), (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * 채팅방의 메시지를 Message 테이블과 보관 세그먼트에서 다시 색인합니다. 이미 색인된 더 새 버전은 덮어쓰지 않습니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @return 색인한 메시지 수
+     */
+    public long rebuildChatRoom(Long chatroomId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        long count = transaction.execute(status -> {
+            try (Stream<Message> messages = messageRepository.streamByChatRoomId(chatroomId)) {
+                long indexed = 0;
+                Iterator<Message> iterator = messages.iterator();
+                while (iterator.hasNext()) {
+                    Message message = iterator.next();
+                    messageSearchIndex.index(message.getId(), chatroomId, message.getVersion(), message.getContent());
+                    if (++indexed % REBUILD_CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                }
+                return indexed;
+            }
+        });
+        // 보관된 메시지는 세그먼트 단위로 읽어 색인 (테이블에도 남은 메시지는 위에서 색인했으므로 건너뜀)
+        for (List<ArchivedMessage> segment : messageArchive.segments(chatroomId)) {
+            Set<Long> hotIds = new HashSet<>(messageRepository.findIdsBetween(
+                    chatroomId, segment.get(0).id(), segment.get(segment.size() - 1).id()));
+            for (ArchivedMessage message : segment) {
+                if (!hotIds.contains(message.id())) {
+                    messageSearchIndex.index(message.id(), chatroomId, message.version(), message.content());
+                    count++;
+                }
+            }
+        }
+        logger.debug("Indexed {} messages of chatting room {}", count, chatroomId);
+        return count;
+    }
+
+    /**
+     * 채팅방의 순번 구간에 있는 메시지를 색인합니다 (가져오기에서 커밋한 배치).
+     *
+     * @param chatroomId 채팅방 ID
+     * @param fromSeq    시작 순번
+     * @param toSeq      끝 순번
+     */
+    public void indexSeqRange(Long chatroomId, long fromSeq, long toSeq) {
+        for (Message message : messageRepository.findBySeqRange(chatroomId, fromSeq, toSeq)) {
+            messageSearchIndex.index(message.getId(), chatroomId, message.getVersion(), message.getContent());
+        }
+    }
+
+    /**
+     * 관리자 요청으로 채팅방의 색인을 다시 채웁니다.
+     *
+     * @param chatroomId 채팅방 ID
+     * @return 색인한 메시지 수
+     */
+    public ResponseEntity<ResponseDTO> reindexChatRoom(Long chatroomId) {
+        if (!chatRoomRepository.existsActiveById(chatroomId)) {
+            logger.error("Chatting room not found for ID: {}", chatroomId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Chatting room not found");
+        }
+        long count = rebuildChatRoom(chatroomId);
+        logger.info("Reindexed {} messages of chatting room {}", count, chatroomId);
+        return ResponseEntity.ok(new ResponseDTO("Reindexed " + count + " messages"));
+    }
+
+    /**
+     * 참여 중인 채팅방에서 검색어의 모든 단어를 포함한 메시지를 관련도순으로 검색합니다.
+     *
+     * @param token      사용자 인증 토큰
+     * @param query      검색어
+     * @param chatroomId 검색할 채팅방 ID (null이면 참여 중인 모든 채팅방)
+     * @param page       페이지 (0부터)
+     * @param size       페이지 크기
+     * @return 검색 결과
+     */
+    public ResponseEntity<MessageSearchResponseDTO> search(String token, String query, Long chatroomId, int page, int size) {
+        List<String> terms = MessageTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            logger.warn("Invalid search query: {}", query);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid query");
+        }
+        if (page < 0 || size < 1 || size > maxPageSize || (long) (page + 1) * size > maxResults) {
+            logger.warn("Invalid search page {} (size {})", page, size);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid page (size at most " + maxPageSize + ", at most " + maxResults + " results)");
+        }
+
+        // 토큰에서 사용자 이름 추출
+        String username = jwtUtil.extractUsername(token);
+        logger.debug("Extracted username from JWT: {}", username);
+
+        // 검색 범위: 참여 중인 채팅방
+        List<Long> chatroomIds = chatRoomMemberRepository.findChatRoomIdsByUsername(username);
+        if (chatroomId != null) {
+            if (!chatroomIds.contains(chatroomId)) {
+                logger.warn("User {} is not a member of chatting room {}", username, chatroomId);
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User not a member of the chatting room");
+            }
+            chatroomIds = List.of(chatroomId);
+        }
+
+        MessageSearchIndex.Result result = messageSearchIndex.search(chatroomIds, terms, page * size, size);
+
+        // 결과 페이지의 메시지만 조회 (테이블에 없으면 보관 세그먼트에서 찾고, 어디에도 없으면 삭제된 메시지이므로 색인에서도 제거)
+        Map<Long, Message> messages = result.hits().isEmpty() ? Map.of()
+                : messageRepository.findWithUserByIdIn(result.hits().stream().map(MessageSearchIndex.Hit::messageId).toList()).stream()
+                .collect(Collectors.toMap(Message::getId, Function.identity()));
+        Map<Long, Map<Long, ArchivedMessage>> archived = result.hits().stream()
+                .filter(hit -> !messages.containsKey(hit.messageId()) && messageArchive.contains(hit.chatroomId()))
+                .collect(Collectors.groupingBy(MessageSearchIndex.Hit::chatroomId,
+                        Collectors.mapping(MessageSearchIndex.Hit::messageId, Collectors.toList())))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> messageArchive.findByIds(entry.getKey(), entry.getValue())));
+        List<MessageSearchHitDTO> hits = new ArrayList<>();
+        for (MessageSearchIndex.Hit hit : result.hits()) {
+            Message message = messages.get(hit.messageId());
+            if (message != null) {
+                hits.add(new MessageSearchHitDTO(
+                        hit.chatroomId(),
+                        message.getId(),
+                        message.getUser().getUsername(),
+                        message.getUser().getId(),
+                        message.getContent(),
+                        message.getUpdatedAt(),
+                        message.getSeq(),
+                        hit.score()
+                ));
+                continue;
+            }
+            ArchivedMessage archivedMessage = archived.getOrDefault(hit.chatroomId(), Map.of()).get(hit.messageId());
+            if (archivedMessage == null) {
+                messageSearchIndex.remove(hit.messageId());
+                continue;
+            }
+            hits.add(new MessageSearchHitDTO(
+                    hit.chatroomId(),
+                    archivedMessage.id(),
+                    archivedMessage.username(),
+                    archivedMessage.userId(),
+                    archivedMessage.content(),
+                    archivedMessage.updatedAt(),
+                    archivedMessage.seq(),
+                    hit.score()
+            ));
+        }
+        logger.info("Search by {} in {} rooms matched {} messages", username, chatroomIds.size(), result.total());
+
+        return ResponseEntity.ok(new MessageSearchResponseDTO(query, page, size, result.total(), hits));
+    }
+}
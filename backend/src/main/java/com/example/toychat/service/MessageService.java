@@ -1,34 +1,61 @@
 package com.example.toychat.service;
 
 import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.request.MessageSyncRequestDTO;
 import com.example.toychat.dto.request.MessageUpdateRequestDTO;
+import com.example.toychat.dto.response.MessageEditEventDTO;
 import com.example.toychat.dto.response.MessageResponseDTO;
+import com.example.toychat.dto.response.MessageSyncResponseDTO;
 import com.example.toychat.dto.response.ResponseDTO;
 
+import com.example.toychat.archive.ArchivedMessage;
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.cache.RoomSequencer;
+
 import com.example.toychat.entity.ChatRoom;
 import com.example.toychat.entity.Message;
 import com.example.toychat.entity.User;
 
+import com.example.toychat.monitoring.ChatMetrics;
+import com.example.toychat.monitoring.MessagePersistEvent;
+
 import com.example.toychat.repository.ChatRoomMemberRepository;
 import com.example.toychat.repository.ChatRoomRepository;
 import com.example.toychat.repository.MessageRepository;
 import com.example.toychat.repository.UserRepository;
 
+import com.example.toychat.search.MessageSearchIndex;
+
 import com.example.toychat.security.JwtUtil;
 
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -51,6 +78,33 @@ public class MessageService {
     @Autowired
     private JwtUtil jwtUtil; // JWT 유틸리티 주입
 
+    @Autowired
+    private ChatMetrics chatMetrics;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private RoomSequencer roomSequencer; // 채팅방별 메시지 순번
+
+    @Autowired
+    private InboxService inboxService; // 사용자별 활동 알림
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MessageSearchIndex messageSearchIndex; // 메시지 검색 색인
+
+    @Autowired
+    private MessageArchive messageArchive; // 오래된 메시지 보관 세그먼트
+
+    @Value("${toychat.sync.max-messages:500}")
+    private int syncMaxMessages; // 동기화 응답 하나에 담는 최대 메시지 수 (새 메시지 + 수정된 메시지)
+
+    @Value("${toychat.sync.max-rooms:50}")
+    private int syncMaxRooms;
+
     /**
      * 채팅방에서 사용자가 메시지를 전송합니다.
      *
@@ -68,53 +122,86 @@ public class MessageService {
             throw new MessagingException("Invalid content");
         }
 
-        // 토큰에서 사용자 이름 추출
-        String username = jwtUtil.extractUsername(token);
-        logger.debug("Extracted username from JWT: {}", username);
-
-        // 사용자 조회
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isEmpty()) {
-            logger.error("User not found for username: {}", username);
-            throw new MessagingException("User not found");
-        }
-        User user = userOpt.get();
-        logger.info("User found: {}", user.getUsername());
+        MessagePersistEvent event = new MessagePersistEvent(); // 단계별 소요 시간 (JFR 녹화 중일 때만 기록)
+        event.beginStages();
+        Span span = tracer.nextSpan() // STOMP 수신 span의 하위 span (JDBC 쿼리 span은 이 span의 하위)
+                .name("message.send")
+                .tag("chatroom.id", String.valueOf(chatroomId))
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            // 토큰에서 사용자 이름 추출
+            String username = jwtUtil.extractUsername(token);
+            logger.debug("Extracted username from JWT: {}", username);
+            event.jwtParse = event.lap();
+
+            // 사용자 조회
+            Optional<User> userOpt = userRepository.findByUsername(username);
+            event.userLookup = event.lap();
+            if (userOpt.isEmpty()) {
+                logger.error("User not found for username: {}", username);
+                throw new MessagingException("User not found");
+            }
+            User user = userOpt.get();
+            logger.info("User found: {}", user.getUsername());
+
+            // 채팅방 조회
+            Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findActiveById(chatroomId);
+            event.roomLookup = event.lap();
+            if (chatRoomOpt.isEmpty()) {
+                logger.error("Chatting room not found for ID: {}", chatroomId);
+                throw new MessagingException("Chat room not found");
+            }
+            ChatRoom chatRoom = chatRoomOpt.get();
+            logger.info("Chatting room found: {} (ChatRoom ID: {})", chatRoom.getTitle(), chatRoom.getId());
+
+            // 사용자가 채팅방의 멤버인지 확인
+            boolean isMember = chatRoomMemberRepository.existsByChatRoomAndUser(chatRoom, user);
+            event.membershipCheck = event.lap();
+            if (!isMember) {
+                logger.warn("User {} is not a member of chatting room ID: {}", user.getUsername(), chatRoom.getId());
+                throw new MessagingException("User is not a member of the chat room");
+            }
+
+            // 메시지 생성 및 저장 (채팅방 순번 발급과 저장을 채팅방 단위로 직렬화)
+            Message message = roomSequencer.next(chatRoom.getId(), seq -> {
+                Message newMessage = new Message();
+                newMessage.setChatRoom(chatRoom);
+                newMessage.setUser(user);
+                newMessage.setContent(sendRequestDTO.getContent());
+                newMessage.setSeq(seq);
+                return messageRepository.save(newMessage);
+            });
+            event.insert = event.lap();
+            event.success = true;
+            chatMetrics.recordMessageSent(chatRoom.getId());
+            inboxService.messageSent(message);
+            messageSearchIndex.index(message.getId(), chatRoom.getId(), message.getVersion(), message.getContent());
+            logger.info("Message sent successfully by user {} to chatting room ID: {} with content: {}", user.getUsername(), chatRoom.getId(), sendRequestDTO.getContent());
+
+            // response
+            MessageResponseDTO responseDTO = new MessageResponseDTO(
+                    message.getId(),
+                    user.getUsername(),
+                    user.getId(),
+                    message.getContent(),
+                    message.getUpdatedAt(),
+                    message.getSeq(),
+                    message.getVersion()
+            );
 
-        // 채팅방 조회
-        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findById(chatroomId);
-        if (chatRoomOpt.isEmpty()) {
-            logger.error("Chatting room not found for ID: {}", chatroomId);
-            throw new MessagingException("Chat room not found");
+            return responseDTO;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+            event.end();
+            if (event.shouldCommit()) {
+                event.roomId = chatroomId;
+                event.payloadSize = sendRequestDTO.getContent().getBytes(StandardCharsets.UTF_8).length;
+                event.commit();
+            }
         }
-        ChatRoom chatRoom = chatRoomOpt.get();
-        logger.info("Chatting room found: {} (ChatRoom ID: {})", chatRoom.getTitle(), chatRoom.getId());
-
-        // 사용자가 채팅방의 멤버인지 확인
-        boolean isMember = chatRoomMemberRepository.existsByChatRoomAndUser(chatRoom, user);
-        if (!isMember) {
-            logger.warn("User {} is not a member of chatting room ID: {}", user.getUsername(), chatRoom.getId());
-            throw new MessagingException("User is not a member of the chat room");
-        }
-
-        // 메시지 생성 및 저장
-        Message message = new Message();
-        message.setChatRoom(chatRoom);
-        message.setUser(user);
-        message.setContent(sendRequestDTO.getContent());
-        messageRepository.save(message);
-        logger.info("Message sent successfully by user {} to chatting room ID: {} with content: {}", user.getUsername(), chatRoom.getId(), sendRequestDTO.getContent());
-
-        // response
-        MessageResponseDTO responseDTO = new MessageResponseDTO(
-                message.getId(),
-                user.getUsername(),
-                user.getId(),
-                message.getContent(),
-                message.getUpdatedAt()
-        );
-
-        return responseDTO;
     }
 
     /**
@@ -141,7 +228,7 @@ public class MessageService {
         logger.info("User found: {}", user.getUsername());
 
         // 채팅방 조회
-        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findById(chatroomId);
+        Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findActiveById(chatroomId);
         if (chatRoomOpt.isEmpty()) {
             logger.error("Chatting room not found for ID: {}", chatroomId);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Chatting room not found");
@@ -161,16 +248,162 @@ public class MessageService {
         List<Message> messages = messageRepository.findByChatRoomOrderByCreatedAtAsc(chatRoom);
         logger.info("Found {} messages in chatting room ID: {}", messages.size(), chatRoom.getId());
 
-        // response
-        List<MessageResponseDTO> response = messages.stream()
-                .map(msg -> new MessageResponseDTO(msg.getId(), msg.getUser().getUsername(), msg.getUser().getId(), msg.getContent(), msg.getUpdatedAt()))
+        // response (보관된 이전 메시지 먼저, 테이블에도 남아 있는 메시지는 테이블 것을 사용)
+        List<MessageResponseDTO> response = new ArrayList<>();
+        if (messageArchive.contains(chatroomId)) {
+            Set<Long> hotIds = messages.stream().map(Message::getId).collect(Collectors.toSet());
+            List<ArchivedMessage> archived = messageArchive.read(chatroomId);
+            archived.stream().filter(message -> !hotIds.contains(message.id())).map(MessageService::toResponseDTO).forEach(response::add);
+            logger.info("Found {} archived messages in chatting room ID: {}", archived.size(), chatroomId);
+        }
+        messages.stream()
+                .map(msg -> new MessageResponseDTO(msg.getId(), msg.getUser().getUsername(), msg.getUser().getId(), msg.getContent(), msg.getUpdatedAt(), msg.getSeq(), msg.getVersion()))
+                .forEach(response::add);
+        if (response.size() > messages.size()) {
+            response.sort(Comparator.comparing(MessageResponseDTO::getMessageId)); // 수정하려고 테이블로 되돌린 메시지를 제자리에
+        }
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 순번 구간의 메시지를 조회합니다. 클라이언트가 빠진 순번을 발견했을 때 그 구간만 다시 받기 위해 사용합니다.
+     *
+     * @param token      사용자 인증 토큰
+     * @param chatroomId 메시지를 조회할 채팅방 ID
+     * @param fromSeq    시작 순번 (포함)
+     * @param toSeq      끝 순번 (포함)
+     * @return 순번 순으로 정렬된 메시지 리스트를 포함한 ResponseEntity
+     */
+    public ResponseEntity<List<MessageResponseDTO>> getMessagesBySeqRange(String token, Long chatroomId, Long fromSeq, Long toSeq) {
+        if (fromSeq == null || toSeq == null || fromSeq < 1 || toSeq < fromSeq || toSeq - fromSeq >= syncMaxMessages) {
+            logger.warn("Invalid sequence range {}..{} for chatting room ID: {}", fromSeq, toSeq, chatroomId);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sequence range (at most " + syncMaxMessages + " messages)");
+        }
+
+        // 토큰에서 사용자 이름 추출
+        String username = jwtUtil.extractUsername(token);
+
+        // 사용자 조회
+        Optional<User> userOpt = userRepository.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            logger.error("User not found for username: {}", username);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        User user = userOpt.get();
+
+        // 사용자가 채팅방의 멤버인지 확인
+        if (chatRoomMemberRepository.findJoinedChatRoomIds(user, List.of(chatroomId)).isEmpty()) {
+            logger.warn("User {} is not a member of chatting room ID: {}", user.getUsername(), chatroomId);
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User not a member of the chatting room");
+        }
+
+        List<MessageResponseDTO> response = messageRepository.findBySeqRange(chatroomId, fromSeq, toSeq).stream()
+                .map(MessageService::toResponseDTO)
                 .collect(Collectors.toList());
+        if (messageArchive.contains(chatroomId)) { // 보관된 구간은 세그먼트에서 읽어 순번 순으로 합침
+            Set<Long> hotIds = response.stream().map(MessageResponseDTO::getMessageId).collect(Collectors.toSet());
+            messageArchive.readSeqRange(chatroomId, fromSeq, toSeq).stream()
+                    .filter(message -> !hotIds.contains(message.id()))
+                    .map(MessageService::toResponseDTO)
+                    .forEach(response::add);
+            response.sort(Comparator.comparing(MessageResponseDTO::getSeq));
+        }
+        logger.info("Found {} messages in sequence range {}..{} of chatting room ID: {}", response.size(), fromSeq, toSeq, chatroomId);
 
         return ResponseEntity.ok(response);
     }
 
     /**
-     * 사용자가 전송한 메시지를 수정합니다.
+     * 재연결한 클라이언트가 놓친 변경분만 조회합니다.
+     * 채팅방마다 last_message_id 이후의 새 메시지와, 그 이하 메시지 중 since 이후 수정된 메시지를 돌려줍니다.
+     * 응답 크기는 메시지 수 기준으로 제한되며, 다 담지 못하면 has_more와 함께 다음 요청에 쓸 커서를 돌려줍니다.
+     *
+     * @param token          사용자 인증 토큰
+     * @param syncRequestDTO 채팅방별 마지막 수신 위치
+     * @return 채팅방별 변경분을 포함한 ResponseEntity
+     */
+    @Transactional
+    public ResponseEntity<MessageSyncResponseDTO> syncMessages(String token, MessageSyncRequestDTO syncRequestDTO) {
+        List<MessageSyncRequestDTO.RoomCursor> cursors = syncRequestDTO.getRooms() == null ? Collections.emptyList() : syncRequestDTO.getRooms();
+        if (cursors.size() > syncMaxRooms || cursors.stream().anyMatch(cursor -> cursor.getChatroomId() == null)) {
+            logger.warn("Invalid sync request with {} rooms", cursors.size());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid rooms (at most " + syncMaxRooms + " rooms)");
+        }
+        int limit = syncRequestDTO.getLimit() == null ? syncMaxMessages : Math.min(syncRequestDTO.getLimit(), syncMaxMessages);
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid limit");
+        }
+
+        // 토큰에서 사용자 이름 추출
+        String username = jwtUtil.extractUsername(token);
+
+        // 사용자 조회
+        Optional<User> userOpt = userRepository.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            logger.error("User not found for username: {}", username);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        User user = userOpt.get();
+
+        // 요청한 채팅방 중 참여 중인 채팅방을 한 번에 조회
+        Set<Long> joined = cursors.isEmpty() ? Collections.emptySet()
+                : chatRoomMemberRepository.findJoinedChatRoomIds(user, cursors.stream().map(MessageSyncRequestDTO.RoomCursor::getChatroomId).toList());
+
+        LocalDateTime syncedAt = LocalDateTime.now(); // 조회 전에 잡아 두어 조회 중 수정된 메시지는 다음 동기화에 포함
+        int remaining = limit;
+        boolean hasMore = false;
+        List<MessageSyncResponseDTO.RoomDelta> deltas = new ArrayList<>();
+        for (MessageSyncRequestDTO.RoomCursor cursor : cursors) {
+            MessageSyncResponseDTO.RoomDelta delta = new MessageSyncResponseDTO.RoomDelta();
+            delta.setChatroomId(cursor.getChatroomId());
+            if (!joined.contains(cursor.getChatroomId())) {
+                delta.setError("Chatting room not found or user not a member");
+                deltas.add(delta);
+                continue;
+            }
+            long lastMessageId = cursor.getLastMessageId() == null ? 0L : cursor.getLastMessageId();
+
+            // last_message_id 이후 새 메시지 (하나 더 조회해서 남은 메시지가 있는지 확인)
+            List<Message> newMessages = remaining == 0 ? Collections.emptyList()
+                    : messageRepository.findNewMessages(cursor.getChatroomId(), lastMessageId, PageRequest.of(0, remaining + 1));
+            boolean moreMessages = remaining == 0 || newMessages.size() > remaining;
+            if (newMessages.size() > remaining) {
+                newMessages = newMessages.subList(0, remaining);
+            }
+            remaining -= newMessages.size();
+
+            // 이미 받은 메시지 중 since 이후 수정된 메시지
+            List<Message> editedMessages = Collections.emptyList();
+            boolean moreEdits = false;
+            if (cursor.getSince() != null && lastMessageId > 0) {
+                editedMessages = remaining == 0 ? Collections.emptyList()
+                        : messageRepository.findEditedMessages(cursor.getChatroomId(), lastMessageId, cursor.getSince(), PageRequest.of(0, remaining + 1));
+                moreEdits = remaining == 0 || editedMessages.size() > remaining;
+                if (editedMessages.size() > remaining) {
+                    editedMessages = editedMessages.subList(0, remaining);
+                }
+                remaining -= editedMessages.size();
+            }
+
+            delta.setMessages(newMessages.stream().map(MessageService::toResponseDTO).collect(Collectors.toList()));
+            delta.setEdited(editedMessages.stream().map(MessageService::toResponseDTO).collect(Collectors.toList()));
+            delta.setLastMessageId(newMessages.isEmpty() ? lastMessageId : newMessages.get(newMessages.size() - 1).getId());
+            // 수정 내역을 다 담지 못했으면 마지막으로 담은 수정 시각부터 다시 조회 (같은 시각의 수정은 중복될 수 있음)
+            delta.setSince(!moreEdits ? syncedAt : editedMessages.isEmpty() ? cursor.getSince() : editedMessages.get(editedMessages.size() - 1).getUpdatedAt());
+            delta.setHasMore(moreMessages || moreEdits);
+            hasMore |= delta.isHasMore();
+            deltas.add(delta);
+        }
+        logger.info("Synced {} rooms for user {} ({} messages, has_more={})", deltas.size(), username, limit - remaining, hasMore);
+
+        return ResponseEntity.ok(new MessageSyncResponseDTO(deltas, hasMore));
+    }
+
+    /**
+     * 사용자가 전송한 메시지를 수정하고, 커밋 후 채팅방 토픽으로 수정 이벤트를 보냅니다.
+     * 요청에 버전이 있으면 그 버전일 때만 수정하고 (그사이 다른 수정이 있었으면 409), 없으면 마지막 수정이 반영됩니다.
+     * 보관된 메시지는 같은 ID로 테이블에 되돌린 뒤 수정합니다 (다시 오래되면 더 큰 버전으로 다시 보관됨).
      *
      * @param token            사용자 인증 토큰
      * @param chatroomId       수정할 메시지가 포함된 채팅방 ID
@@ -203,27 +436,66 @@ public class MessageService {
         User user = userOpt.get();
         logger.info("User found: {}", user.getUsername());
 
-        // 메시지 조회
+        // 메시지 조회 (테이블에 없으면 보관된 메시지에서 찾아 되돌림)
         Optional<Message> messageOpt = messageRepository.findById(messageId);
+        if (messageOpt.isEmpty() && messageArchive.contains(chatroomId)) {
+            ArchivedMessage archived = messageArchive.findByIds(chatroomId, List.of(messageId)).get(messageId);
+            if (archived != null) {
+                if (archived.userId() != user.getId()) {
+                    logger.warn("User {} is not authorized to edit archived message ID: {}", user.getUsername(), messageId);
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResponseDTO("User not authorized to edit this message"));
+                }
+                messageRepository.restoreArchived(archived.id(), chatroomId, archived.userId(), archived.seq(), archived.content(),
+                        archived.createdAt(), archived.updatedAt(), archived.version());
+                logger.info("Restored archived message ID: {} of chatting room ID: {} for editing", messageId, chatroomId);
+                messageOpt = messageRepository.findById(messageId);
+            }
+        }
         if (messageOpt.isEmpty()) {
             logger.error("Message not found for ID: {}", messageId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDTO("Message not found"));
         }
         Message message = messageOpt.get();
+        if (!message.getChatRoom().getId().equals(chatroomId)) {
+            logger.error("Message ID: {} does not belong to chatting room ID: {}", messageId, chatroomId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDTO("Message not found"));
+        }
         logger.info("Message found: {} (Message ID: {})", message.getContent(), message.getId());
 
         // 사용자가 해당 메시지의 작성자인지 확인
-        if (!message.getUser().equals(user)) {
+        if (!message.getUser().getId().equals(user.getId())) {
             logger.warn("User {} is not authorized to edit message ID: {}", user.getUsername(), messageId);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResponseDTO("User not authorized to edit this message"));
         }
         logger.info("User {} is authorized to edit message ID: {}", user.getUsername(), messageId);
 
-        // 메시지 내용 수정
-        message.setContent(updateRequestDTO.getContent());
-        messageRepository.save(message);
-        logger.info("Message ID: {} updated successfully", messageId);
+        // 메시지 내용 수정 (행 단위 조건부 UPDATE라 잠금 없이 동시 수정을 감지)
+        int updated = messageRepository.updateContent(messageId, updateRequestDTO.getContent(), LocalDateTime.now(), updateRequestDTO.getVersion());
+        if (updated == 0) {
+            logger.warn("Message ID: {} was modified since version {}", messageId, updateRequestDTO.getVersion());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ResponseDTO("Message was modified by another request"));
+        }
+
+        // 같은 트랜잭션에서 다시 읽으므로 이 수정이 만든 버전 (커밋 전까지 다른 수정은 대기)
+        Message edited = messageRepository.findById(messageId).orElseThrow();
+        MessageEditEventDTO event = new MessageEditEventDTO("edited", edited.getId(), edited.getContent(), edited.getUpdatedAt(), edited.getVersion());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                messageSearchIndex.index(edited.getId(), chatroomId, edited.getVersion(), edited.getContent());
+                messagingTemplate.convertAndSend("/topic/public/" + chatroomId, event);
+            }
+        });
+        logger.info("Message ID: {} updated successfully to version {}", messageId, edited.getVersion());
 
         return ResponseEntity.ok(new ResponseDTO("Message updated successfully"));
     }
+
+    static MessageResponseDTO toResponseDTO(Message message) {
+        return new MessageResponseDTO(message.getId(), message.getUser().getUsername(), message.getUser().getId(), message.getContent(), message.getUpdatedAt(), message.getSeq(), message.getVersion());
+    }
+
+    static MessageResponseDTO toResponseDTO(ArchivedMessage message) {
+        return new MessageResponseDTO(message.id(), message.username(), message.userId(), message.content(), message.updatedAt(), message.seq(), message.version());
+    }
 }
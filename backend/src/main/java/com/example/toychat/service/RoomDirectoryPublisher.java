@@ -0,0 +1,133 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.response.RoomDirectoryEventDTO;
+
+import com.example.toychat.entity.ChatRoom;
+
+import com.example.toychat.repository.ChatRoomRepository;
+
+import com.example.toychat.timer.ExpiryService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 공개 채팅방 목록 변경분을 /topic/rooms로 발행합니다. 프레임 본문은 항상 이벤트 배열입니다.
+ * 채팅방 생성, 삭제는 커밋 직후 바로 보내고, 인원 수 변경은 debounce 간격 동안 모은 뒤
+ * 채팅방마다 한 번씩 (그 시점의 DB 인원 수로) 한 프레임에 묶어 보냅니다.
+ */
+@Service
+public class RoomDirectoryPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomDirectoryPublisher.class);
+
+    public static final String DIRECTORY_DESTINATION = "/topic/rooms";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ExpiryService expiryService;
+
+    @Value("${toychat.directory.debounce:PT1S}")
+    private Duration debounce; // 인원 수 변경을 모으는 간격
+
+    private final Set<Long> changedRooms = ConcurrentHashMap.newKeySet(); // 인원 수가 바뀐 채팅방 ID
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    /**
+     * 공개 채팅방 생성을 알립니다.
+     */
+    public void roomCreated(ChatRoom chatRoom, int currentMembers) {
+        if (chatRoom.isPrivate()) {
+            return;
+        }
+        RoomDirectoryEventDTO event = new RoomDirectoryEventDTO("created", chatRoom.getId(), chatRoom.getCreator().getId(),
+                chatRoom.getTitle(), chatRoom.getMaxMembers(), currentMembers);
+        afterCommit(() -> messagingTemplate.convertAndSend(DIRECTORY_DESTINATION, List.of(event)));
+    }
+
+    /**
+     * 공개 채팅방 삭제를 알립니다.
+     */
+    public void roomDeleted(ChatRoom chatRoom) {
+        if (chatRoom.isPrivate()) {
+            return;
+        }
+        RoomDirectoryEventDTO event = new RoomDirectoryEventDTO("deleted", chatRoom.getId(), null, null, null, null);
+        afterCommit(() -> {
+            changedRooms.remove(chatRoom.getId());
+            messagingTemplate.convertAndSend(DIRECTORY_DESTINATION, List.of(event));
+        });
+    }
+
+    /**
+     * 인원 수 변경을 기록하고, 대기 중인 발행이 없으면 debounce 간격 뒤로 발행을 예약합니다.
+     */
+    public void memberCountChanged(ChatRoom chatRoom) {
+        if (chatRoom.isPrivate()) {
+            return;
+        }
+        afterCommit(() -> {
+            changedRooms.add(chatRoom.getId());
+            if (flushScheduled.compareAndSet(false, true)) {
+                expiryService.schedule(this::flushMemberCounts, debounce);
+            }
+        });
+    }
+
+    // 모아 둔 채팅방의 현재 인원 수를 한 번에 조회해 한 프레임으로 발행
+    private void flushMemberCounts() {
+        flushScheduled.set(false);
+        List<Long> roomIds = new ArrayList<>(changedRooms);
+        roomIds.forEach(changedRooms::remove);
+        if (roomIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<RoomDirectoryEventDTO> events = new ArrayList<>();
+            for (Object[] row : chatRoomRepository.countMembersOfPublicRooms(roomIds)) {
+                events.add(new RoomDirectoryEventDTO("members", (Long) row[0], null, null, null, ((Number) row[1]).intValue()));
+            }
+            if (!events.isEmpty()) {
+                messagingTemplate.convertAndSend(DIRECTORY_DESTINATION, events);
+            }
+            logger.debug("Published member counts of {} rooms ({} changed)", events.size(), roomIds.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to publish member counts of {} rooms", roomIds.size(), e);
+        }
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 실행 (롤백된 변경은 알리지 않음)
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
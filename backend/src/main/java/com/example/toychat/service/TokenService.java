@@ -0,0 +1,188 @@
+package com.example.toychat.service;
+
+import com.example.toychat.entity.RefreshToken;
+
+import com.example.toychat.repository.RefreshTokenRepository;
+
+import com.example.toychat.security.JwtUtil;
+import com.example.toychat.security.TokenRevocationService;
+
+import com.example.toychat.timer.ExpiryService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1); // 만료된 리프레시 토큰 정리 주기
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ExpiryService expiryService;
+
+    @Value("${toychat.jwt.refresh-token-ttl:P14D}")
+    private Duration refreshTokenTtl;
+
+    // 기동 후 만료된 리프레시 토큰 정리 예약
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleCleanup() {
+        expiryService.scheduleWithFixedDelay(() -> {
+            int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            logger.info("Expired refresh tokens deleted: {}", deleted);
+        }, CLEANUP_INTERVAL);
+    }
+
+    /**
+     * 로그인 시 새 토큰 묶음의 첫 리프레시 토큰을 발급합니다.
+     *
+     * @param username 사용자 이름
+     * @return 리프레시 토큰 원문
+     */
+    public String createRefreshToken(String username) {
+        return createRefreshToken(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 리프레시 토큰을 교체하고 새 액세스 토큰을 발급합니다.
+     * 이미 교체에 사용된 리프레시 토큰이 다시 들어오면 탈취로 보고 같은 묶음의 토큰을 모두 무효화합니다.
+     * 사용 처리와 새 토큰 저장은 토큰 행을 잠근 한 트랜잭션에서 하므로, 재사용 요청은 앞선 교체가 커밋된 뒤 새 토큰까지 함께 지웁니다.
+     *
+     * @param refreshToken 리프레시 토큰 원문
+     * @return 토큰 재발급 결과 응답
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED) // 잠금을 얻은 뒤 다른 트랜잭션이 커밋한 새 토큰까지 지움
+    public ResponseEntity<?> refresh(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) {
+            logger.warn("Refresh token is required.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Refresh token is required"));
+        }
+
+        // 리프레시 토큰 찾기
+        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken));
+        if (tokenOpt.isEmpty() || tokenOpt.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            logger.warn("Invalid or expired refresh token.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid refresh token"));
+        }
+        RefreshToken token = tokenOpt.get();
+
+        // 사용 처리 (이미 사용된 토큰이면 재사용으로 간주)
+        if (token.isUsed()) {
+            refreshTokenRepository.deleteByFamilyId(token.getFamilyId());
+            logger.error("Refresh token reuse detected for user: {}", token.getUsername());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Refresh token has already been used"));
+        }
+
+        token.setUsed(true);
+
+        // 같은 묶음으로 새 토큰 발급
+        String accessToken = jwtUtil.generateToken(token.getUsername());
+        String nextRefreshToken = createRefreshToken(token.getUsername(), token.getFamilyId());
+        logger.info("Tokens refreshed for user: {}", token.getUsername());
+
+        return ResponseEntity.ok(Map.of(
+                "message", "Token refreshed successfully",
+                "token", accessToken,
+                "refresh_token", nextRefreshToken
+        ));
+    }
+
+    /**
+     * 현재 액세스 토큰과 리프레시 토큰 묶음을 폐기합니다.
+     *
+     * @param accessToken  액세스 토큰
+     * @param refreshToken 리프레시 토큰 원문 (없으면 액세스 토큰만 폐기)
+     * @return 로그아웃 결과 응답
+     */
+    public ResponseEntity<?> logout(String accessToken, String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(accessToken);
+        } catch (JwtException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid token"));
+        }
+        tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+
+        if (StringUtils.hasText(refreshToken)) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                    .filter(token -> token.getUsername().equals(claims.getSubject()))
+                    .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+        }
+        logger.info("User logged out: {}", claims.getSubject());
+
+        return ResponseEntity.ok(Map.of("message", "Logout successfully"));
+    }
+
+    /**
+     * 사용자의 모든 액세스 토큰과 리프레시 토큰을 무효화합니다.
+     *
+     * @param username 사용자 이름
+     */
+    public void revokeAll(String username) {
+        tokenRevocationService.revokeSubject(username);
+        int deleted = refreshTokenRepository.deleteByUsername(username);
+        logger.info("All tokens revoked for user: {} ({} refresh tokens deleted)", username, deleted);
+    }
+
+    private String createRefreshToken(String username, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUsername(username);
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plus(refreshTokenTtl));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    // 리프레시 토큰은 DB 유출 시에도 사용할 수 없도록 SHA-256 해시로 저장
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.toychat.timer;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 시간 기반 만료/정리 작업을 위한 공용 타이머 서비스.
+ * 기능별로 폴링 스케줄러를 추가하는 대신 하나의 계층형 타이밍 휠에 타이머를 예약합니다.
+ */
+@Component
+public class ExpiryService {
+
+    private final ExecutorService callbackExecutor;
+
+    private final HierarchicalTimingWheel timingWheel;
+
+    public ExpiryService(@Value("${toychat.timer.tick-ms:100}") long tickMs,
+                         @Value("${toychat.timer.wheel-size:512}") int wheelSize,
+                         @Value("${toychat.timer.callback-threads:2}") int callbackThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.callbackExecutor = new ThreadPoolExecutor(callbackThreads, callbackThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "expiry-callback-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timingWheel = new HierarchicalTimingWheel("expiry", tickMs, wheelSize, callbackExecutor);
+    }
+
+    /**
+     * delay 후에 task를 실행합니다.
+     *
+     * @param task  실행할 작업
+     * @param delay 지연 시간
+     * @return 취소에 사용할 핸들
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        return timingWheel.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 지정한 시각에 task를 실행합니다. 이미 지난 시각이면 다음 tick에 실행합니다.
+     *
+     * @param task     실행할 작업
+     * @param dateTime 실행 시각 (시스템 기본 시간대)
+     * @return 취소에 사용할 핸들
+     */
+    public Timeout scheduleAt(Runnable task, LocalDateTime dateTime) {
+        Instant deadline = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return schedule(task, Duration.between(Instant.now(), deadline));
+    }
+
+    /**
+     * period 간격으로 task를 반복 실행합니다. 실행이 끝난 뒤 다음 실행을 예약하므로 실행이 겹치지 않습니다.
+     *
+     * @param task   실행할 작업
+     * @param period 실행 간격
+     * @return 반복 실행을 멈출 때 사용할 핸들
+     */
+    public Timeout scheduleWithFixedDelay(Runnable task, Duration period) {
+        return new RepeatingTimeout(task, period);
+    }
+
+    /**
+     * @return 대기 중인 타이머 수
+     */
+    public long pendingTimers() {
+        return timingWheel.pendingTimers();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.close();
+        callbackExecutor.shutdown();
+    }
+
+    private final class RepeatingTimeout implements Timeout {
+
+        private final Runnable task;
+
+        private final Duration period;
+
+        private volatile Timeout current;
+
+        private volatile boolean cancelled;
+
+        private volatile boolean expired;
+
+        private RepeatingTimeout(Runnable task, Duration period) {
+            this.task = task;
+            this.period = period;
+            this.current = schedule(this::runAndReschedule, period);
+        }
+
+        private void runAndReschedule() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                task.run();
+                expired = true;
+            } finally {
+                if (!cancelled) {
+                    current = schedule(this::runAndReschedule, period);
+                    if (cancelled) {
+                        current.cancel(); // 확인과 교체 사이에 취소되어 cancel()이 이전 타이머를 취소한 경우
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+            current.cancel();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return expired;
+        }
+    }
+}
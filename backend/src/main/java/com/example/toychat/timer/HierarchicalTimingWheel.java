@@ -0,0 +1,375 @@
+package com.example.toychat.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 계층형 타이밍 휠 타이머.
+ * <p>
+ * 예약/취소는 호출 스레드에서 lock-free 큐에 넣기만 하므로 O(1)이며,
+ * 휠 구조는 하나의 ticker 스레드만 변경합니다. 휠 범위를 넘는 타이머는 상위(overflow) 휠에 넣었다가
+ * 시간이 흐르면 하위 휠로 내려오며, 만료된 타이머의 콜백은 주어진 Executor에서 실행됩니다.
+ * 타이머는 tick 단위로 올림하여 배치되므로 예약 시각보다 일찍 실행되지 않습니다.
+ */
+public final class HierarchicalTimingWheel implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchicalTimingWheel.class);
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static final AtomicIntegerFieldUpdater<Entry> STATE = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+    private final long tickMs;
+
+    private final int wheelSize;
+
+    private final Executor executor;
+
+    private final long startNanos = System.nanoTime();
+
+    private final Queue<Entry> pendingAdds = new ConcurrentLinkedQueue<>(); // ticker가 휠에 넣을 타이머
+
+    private final Queue<Entry> pendingCancels = new ConcurrentLinkedQueue<>(); // ticker가 휠에서 뗄 타이머
+
+    private final LongAdder pendingCount = new LongAdder(); // 여러 스레드가 동시에 예약/취소하므로 경합이 적은 LongAdder 사용
+
+    // 아래 필드는 ticker 스레드만 접근
+    private final PriorityQueue<Bucket> bucketQueue = new PriorityQueue<>(Comparator.comparingLong(bucket -> bucket.expiration));
+
+    private final Wheel root;
+
+    private final Thread ticker; // ticker 없이 만든 휠이면 null
+
+    private final String name;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name      ticker 스레드 이름
+     * @param tickMs    휠 한 칸의 시간 (타이머 정밀도)
+     * @param wheelSize 휠 한 단계의 칸 수
+     * @param executor  만료된 타이머의 콜백을 실행할 Executor
+     */
+    public HierarchicalTimingWheel(String name, long tickMs, int wheelSize, Executor executor) {
+        this(name, tickMs, wheelSize, executor, true);
+    }
+
+    /**
+     * startTicker가 false이면 ticker 스레드 없이 만들고, 호출자가 {@link #tick()}으로 휠을 진행합니다
+     * (벤치마크에서 예약/취소의 휠 반영 비용까지 호출 스레드에서 측정).
+     */
+    HierarchicalTimingWheel(String name, long tickMs, int wheelSize, Executor executor, boolean startTicker) {
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMs and wheelSize must be positive");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.executor = executor;
+        this.root = new Wheel(tickMs, 0);
+        this.name = name;
+        if (startTicker) {
+            this.ticker = new Thread(this::run, name + "-ticker");
+            this.ticker.setDaemon(true);
+            this.ticker.start();
+        } else {
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * delay 후에 task를 실행하도록 예약합니다.
+     *
+     * @param task  실행할 작업
+     * @param delay 지연 시간
+     * @param unit  지연 시간 단위
+     * @return 취소에 사용할 핸들
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new RejectedExecutionException("Timer is stopped");
+        }
+        long deadline = now() + Math.max(0, unit.toMillis(delay));
+        Entry entry = new Entry(task, (deadline + tickMs - 1) / tickMs * tickMs); // tick 단위로 올림
+        pendingCount.increment();
+        pendingAdds.add(entry);
+        return entry;
+    }
+
+    /**
+     * @return 아직 실행되지 않았고 취소되지 않은 타이머 수
+     */
+    public long pendingTimers() {
+        return pendingCount.sum();
+    }
+
+    /**
+     * ticker 스레드를 멈춥니다. 실행되지 않은 타이머는 버려집니다.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (ticker != null) {
+            LockSupport.unpark(ticker);
+            try {
+                ticker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Timing wheel {}-ticker stopped with {} pending timers", name, pendingCount.sum());
+    }
+
+    private long now() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                long sleepMs = tick() - now();
+                if (sleepMs > 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(sleepMs));
+                }
+            } catch (Throwable t) {
+                logger.error("Unexpected error in timing wheel ticker", t);
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 취소와 예약을 휠에 반영하고 만료된 타이머를 실행합니다.
+     * ticker 스레드만 호출하며, ticker 없이 만든 휠은 한 스레드에서만 호출해야 합니다.
+     *
+     * @return 다음에 휠을 진행할 시각 (타이머 시작 기준 ms)
+     */
+    long tick() {
+        long now = now();
+
+        // 취소된 타이머를 버킷에서 제거
+        Entry cancelled;
+        while ((cancelled = pendingCancels.poll()) != null) {
+            if (cancelled.bucket != null) {
+                cancelled.bucket.remove(cancelled);
+            }
+        }
+
+        // 새로 예약된 타이머를 휠에 추가
+        Entry added;
+        while ((added = pendingAdds.poll()) != null) {
+            addOrDispatch(added);
+        }
+
+        // 만료된 버킷을 비우면서 상위 휠의 타이머는 하위 휠로 재배치
+        Bucket bucket;
+        while ((bucket = bucketQueue.peek()) != null && bucket.expiration <= now) {
+            bucketQueue.poll();
+            root.advanceClock(bucket.expiration);
+            bucket.flush();
+        }
+        root.advanceClock(now);
+
+        long next = now + tickMs;
+        if ((bucket = bucketQueue.peek()) != null) {
+            next = Math.min(next, bucket.expiration);
+        }
+        return next;
+    }
+
+    private void addOrDispatch(Entry entry) {
+        if (entry.state != PENDING) {
+            return; // 이미 취소됨
+        }
+        if (!root.add(entry)) {
+            dispatch(entry); // 이미 만료됨
+        }
+    }
+
+    private void dispatch(Entry entry) {
+        if (!STATE.compareAndSet(entry, PENDING, EXPIRED)) {
+            return;
+        }
+        pendingCount.decrement();
+        try {
+            executor.execute(() -> {
+                try {
+                    entry.task.run();
+                } catch (Throwable t) {
+                    logger.error("Timer task failed", t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.error("Timer task rejected by executor", e);
+        }
+    }
+
+    /**
+     * 타이머 항목 (버킷의 이중 연결 리스트 노드)
+     */
+    private final class Entry implements Timeout {
+
+        private final Runnable task;
+
+        private final long deadline; // 타이머 시작 기준 ms, tick 배수
+
+        private volatile int state = PENDING;
+
+        // 아래 필드는 ticker 스레드만 접근
+        private Bucket bucket;
+
+        private Entry prev;
+
+        private Entry next;
+
+        private Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrement();
+            pendingCancels.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+    }
+
+    /**
+     * 같은 칸에 배치된 타이머 목록
+     */
+    private final class Bucket {
+
+        private final Entry head = new Entry(null, 0); // sentinel
+
+        private long expiration = -1;
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            entry.prev = head.prev;
+            entry.next = head;
+            head.prev.next = entry;
+            head.prev = entry;
+        }
+
+        void remove(Entry entry) {
+            if (entry.bucket != this) {
+                return;
+            }
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        /**
+         * @return 만료 시각이 바뀐 경우(새 회차로 재사용) true
+         */
+        boolean setExpiration(long expiration) {
+            if (this.expiration == expiration) {
+                return false;
+            }
+            this.expiration = expiration;
+            return true;
+        }
+
+        void flush() {
+            expiration = -1;
+            Entry entry = head.next;
+            while (entry != head) {
+                Entry next = entry.next;
+                remove(entry);
+                addOrDispatch(entry);
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * 휠 한 단계. 상위 단계의 tick은 하위 단계 전체 범위(interval)와 같습니다.
+     */
+    private final class Wheel {
+
+        private final long tickMs;
+
+        private final long interval;
+
+        private final Bucket[] buckets;
+
+        private long currentTime;
+
+        private Wheel overflow;
+
+        private Wheel(long tickMs, long startMs) {
+            this.tickMs = tickMs;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        /**
+         * @return 휠에 배치한 경우 true, 이미 만료된 경우 false
+         */
+        boolean add(Entry entry) {
+            long expiration = entry.deadline;
+            if (expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    bucketQueue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Wheel(interval, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+}
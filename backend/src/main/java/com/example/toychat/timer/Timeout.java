@@ -0,0 +1,24 @@
+package com.example.toychat.timer;
+
+/**
+ * {@link ExpiryService}에 예약된 타이머의 핸들
+ */
+public interface Timeout {
+
+    /**
+     * 아직 실행되지 않은 타이머를 취소합니다.
+     *
+     * @return 취소된 경우 true, 이미 실행되었거나 취소된 경우 false
+     */
+    boolean cancel();
+
+    /**
+     * @return 취소된 경우 true
+     */
+    boolean isCancelled();
+
+    /**
+     * @return 만료되어 콜백이 실행(디스패치)된 경우 true
+     */
+    boolean isExpired();
+}
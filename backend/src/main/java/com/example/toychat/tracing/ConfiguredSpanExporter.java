@@ -0,0 +1,66 @@
+package com.example.toychat.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * toychat.tracing.exporter 값에 따라 기동 시 고른 exporter로 span을 넘기는 exporter.
+ * <p>
+ * 빈 등록 여부를 조건으로 나누면 AOT 빌드에서 조건이 빌드 시점 값으로 고정되므로,
+ * 빈은 항상 하나 등록하고 실제 exporter는 실행 시점의 설정으로 고릅니다.
+ * none이면 아무것도 내보내지 않습니다.
+ */
+public class ConfiguredSpanExporter implements SpanExporter {
+
+    private final String type;
+
+    private final SpanExporter delegate; // none이면 null
+
+    public ConfiguredSpanExporter(String type, int memoryCapacity, Path filePath) throws IOException {
+        this.type = type;
+        this.delegate = switch (type) {
+            case "none" -> null;
+            case "memory" -> new InMemorySpanExporter(memoryCapacity);
+            case "file" -> new FileSpanExporter(filePath);
+            default -> throw new IllegalArgumentException("Unknown toychat.tracing.exporter: " + type + " (none, memory or file)");
+        };
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        return delegate == null ? CompletableResultCode.ofSuccess() : delegate.export(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate == null ? CompletableResultCode.ofSuccess() : delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate == null ? CompletableResultCode.ofSuccess() : delegate.shutdown();
+    }
+
+    /**
+     * @return 선택된 exporter 종류 (none, memory, file)
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return memory exporter (테스트에서 span 확인)
+     * @throws IllegalStateException memory exporter가 아닌 경우
+     */
+    public InMemorySpanExporter getInMemoryExporter() {
+        if (delegate instanceof InMemorySpanExporter inMemory) {
+            return inMemory;
+        }
+        throw new IllegalStateException("toychat.tracing.exporter is " + type + ", not memory");
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.toychat.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 최근 span을 메모리에 보관하는 exporter (테스트, 로컬 확인용). 용량을 넘으면 오래된 span부터 버립니다.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+
+    private final ArrayDeque<SpanData> spans;
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            if (spans.size() == capacity) {
+                spans.pollFirst();
+            }
+            spans.addLast(span);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * @return 보관 중인 span (내보낸 순서)
+     */
+    public synchronized List<SpanData> getSpans() {
+        return List.copyOf(spans);
+    }
+
+    /**
+     * @param traceId 트레이스 ID (16진수 32자리)
+     * @return 해당 트레이스의 span
+     */
+    public synchronized List<SpanData> getSpans(String traceId) {
+        return spans.stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .collect(Collectors.toList());
+    }
+
+    public synchronized void reset() {
+        spans.clear();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.toychat.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 브로커 채널로 보내는 브로드캐스트(구독 조회 + 세션별 outbound 큐 적재)를 span으로 기록하고,
+ * 그 span의 컨텍스트를 메시지 헤더(traceparent)에 넣습니다. 브로커가 세션별 MESSAGE 프레임에 헤더를 복사하므로
+ * outbound 채널의 전송 span과 클라이언트까지 같은 트레이스가 이어집니다.
+ */
+@Component
+public class StompBroadcastTracingInterceptor implements ChannelInterceptor {
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>(); // 브로커 채널은 Executor가 없으므로 preSend → afterSendCompletion이 같은 스레드
+
+    private final Tracer tracer;
+
+    private final Propagator propagator;
+
+    public StompBroadcastTracingInterceptor(Tracer tracer, ObjectProvider<Propagator> propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Span parent = tracer.currentSpan();
+        if (parent == null || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message; // 추적 중인 요청에서 보낸 브로드캐스트만 기록
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Span span = tracer.spanBuilder()
+                .setParent(parent.context())
+                .name("stomp.broadcast " + StompTraceHeaders.destinationTemplate(destination))
+                .kind(Span.Kind.PRODUCER)
+                .tag("messaging.system", "stomp")
+                .tag("messaging.destination.name", String.valueOf(destination))
+                .start();
+        current.set(span);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        propagator.inject(span.context(), accessor, StompTraceHeaders.SETTER);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        Span span = current.get();
+        if (span == null) {
+            return;
+        }
+        current.remove();
+        if (ex != null) {
+            span.error(ex);
+        }
+        span.end();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.toychat.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클라이언트 inbound 채널에서 SEND 처리(@MessageMapping 메소드)를 span으로 기록합니다.
+ * 클라이언트가 traceparent 헤더를 보내면 그 트레이스를 이어가고, 없으면 새 트레이스를 시작합니다 (샘플링은 management.tracing.sampling.probability).
+ * span은 처리 스레드의 현재 span이 되므로 MessageService, JDBC, 브로드캐스트 span이 하위 span이 됩니다.
+ */
+@Component
+public class StompInboundTracingInterceptor implements ExecutorChannelInterceptor {
+
+    private final ThreadLocal<Scoped> current = new ThreadLocal<>(); // 같은 스레드에서 beforeHandle → afterMessageHandled
+
+    private final Tracer tracer;
+
+    private final Propagator propagator;
+
+    public StompInboundTracingInterceptor(Tracer tracer, ObjectProvider<Propagator> propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP); // 트레이싱이 꺼져 있으면 Propagator 빈이 없음
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler)
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message; // @MessageMapping으로 가는 SEND만 추적 (같은 메시지를 받는 브로커 핸들러, CONNECT, SUBSCRIBE 등 제외)
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Span span = propagator.extract(message.getHeaders(), StompTraceHeaders.GETTER)
+                .name("stomp.receive " + StompTraceHeaders.destinationTemplate(destination))
+                .kind(Span.Kind.CONSUMER)
+                .tag("messaging.system", "stomp")
+                .tag("messaging.destination.name", String.valueOf(destination))
+                .tag("messaging.stomp.session_id", String.valueOf(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())))
+                .start();
+        current.set(new Scoped(span, tracer.withSpan(span)));
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Scoped scoped = current.get();
+        if (scoped == null) {
+            return;
+        }
+        current.remove();
+        scoped.scope.close();
+        if (ex != null) {
+            scoped.span.error(ex);
+        }
+        scoped.span.end();
+    }
+
+    private record Scoped(Span span, Tracer.SpanInScope scope) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.toychat.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.propagation.Propagator;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클라이언트 outbound 채널에서 세션 하나로 프레임을 쓰는 시간을 브로드캐스트 span의 하위 span으로 기록합니다.
+ * 브로드캐스트 span 시작부터 이 span 시작까지가 outbound 큐 대기 시간입니다.
+ */
+@Component
+public class StompOutboundTracingInterceptor implements ExecutorChannelInterceptor {
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>(); // 같은 스레드에서 beforeHandle → afterMessageHandled
+
+    private final Propagator propagator;
+
+    public StompOutboundTracingInterceptor(ObjectProvider<Propagator> propagator) {
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (StompTraceHeaders.GETTER.get(message.getHeaders(), "traceparent") == null) {
+            return message; // 추적되지 않은 프레임 (CONNECTED, RECEIPT, 추적되지 않은 브로드캐스트 등)
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Span span = propagator.extract(message.getHeaders(), StompTraceHeaders.GETTER)
+                .name("stomp.deliver " + StompTraceHeaders.destinationTemplate(destination))
+                .kind(Span.Kind.PRODUCER)
+                .tag("messaging.system", "stomp")
+                .tag("messaging.destination.name", String.valueOf(destination))
+                .tag("messaging.stomp.session_id", String.valueOf(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())))
+                .start();
+        current.set(span);
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Span span = current.get();
+        if (span == null) {
+            return;
+        }
+        current.remove();
+        if (ex != null) {
+            span.error(ex);
+        }
+        span.end();
+    }
+}
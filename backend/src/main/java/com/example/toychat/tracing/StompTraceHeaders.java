@@ -0,0 +1,30 @@
+package com.example.toychat.tracing;
+
+import io.micrometer.tracing.propagation.Propagator;
+
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+import java.util.regex.Pattern;
+
+/**
+ * STOMP 프레임 헤더(native header)로 트레이스 컨텍스트(W3C traceparent 등)를 주고받기 위한 Setter/Getter
+ */
+final class StompTraceHeaders {
+
+    static final Propagator.Setter<NativeMessageHeaderAccessor> SETTER = NativeMessageHeaderAccessor::setNativeHeader;
+
+    static final Propagator.Getter<MessageHeaders> GETTER = (headers, key) -> NativeMessageHeaderAccessor.getFirstNativeHeader(key, headers);
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private StompTraceHeaders() {
+    }
+
+    /**
+     * @return 숫자 경로를 {id}로 바꾼 목적지 (span 이름용)
+     */
+    static String destinationTemplate(String destination) {
+        return destination != null ? NUMERIC_SEGMENT.matcher(destination).replaceAll("/{id}") : "none";
+    }
+}
@@ -2,8 +2,11 @@ package com.example.toychat.controller;
 
 import com.example.toychat.dto.response.ChatRoomMemberResponseDTO;
 
+import com.example.toychat.dto.response.ChatRoomSnapshotResponseDTO;
+import com.example.toychat.dto.response.MessageResponseDTO;
 import com.example.toychat.dto.response.ResponseDTO;
 import com.example.toychat.service.ChatRoomService;
+import com.example.toychat.service.ChatRoomSnapshotService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +36,9 @@ public class ChatRoomMemberControllerTest {
     @Mock
     private ChatRoomService chatRoomService;
 
+    @Mock
+    private ChatRoomSnapshotService chatRoomSnapshotService;
+
     @InjectMocks
     private ChatRoomController chatRoomController;
 
@@ -59,6 +65,25 @@ public class ChatRoomMemberControllerTest {
                 .andExpect(jsonPath("$[1].username", is("user2")));
     }
 
+    @Test
+    public void testGetChatRoomSnapshot() throws Exception {
+        ChatRoomSnapshotResponseDTO snapshot = new ChatRoomSnapshotResponseDTO(1L, "room", 1L, 5, false,
+                List.of(new ChatRoomMemberResponseDTO(1L, "user1", LocalDateTime.parse("2024-11-01T00:00:00"))),
+                List.of(new MessageResponseDTO(10L, "user1", 1L, "hello", LocalDateTime.parse("2024-11-01T00:00:00"), 1L, 0)),
+                false, 10L, LocalDateTime.parse("2024-11-01T00:01:00"));
+
+        when(chatRoomSnapshotService.getSnapshot(any(String.class), any(Long.class)))
+                .thenReturn(ResponseEntity.ok(snapshot));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/chatrooms/{chatroom_id}/snapshot", 1L)
+                        .header("Authorization", "Bearer some_valid_token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("room")))
+                .andExpect(jsonPath("$.members[0].username", is("user1")))
+                .andExpect(jsonPath("$.messages[0].content", is("hello")))
+                .andExpect(jsonPath("$.last_message_id", is(10)));
+    }
+
     @Test
     public void testLeaveChatRoom() throws Exception {
         ResponseDTO responseDTO = new ResponseDTO("Chatting room left successfully");
@@ -1,9 +1,14 @@
 package com.example.toychat.controller;
 
+import com.example.toychat.dto.request.MessageSyncRequestDTO;
 import com.example.toychat.dto.request.MessageUpdateRequestDTO;
 import com.example.toychat.dto.response.MessageResponseDTO;
+import com.example.toychat.dto.response.MessageSearchHitDTO;
+import com.example.toychat.dto.response.MessageSearchResponseDTO;
+import com.example.toychat.dto.response.MessageSyncResponseDTO;
 
 import com.example.toychat.dto.response.ResponseDTO;
+import com.example.toychat.service.MessageSearchService;
 import com.example.toychat.service.MessageService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +39,9 @@ public class MessageControllerTest {
     @Mock
     private MessageService messageService;
 
+    @Mock
+    private MessageSearchService messageSearchService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -43,8 +51,8 @@ public class MessageControllerTest {
     @Test
     void testGetMessages() throws Exception {
         Long chatroomId = 1L;
-        MessageResponseDTO message1 = new MessageResponseDTO(1L, "user1", 1L,"Hello", LocalDateTime.parse("2024-11-09T12:00:00"));
-        MessageResponseDTO message2 = new MessageResponseDTO(2L, "user2", 2L,"Hi", LocalDateTime.parse("2024-11-09T12:05:00"));
+        MessageResponseDTO message1 = new MessageResponseDTO(1L, "user1", 1L,"Hello", LocalDateTime.parse("2024-11-09T12:00:00"), 1L, 0);
+        MessageResponseDTO message2 = new MessageResponseDTO(2L, "user2", 2L,"Hi", LocalDateTime.parse("2024-11-09T12:05:00"), 2L, 0);
         List<MessageResponseDTO> messageList = Arrays.asList(message1, message2);
 
         when(messageService.getMessages(any(String.class), any(Long.class)))
@@ -78,4 +86,45 @@ public class MessageControllerTest {
 
         verify(messageService, times(1)).updateMessage(any(String.class), any(Long.class), any(Long.class), any(MessageUpdateRequestDTO.class));
     }
+
+    @Test
+    void testSyncMessages() throws Exception {
+        MessageResponseDTO message = new MessageResponseDTO(3L, "user1", 1L, "Missed", LocalDateTime.parse("2024-11-09T12:10:00"), 3L, 0);
+        MessageSyncResponseDTO.RoomDelta delta = new MessageSyncResponseDTO.RoomDelta(
+                1L, List.of(message), List.of(), 3L, LocalDateTime.parse("2024-11-09T12:11:00"), false, null);
+
+        when(messageService.syncMessages(any(String.class), any(MessageSyncRequestDTO.class)))
+                .thenReturn(ResponseEntity.ok(new MessageSyncResponseDTO(List.of(delta), false)));
+
+        mockMvc.perform(post("/api/messages/sync")
+                        .header("Authorization", "Bearer some_valid_token")
+                        .contentType("application/json")
+                        .content("{\"rooms\":[{\"chatroom_id\":1,\"last_message_id\":2}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.has_more").value(false))
+                .andExpect(jsonPath("$.rooms[0].chatroom_id").value(1))
+                .andExpect(jsonPath("$.rooms[0].messages[0].message_id").value(3))
+                .andExpect(jsonPath("$.rooms[0].last_message_id").value(3))
+                .andExpect(jsonPath("$.rooms[0].error").doesNotExist());
+
+        verify(messageService, times(1)).syncMessages(any(String.class), any(MessageSyncRequestDTO.class));
+    }
+
+    @Test
+    void testSearchMessages() throws Exception {
+        MessageSearchHitDTO hit = new MessageSearchHitDTO(1L, 3L, "user1", 1L, "채팅방 회의", LocalDateTime.parse("2024-11-09T12:10:00"), 3L, 1.5);
+
+        when(messageSearchService.search(any(String.class), eq("회의"), isNull(), eq(0), eq(20)))
+                .thenReturn(ResponseEntity.ok(new MessageSearchResponseDTO("회의", 0, 20, 1, List.of(hit))));
+
+        mockMvc.perform(get("/api/messages/search")
+                        .header("Authorization", "Bearer some_valid_token")
+                        .param("q", "회의"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.results[0].chatroom_id").value(1))
+                .andExpect(jsonPath("$.results[0].message_id").value(3));
+
+        verify(messageSearchService, times(1)).search(any(String.class), eq("회의"), isNull(), eq(0), eq(20));
+    }
 }
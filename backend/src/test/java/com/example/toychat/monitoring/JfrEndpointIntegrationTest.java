@@ -0,0 +1,147 @@
+package com.example.toychat.monitoring;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEndpointIntegrationTest extends IntegrationTestSupport {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordingCapturesMessagingEvents() throws Exception {
+        String adminToken = registerAndLogin("jfr-admin", "jfr-admin@example.com");
+        String userToken = registerAndLogin("jfr-user", "jfr-user@example.com");
+
+        // 관리자가 아니면 녹화를 시작할 수 없음
+        assertEquals(HttpStatus.FORBIDDEN, exchange("/actuator/jfr/start", HttpMethod.POST, userToken, byte[].class).getStatusCode());
+
+        ResponseEntity<Map> started = exchange("/actuator/jfr/start", HttpMethod.POST, adminToken, Map.class);
+        assertEquals(HttpStatus.OK, started.getStatusCode());
+        assertEquals("RUNNING", started.getBody().get("state"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(adminToken);
+        ResponseEntity<Map> created = restTemplate.exchange("/api/chatrooms", HttpMethod.POST,
+                new HttpEntity<>(Map.of("title", "jfr", "max_members", 5, "is_private", false), headers), Map.class);
+        long chatroomId = ((Number) created.getBody().get("chatroom_id")).longValue();
+
+        // 채팅방 구독 후 메시지 전송 (STOMP)
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+        session.subscribe("/topic/public/" + chatroomId, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders stompHeaders) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders stompHeaders, Object payload) {
+                received.add(payload);
+            }
+        });
+        Thread.sleep(200); // SUBSCRIBE가 브로커에 등록될 때까지 대기
+
+        StompHeaders sendHeaders = new StompHeaders();
+        sendHeaders.setDestination("/app/chat.sendMessage/" + chatroomId);
+        sendHeaders.set("Authorization", "Bearer " + adminToken);
+        session.send(sendHeaders, Map.of("content", "안녕 jfr"));
+        assertNotNull(received.poll(10, TimeUnit.SECONDS));
+        session.disconnect();
+
+        assertEquals("STOPPED", exchange("/actuator/jfr/stop", HttpMethod.POST, adminToken, Map.class).getBody().get("state"));
+
+        ResponseEntity<byte[]> dump = exchange("/actuator/jfr/dump", HttpMethod.GET, adminToken, byte[].class);
+        assertEquals(HttpStatus.OK, dump.getStatusCode());
+        Path file = Files.createTempFile("jfr-test-", ".jfr");
+        try {
+            Files.write(file, dump.getBody());
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent send = find(events, "com.example.toychat.StompSend");
+            assertEquals(chatroomId, send.getLong("roomId"));
+            assertEquals("안녕 jfr".getBytes(StandardCharsets.UTF_8).length, send.getLong("payloadSize"));
+            assertTrue(send.getBoolean("success"));
+
+            RecordedEvent persist = find(events, "com.example.toychat.MessagePersist");
+            assertEquals(chatroomId, persist.getLong("roomId"));
+            assertTrue(persist.getBoolean("success"));
+            assertTrue(persist.getLong("insert") > 0);
+
+            RecordedEvent outbound = events.stream() // CONNECTED 등 다른 프레임 이벤트는 roomId가 -1
+                    .filter(event -> event.getEventType().getName().equals("com.example.toychat.StompOutbound"))
+                    .filter(event -> event.getLong("roomId") == chatroomId)
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No StompOutbound event for the chat room"));
+            assertEquals("/topic/public/" + chatroomId, outbound.getString("destination"));
+            assertTrue(outbound.getLong("payloadSize") > 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String registerAndLogin(String username, String email) {
+        restTemplate.postForEntity("/api/register",
+                Map.of("username", username, "password", "password", "email", email), Map.class);
+        ResponseEntity<Map> login = restTemplate.postForEntity("/api/login",
+                Map.of("email", email, "password", "password"), Map.class);
+        assertEquals(HttpStatus.OK, login.getStatusCode());
+        return (String) login.getBody().get("token");
+    }
+
+    private <T> ResponseEntity<T> exchange(String url, HttpMethod method, String token, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.exchange(url, method, new HttpEntity<>(method == HttpMethod.POST ? "{}" : null, headers), type);
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+}
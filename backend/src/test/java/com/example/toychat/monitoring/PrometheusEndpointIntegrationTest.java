@@ -0,0 +1,111 @@
+package com.example.toychat.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false) // 테스트에서도 Prometheus 레지스트리 사용
+public class PrometheusEndpointIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPrometheusScrapeAfterRestAndStompTraffic() throws Exception {
+        // 회원 가입, 로그인, 채팅방 생성 (REST)
+        restTemplate.postForEntity("/api/register",
+                Map.of("username", "metrics-user", "password", "password", "email", "metrics@example.com"), Map.class);
+        ResponseEntity<Map> login = restTemplate.postForEntity("/api/login",
+                Map.of("email", "metrics@example.com", "password", "password"), Map.class);
+        assertEquals(HttpStatus.OK, login.getStatusCode());
+        String token = (String) login.getBody().get("token");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<Map> created = restTemplate.exchange("/api/chatrooms", HttpMethod.POST,
+                new HttpEntity<>(Map.of("title", "metrics", "max_members", 5, "is_private", false), headers), Map.class);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        long chatroomId = ((Number) created.getBody().get("chatroom_id")).longValue();
+
+        // 채팅방 구독 후 메시지 전송 (STOMP)
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<Map<String, Object>> received = new LinkedBlockingQueue<>();
+        session.subscribe("/topic/public/" + chatroomId, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders stompHeaders) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders stompHeaders, Object payload) {
+                received.add((Map<String, Object>) payload);
+            }
+        });
+        session.subscribe("/topic/unknown-destination-1234", new StompSessionHandlerAdapter() {
+        }); // 앱이 쓰지 않는 목적지는 other 태그로 묶임
+        Thread.sleep(200); // SUBSCRIBE가 브로커에 등록될 때까지 대기
+
+        StompHeaders sendHeaders = new StompHeaders();
+        sendHeaders.setDestination("/app/chat.sendMessage/" + chatroomId);
+        sendHeaders.set("Authorization", "Bearer " + token);
+        session.send(sendHeaders, Map.of("content", "hello metrics"));
+
+        Map<String, Object> broadcast = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(broadcast);
+        assertEquals("hello metrics", broadcast.get("content"));
+
+        // Prometheus 수집
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, scrape.getStatusCode(), scrape.getBody());
+        String body = scrape.getBody();
+        session.disconnect();
+
+        assertTrue(body.contains("http_server_requests_seconds_bucket{") && body.contains("uri=\"/api/chatrooms\""));
+        assertTrue(body.contains("toychat_stomp_inbound_seconds_bucket{"));
+        assertTrue(body.contains("destination=\"/topic/public/{id}\""));
+        assertTrue(body.contains("destination=\"other\""));
+        assertFalse(body.contains("unknown-destination"));
+        assertTrue(body.contains("toychat_stomp_channel_queue_size{channel=\"clientInboundChannel\"}"));
+        assertTrue(body.contains("toychat_stomp_channel_queue_size{channel=\"clientOutboundChannel\"}"));
+        assertTrue(body.contains("toychat_websocket_sessions 1.0"));
+        assertTrue(body.contains("toychat_messages_sent_total{room_bucket=\"" + (chatroomId % 16) + "\"} 1.0"));
+        assertTrue(body.contains("toychat_stomp_broadcast_fanout_sessions_count 2")); // 채팅방 생성(/topic/rooms) + 메시지
+        assertTrue(body.contains("hikaricp_connections_acquire_seconds_bucket{"));
+        assertTrue(body.contains("spring_data_repository_invocations_seconds_bucket{") && body.contains("repository=\"UserRepository\""));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.toychat.ratelimit;
+
+import com.example.toychat.timer.ExpiryService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * REST 레이트 리밋 필터: 채팅방 경로는 사용자와 별도로 채팅방 기준으로도 제한되는지 확인
+ */
+public class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 사용자 기준은 넉넉하게, 채팅방 기준은 3건
+        RateLimitService rateLimitService = new RateLimitService(100, 1, 3, 1, 20, 10, 100, 50, meterRegistry, mock(ExpiryService.class));
+        rateLimitFilter = new RateLimitFilter();
+        ReflectionTestUtils.setField(rateLimitFilter, "rateLimitService", rateLimitService);
+    }
+
+    @Test
+    void testRoomPathsShareRoomLimit() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(200, get("/api/messages/42").getStatus());
+        }
+        assertEquals(200, get("/api/chatrooms/42/members").getStatus());
+
+        // 같은 채팅방의 다른 경로도 같은 버킷
+        MockHttpServletResponse rejected = get("/api/chatrooms/42/snapshot");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"scope\":\"room\""));
+        assertEquals(429, get("/api/messages/42/range").getStatus());
+
+        // 다른 채팅방과 채팅방이 아닌 경로는 영향 없음
+        assertEquals(200, get("/api/messages/43").getStatus());
+        assertEquals(200, get("/api/chatrooms/lists").getStatus());
+        assertEquals(200, get("/api/messages/search").getStatus());
+
+        assertEquals(2.0, meterRegistry.get("toychat.ratelimit.rejected").tag("ingress", "rest").tag("scope", "room").counter().count());
+    }
+
+    private MockHttpServletResponse get(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
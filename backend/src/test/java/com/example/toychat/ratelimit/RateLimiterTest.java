@@ -0,0 +1,90 @@
+package com.example.toychat.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 토큰 버킷 레이트 리미터: 충전 계산, 최대 연속 허용 수, 유휴 버킷 정리를 확인
+ */
+public class RateLimiterTest {
+
+    @Test
+    void testRefillIsProportionalToElapsedTime() {
+        long capacity = 3 * TokenBucket.ONE_TOKEN;
+        TokenBucket bucket = new TokenBucket(0, capacity);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryConsume(0, capacity, 2));
+        }
+        assertFalse(bucket.tryConsume(0, capacity, 2));
+
+        // 초당 2개: 토큰 하나가 차는 데 500ms
+        assertFalse(bucket.tryConsume(499, capacity, 2));
+        assertTrue(bucket.tryConsume(500, capacity, 2));
+        assertFalse(bucket.tryConsume(500, capacity, 2));
+
+        // 충전 중 남은 소수점 토큰은 버려지지 않음 (750ms 후 1.5개 → 하나 쓰고 0.5개에서 250ms 뒤 다시 하나)
+        assertTrue(bucket.tryConsume(1250, capacity, 2));
+        assertFalse(bucket.tryConsume(1499, capacity, 2));
+        assertTrue(bucket.tryConsume(1500, capacity, 2));
+
+        // 시각이 뒤로 가도 토큰이 늘어나지 않음
+        assertFalse(bucket.tryConsume(1000, capacity, 2));
+    }
+
+    @Test
+    void testBurstIsCappedAfterLongIdle() {
+        long capacity = 3 * TokenBucket.ONE_TOKEN;
+        TokenBucket bucket = new TokenBucket(0, capacity);
+        assertTrue(bucket.tryConsume(0, capacity, 2));
+        assertFalse(bucket.isFull(0, capacity, 2));
+
+        // 오래 쉬어도 최대 burst 만큼만 연속 허용
+        long later = 3_600_000;
+        assertTrue(bucket.isFull(later, capacity, 2));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryConsume(later, capacity, 2));
+        }
+        assertFalse(bucket.tryConsume(later, capacity, 2));
+    }
+
+    @Test
+    void testLimiterKeysAreIndependent() {
+        RateLimiter limiter = new RateLimiter("test", 2, 1);
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertFalse(limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("b", 0));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void testIdleBucketsAreEvictedWithoutChangingLimits() {
+        RateLimiter limiter = new RateLimiter("test", 2, 1);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("b", 0);
+        limiter.tryAcquire("b", 0);
+        assertEquals(0, limiter.evictIdle(0));
+
+        // a는 1초 뒤 가득 차서 제거되고, b는 아직 한 개가 비어 있어 남음
+        assertEquals(1, limiter.evictIdle(1000));
+        assertEquals(1, limiter.size());
+        assertTrue(limiter.tryAcquire("b", 1000));
+        assertFalse(limiter.tryAcquire("b", 1000));
+
+        // 제거된 키는 가득 찬 새 버킷으로 다시 시작하므로 제한은 그대로
+        assertTrue(limiter.tryAcquire("a", 1000));
+        assertTrue(limiter.tryAcquire("a", 1000));
+        assertFalse(limiter.tryAcquire("a", 1000));
+
+        assertEquals(2, limiter.evictIdle(10_000));
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void testInvalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("test", 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("test", 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("test", 2_000, 1)); // 상태 비트에 담을 수 없는 burst
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.toychat.ratelimit;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+
+import com.example.toychat.service.ChatRoomService;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * STOMP 레이트 리밋: 제한을 넘은 메시지 전송에 사유와 재시도 시간을 담은 ERROR 프레임이 전달되는지 확인
+ */
+public class StompRateLimitIntegrationTest extends IntegrationTestSupport {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Test
+    void testRateLimitedSendReceivesErrorFrame() throws Exception {
+        String sender = createUser("ratelimit-sender");
+        long roomId = chatRoomService.createChatRoom(sender, new ChatRoomCreateRequestDTO("ratelimit", 5, false)).getBody().getChatroomId();
+
+        BlockingQueue<StompHeaders> errors = new LinkedBlockingQueue<>();
+        BlockingQueue<String> errorBodies = new LinkedBlockingQueue<>();
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.set("Authorization", "Bearer " + sender);
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), connectHeaders,
+                new StompSessionHandlerAdapter() {
+                    @Override
+                    public Type getPayloadType(StompHeaders headers) {
+                        return byte[].class;
+                    }
+
+                    @Override
+                    public void handleFrame(StompHeaders headers, Object payload) {
+                        // 세션 핸들러로 오는 프레임은 ERROR뿐
+                        errorBodies.add(new String((byte[]) payload, StandardCharsets.UTF_8));
+                        errors.add(headers);
+                    }
+                }).get(10, TimeUnit.SECONDS);
+
+        // 사용자 기준 burst(기본 20)를 넘도록 연속 전송
+        for (int i = 0; i < 40 && errors.isEmpty(); i++) {
+            session.send("/app/chat.sendMessage/" + roomId, new MessageSendRequestDTO("flood " + i));
+        }
+
+        StompHeaders error = errors.poll(10, TimeUnit.SECONDS);
+        assertNotNull(error, "no ERROR frame after exceeding the rate limit");
+        assertEquals("Rate limit exceeded", error.getFirst("message"));
+        assertEquals("1", error.getFirst("retry-after"));
+        assertEquals("user", error.getFirst("rate-limit-scope"));
+        assertEquals("{\"message\":\"Too many messages\",\"scope\":\"user\"}", errorBodies.poll());
+    }
+}
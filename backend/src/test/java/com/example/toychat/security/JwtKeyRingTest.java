@@ -0,0 +1,172 @@
+package com.example.toychat.security;
+
+import com.example.toychat.timer.ExpiryService;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * JWT 키 링: kid로 검증 키를 고르고, 활성화 시각과 overlap에 따라 서명 키와 검증 키가 바뀌는지 확인
+ */
+public class JwtKeyRingTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static final Duration OVERLAP = Duration.ofHours(10);
+
+    private static final String OLD_SECRET = secret(1);
+
+    private static final String NEW_SECRET = secret(2);
+
+    private MutableClock clock;
+
+    private ExpiryService expiryService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        expiryService = mock(ExpiryService.class);
+    }
+
+    @Test
+    void testSignsWithLatestActiveKeyAndVerifiesByKid() {
+        JwtKeyRing ring = ring("old:" + OLD_SECRET + ",new:" + NEW_SECRET + ":" + START.minus(Duration.ofHours(1)), false);
+
+        assertEquals("new", ring.signingKeyId());
+        assertEquals(List.of("old", "new"), ring.verificationKeyIds());
+
+        String token = sign(ring, "alice");
+        assertEquals("alice", ring.parseClaims(token).getSubject());
+
+        // 다른 키의 kid를 달았거나 모르는 kid면 거절
+        String wrongKid = Jwts.builder().setHeaderParam("kid", "old").setSubject("alice").signWith(ring.signingKey()).compact();
+        assertThrows(SignatureException.class, () -> ring.parseClaims(wrongKid));
+        String unknownKid = Jwts.builder().setHeaderParam("kid", "missing").setSubject("alice").signWith(ring.signingKey()).compact();
+        assertThrows(SignatureException.class, () -> ring.parseClaims(unknownKid));
+    }
+
+    @Test
+    void testFutureKeyVerifiesBeforeActivationAndOldKeyRetiresAfterOverlap() {
+        Instant activatesAt = START.plus(Duration.ofHours(1));
+        JwtKeyRing ring = ring("old:" + OLD_SECRET + ",new:" + NEW_SECRET + ":" + activatesAt, false);
+
+        // 활성화 전: 이전 키로 서명하지만, 먼저 배포된 레플리카가 새 키로 서명한 토큰도 검증
+        assertEquals("old", ring.signingKeyId());
+        assertEquals(List.of("old", "new"), ring.verificationKeyIds());
+        String oldToken = sign(ring, "alice");
+        String earlyNewToken = Jwts.builder().setHeaderParam("kid", "new").setSubject("bob")
+                .signWith(ring("new:" + NEW_SECRET, false).signingKey()).compact();
+        assertEquals("bob", ring.parseClaims(earlyNewToken).getSubject());
+
+        // 활성화 시각에 전환 타이머가 새 키로 서명을 바꾸고, overlap 동안 이전 키 토큰도 계속 검증
+        clock.set(activatesAt);
+        runTransition(activatesAt);
+        assertEquals("new", ring.signingKeyId());
+        assertEquals(List.of("old", "new"), ring.verificationKeyIds());
+        assertEquals("alice", ring.parseClaims(oldToken).getSubject());
+
+        // overlap이 지나면 이전 키를 제거하고, 그 키로 서명된 토큰은 거절
+        Instant retiresAt = activatesAt.plus(OVERLAP);
+        clock.set(retiresAt);
+        runTransition(retiresAt);
+        assertEquals(List.of("new"), ring.verificationKeyIds());
+        assertThrows(SignatureException.class, () -> ring.parseClaims(oldToken));
+        assertEquals("bob", ring.parseClaims(earlyNewToken).getSubject());
+    }
+
+    @Test
+    void testAllKeysInFutureSignsWithEarliest() {
+        JwtKeyRing ring = ring("b:" + NEW_SECRET + ":" + START.plus(Duration.ofHours(2)) + ",a:" + OLD_SECRET + ":" + START.plus(Duration.ofHours(1)), false);
+
+        // 활성화 시각 순으로 정렬하고, 아직 활성화된 키가 없으면 가장 먼저 활성화될 키로 서명
+        assertEquals("a", ring.signingKeyId());
+        assertEquals(List.of("a", "b"), ring.verificationKeyIds());
+    }
+
+    @Test
+    void testMissingKeysFailWhenRequired() {
+        JwtKeyRing required = new JwtKeyRing("", "", "", Duration.ofMinutes(10), OVERLAP, Duration.ofMinutes(5), true, expiryService, clock);
+        assertThrows(IllegalStateException.class, required::init);
+
+        // 필수가 아니면 프로세스 전용 임시 키로 기동
+        JwtKeyRing ephemeral = ring("", false);
+        assertEquals("ephemeral", ephemeral.signingKeyId());
+        assertEquals("alice", ephemeral.parseClaims(sign(ephemeral, "alice")).getSubject());
+    }
+
+    @Test
+    void testInvalidKeyEntryFails() {
+        JwtKeyRing ring = new JwtKeyRing("no-secret", "", "", Duration.ofMinutes(10), OVERLAP, Duration.ofMinutes(5), true, expiryService, clock);
+        assertThrows(IllegalStateException.class, ring::init);
+    }
+
+    private JwtKeyRing ring(String keys, boolean requireKeys) {
+        JwtKeyRing ring = new JwtKeyRing(keys, "", "", Duration.ofMinutes(10), OVERLAP, Duration.ofMinutes(5), requireKeys, expiryService, clock);
+        ring.init();
+        return ring;
+    }
+
+    // 마지막으로 예약된 전환 타이머가 기대한 시각인지 확인하고 실행
+    private void runTransition(Instant expectedAt) {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<LocalDateTime> at = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(expiryService, atLeastOnce()).scheduleAt(task.capture(), at.capture());
+        assertEquals(LocalDateTime.ofInstant(expectedAt, ZoneId.systemDefault()), at.getValue());
+        task.getValue().run();
+    }
+
+    private static String sign(JwtKeyRing ring, String subject) {
+        return Jwts.builder().setHeaderParam("kid", ring.signingKeyId()).setSubject(subject).signWith(ring.signingKey()).compact();
+    }
+
+    private static String secret(int seed) {
+        byte[] bytes = new byte[32];
+        Arrays.fill(bytes, (byte) seed);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.toychat.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 폐기 목록: Bloom filter를 다시 만드는 동안과 만든 뒤에도 추가된 항목이 빠지지 않는지 확인
+ */
+public class RevocationSetTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private static final long EXPIRES = NOW + 60_000L;
+
+    @Test
+    void testTokenAndSubjectRevocation() {
+        RevocationSet set = new RevocationSet(16);
+        set.add(RevocationSet.TOKEN, "jti-1", NOW, EXPIRES);
+        set.add(RevocationSet.SUBJECT, "alice", NOW, EXPIRES);
+
+        assertTrue(set.isRevoked("jti-1", "bob", NOW + 1));
+        assertFalse(set.isRevoked("jti-2", "bob", NOW - 1));
+
+        // 사용자 전체 폐기는 폐기 시각 이전에 발급된 토큰에만 적용
+        assertTrue(set.isRevoked("jti-2", "alice", NOW));
+        assertFalse(set.isRevoked("jti-2", "alice", NOW + 1));
+
+        // 더 이른 폐기 시각으로 덮어쓰지 않음
+        set.add(RevocationSet.SUBJECT, "alice", NOW - 10, EXPIRES);
+        assertTrue(set.isRevoked(null, "alice", NOW));
+
+        // 같은 키라도 종류가 다르면 구분
+        assertFalse(set.isRevoked("alice", null, NOW));
+    }
+
+    @Test
+    void testEntriesSurviveGrowthAndPurge() {
+        RevocationSet set = new RevocationSet(4);
+        for (int i = 0; i < 1000; i++) {
+            set.add(RevocationSet.TOKEN, "jti-" + i, NOW, i % 2 == 0 ? NOW + 10 : EXPIRES);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.isRevoked("jti-" + i, null, NOW), "jti-" + i);
+        }
+
+        // 만료된 항목을 지우고 filter를 다시 만들어도 남은 항목은 그대로 폐기 상태
+        assertEquals(500, set.purgeExpired(NOW + 10));
+        assertEquals(500, set.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 != 0, set.isRevoked("jti-" + i, null, NOW), "jti-" + i);
+        }
+    }
+
+    @Test
+    void testConcurrentAddsDuringRebuild() throws Exception {
+        RevocationSet set = new RevocationSet(4); // 작은 용량에서 시작해 추가 중에 filter 교체가 여러 번 일어남
+        int threads = 8;
+        int perThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> adders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                adders.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        String jti = "jti-" + thread + "-" + i;
+                        set.add(RevocationSet.TOKEN, jti, NOW, EXPIRES);
+                        // 추가가 끝난 항목은 그 사이 filter가 교체되어도 바로 폐기 상태로 보여야 함
+                        if (!set.isRevoked(jti, null, NOW)) {
+                            throw new AssertionError("missing right after add: " + jti);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // 만료 항목 정리에 따른 재구성도 동시에 일어남
+            Future<?> purger = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    set.add(RevocationSet.TOKEN, "expired-" + i, NOW, NOW);
+                    set.purgeExpired(NOW);
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> adder : adders) {
+                adder.get();
+            }
+            purger.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, set.size());
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertTrue(set.isRevoked("jti-" + t + "-" + i, null, NOW));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.response.AccountErasureResponseDTO;
+
+import com.example.toychat.entity.AccountErasure;
+import com.example.toychat.entity.User;
+
+import com.example.toychat.repository.AccountErasureRepository;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 회원 탈퇴: 요청은 계정만 바로 막고, 작성한 메시지는 백그라운드에서 배치로 삭제한 뒤 사용자 행을 삭제하며, 중단된 작업은 이어지는지 확인
+ */
+public class AccountErasureIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AccountErasureService accountErasureService;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private AccountErasureRepository accountErasureRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testDeletedAccountIsDisabledAndErasedInBackground() throws Exception {
+        String admin = createUser("erasure-admin");
+        String owner = createUser("erasure-owner");
+        String leaver = createUser("erasure-leaver");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("erasure", 5, false)).getBody().getChatroomId();
+        chatRoomService.joinChatRoom(leaver, new ChatRoomJoinRequestDTO(roomId));
+        for (int i = 0; i < 25; i++) {
+            messageService.sendMessage(leaver, roomId, new MessageSendRequestDTO("leaver " + i));
+        }
+        messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("owner message"));
+
+        // 사용자가 만든 채팅방이 삭제 표시만 되고 아직 정리되지 않은 상태
+        long ownRoomId = chatRoomService.createChatRoom(leaver, new ChatRoomCreateRequestDTO("own", 5, false)).getBody().getChatroomId();
+        jdbcTemplate.update("DELETE FROM ChatRoomMember WHERE chatroom_id = ?", ownRoomId);
+        jdbcTemplate.update("UPDATE ChatRoom SET deleted_at = ? WHERE id = ?", LocalDateTime.now(), ownRoomId);
+
+        // 참여 중인 채팅방이 있으면 탈퇴 불가
+        assertEquals(HttpStatus.BAD_REQUEST, authService.deleteUser(leaver).getStatusCode());
+        chatRoomService.leaveOrDeleteChatRoom(leaver, roomId);
+
+        ResponseEntity<?> response = authService.deleteUser(leaver);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        long erasureId = ((Number) ((Map<?, ?>) response.getBody()).get("erasure_id")).longValue();
+
+        // 계정은 바로 막힘
+        assertThrows(UsernameNotFoundException.class, () -> authService.loadUserByUsername("erasure-leaver"));
+
+        AccountErasure erasure = awaitCompleted(erasureId);
+        assertEquals(25, erasure.getDeletedMessages());
+        assertTrue(userRepository.findByUsername("erasure-leaver").isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Message WHERE chatroom_id = ?", Integer.class, roomId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ChatRoom WHERE id = ?", Integer.class, ownRoomId));
+
+        // 완료된 작업은 다시 실행해도 아무것도 하지 않음
+        assertEquals(0, accountErasureService.erase(erasureId));
+
+        // 관리자 진행 상황 조회
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(admin);
+        ResponseEntity<AccountErasureResponseDTO> progress = restTemplate.exchange("/api/admin/users/erasures/" + erasureId, HttpMethod.GET,
+                new HttpEntity<>(headers), AccountErasureResponseDTO.class);
+        assertEquals(HttpStatus.OK, progress.getStatusCode());
+        assertEquals("COMPLETED", progress.getBody().getStatus());
+        assertEquals(25, progress.getBody().getDeletedMessages());
+    }
+
+    @Test
+    void testInterruptedErasureIsResumed() throws Exception {
+        String owner = createUser("erasure-resume-owner");
+        String author = createUser("erasure-resume-author");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("resume", 5, false)).getBody().getChatroomId();
+        chatRoomService.joinChatRoom(author, new ChatRoomJoinRequestDTO(roomId));
+        long firstId = 0;
+        for (int i = 0; i < 15; i++) {
+            long messageId = messageService.sendMessage(author, roomId, new MessageSendRequestDTO("author " + i)).getMessageId();
+            firstId = i == 0 ? messageId : firstId;
+        }
+        chatRoomService.leaveOrDeleteChatRoom(author, roomId);
+
+        // 탈퇴 처리 후 첫 메시지까지만 삭제가 커밋되고 중단된 상태
+        User user = userRepository.findByUsername("erasure-resume-author").orElseThrow();
+        userRepository.markDeleted(user.getId(), LocalDateTime.now());
+        jdbcTemplate.update("DELETE FROM Message WHERE id = ?", firstId);
+        AccountErasure erasure = new AccountErasure();
+        erasure.setUserId(user.getId());
+        erasure.setUsername(user.getUsername());
+        erasure.setStatus(AccountErasure.Status.RUNNING);
+        erasure.setLastMessageId(firstId);
+        erasure.setDeletedMessages(1);
+        erasure.setCreatedAt(LocalDateTime.now());
+        erasure.setUpdatedAt(LocalDateTime.now());
+        long erasureId = accountErasureRepository.save(erasure).getId();
+
+        assertTrue(accountErasureService.resumeAll() >= 1);
+        assertEquals(15, awaitCompleted(erasureId).getDeletedMessages());
+        assertTrue(userRepository.findByUsername("erasure-resume-author").isEmpty());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Message WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    private AccountErasure awaitCompleted(long erasureId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            AccountErasure erasure = accountErasureRepository.findById(erasureId).orElseThrow();
+            if (erasure.getStatus() == AccountErasure.Status.COMPLETED) {
+                return erasure;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "account erasure did not complete in time");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.response.ChatRoomListResponseDTO;
+import com.example.toychat.dto.response.MessageSearchResponseDTO;
+
+import com.example.toychat.repository.ChatRoomRepository;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅방 삭제: 요청은 삭제 표시만 하고 바로 숨기며, 메시지는 백그라운드에서 구간별로 지우고, 중단된 정리는 다시 이어지는지 확인
+ */
+public class ChatRoomPurgeIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChatRoomPurgeService chatRoomPurgeService;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testDeletedRoomIsHiddenAndPurgedInBackground() throws Exception {
+        String owner = createUser("purge-owner");
+        String other = createUser("purge-other");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("purge", 5, false)).getBody().getChatroomId();
+        for (int i = 0; i < 35; i++) {
+            messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("message " + i));
+        }
+
+        assertEquals(HttpStatus.OK, chatRoomService.leaveOrDeleteChatRoom(owner, roomId).getStatusCode());
+
+        // 정리가 끝나기 전에도 삭제된 채팅방은 보이지 않음
+        assertTrue(chatRoomService.getAllChatRooms(other).getBody().stream()
+                .map(ChatRoomListResponseDTO::getChatroomId).noneMatch(id -> id == roomId));
+        assertEquals(HttpStatus.NOT_FOUND, chatRoomService.joinChatRoom(other, new ChatRoomJoinRequestDTO(roomId)).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, assertThrows(ResponseStatusException.class,
+                () -> messageService.getMessages(owner, roomId)).getStatusCode());
+
+        awaitPurged(roomId);
+        assertEquals(0, messageCount(roomId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ChatRoomMember WHERE chatroom_id = ?", Integer.class, roomId));
+    }
+
+    @Test
+    void testRolledBackDeletionKeepsRoomState() {
+        String owner = createUser("purge-rollback-owner");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("rollback", 5, false)).getBody().getChatroomId();
+        messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("rollback 펭귄"));
+
+        // 삭제 트랜잭션이 커밋되지 못하면 채팅방과 함께 검색 색인, 순번도 그대로 남아야 함
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertEquals(HttpStatus.OK, chatRoomService.leaveOrDeleteChatRoom(owner, roomId).getStatusCode());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(chatRoomRepository.findActiveById(roomId).isPresent());
+        MessageSearchResponseDTO search = messageSearchService.search(owner, "펭귄", roomId, 0, 10).getBody();
+        assertEquals(1, search.getResults().size());
+        assertEquals(2L, messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("after rollback")).getSeq());
+    }
+
+    @Test
+    void testInterruptedPurgeIsResumed() throws Exception {
+        String owner = createUser("purge-resume-owner");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("resume", 5, false)).getBody().getChatroomId();
+        for (int i = 0; i < 25; i++) {
+            messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("message " + i));
+        }
+
+        // 삭제 표시 후 일부 메시지만 지워진 채 중단된 상태
+        jdbcTemplate.update("UPDATE ChatRoom SET deleted_at = ? WHERE id = ?", LocalDateTime.now(), roomId);
+        jdbcTemplate.update("DELETE FROM Message WHERE id IN (SELECT id FROM Message WHERE chatroom_id = ? ORDER BY id LIMIT 12)", roomId);
+        assertEquals(13, messageCount(roomId));
+        assertFalse(chatRoomRepository.findActiveById(roomId).isPresent());
+
+        assertTrue(chatRoomPurgeService.resumeAll() >= 1);
+        awaitPurged(roomId);
+        assertEquals(0, messageCount(roomId));
+
+        // 남은 삭제 표시가 없으면 다시 예약할 것도 없음
+        assertEquals(0, chatRoomPurgeService.resumeAll());
+    }
+
+    private void awaitPurged(long roomId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (chatRoomRepository.existsById(roomId)) {
+            assertTrue(System.currentTimeMillis() < deadline, "chatting room was not purged in time");
+            Thread.sleep(50);
+        }
+    }
+
+    private int messageCount(long roomId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Message WHERE chatroom_id = ?", Integer.class, roomId);
+    }
+}
@@ -0,0 +1,443 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+import com.example.toychat.dto.request.InviteCodeCreateRequestDTO;
+import com.example.toychat.dto.request.InviteCodeJoinRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.request.MessageUpdateRequestDTO;
+import com.example.toychat.dto.response.ResponseDTO;
+
+import com.example.toychat.entity.User;
+
+import com.example.toychat.repository.ChatRoomRepository;
+import com.example.toychat.repository.MessageRepository;
+import com.example.toychat.repository.UserRepository;
+
+import com.example.toychat.security.JwtUtil;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 멤버십과 메시지 처리의 동시성 스트레스 테스트 (H2 인메모리 DB, 실제 서비스/STOMP 브로커 사용).
+ * <p>
+ * 경합이 심한 인터리빙을 만들어 다음 불변식을 검사하고, 경합 상태의 처리량을 로그로 남깁니다.
+ * <ul>
+ *     <li>채팅방 인원이 max_members를 넘지 않는다 (일반 참여와 초대 코드 참여가 섞여도)</li>
+ *     <li>채팅방 삭제와 동시에 참여해도 성공 응답을 받은 참여가 삭제된 채팅방에 남지 않는다</li>
+ *     <li>같은 메시지를 동시에 수정해도 성공 응답을 받은 수정 중 마지막 것이 사라지지 않는다</li>
+ *     <li>같은 버전을 기준으로 한 동시 수정은 하나만 성공하고, 수정 이벤트를 버전 순으로 반영하면 최종 내용과 같아진다</li>
+ *     <li>같은 채팅방 구독자는 보낸 사람별로 보낸 순서대로 메시지를 받는다</li>
+ *     <li>동시에 보낸 메시지의 채팅방 순번은 저장 순서대로 빈틈 없이 발급된다</li>
+ * </ul>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:toychat-stress;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "toychat.ratelimit.stomp.user.burst=1000",
+        "toychat.ratelimit.stomp.user.per-second=1000",
+        "toychat.ratelimit.stomp.room.burst=1000",
+        "toychat.ratelimit.stomp.room.per-second=1000"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConcurrencyStressTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyStressTest.class);
+
+    private static final int THREADS = 16;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private InviteCodeService inviteCodeService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger userSequence = new AtomicInteger();
+
+    private ExecutorService pool;
+
+    @BeforeAll
+    void startPool() {
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    void stopPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentJoinsNeverExceedCapacity() throws Exception {
+        int rooms = 8;
+        int maxMembers = 5;
+        List<String> users = createUsers(24);
+        List<Long> roomIds = new ArrayList<>();
+        List<String> inviteCodes = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            String creator = users.get(i);
+            long roomId = createRoom(creator, maxMembers);
+            roomIds.add(roomId);
+            // 요청 처리 중에는 open-in-view로 엔티티를 한 영속성 컨텍스트에서 비교하므로 테스트에서도 트랜잭션 안에서 호출
+            inviteCodes.add(transactionTemplate.execute(tx ->
+                    inviteCodeService.createInviteCode(creator, new InviteCodeCreateRequestDTO(roomId)).getBody().getInviteCode()));
+        }
+
+        // 모든 사용자가 모든 채팅방에 일반 참여와 초대 코드 참여를 동시에 시도
+        List<Callable<HttpStatus>> joins = new ArrayList<>();
+        for (int room = 0; room < rooms; room++) {
+            long roomId = roomIds.get(room);
+            String inviteCode = inviteCodes.get(room);
+            for (String user : users) {
+                joins.add(() -> status(chatRoomService.joinChatRoom(user, new ChatRoomJoinRequestDTO(roomId))));
+                joins.add(() -> status(inviteCodeService.joinByInviteCode(user, new InviteCodeJoinRequestDTO(inviteCode))));
+            }
+        }
+        Collections.shuffle(joins);
+        List<HttpStatus> results = runConcurrently("join", joins.size(), joins);
+
+        long accepted = results.stream().filter(HttpStatus.OK::equals).count();
+        for (long roomId : roomIds) {
+            int members = memberCount(roomId);
+            assertTrue(members <= maxMembers, "room " + roomId + " has " + members + " members, max " + maxMembers);
+            assertEquals(maxMembers, members, "room " + roomId + " should be filled by the competing joins");
+        }
+        assertEquals(rooms * (maxMembers - 1), accepted, "every accepted join must be a membership row and vice versa");
+        assertEquals(0, duplicateMemberships());
+    }
+
+    @Test
+    void testJoinDuringDeleteLeavesNoOrphanedMembers() throws Exception {
+        int rounds = 20;
+        List<String> joiners = createUsers(6);
+        List<String> creators = createUsers(rounds);
+
+        for (int round = 0; round < rounds; round++) {
+            String creator = creators.get(round);
+            long roomId = createRoom(creator, 10);
+
+            // 생성자 혼자 남은 채팅방을 삭제하는 동안 다른 사용자들이 참여
+            List<Callable<HttpStatus>> calls = new ArrayList<>();
+            calls.add(() -> status(chatRoomService.leaveOrDeleteChatRoom(creator, roomId)));
+            for (String joiner : joiners) {
+                calls.add(() -> status(chatRoomService.joinChatRoom(joiner, new ChatRoomJoinRequestDTO(roomId))));
+            }
+            List<HttpStatus> results = runConcurrently("join/delete", calls.size(), calls);
+
+            HttpStatus deleteStatus = results.get(0);
+            long acceptedJoins = results.subList(1, results.size()).stream().filter(HttpStatus.OK::equals).count();
+            if (chatRoomRepository.findActiveById(roomId).isPresent()) {
+                assertEquals(HttpStatus.FORBIDDEN, deleteStatus, "room with other members must not be deleted");
+                assertEquals(acceptedJoins + 1, memberCount(roomId));
+            } else {
+                assertEquals(HttpStatus.OK, deleteStatus);
+                assertEquals(0, acceptedJoins, "no join may succeed into a room that was deleted");
+                assertEquals(0, memberCount(roomId), "members of a deleted room must not remain");
+            }
+        }
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ChatRoomMember m LEFT JOIN ChatRoom r ON m.chatroom_id = r.id WHERE r.id IS NULL", Integer.class));
+    }
+
+    @Test
+    void testConcurrentEditsAreNotLost() throws Exception {
+        int editors = 8;
+        int editsPerEditor = 25;
+        String author = createUsers(1).get(0);
+        long roomId = createRoom(author, 2);
+        long sharedMessageId = messageService.sendMessage(author, roomId, new MessageSendRequestDTO("original")).getMessageId();
+        List<Long> ownMessageIds = new ArrayList<>();
+        for (int i = 0; i < editors; i++) {
+            ownMessageIds.add(messageService.sendMessage(author, roomId, new MessageSendRequestDTO("own-" + i)).getMessageId());
+        }
+
+        // 받은 프레임은 큐에 모으고 검증은 테스트 스레드에서 (STOMP 클라이언트 스레드의 assert 실패는 삼켜짐)
+        BlockingQueue<Map<?, ?>> frames = new LinkedBlockingQueue<>();
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+        session.subscribe("/topic/public/" + roomId, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                frames.add((Map<?, ?>) payload);
+            }
+        });
+
+        // 구독이 등록되었는지 확인 (같은 세션이 보낸 메시지를 받음)
+        StompHeaders probe = new StompHeaders();
+        probe.setDestination("/app/chat.sendMessage/" + roomId);
+        probe.set("Authorization", "Bearer " + author);
+        session.send(probe, new MessageSendRequestDTO("probe"));
+        Map<?, ?> probed = frames.poll(10, TimeUnit.SECONDS);
+        assertNotNull(probed, "subscription was not registered");
+        assertEquals("probe", probed.get("content"));
+
+        // 편집자마다 공유 메시지와 자기 메시지를 번갈아 순서대로 수정
+        List<Callable<HttpStatus>> editorTasks = new ArrayList<>();
+        for (int editor = 0; editor < editors; editor++) {
+            int id = editor;
+            editorTasks.add(() -> {
+                for (int edit = 0; edit < editsPerEditor; edit++) {
+                    String content = "editor-" + id + "-" + edit;
+                    assertEquals(HttpStatus.OK, status(messageService.updateMessage(author, roomId, sharedMessageId, new MessageUpdateRequestDTO(content))));
+                    assertEquals(HttpStatus.OK, status(messageService.updateMessage(author, roomId, ownMessageIds.get(id), new MessageUpdateRequestDTO(content))));
+                }
+                return HttpStatus.OK;
+            });
+        }
+        runConcurrently("edit", editors * editsPerEditor * 2, editorTasks);
+
+        // 마지막으로 반영된 수정은 어떤 편집자의 마지막 수정이어야 함 (중간 수정이 늦게 덮어쓰면 이후의 성공한 수정이 사라진 것)
+        String shared = messageRepository.findById(sharedMessageId).orElseThrow().getContent();
+        assertTrue(shared.endsWith("-" + (editsPerEditor - 1)), "shared message ended with a stale edit: " + shared);
+        for (int editor = 0; editor < editors; editor++) {
+            assertEquals("editor-" + editor + "-" + (editsPerEditor - 1), messageRepository.findById(ownMessageIds.get(editor)).orElseThrow().getContent());
+        }
+        // 버전 없는 수정은 모두 반영되고 수정마다 버전이 하나씩 증가
+        long sharedVersion = messageRepository.findById(sharedMessageId).orElseThrow().getVersion();
+        assertEquals(editors * editsPerEditor, sharedVersion);
+
+        // 같은 버전을 기준으로 동시에 수정하면 하나만 성공하고 나머지는 409
+        List<Callable<HttpStatus>> versionedTasks = new ArrayList<>();
+        for (int editor = 0; editor < editors; editor++) {
+            MessageUpdateRequestDTO request = new MessageUpdateRequestDTO("versioned-" + editor, sharedVersion);
+            versionedTasks.add(() -> status(messageService.updateMessage(author, roomId, sharedMessageId, request)));
+        }
+        List<HttpStatus> versionedResults = runConcurrently("versioned edit", editors, versionedTasks);
+        assertEquals(1, versionedResults.stream().filter(HttpStatus.OK::equals).count());
+        assertEquals(editors - 1, versionedResults.stream().filter(HttpStatus.CONFLICT::equals).count());
+
+        // 구독자는 수정 이벤트를 받은 순서와 관계없이 더 큰 버전만 반영하며, 그 결과가 저장된 최종 내용과 같음
+        Map<Long, Map<?, ?>> latestEdits = new HashMap<>();
+        int expectedEdits = editors * editsPerEditor * 2 + 1;
+        for (int i = 0; i < expectedEdits; i++) {
+            Map<?, ?> edit = frames.poll(30, TimeUnit.SECONDS);
+            assertNotNull(edit, "not all edit events were delivered: " + (expectedEdits - i) + " missing");
+            assertEquals("edited", edit.get("type"));
+            latestEdits.merge(((Number) edit.get("message_id")).longValue(), edit,
+                    (current, incoming) -> ((Number) incoming.get("version")).longValue() > ((Number) current.get("version")).longValue() ? incoming : current);
+        }
+        session.disconnect();
+        for (long messageId : ownMessageIds) {
+            assertEquals(messageRepository.findById(messageId).orElseThrow().getContent(), latestEdits.get(messageId).get("content"));
+        }
+        assertEquals(messageRepository.findById(sharedMessageId).orElseThrow().getContent(), latestEdits.get(sharedMessageId).get("content"));
+        assertEquals(sharedVersion + 1, ((Number) latestEdits.get(sharedMessageId).get("version")).longValue());
+    }
+
+    @Test
+    void testStompDeliveryIsOrderedPerRoom() throws Exception {
+        int senders = 4;
+        int messagesPerSender = 50;
+        List<String> users = createUsers(senders);
+        long roomId = createRoom(users.get(0), senders);
+        for (String user : users.subList(1, senders)) {
+            assertEquals(HttpStatus.OK, status(chatRoomService.joinChatRoom(user, new ChatRoomJoinRequestDTO(roomId))));
+        }
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        List<StompSession> sessions = new ArrayList<>();
+        Map<Integer, List<String>> received = new ConcurrentHashMap<>();
+        CountDownLatch allDelivered = new CountDownLatch(senders * senders * messagesPerSender);
+        CountDownLatch probed = new CountDownLatch(senders);
+        for (int i = 0; i < senders; i++) {
+            List<String> inbox = new CopyOnWriteArrayList<>();
+            received.put(i, inbox);
+            StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+            }).get(10, TimeUnit.SECONDS);
+            session.subscribe("/topic/public/" + roomId, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return Map.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    String content = (String) ((Map<?, ?>) payload).get("content");
+                    if ("probe".equals(content)) {
+                        probed.countDown();
+                        return;
+                    }
+                    inbox.add(content);
+                    allDelivered.countDown();
+                }
+            });
+            sessions.add(session);
+        }
+
+        // 모든 구독이 등록되었는지 확인 (마지막 세션이 보낸 메시지를 모든 세션이 받음)
+        StompHeaders probe = new StompHeaders();
+        probe.setDestination("/app/chat.sendMessage/" + roomId);
+        probe.set("Authorization", "Bearer " + users.get(senders - 1));
+        sessions.get(senders - 1).send(probe, new MessageSendRequestDTO("probe"));
+        assertTrue(probed.await(10, TimeUnit.SECONDS), "subscriptions were not registered");
+
+        // 모든 세션이 동시에 빠르게 전송
+        List<Callable<HttpStatus>> sends = new ArrayList<>();
+        for (int i = 0; i < senders; i++) {
+            StompSession session = sessions.get(i);
+            StompHeaders headers = new StompHeaders();
+            headers.setDestination("/app/chat.sendMessage/" + roomId);
+            headers.set("Authorization", "Bearer " + users.get(i));
+            int sender = i;
+            sends.add(() -> {
+                for (int seq = 0; seq < messagesPerSender; seq++) {
+                    session.send(headers, new MessageSendRequestDTO(sender + ":" + seq));
+                }
+                return HttpStatus.OK;
+            });
+        }
+        long started = System.nanoTime();
+        runConcurrently("send", senders * messagesPerSender, sends);
+        assertTrue(allDelivered.await(60, TimeUnit.SECONDS), "not all messages were delivered: " + allDelivered.getCount() + " missing");
+        logThroughput("deliver", senders * senders * messagesPerSender, started);
+        sessions.forEach(StompSession::disconnect);
+
+        // 발신자가 여럿이면 구독자마다 섞이는 순서는 달라질 수 있으므로 발신자별 순서만 확인
+        for (Map.Entry<Integer, List<String>> inbox : received.entrySet()) {
+            int[] next = new int[senders];
+            for (String content : inbox.getValue()) {
+                String[] parts = content.split(":");
+                int sender = Integer.parseInt(parts[0]);
+                assertEquals(next[sender]++, Integer.parseInt(parts[1]), "subscriber " + inbox.getKey() + " received messages of sender " + sender + " out of order");
+            }
+        }
+
+        // 채팅방 순번은 빈틈 없이 저장 순서대로 발급
+        List<Long> seqs = jdbcTemplate.queryForList("SELECT seq FROM Message WHERE chatroom_id = ? ORDER BY id", Long.class, roomId);
+        assertEquals(senders * messagesPerSender + 1, seqs.size()); // + probe
+        for (int i = 0; i < seqs.size(); i++) {
+            assertEquals(i + 1, seqs.get(i), "sequence numbers must be gapless and follow insertion order");
+        }
+    }
+
+    // 사용자를 만들고 토큰 목록 반환
+    private List<String> createUsers(int count) {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String username = "stress-" + userSequence.incrementAndGet();
+            User user = new User();
+            user.setUsername(username);
+            user.setEmail(username + "@example.com");
+            user.setPasswordHash("unused");
+            userRepository.save(user);
+            tokens.add(jwtUtil.generateToken(username));
+        }
+        return tokens;
+    }
+
+    private long createRoom(String creatorToken, int maxMembers) {
+        return chatRoomService.createChatRoom(creatorToken, new ChatRoomCreateRequestDTO("stress", maxMembers, false)).getBody().getChatroomId();
+    }
+
+    private int memberCount(long roomId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ChatRoomMember WHERE chatroom_id = ?", Integer.class, roomId);
+    }
+
+    private int duplicateMemberships() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT chatroom_id, user_id FROM ChatRoomMember GROUP BY chatroom_id, user_id HAVING COUNT(*) > 1) d", Integer.class);
+    }
+
+    // 모든 작업을 한꺼번에 풀어 놓아 경합을 최대화하고, 예외 없이 끝났는지 확인
+    private <T> List<T> runConcurrently(String name, int operations, List<Callable<T>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(120, TimeUnit.SECONDS));
+        }
+        logThroughput(name, operations, started);
+        return results;
+    }
+
+    private static void logThroughput(String name, int operations, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        logger.info("[stress] {}: {} ops in {} ms ({} ops/s, {} threads)",
+                name, operations, Math.round(seconds * 1000), Math.round(operations / seconds), THREADS);
+    }
+
+    private static HttpStatus status(ResponseEntity<? extends ResponseDTO> response) {
+        return HttpStatus.valueOf(response.getStatusCode().value());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * /user/queue/inbox: CONNECT 토큰으로 식별한 사용자에게 참여한 채팅방의 활동만 전달되는지 확인
+ */
+public class InboxIntegrationTest extends IntegrationTestSupport {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInboxCarriesActivityOfJoinedRoomsOnly() throws Exception {
+        String owner = createUser("inbox-owner");
+        String member = createUser("inbox-member");
+        String outsider = createUser("inbox-outsider");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("inbox", 5, false)).getBody().getChatroomId();
+        long otherRoomId = chatRoomService.createChatRoom(outsider, new ChatRoomCreateRequestDTO("other", 5, false)).getBody().getChatroomId();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.set("Authorization", "Bearer " + owner);
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), connectHeaders,
+                new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<Map<String, Object>> inbox = new LinkedBlockingQueue<>();
+        session.subscribe("/user/queue/inbox", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders stompHeaders) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders stompHeaders, Object payload) {
+                inbox.add((Map<String, Object>) payload);
+            }
+        });
+        Thread.sleep(200); // SUBSCRIBE가 브로커에 등록될 때까지 대기
+
+        chatRoomService.joinChatRoom(member, new ChatRoomJoinRequestDTO(roomId));
+        Map<String, Object> joined = inbox.poll(10, TimeUnit.SECONDS);
+        assertNotNull(joined);
+        assertEquals("member_joined", joined.get("type"));
+        assertEquals("inbox-member", joined.get("username"));
+        assertEquals(2, joined.get("current_members"));
+
+        // 참여하지 않은 채팅방의 메시지는 오지 않음
+        messageService.sendMessage(outsider, otherRoomId, new MessageSendRequestDTO("not for owner"));
+        messageService.sendMessage(member, roomId, new MessageSendRequestDTO("hello owner"));
+        Map<String, Object> message = inbox.poll(10, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals("message", message.get("type"));
+        assertEquals((int) roomId, ((Number) message.get("chatroom_id")).intValue());
+        assertEquals("hello owner", message.get("preview"));
+        assertEquals(1, message.get("seq"));
+
+        chatRoomService.leaveOrDeleteChatRoom(member, roomId);
+        Map<String, Object> left = inbox.poll(10, TimeUnit.SECONDS);
+        assertNotNull(left);
+        assertEquals("member_left", left.get("type"));
+        assertEquals(1, left.get("current_members"));
+        assertNull(inbox.poll(200, TimeUnit.MILLISECONDS));
+        session.disconnect();
+
+        // 유효하지 않은 토큰으로는 연결할 수 없음
+        StompHeaders invalidHeaders = new StompHeaders();
+        invalidHeaders.set("Authorization", "Bearer invalid");
+        CompletableFuture<String> error = new CompletableFuture<>();
+        stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), invalidHeaders, new StompSessionHandlerAdapter() {
+            @Override
+            public void handleException(StompSession session, StompCommand command, StompHeaders headers, byte[] payload, Throwable exception) {
+                error.complete(headers.getFirst("message")); // 본문이 빈 ERROR 프레임은 변환에 실패해 이쪽으로 전달됨
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                error.complete(headers.getFirst("message")); // ERROR 프레임
+            }
+        });
+        assertEquals("Invalid token", error.get(10, TimeUnit.SECONDS));
+    }
+}
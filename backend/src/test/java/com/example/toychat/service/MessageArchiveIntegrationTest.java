@@ -0,0 +1,206 @@
+package com.example.toychat.service;
+
+import com.example.toychat.archive.ArchivedMessage;
+import com.example.toychat.archive.MessageArchive;
+
+import com.example.toychat.cache.RoomSequencer;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.request.MessageUpdateRequestDTO;
+import com.example.toychat.dto.response.ChatRoomSnapshotResponseDTO;
+import com.example.toychat.dto.response.MessageResponseDTO;
+import com.example.toychat.dto.response.MessageSearchResponseDTO;
+
+import com.example.toychat.entity.User;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메시지 보관: 오래된 메시지를 세그먼트로 옮긴 뒤에도 목록, 순번 구간, 스냅샷, 검색, 내보내기에서 그대로 보이고 순번이 이어지는지 확인
+ */
+public class MessageArchiveIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private MessageArchiveService messageArchiveService;
+
+    @Autowired
+    private MessageArchive messageArchive;
+
+    @Autowired
+    private RoomSequencer roomSequencer;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private ChatRoomSnapshotService chatRoomSnapshotService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    @Autowired
+    private MessageExportService messageExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testArchivedMessagesAreReadThrough() {
+        String owner = createUser("archive-owner");
+        String member = createUser("archive-member");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("archive", 5, false)).getBody().getChatroomId();
+        chatRoomService.joinChatRoom(member, new ChatRoomJoinRequestDTO(roomId));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            String author = i % 3 == 0 ? member : owner;
+            ids.add(messageService.sendMessage(author, roomId, new MessageSendRequestDTO("보관 메시지 " + i + (i == 2 ? " 고래" : ""))).getMessageId());
+        }
+
+        // 앞의 25건만 보관 기준보다 오래됨
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        jdbcTemplate.update("UPDATE Message SET created_at = ?, updated_at = ? WHERE chatroom_id = ? AND id <= ?", old, old, roomId, ids.get(24));
+
+        assertEquals(25, archive(roomId));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Message WHERE chatroom_id = ?", Integer.class, roomId));
+        assertEquals(25, messageArchive.read(roomId).size());
+
+        // 목록은 보관된 메시지와 테이블의 메시지를 순서대로 이어 붙임
+        List<MessageResponseDTO> messages = messageService.getMessages(owner, roomId).getBody();
+        assertEquals(ids, messages.stream().map(MessageResponseDTO::getMessageId).toList());
+        assertEquals(LongStream.rangeClosed(1, 30).boxed().toList(), messages.stream().map(MessageResponseDTO::getSeq).toList());
+
+        // 순번 구간이 보관과 테이블에 걸쳐 있어도 한 번에 조회
+        List<MessageResponseDTO> range = messageService.getMessagesBySeqRange(owner, roomId, 20L, 28L).getBody();
+        assertEquals(LongStream.rangeClosed(20, 28).boxed().toList(), range.stream().map(MessageResponseDTO::getSeq).toList());
+
+        // 스냅샷 한 페이지 중 부족한 만큼 보관된 메시지로 채움
+        ChatRoomSnapshotResponseDTO snapshot = chatRoomSnapshotService.getSnapshot(owner, roomId).getBody();
+        assertEquals(LongStream.rangeClosed(21, 30).boxed().toList(), snapshot.getMessages().stream().map(MessageResponseDTO::getSeq).toList());
+        assertTrue(snapshot.isHasOlder());
+        assertEquals(ids.get(29), snapshot.getLastMessageId());
+
+        // 보관 후 테이블에서 지우기 전에 중단된 메시지 (세그먼트와 테이블 양쪽에 있음)
+        MessageResponseDTO pending = messages.get(25);
+        messageArchive.append(roomId, List.of(new ArchivedMessage(pending.getMessageId(), pending.getSeq(), pending.getUserId(),
+                pending.getUsername(), pending.getContent(), pending.getUpdatedAt(), pending.getUpdatedAt(), pending.getVersion())));
+        assertEquals(ids, messageService.getMessages(owner, roomId).getBody().stream().map(MessageResponseDTO::getMessageId).toList());
+
+        // 검색은 보관된 메시지도 찾고, 재색인은 보관된 메시지까지 셈
+        MessageSearchResponseDTO search = messageSearchService.search(member, "고래", roomId, 0, 10).getBody();
+        assertEquals(1, search.getResults().size());
+        assertEquals(ids.get(2), search.getResults().get(0).getMessageId());
+        assertEquals("archive-owner", search.getResults().get(0).getUsername());
+        assertEquals(30, messageSearchService.rebuildChatRoom(roomId));
+
+        // 내보내기는 보관된 메시지부터 세그먼트 단위로 쓰고, 양쪽에 있는 메시지는 한 번만 씀
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(30, messageExportService.writeNdjson(roomId, out));
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(30, lines.length);
+        assertTrue(lines[0].contains("\"message_id\":" + ids.get(0)));
+        assertEquals(30, Arrays.stream(lines).distinct().count());
+
+        // 보관된 메시지는 작성자만 수정할 수 있고, 수정하면 테이블로 되돌아와 제자리에서 보임
+        assertEquals(HttpStatus.FORBIDDEN,
+                messageService.updateMessage(member, roomId, ids.get(1), new MessageUpdateRequestDTO("수정")).getStatusCode());
+        assertEquals(HttpStatus.OK,
+                messageService.updateMessage(owner, roomId, ids.get(1), new MessageUpdateRequestDTO("수정", 0L)).getStatusCode());
+        assertEquals(6, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Message WHERE chatroom_id = ?", Integer.class, roomId));
+        messages = messageService.getMessages(owner, roomId).getBody();
+        assertEquals(ids, messages.stream().map(MessageResponseDTO::getMessageId).toList());
+        assertEquals("수정", messages.get(1).getContent());
+        assertEquals(1, messages.get(1).getVersion());
+        assertEquals(0, archive(roomId)); // 방금 수정된 메시지는 보관 대상이 아님
+
+        // 테이블이 비어도 순번은 보관된 최대 순번에서 이어짐
+        jdbcTemplate.update("UPDATE Message SET created_at = ?, updated_at = ? WHERE chatroom_id = ?", old, old, roomId);
+        assertEquals(6, archive(roomId));
+        assertEquals(0, archive(roomId));
+        assertEquals(30, messageArchive.read(roomId).size());
+        assertEquals("수정", messageArchive.findByIds(roomId, List.of(ids.get(1))).get(ids.get(1)).content()); // 더 큰 버전이 우선
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Message WHERE chatroom_id = ?", Integer.class, roomId));
+        roomSequencer.forget(roomId);
+        assertEquals(31, messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("새 메시지")).getSeq());
+        assertEquals(31, messageService.getMessages(member, roomId).getBody().size());
+
+        // 사용자의 보관된 메시지는 세그먼트를 다시 써서 제거
+        User memberUser = userRepository.findByUsername("archive-member").orElseThrow();
+        assertEquals(10, messageArchive.removeUser(memberUser.getId()).size());
+        assertEquals(20, messageArchive.read(roomId).size());
+        assertTrue(messageArchive.read(roomId).stream().noneMatch(message -> message.userId() == memberUser.getId()));
+    }
+
+    @Test
+    void testUserRemovalRewritesOnlyAuthoredSegmentsWithoutLosingConcurrentReads() throws Exception {
+        String owner = createUser("archive-erase-owner");
+        String author = createUser("archive-erase-author");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("archive-erase", 5, false)).getBody().getChatroomId();
+        chatRoomService.joinChatRoom(author, new ChatRoomJoinRequestDTO(roomId));
+        List<Long> ownerIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String sender = i < 10 && i % 2 == 0 ? author : owner; // 첫 세그먼트에만 author의 메시지
+            long id = messageService.sendMessage(sender, roomId, new MessageSendRequestDTO("erase " + i)).getMessageId();
+            if (sender.equals(owner)) {
+                ownerIds.add(id);
+            }
+        }
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        jdbcTemplate.update("UPDATE Message SET created_at = ?, updated_at = ? WHERE chatroom_id = ?", old, old, roomId);
+        assertEquals(20, archive(roomId));
+
+        // 테스트 설정의 보관 디렉터리는 ${random.uuid}라 주입할 때마다 달라지므로 빈이 쓰는 경로를 직접 읽음
+        Path roomDirectory = ((Path) ReflectionTestUtils.getField(messageArchive, "root")).resolve(String.valueOf(roomId));
+        List<Path> before;
+        try (Stream<Path> files = Files.list(roomDirectory)) {
+            before = files.sorted().toList();
+        }
+        assertEquals(2, before.size());
+
+        // 삭제 전에 시작한 읽기: 교체되어 지워진 세그먼트는 새 세그먼트에서 읽음
+        Iterable<List<ArchivedMessage>> reading = messageArchive.segments(roomId);
+        User authorUser = userRepository.findByUsername("archive-erase-author").orElseThrow();
+        assertEquals(5, messageArchive.removeUser(authorUser.getId()).size());
+
+        List<Path> after;
+        try (Stream<Path> files = Files.list(roomDirectory)) {
+            after = files.sorted().toList();
+        }
+        assertEquals(2, after.size());
+        assertFalse(after.contains(before.get(0)) && after.contains(before.get(1)), "segment with the author's messages is rewritten");
+        assertEquals(1, after.stream().filter(before::contains).count(), "segment without the author's messages is untouched");
+
+        List<Long> read = new ArrayList<>();
+        reading.forEach(segment -> segment.forEach(message -> read.add(message.id())));
+        assertEquals(ownerIds, read);
+    }
+
+    // 다른 테스트와 DB를 공유하므로 이 채팅방만 보관 (보관 기준은 기본값 30일)
+    private long archive(long roomId) {
+        return messageArchiveService.archiveChatRoom(roomId, LocalDateTime.now().minusDays(30));
+    }
+}
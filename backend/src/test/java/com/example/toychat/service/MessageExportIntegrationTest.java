@@ -0,0 +1,99 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.request.MessageUpdateRequestDTO;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅방 기록 내보내기: 관리자만 호출할 수 있고, 영속성 컨텍스트를 비우는 주기를 넘겨도 모든 메시지가 순서대로 한 줄씩 나오는지 확인
+ */
+public class MessageExportIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testExportStreamsWholeHistoryAsNdjson() throws IOException {
+        String admin = createUser("export-admin");
+        String owner = createUser("export-owner");
+        String member = createUser("export-member");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("export", 5, false)).getBody().getChatroomId();
+        chatRoomService.joinChatRoom(member, new ChatRoomJoinRequestDTO(roomId));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(messageService.sendMessage(i % 2 == 0 ? owner : member, roomId, new MessageSendRequestDTO("line " + i + "\n한글")).getMessageId());
+        }
+        messageService.updateMessage(owner, roomId, ids.get(0), new MessageUpdateRequestDTO("edited"));
+
+        // 관리자가 아니면 내보낼 수 없음
+        assertEquals(HttpStatus.FORBIDDEN, export(member, "/api/admin/chatrooms/" + roomId + "/messages/export").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, export(admin, "/api/admin/chatrooms/" + Long.MAX_VALUE + "/messages/export").getStatusCode());
+
+        ResponseEntity<byte[]> plain = export(admin, "/api/admin/chatrooms/" + roomId + "/messages/export");
+        assertEquals(HttpStatus.OK, plain.getStatusCode());
+        assertEquals("application/x-ndjson", plain.getHeaders().getContentType().toString());
+        List<Map<?, ?>> lines = parse(new String(plain.getBody(), StandardCharsets.UTF_8));
+        assertEquals(ids, lines.stream().map(line -> ((Number) line.get("message_id")).longValue()).toList());
+        assertEquals("edited", lines.get(0).get("content"));
+        assertEquals(1, lines.get(0).get("version"));
+        assertEquals("export-member", lines.get(1).get("username"));
+        assertEquals("line 1\n한글", lines.get(1).get("content"));
+        assertEquals(25, lines.get(24).get("seq"));
+
+        ResponseEntity<byte[]> gzip = export(admin, "/api/admin/chatrooms/" + roomId + "/messages/export?gzip=true");
+        assertEquals(HttpStatus.OK, gzip.getStatusCode());
+        assertTrue(gzip.getHeaders().getContentDisposition().getFilename().endsWith(".ndjson.gz"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertEquals(new String(plain.getBody(), StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private List<Map<?, ?>> parse(String ndjson) throws IOException {
+        assertTrue(ndjson.endsWith("\n"));
+        List<Map<?, ?>> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(objectMapper.readValue(line, Map.class));
+        }
+        return lines;
+    }
+
+    private ResponseEntity<byte[]> export(String token, String url) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+}
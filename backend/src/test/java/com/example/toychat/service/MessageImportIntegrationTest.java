@@ -0,0 +1,142 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+
+import com.example.toychat.entity.Message;
+
+import com.example.toychat.repository.MessageRepository;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅방 기록 가져오기: 배치 단위로 커밋하고, 잘못된 줄에서 멈춘 뒤 같은 import_id로 이어서 가져올 수 있는지 확인
+ */
+public class MessageImportIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Test
+    void testImportResumesFromCommittedOffset() {
+        String admin = createUser("import-admin");
+        String owner = createUser("import-owner");
+        createUser("import-author");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("import", 5, false)).getBody().getChatroomId();
+        String url = "/api/admin/chatrooms/" + roomId + "/messages/import";
+
+        String good = line("import-author", "first") + line("import-owner", "second\n한글") + "\n" + line("import-author", "third")
+                + line("import-owner", "fifth") + line("import-author", "sixth");
+        String bad = good.replace(line("import-owner", "fifth"), line("nobody", "fifth"));
+
+        // 관리자가 아니면 가져올 수 없음
+        assertEquals(HttpStatus.FORBIDDEN, post(owner, url, bad.getBytes(StandardCharsets.UTF_8)).getStatusCode());
+
+        // 5번째 줄(빈 줄 포함)의 작성자가 없으면 그 앞까지 커밋하고 멈춤
+        ResponseEntity<Map> failed = post(admin, url, bad.getBytes(StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.BAD_REQUEST, failed.getStatusCode());
+        assertEquals("FAILED", failed.getBody().get("status"));
+        assertEquals(4, failed.getBody().get("committed_offset"));
+        assertEquals(3, failed.getBody().get("imported"));
+        assertTrue(((String) failed.getBody().get("error")).contains("Line 5"));
+        Number importId = (Number) failed.getBody().get("import_id");
+        assertEquals(List.of("first", "second\n한글", "third"), contents(roomId));
+
+        ResponseEntity<Map> progress = get(admin, url + "/" + importId);
+        assertEquals(HttpStatus.OK, progress.getStatusCode());
+        assertEquals(4, progress.getBody().get("committed_offset"));
+
+        // 고친 본문 전체를 다시 보내면 커밋된 줄은 건너뛰고 이어서 가져옴
+        ResponseEntity<Map> resumed = post(admin, url + "?import_id=" + importId, good.getBytes(StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.OK, resumed.getStatusCode());
+        assertEquals("COMPLETED", resumed.getBody().get("status"));
+        assertEquals(importId, resumed.getBody().get("import_id"));
+        assertEquals(6, resumed.getBody().get("committed_offset"));
+        assertEquals(5, resumed.getBody().get("imported"));
+        assertNull(resumed.getBody().get("error"));
+        assertEquals(List.of("first", "second\n한글", "third", "fifth", "sixth"), contents(roomId));
+    }
+
+    @Test
+    void testImportedMessagesContinueRoomSequence() {
+        String admin = createUser("import-admin2");
+        String owner = createUser("import-owner2");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("import2", 5, false)).getBody().getChatroomId();
+        String url = "/api/admin/chatrooms/" + roomId + "/messages/import";
+        messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("live before"));
+
+        String body = line("import-owner2", "a") + line("import-owner2", "b") + line("import-owner2", "c");
+        ResponseEntity<Map> response = post(admin, url + "?gzip=true", gzip(body));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("COMPLETED", response.getBody().get("status"));
+        assertEquals(3, response.getBody().get("imported"));
+
+        // 완료된 가져오기는 다시 실행할 수 없음
+        assertEquals(HttpStatus.CONFLICT, post(admin, url + "?import_id=" + response.getBody().get("import_id"), gzip(body)).getStatusCode());
+
+        long liveSeq = messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("live after")).getSeq();
+        assertEquals(5, liveSeq);
+        assertEquals(List.of("live before", "a", "b", "c", "live after"), contents(roomId));
+    }
+
+    private List<String> contents(long roomId) {
+        return messageRepository.findBySeqRange(roomId, 1L, 100L).stream().map(Message::getContent).toList();
+    }
+
+    private static String line(String username, String content) {
+        return "{\"message_id\":99,\"seq\":7,\"username\":\"" + username + "\",\"content\":\"" + content.replace("\n", "\\n")
+                + "\",\"created_at\":\"2020-01-02T03:04:05\",\"version\":3}\n";
+    }
+
+    private static byte[] gzip(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ResponseEntity<Map> post(String token, String url, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        return restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(body, headers), Map.class);
+    }
+
+    private ResponseEntity<Map> get(String token, String url) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.request.MessageUpdateRequestDTO;
+import com.example.toychat.dto.response.MessageSearchHitDTO;
+import com.example.toychat.dto.response.MessageSearchResponseDTO;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메시지 검색: 참여 중인 채팅방만 검색하고, 한국어 조사가 붙은 단어를 찾고, 전송/수정/재구축이 색인에 반영되는지 확인
+ */
+public class MessageSearchIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testSearchIsScopedRankedAndIncremental() {
+        String admin = createUser("search-admin");
+        String owner = createUser("search-owner");
+        String member = createUser("search-member");
+        String outsider = createUser("search-outsider");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("search", 5, false)).getBody().getChatroomId();
+        chatRoomService.joinChatRoom(member, new ChatRoomJoinRequestDTO(roomId));
+        long otherRoomId = chatRoomService.createChatRoom(outsider, new ChatRoomCreateRequestDTO("other", 5, false)).getBody().getChatroomId();
+
+        long meeting = send(owner, roomId, "오늘 채팅방에서 회의합니다");
+        long hello = send(member, roomId, "Hello, WORLD from toy-chat!");
+        long repeated = send(member, roomId, "채팅방 채팅방 채팅방 알림");
+        long tomorrow = send(owner, roomId, "내일 회의는 취소");
+        send(outsider, otherRoomId, "다른 채팅방에서 회의");
+
+        // 조사가 붙은 단어도 찾고, 참여하지 않은 채팅방은 검색하지 않음, 같은 단어가 많을수록 먼저
+        MessageSearchResponseDTO result = search(member, "채팅방", null, 0, 10);
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of(repeated, meeting), ids(result));
+        assertEquals(roomId, result.getResults().get(0).getChatroomId());
+
+        // 영문은 대소문자와 문장 부호를 무시
+        assertEquals(List.of(hello), ids(search(owner, "world hello", roomId, 0, 10)));
+
+        // 페이지
+        MessageSearchResponseDTO first = search(member, "회의", null, 0, 1);
+        MessageSearchResponseDTO second = search(member, "회의", null, 1, 1);
+        assertEquals(2, first.getTotal());
+        assertEquals(1, first.getResults().size());
+        assertEquals(1, second.getResults().size());
+        assertNotEquals(ids(first), ids(second));
+
+        // 수정하면 이전 내용으로는 찾을 수 없음
+        messageService.updateMessage(owner, roomId, tomorrow, new MessageUpdateRequestDTO("점심 약속"));
+        assertEquals(List.of(meeting), ids(search(member, "회의", null, 0, 10)));
+        assertEquals(List.of(tomorrow), ids(search(member, "약속", null, 0, 10)));
+
+        // 참여하지 않은 채팅방, 검색어가 없거나 페이지가 잘못된 요청
+        assertEquals(HttpStatus.FORBIDDEN, assertThrows(ResponseStatusException.class,
+                () -> search(member, "회의", otherRoomId, 0, 10)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+                () -> search(member, " !? ", null, 0, 10)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+                () -> search(member, "회의", null, 0, 500)).getStatusCode());
+
+        // 색인을 거치지 않고 저장된 메시지는 재구축 후에 검색됨
+        jdbcTemplate.update("INSERT INTO Message (chatroom_id, user_id, seq, content, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)",
+                roomId, userRepository.findByUsername("search-owner").orElseThrow().getId(), 100L, "재구축 전용 메시지", LocalDateTime.now(), LocalDateTime.now());
+        assertEquals(0, search(member, "재구축", null, 0, 10).getTotal());
+        assertEquals(HttpStatus.FORBIDDEN, reindex(member, roomId).getStatusCode());
+        assertEquals(HttpStatus.OK, reindex(admin, roomId).getStatusCode());
+        assertEquals(1, search(member, "재구축", null, 0, 10).getTotal());
+
+        // REST 엔드포인트
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(member);
+        ResponseEntity<MessageSearchResponseDTO> response = restTemplate.exchange("/api/messages/search?q={q}&size=5", HttpMethod.GET,
+                new HttpEntity<>(headers), MessageSearchResponseDTO.class, "약속");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("점심 약속", response.getBody().getResults().get(0).getContent());
+
+        // 색인 크기와 검색 시간 메트릭
+        assertTrue(meterRegistry.get("toychat.search.index.documents").gauge().value() >= 6);
+        assertTrue(meterRegistry.get("toychat.search.index.postings").gauge().value() > 0);
+        assertTrue(meterRegistry.get("toychat.search.query").timer().count() > 0);
+    }
+
+    @Test
+    void testCatchUpIndexesWritesFromOtherReplicas() {
+        String owner = createUser("search-catch-up-owner");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("catch-up", 5, false)).getBody().getChatroomId();
+
+        // 다른 레플리카가 저장한 메시지 (이 프로세스의 색인을 거치지 않음)
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO Message (chatroom_id, user_id, seq, content, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)",
+                roomId, userRepository.findByUsername("search-catch-up-owner").orElseThrow().getId(), 1L, "다른 레플리카의 펭귄", now, now);
+        long messageId = jdbcTemplate.queryForObject("SELECT id FROM Message WHERE chatroom_id = ?", Long.class, roomId);
+        assertEquals(0, search(owner, "펭귄", roomId, 0, 10).getTotal());
+
+        assertTrue(messageSearchService.catchUp() >= 1);
+        assertEquals(List.of(messageId), ids(search(owner, "펭귄", roomId, 0, 10)));
+
+        // 다른 레플리카에서 수정된 메시지도 새 버전으로 바뀌고, 겹쳐 읽은 같은 버전은 그대로
+        jdbcTemplate.update("UPDATE Message SET content = ?, version = 1, updated_at = ? WHERE id = ?", "다른 레플리카의 고양이", now.plusSeconds(1), messageId);
+        assertTrue(messageSearchService.catchUp() >= 1);
+        assertEquals(0, search(owner, "펭귄", roomId, 0, 10).getTotal());
+        assertEquals(List.of(messageId), ids(search(owner, "고양이", roomId, 0, 10)));
+        messageSearchService.catchUp();
+        assertEquals(List.of(messageId), ids(search(owner, "고양이", roomId, 0, 10)));
+    }
+
+    private long send(String token, long roomId, String content) {
+        return messageService.sendMessage(token, roomId, new MessageSendRequestDTO(content)).getMessageId();
+    }
+
+    private MessageSearchResponseDTO search(String token, String query, Long chatroomId, int page, int size) {
+        return messageSearchService.search(token, query, chatroomId, page, size).getBody();
+    }
+
+    private static List<Long> ids(MessageSearchResponseDTO result) {
+        return result.getResults().stream().map(MessageSearchHitDTO::getMessageId).toList();
+    }
+
+    private ResponseEntity<String> reindex(String token, long roomId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange("/api/admin/chatrooms/" + roomId + "/messages/reindex", HttpMethod.POST, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+import com.example.toychat.dto.request.MessageSendRequestDTO;
+import com.example.toychat.dto.request.MessageSyncRequestDTO;
+import com.example.toychat.dto.request.MessageUpdateRequestDTO;
+import com.example.toychat.dto.response.ChatRoomSnapshotResponseDTO;
+import com.example.toychat.dto.response.MessageResponseDTO;
+import com.example.toychat.dto.response.MessageSyncResponseDTO;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 재연결 동기화 API: 새 메시지와 수정 내역만 돌려주고, 크기 상한을 넘으면 커서로 이어서 받을 수 있는지 확인.
+ * 빠진 순번 구간만 다시 받는 조회와, 채팅방 스냅샷의 커서로 이어서 동기화하는 흐름도 함께 확인
+ */
+public class MessageSyncIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChatRoomSnapshotService chatRoomSnapshotService;
+
+    @Test
+    void testSyncReturnsOnlyNewMessagesAndEdits() {
+        String author = createUser("sync-author");
+        String reader = createUser("sync-reader");
+        long roomId = chatRoomService.createChatRoom(author, new ChatRoomCreateRequestDTO("sync", 5, false)).getBody().getChatroomId();
+        chatRoomService.joinChatRoom(reader, new ChatRoomJoinRequestDTO(roomId));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(messageService.sendMessage(author, roomId, new MessageSendRequestDTO("first-" + i)).getMessageId());
+        }
+
+        // 처음 동기화: 전체 메시지와 다음 커서
+        MessageSyncResponseDTO.RoomDelta initial = sync(reader, new MessageSyncRequestDTO.RoomCursor(roomId, null, null), null).getRooms().get(0);
+        assertEquals(ids, messageIds(initial.getMessages()));
+        assertEquals(ids.get(4), initial.getLastMessageId());
+        assertNotNull(initial.getSince());
+
+        // 연결이 끊긴 동안 수정 1건, 새 메시지 3건
+        messageService.updateMessage(author, roomId, ids.get(1), new MessageUpdateRequestDTO("first-1 (edited)"));
+        for (int i = 0; i < 3; i++) {
+            ids.add(messageService.sendMessage(author, roomId, new MessageSendRequestDTO("second-" + i)).getMessageId());
+        }
+
+        // 상한(2건)에 걸려 새 메시지 일부만 받음
+        MessageSyncResponseDTO partial = sync(reader, new MessageSyncRequestDTO.RoomCursor(roomId, initial.getLastMessageId(), initial.getSince()), 2);
+        MessageSyncResponseDTO.RoomDelta first = partial.getRooms().get(0);
+        assertTrue(partial.isHasMore());
+        assertEquals(ids.subList(5, 7), messageIds(first.getMessages()));
+        assertTrue(first.getEdited().isEmpty());
+        assertEquals(initial.getSince(), first.getSince(), "edits were not sent, so the edit cursor must not advance");
+
+        // 이어서 받으면 남은 새 메시지와 수정된 메시지
+        MessageSyncResponseDTO rest = sync(reader, new MessageSyncRequestDTO.RoomCursor(roomId, first.getLastMessageId(), first.getSince()), 2);
+        MessageSyncResponseDTO.RoomDelta second = rest.getRooms().get(0);
+        assertFalse(rest.isHasMore());
+        assertEquals(ids.subList(7, 8), messageIds(second.getMessages()));
+        assertEquals(List.of(ids.get(1)), messageIds(second.getEdited()));
+        assertEquals("first-1 (edited)", second.getEdited().get(0).getContent());
+
+        // 변경이 없으면 빈 변경분
+        MessageSyncResponseDTO.RoomDelta idle = sync(reader, new MessageSyncRequestDTO.RoomCursor(roomId, second.getLastMessageId(), second.getSince()), null).getRooms().get(0);
+        assertTrue(idle.getMessages().isEmpty());
+        assertTrue(idle.getEdited().isEmpty());
+        assertEquals(second.getLastMessageId(), idle.getLastMessageId());
+
+        // 순번은 1부터 빈틈 없이 발급되고, 빠진 구간만 다시 받을 수 있음
+        List<MessageResponseDTO> range = messageService.getMessagesBySeqRange(reader, roomId, 2L, 4L).getBody();
+        assertEquals(List.of(2L, 3L, 4L), range.stream().map(MessageResponseDTO::getSeq).toList());
+        assertEquals(ids.subList(1, 4), messageIds(range));
+    }
+
+    @Test
+    void testSyncRejectsRoomsOfOtherUsers() {
+        String owner = createUser("sync-owner");
+        String outsider = createUser("sync-outsider");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("private", 5, true)).getBody().getChatroomId();
+        messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("secret"));
+
+        MessageSyncResponseDTO.RoomDelta delta = sync(outsider, new MessageSyncRequestDTO.RoomCursor(roomId, null, null), null).getRooms().get(0);
+        assertNotNull(delta.getError());
+        assertNull(delta.getMessages());
+
+        List<MessageSyncRequestDTO.RoomCursor> tooMany = Collections.nCopies(4, new MessageSyncRequestDTO.RoomCursor(roomId, null, null));
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> messageService.syncMessages(owner, new MessageSyncRequestDTO(tooMany, null)));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void testSnapshotReturnsLatestPageAndSyncCursor() {
+        String owner = createUser("snapshot-owner");
+        String member = createUser("snapshot-member");
+        String outsider = createUser("snapshot-outsider");
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("snapshot", 5, true)).getBody().getChatroomId();
+        chatRoomService.joinChatRoom(member, new ChatRoomJoinRequestDTO(roomId));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("message-" + i)).getMessageId());
+        }
+
+        // 최신 페이지 (page-size=10)만 순번 순으로 돌려주고 이전 메시지가 있음을 알림
+        ChatRoomSnapshotResponseDTO snapshot = chatRoomSnapshotService.getSnapshot(member, roomId).getBody();
+        assertEquals("snapshot", snapshot.getTitle());
+        assertTrue(snapshot.isPrivate());
+        assertEquals(List.of("snapshot-owner", "snapshot-member"), snapshot.getMembers().stream().map(m -> m.getUsername()).toList());
+        assertEquals(ids.subList(2, 12), messageIds(snapshot.getMessages()));
+        assertEquals(LongStream.rangeClosed(3, 12).boxed().toList(), snapshot.getMessages().stream().map(MessageResponseDTO::getSeq).toList());
+        assertTrue(snapshot.isHasOlder());
+        assertEquals(ids.get(11), snapshot.getLastMessageId());
+
+        // 스냅샷 커서로 동기화하면 이후 변경분만 받음
+        long newId = messageService.sendMessage(owner, roomId, new MessageSendRequestDTO("after snapshot")).getMessageId();
+        messageService.updateMessage(owner, roomId, ids.get(3), new MessageUpdateRequestDTO("edited after snapshot"));
+        MessageSyncResponseDTO.RoomDelta delta = sync(member,
+                new MessageSyncRequestDTO.RoomCursor(roomId, snapshot.getLastMessageId(), snapshot.getSince()), null).getRooms().get(0);
+        assertEquals(List.of(newId), messageIds(delta.getMessages()));
+        assertEquals(List.of(ids.get(3)), messageIds(delta.getEdited()));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> chatRoomSnapshotService.getSnapshot(outsider, roomId));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+    }
+
+    private MessageSyncResponseDTO sync(String token, MessageSyncRequestDTO.RoomCursor cursor, Integer limit) {
+        return messageService.syncMessages(token, new MessageSyncRequestDTO(List.of(cursor), limit)).getBody();
+    }
+
+    private static List<Long> messageIds(List<MessageResponseDTO> messages) {
+        return messages.stream().map(MessageResponseDTO::getMessageId).toList();
+    }
+}
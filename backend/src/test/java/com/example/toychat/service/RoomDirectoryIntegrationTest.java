@@ -0,0 +1,100 @@
+package com.example.toychat.service;
+
+import com.example.toychat.dto.request.ChatRoomCreateRequestDTO;
+import com.example.toychat.dto.request.ChatRoomJoinRequestDTO;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * /topic/rooms: 공개 채팅방 생성/삭제가 전달되고, 연속된 인원 변경은 채팅방당 한 번으로 묶이는지 확인
+ */
+public class RoomDirectoryIntegrationTest extends IntegrationTestSupport {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDirectoryDeltasAreCoalesced() throws Exception {
+        String owner = createUser("directory-owner");
+        String[] members = {createUser("directory-a"), createUser("directory-b"), createUser("directory-c")};
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<List<Map<String, Object>>> frames = new LinkedBlockingQueue<>();
+        session.subscribe("/topic/rooms", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders stompHeaders) {
+                return List.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders stompHeaders, Object payload) {
+                frames.add((List<Map<String, Object>>) payload);
+            }
+        });
+        Thread.sleep(600); // SUBSCRIBE가 브로커에 등록되고, 앞선 테스트의 목록 변경 알림이 전송될 때까지 대기 (debounce 0.5초)
+        frames.clear();
+
+        // 비공개 채팅방은 목록에 없으므로 알리지 않음
+        chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("hidden", 5, true));
+        long roomId = chatRoomService.createChatRoom(owner, new ChatRoomCreateRequestDTO("directory", 5, false)).getBody().getChatroomId();
+        List<Map<String, Object>> created = frames.poll(10, TimeUnit.SECONDS);
+        assertNotNull(created);
+        assertEquals(1, created.size());
+        assertEquals("created", created.get(0).get("type"));
+        assertEquals((int) roomId, ((Number) created.get(0).get("chatroom_id")).intValue());
+        assertEquals("directory", created.get(0).get("title"));
+        assertEquals(1, created.get(0).get("current_members"));
+
+        // 세 명 참여 후 한 명 퇴장: 최종 인원 수만 한 번 전달
+        for (String member : members) {
+            chatRoomService.joinChatRoom(member, new ChatRoomJoinRequestDTO(roomId));
+        }
+        chatRoomService.leaveOrDeleteChatRoom(members[2], roomId);
+        List<Map<String, Object>> counts = frames.poll(10, TimeUnit.SECONDS);
+        assertNotNull(counts);
+        assertEquals(1, counts.size());
+        assertEquals("members", counts.get(0).get("type"));
+        assertEquals(3, counts.get(0).get("current_members"));
+        assertNull(frames.poll(1, TimeUnit.SECONDS));
+
+        // 삭제 직전의 인원 변경은 삭제 알림으로 대체됨
+        chatRoomService.leaveOrDeleteChatRoom(members[0], roomId);
+        chatRoomService.leaveOrDeleteChatRoom(members[1], roomId);
+        chatRoomService.leaveOrDeleteChatRoom(owner, roomId);
+        List<Map<String, Object>> deleted = frames.poll(10, TimeUnit.SECONDS);
+        assertNotNull(deleted);
+        assertEquals("deleted", deleted.get(0).get("type"));
+        assertEquals((int) roomId, ((Number) deleted.get(0).get("chatroom_id")).intValue());
+        assertNull(frames.poll(1, TimeUnit.SECONDS));
+        session.disconnect();
+    }
+}
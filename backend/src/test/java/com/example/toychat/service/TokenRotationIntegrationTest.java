@@ -0,0 +1,130 @@
+package com.example.toychat.service;
+
+import com.example.toychat.support.IntegrationTestSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 토큰 교체와 폐기: 재사용된 리프레시 토큰은 묶음 전체를 무효화하고, 로그아웃이나 전체 폐기 후에는 이전 액세스 토큰이 거절되는지 확인
+ */
+public class TokenRotationIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testReusedRefreshTokenRevokesFamily() {
+        createUser("token-reuse");
+        String first = tokenService.createRefreshToken("token-reuse");
+
+        ResponseEntity<?> rotated = tokenService.refresh(first);
+        assertEquals(HttpStatus.OK, rotated.getStatusCode());
+        String second = refreshToken(rotated);
+        assertNotEquals(first, second);
+
+        // 이미 교체에 사용된 토큰이 다시 들어오면 거절하고, 그 사이 발급된 토큰도 함께 무효화
+        assertEquals(HttpStatus.UNAUTHORIZED, tokenService.refresh(first).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, tokenService.refresh(second).getStatusCode());
+
+        // 다른 로그인의 토큰 묶음에는 영향 없음
+        String other = tokenService.createRefreshToken("token-reuse");
+        assertEquals(HttpStatus.OK, tokenService.refresh(other).getStatusCode());
+    }
+
+    @Test
+    void testConcurrentReuseRevokesSuccessor() throws Exception {
+        createUser("token-race");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 5; round++) {
+                String token = tokenService.createRefreshToken("token-race");
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return tokenService.refresh(token);
+                    }));
+                }
+                start.countDown();
+
+                List<String> issued = new ArrayList<>();
+                for (Future<ResponseEntity<?>> result : results) {
+                    ResponseEntity<?> response = result.get();
+                    if (response.getStatusCode() == HttpStatus.OK) {
+                        issued.add(refreshToken(response));
+                    } else {
+                        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+                    }
+                }
+                // 한 요청만 교체에 성공하고, 뒤따른 재사용이 그 결과로 발급된 토큰까지 무효화
+                assertEquals(1, issued.size());
+                assertEquals(HttpStatus.UNAUTHORIZED, tokenService.refresh(issued.get(0)).getStatusCode());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testLogoutRejectsAccessAndRefreshTokens() {
+        String accessToken = createUser("token-logout");
+        String refreshToken = tokenService.createRefreshToken("token-logout");
+        assertEquals(HttpStatus.OK, getChatRooms(accessToken));
+
+        assertEquals(HttpStatus.OK, tokenService.logout(accessToken, refreshToken).getStatusCode());
+
+        assertTrue(getChatRooms(accessToken).is4xxClientError());
+        assertEquals(HttpStatus.UNAUTHORIZED, tokenService.refresh(refreshToken).getStatusCode());
+    }
+
+    @Test
+    void testRevokeAllRejectsEveryIssuedToken() {
+        String accessToken = createUser("token-revoke-all");
+        String otherAccessToken = jwtUtil.generateToken("token-revoke-all");
+        String refreshToken = tokenService.createRefreshToken("token-revoke-all");
+        String otherRefreshToken = tokenService.createRefreshToken("token-revoke-all");
+        assertEquals(HttpStatus.OK, getChatRooms(accessToken));
+        assertEquals(HttpStatus.OK, getChatRooms(otherAccessToken));
+
+        tokenService.revokeAll("token-revoke-all");
+
+        assertTrue(getChatRooms(accessToken).is4xxClientError());
+        assertTrue(getChatRooms(otherAccessToken).is4xxClientError());
+        assertEquals(HttpStatus.UNAUTHORIZED, tokenService.refresh(refreshToken).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, tokenService.refresh(otherRefreshToken).getStatusCode());
+    }
+
+    private HttpStatusCode getChatRooms(String accessToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        return restTemplate.exchange("/api/chatrooms/lists", HttpMethod.GET, new HttpEntity<>(headers), String.class).getStatusCode();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String refreshToken(ResponseEntity<?> response) {
+        return (String) ((Map<String, Object>) response.getBody()).get("refresh_token");
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.toychat.support;
+
+import com.example.toychat.entity.User;
+
+import com.example.toychat.repository.UserRepository;
+
+import com.example.toychat.security.JwtUtil;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 통합 테스트 공통 설정.
+ * 설정이 같으면 Spring이 컨텍스트를 재사용하므로, 테스트별로 다른 값이 필요한 설정도 여기에 모아 하나의 컨텍스트(와 H2 DB)를 공유합니다.
+ * DB를 공유하므로 테스트는 고유한 사용자 이름을 쓰고, 자신이 만든 채팅방과 사용자만 확인해야 합니다.
+ * 트레이싱, 관측, 부하 테스트처럼 자동 설정이 달라야 하는 테스트는 이 클래스를 상속하지 않습니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:toychat-integration;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "toychat.admin.usernames=export-admin,import-admin,import-admin2,search-admin,erasure-admin,jfr-admin",
+        "toychat.search.rebuild-on-startup=false",
+        "toychat.search.catch-up-interval=PT1H", // 테스트에서 직접 호출
+        "toychat.sync.max-rooms=3",
+        "toychat.snapshot.page-size=10",
+        "toychat.directory.debounce=PT0.5S",
+        "toychat.export.clear-interval=7",
+        "toychat.import.batch-size=2",
+        "toychat.purge.chunk-size=10",
+        "toychat.purge.pause=PT0S",
+        "toychat.erasure.batch-size=10",
+        "toychat.erasure.pause=PT0S",
+        "toychat.archive.batch-size=10"
+})
+@ActiveProfiles("test")
+public abstract class IntegrationTestSupport {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected JwtUtil jwtUtil;
+
+    /**
+     * 테스트 사용자를 저장하고 JWT를 발급합니다.
+     *
+     * @param username 사용자 이름 (테스트 전체에서 고유해야 함)
+     * @return 발급한 JWT
+     */
+    protected String createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPasswordHash("unused");
+        userRepository.save(user);
+        return jwtUtil.generateToken(username);
+    }
+}
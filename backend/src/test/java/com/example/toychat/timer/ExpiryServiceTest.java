@@ -0,0 +1,85 @@
+package com.example.toychat.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 타이머 서비스: 지난 시각 예약과 반복 타이머 취소를 확인
+ */
+public class ExpiryServiceTest {
+
+    private ExpiryService expiryService;
+
+    @BeforeEach
+    void setUp() {
+        expiryService = new ExpiryService(5, 64, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        expiryService.shutdown();
+    }
+
+    @Test
+    void testScheduleAtPastTimeRunsImmediately() throws Exception {
+        CountDownLatch ran = new CountDownLatch(1);
+        Timeout timeout = expiryService.scheduleAt(ran::countDown, LocalDateTime.now().minusHours(1));
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    void testRepeatingTimerStopsWhenCancelledWhileRunning() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Timeout timeout = expiryService.scheduleWithFixedDelay(() -> {
+            runs.incrementAndGet();
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Duration.ofMillis(10));
+
+        // 실행 중에 취소하면 다음 실행을 예약하지 않음
+        assertTrue(running.await(1, TimeUnit.SECONDS));
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        release.countDown();
+
+        Thread.sleep(100); // 10회 분량의 주기 동안 다시 실행되지 않음
+        assertEquals(1, runs.get());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, expiryService.pendingTimers());
+    }
+
+    @Test
+    void testRepeatingTimerCancelledFromOtherThreadsNeverRunsAgain() throws Exception {
+        // 취소와 다음 실행 예약이 엇갈려도 취소 후에는 한 번도 더 실행되지 않음
+        for (int round = 0; round < 50; round++) {
+            AtomicInteger runs = new AtomicInteger();
+            Timeout timeout = expiryService.scheduleWithFixedDelay(runs::incrementAndGet, Duration.ofMillis(1));
+            Thread.sleep(round % 7);
+            timeout.cancel();
+            int afterCancel = runs.get();
+
+            Thread.sleep(30);
+            assertTrue(runs.get() <= afterCancel + 1, "ran " + (runs.get() - afterCancel) + " times after cancel"); // 취소 시점에 이미 실행 중이던 한 번만 허용
+            int settled = runs.get();
+            Thread.sleep(30);
+            assertEquals(settled, runs.get());
+        }
+        assertEquals(0, expiryService.pendingTimers());
+    }
+}
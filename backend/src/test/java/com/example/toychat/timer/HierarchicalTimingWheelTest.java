@@ -0,0 +1,155 @@
+package com.example.toychat.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 계층형 타이밍 휠: 만료 순서, 상위 휠에서 하위 휠로의 재배치, 취소, 지난 시각 예약을 확인
+ */
+public class HierarchicalTimingWheelTest {
+
+    @Test
+    void testTimersExpireInDeadlineOrderAcrossOverflowWheels() {
+        // 한 칸 1ms, 8칸: 8ms를 넘는 타이머는 상위 휠(64ms, 512ms, 4096ms)에 들어갔다가 내려옴
+        long start = System.nanoTime(); // 휠 생성 전 시각 기준이면 실행 시각이 예약 시각보다 이를 수 없음
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel("test", 1, 8, Runnable::run, false);
+        List<Long> delays = new ArrayList<>();
+        for (long delay = 0; delay <= 600; delay += 25) {
+            delays.add(delay);
+        }
+        Collections.shuffle(delays, new Random(42));
+
+        List<Long> fired = new ArrayList<>();
+        Map<Long, Long> firedAfterMs = new ConcurrentHashMap<>();
+        for (long delay : delays) {
+            wheel.schedule(() -> {
+                fired.add(delay);
+                firedAfterMs.put(delay, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(delays.size(), wheel.pendingTimers());
+
+        runUntil(wheel, () -> fired.size() == delays.size(), 5_000);
+
+        assertEquals(delays.stream().sorted().toList(), fired);
+        for (long delay : delays) {
+            assertTrue(firedAfterMs.get(delay) >= delay, "timer " + delay + "ms fired early at " + firedAfterMs.get(delay) + "ms");
+        }
+        assertEquals(0, wheel.pendingTimers());
+    }
+
+    @Test
+    void testOverflowTimerIsNotDispatchedEarly() {
+        long start = System.nanoTime();
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel("test", 1, 8, Runnable::run, false);
+        AtomicInteger runs = new AtomicInteger();
+        Timeout timeout = wheel.schedule(runs::incrementAndGet, 200, TimeUnit.MILLISECONDS);
+
+        // 두 단계 위 휠(512ms 범위)에 있다가 내려오는 동안 실행되지 않음
+        runUntil(wheel, () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150, 5_000);
+        assertEquals(0, runs.get());
+        assertFalse(timeout.isExpired());
+
+        runUntil(wheel, () -> runs.get() == 1, 5_000);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel()); // 이미 실행된 타이머는 취소되지 않음
+    }
+
+    @Test
+    void testCancelBeforeExpiry() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel("test", 1, 8, Runnable::run, false);
+        List<String> fired = new ArrayList<>();
+        Timeout beforeAdd = wheel.schedule(() -> fired.add("before-add"), 20, TimeUnit.MILLISECONDS);
+        Timeout inWheel = wheel.schedule(() -> fired.add("in-wheel"), 100, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> fired.add("kept"), 120, TimeUnit.MILLISECONDS);
+
+        // 휠에 반영되기 전에 취소
+        assertTrue(beforeAdd.cancel());
+        assertFalse(beforeAdd.cancel());
+        assertTrue(beforeAdd.isCancelled());
+        assertEquals(2, wheel.pendingTimers());
+
+        // 상위 휠 버킷에 들어간 뒤 취소
+        wheel.tick();
+        assertTrue(inWheel.cancel());
+        assertEquals(1, wheel.pendingTimers());
+
+        runUntil(wheel, () -> !fired.isEmpty(), 5_000);
+        assertEquals(List.of("kept"), fired);
+        assertFalse(beforeAdd.isExpired());
+        assertFalse(inWheel.isExpired());
+        assertEquals(0, wheel.pendingTimers());
+    }
+
+    @Test
+    void testCancelRacingExpiryRunsTaskAtMostOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel("test", 1, 8, executor);
+        try {
+            int count = 2_000;
+            AtomicInteger[] runs = new AtomicInteger[count];
+            Timeout[] timeouts = new Timeout[count];
+            for (int i = 0; i < count; i++) {
+                AtomicInteger run = runs[i] = new AtomicInteger();
+                timeouts[i] = wheel.schedule(run::incrementAndGet, i % 5, TimeUnit.MILLISECONDS);
+            }
+            // ticker가 만료시키는 동안 취소: 취소에 성공한 타이머만 실행되지 않음
+            boolean[] cancelled = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                cancelled[i] = timeouts[i].cancel();
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (wheel.pendingTimers() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            wheel.close(); // 만료 처리 중인 tick이 콜백을 넘길 때까지 대기
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < count; i++) {
+                assertEquals(cancelled[i] ? 0 : 1, runs[i].get(), "timer " + i);
+                assertEquals(cancelled[i], timeouts[i].isCancelled());
+                assertEquals(!cancelled[i], timeouts[i].isExpired());
+            }
+            assertEquals(0, wheel.pendingTimers());
+        } finally {
+            wheel.close();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPastDeadlineRunsOnNextTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel("test", 1, 8, Runnable::run, false);
+        AtomicInteger runs = new AtomicInteger();
+        wheel.schedule(runs::incrementAndGet, -100, TimeUnit.MILLISECONDS);
+        wheel.tick();
+        assertEquals(1, runs.get());
+    }
+
+    // ticker 없이 만든 휠을 조건이 맞을 때까지 진행
+    private static void runUntil(HierarchicalTimingWheel wheel, BooleanSupplier condition, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            wheel.tick();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.toychat.tracing;
+
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:toychat-tracing;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "management.tracing.sampling.probability=1.0",
+        "jdbc.includes=connection,query",
+        "toychat.tracing.exporter=memory"
+})
+@ActiveProfiles("test")
+@AutoConfigureObservability // 테스트에서도 트레이싱 사용
+public class StompTracingIntegrationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private static final String CLIENT_SPAN_ID = "00f067aa0ba902b7";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ConfiguredSpanExporter configuredSpanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTraceFollowsMessageFromSendToBroadcast() throws Exception {
+        restTemplate.postForEntity("/api/register",
+                Map.of("username", "trace-user", "password", "password", "email", "trace@example.com"), Map.class);
+        ResponseEntity<Map> login = restTemplate.postForEntity("/api/login",
+                Map.of("email", "trace@example.com", "password", "password"), Map.class);
+        assertEquals(HttpStatus.OK, login.getStatusCode());
+        String token = (String) login.getBody().get("token");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<Map> created = restTemplate.exchange("/api/chatrooms", HttpMethod.POST,
+                new HttpEntity<>(Map.of("title", "tracing", "max_members", 5, "is_private", false), headers), Map.class);
+        long chatroomId = ((Number) created.getBody().get("chatroom_id")).longValue();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<StompHeaders> received = new LinkedBlockingQueue<>();
+        session.subscribe("/topic/public/" + chatroomId, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders stompHeaders) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders stompHeaders, Object payload) {
+                received.add(stompHeaders);
+            }
+        });
+        Thread.sleep(200); // SUBSCRIBE가 브로커에 등록될 때까지 대기
+
+        // 클라이언트가 시작한 트레이스 (sampled)
+        StompHeaders sendHeaders = new StompHeaders();
+        sendHeaders.setDestination("/app/chat.sendMessage/" + chatroomId);
+        sendHeaders.set("Authorization", "Bearer " + token);
+        sendHeaders.set("traceparent", "00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-01");
+        session.send(sendHeaders, Map.of("content", "hello tracing"));
+
+        StompHeaders frame = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(frame);
+        assertTrue(frame.getFirst("traceparent").startsWith("00-" + TRACE_ID + "-"), "MESSAGE frame carries the trace context");
+
+        // 샘플링되지 않은 트레이스는 span을 내보내지 않음
+        String unsampledTraceId = "0af7651916cd43dd8448eb211c80319c";
+        sendHeaders.set("traceparent", "00-" + unsampledTraceId + "-b7ad6b7169203331-00");
+        session.send(sendHeaders, Map.of("content", "not sampled"));
+        assertNotNull(received.poll(10, TimeUnit.SECONDS));
+        session.disconnect();
+
+        Thread.sleep(200); // outbound 전송 span 종료 대기
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        List<SpanData> spans = configuredSpanExporter.getInMemoryExporter().getSpans(TRACE_ID);
+        SpanData receive = find(spans, "stomp.receive /app/chat.sendMessage/{id}");
+        assertEquals(CLIENT_SPAN_ID, receive.getParentSpanId());
+
+        SpanData send = find(spans, "message.send");
+        assertEquals(receive.getSpanId(), send.getParentSpanId());
+        assertEquals(String.valueOf(chatroomId), send.getAttributes().asMap().entrySet().stream()
+                .filter(e -> e.getKey().getKey().equals("chatroom.id")).findFirst().orElseThrow().getValue());
+        List<String> jdbcConnections = spans.stream()
+                .filter(span -> span.getName().equals("connection") && span.getParentSpanId().equals(send.getSpanId()))
+                .map(SpanData::getSpanId)
+                .toList();
+        assertTrue(spans.stream().anyMatch(span -> span.getName().equals("query") && jdbcConnections.contains(span.getParentSpanId())),
+                "JDBC query spans are under message.send: " + names(spans));
+
+        SpanData broadcast = find(spans, "stomp.broadcast /topic/public/{id}");
+        assertEquals(receive.getSpanId(), broadcast.getParentSpanId());
+
+        SpanData deliver = find(spans, "stomp.deliver /topic/public/{id}");
+        assertEquals(broadcast.getSpanId(), deliver.getParentSpanId());
+
+        assertTrue(configuredSpanExporter.getInMemoryExporter().getSpans(unsampledTraceId).isEmpty());
+    }
+
+    private static SpanData find(List<SpanData> spans, String name) {
+        Optional<SpanData> span = spans.stream().filter(s -> s.getName().equals(name)).findFirst();
+        return span.orElseThrow(() -> new AssertionError("No span " + name + " in " + names(spans)));
+    }
+
+    private static List<String> names(List<SpanData> spans) {
+        return spans.stream().map(SpanData::getName).toList();
+    }
+}
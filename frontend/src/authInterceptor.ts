@@ -0,0 +1,32 @@
+import axios from "axios";
+
+// 액세스 토큰이 만료되어 요청이 거절되면 리프레시 토큰으로 한 번 재발급받고 요청을 다시 보냄
+let refreshing: Promise<string> | null = null;
+
+const refreshAccessToken = async () => {
+  const response = await axios.post("/api/token/refresh", { refresh_token: localStorage.getItem("refresh_token") });
+  localStorage.setItem("token", response.data.token);
+  localStorage.setItem("refresh_token", response.data.refresh_token);
+  return response.data.token as string;
+};
+
+axios.interceptors.response.use(undefined, async (error) => {
+  const config = error.config;
+  const status = error.response?.status;
+  if (!config || config._retried || (status !== 401 && status !== 403) || config.url === "/api/token/refresh") {
+    return Promise.reject(error);
+  }
+  if (!localStorage.getItem("refresh_token")) {
+    return Promise.reject(error);
+  }
+
+  config._retried = true;
+  try {
+    refreshing = refreshing ?? refreshAccessToken().finally(() => (refreshing = null));
+    const token = await refreshing;
+    config.headers = { ...config.headers, Authorization: `Bearer ${token}` };
+    return axios(config);
+  } catch {
+    return Promise.reject(error);
+  }
+});
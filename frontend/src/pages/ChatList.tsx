@@ -7,6 +7,26 @@ import { BiListUl, BiCommentAdd, BiLogOut } from "react-icons/bi";
 import { MdOutlineChatBubbleOutline, MdExitToApp } from "react-icons/md";
 import { FcInvite } from "react-icons/fc";
 import { FaLock } from "react-icons/fa";
+import { Stomp } from "@stomp/stompjs";
+
+interface InboxEvent {
+  type: "message" | "member_joined" | "member_left" | "room_deleted" | "invite";
+  chatroom_id: number;
+  username?: string;
+  message_id?: number;
+  seq?: number;
+  preview?: string;
+  current_members?: number;
+}
+
+interface RoomDirectoryEvent {
+  type: "created" | "deleted" | "members";
+  chatroom_id: number;
+  creator_id?: number;
+  title?: string;
+  max_members?: number;
+  current_members?: number;
+}
 
 // 채팅방 목록
 const ChatList = () => {
@@ -17,11 +37,75 @@ const ChatList = () => {
   const [selectedTab, setSelectedTab] = useState<string>("all");
   const [isModalOpen, setIsModalOpen] = useState<boolean>(false);
   const [inviteCode, setInviteCode] = useState<string>("");
+  const [unread, setUnread] = useState<{ [key: number]: number }>({});
 
   useEffect(() => {
     fetchChatRooms();
+
+    // 참여한 모든 채팅방의 활동을 하나의 구독으로 받음 (목록을 다시 불러오지 않고 반영)
+    const stompClient = Stomp.client(`${window.location.protocol === "https:" ? "wss" : "ws"}://${window.location.host}/ws`);
+    stompClient.debug = () => {};
+    stompClient.reconnect_delay = 5000;
+    // 재연결할 때마다 최신 액세스 토큰으로 CONNECT (세션 사용자 식별)
+    stompClient.beforeConnect = () => {
+      stompClient.connectHeaders = { Authorization: `Bearer ${localStorage.getItem("token")}` };
+    };
+    stompClient.connect(
+      {},
+      () => {
+        stompClient.subscribe("/user/queue/inbox", (frame: any) => {
+          const event: InboxEvent = JSON.parse(frame.body);
+          if (event.type === "message") {
+            setUnread((prev) => ({ ...prev, [event.chatroom_id]: (prev[event.chatroom_id] || 0) + 1 }));
+          } else if (event.type === "room_deleted") {
+            const remove = (rooms: any[]) => rooms.filter((room) => room.chatroom_id !== event.chatroom_id);
+            setChatRooms(remove);
+            setMyChatRooms(remove);
+          } else if (event.current_members !== undefined) {
+            const update = (rooms: any[]) =>
+              rooms.map((room) => (room.chatroom_id === event.chatroom_id ? { ...room, current_members: event.current_members } : room));
+            setChatRooms(update);
+            setMyChatRooms(update);
+          }
+        });
+
+        // 공개 채팅방 목록 변경분 (생성, 삭제, 인원 수). 한 프레임에 여러 이벤트가 묶여 옴
+        stompClient.subscribe("/topic/rooms", (frame: any) => {
+          const events: RoomDirectoryEvent[] = JSON.parse(frame.body);
+          setChatRooms((prev) => events.reduce(applyDirectoryEvent, prev));
+        });
+      },
+      (error: string) => {
+        console.error("STOMP connection error:", error);
+      }
+    );
+
+    return () => {
+      stompClient.disconnect(() => {});
+    };
   }, []);
 
+  const applyDirectoryEvent = (rooms: any[], event: RoomDirectoryEvent) => {
+    if (event.type === "created") {
+      if (rooms.some((room) => room.chatroom_id === event.chatroom_id)) {
+        return rooms;
+      }
+      const room = {
+        chatroom_id: event.chatroom_id,
+        creator_id: event.creator_id,
+        title: event.title,
+        max_members: event.max_members,
+        is_private: false,
+        current_members: event.current_members,
+      };
+      return [...rooms, room];
+    }
+    if (event.type === "deleted") {
+      return rooms.filter((room) => room.chatroom_id !== event.chatroom_id);
+    }
+    return rooms.map((room) => (room.chatroom_id === event.chatroom_id ? { ...room, current_members: event.current_members } : room));
+  };
+
   const fetchChatRooms = async () => {
     const token = localStorage.getItem("token");
 
@@ -44,6 +128,24 @@ const ChatList = () => {
     }
   };
 
+  // 전체 채팅방 목록은 /topic/rooms로 갱신되므로 참여 후에는 내 채팅방만 다시 불러옴
+  const fetchMyChatRooms = async () => {
+    const token = localStorage.getItem("token");
+
+    try {
+      const myChatRoomsResponse = await axios.get("/api/chatrooms/lists", {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      setMyChatRooms(myChatRoomsResponse.data);
+    } catch (error: any) {
+      Swal.fire({
+        icon: "error",
+        title: "목록 불러오기 실패",
+        text: error.response?.data?.message || error.message,
+      });
+    }
+  };
+
   const handleJoinChatRoom = async (chatroom_id: number) => {
     const token = localStorage.getItem("token");
 
@@ -54,7 +156,7 @@ const ChatList = () => {
         title: "참여 성공",
         text: response.data.message,
       });
-      fetchChatRooms();
+      fetchMyChatRooms();
     } catch (error: any) {
       Swal.fire({
         icon: "error",
@@ -75,7 +177,7 @@ const ChatList = () => {
         text: response.data.message,
       });
       setIsModalOpen(false);
-      fetchChatRooms();
+      fetchMyChatRooms();
     } catch (error: any) {
       Swal.fire({
         icon: "error",
@@ -86,6 +188,7 @@ const ChatList = () => {
   };
 
   const handleChatRoomClick = (chatroom_id: number) => {
+    setUnread((prev) => ({ ...prev, [chatroom_id]: 0 }));
     const selectedChatRoom = myChatRooms.find((room) => room.chatroom_id === chatroom_id);
 
     if (selectedChatRoom) {
@@ -130,6 +233,7 @@ const ChatList = () => {
         text: response.data.message,
       });
       localStorage.removeItem("token");
+      localStorage.removeItem("refresh_token");
       navigate("/");
     } catch (error: any) {
       Swal.fire({
@@ -140,8 +244,19 @@ const ChatList = () => {
     }
   };
 
-  const handleLogout = () => {
+  const handleLogout = async () => {
+    const token = localStorage.getItem("token");
+    try {
+      await axios.post(
+        "/api/logout",
+        { refresh_token: localStorage.getItem("refresh_token") },
+        { headers: { Authorization: `Bearer ${token}` } }
+      );
+    } catch (error) {
+      // 토큰이 이미 만료된 경우에도 로컬 로그아웃은 진행
+    }
     localStorage.removeItem("token");
+    localStorage.removeItem("refresh_token");
     navigate("/");
   };
 
@@ -227,6 +342,7 @@ const ChatList = () => {
                       <span>
                         {chatRoom.is_private && <FaLock style={{ marginRight: "5px" }} />}
                         {chatRoom.title}
+                        {unread[chatRoom.chatroom_id] > 0 && <UnreadBadge>{unread[chatRoom.chatroom_id]}</UnreadBadge>}
                       </span>
                       <span>
                         인원수 : {chatRoom.current_members}/{chatRoom.max_members}
@@ -315,6 +431,15 @@ const ChatRoomInfo = styled.div`
   text-align: left;
 `;
 
+const UnreadBadge = styled.span`
+  margin-left: 8px;
+  padding: 2px 8px;
+  border-radius: 10px;
+  background-color: #e74c3c;
+  color: white;
+  font-size: 12px;
+`;
+
 const JoinButton = styled.button`
   padding: 10px;
   background-color: #007bff;
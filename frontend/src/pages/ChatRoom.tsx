@@ -14,6 +14,32 @@ interface MessageType {
   user_id: number;
   content: string;
   updated_at: string;
+  seq: number | null;
+  version: number;
+}
+
+// 채팅방 토픽으로 오는 메시지 수정 알림 (새 메시지에는 type이 없음)
+interface MessageEditEvent {
+  type: "edited";
+  message_id: number;
+  content: string;
+  updated_at: string;
+  version: number;
+}
+
+interface SyncRoomDelta {
+  chatroom_id: number;
+  messages?: MessageType[];
+  edited?: MessageType[];
+  last_message_id?: number;
+  since?: string;
+  has_more?: boolean;
+  error?: string;
+}
+
+interface SyncResponse {
+  rooms: SyncRoomDelta[];
+  has_more: boolean;
 }
 
 interface MemberType {
@@ -22,6 +48,34 @@ interface MemberType {
   joined_at: string;
 }
 
+interface SnapshotResponse {
+  chatroom_id: number;
+  title: string;
+  creator_id: number;
+  max_members: number;
+  is_private: boolean;
+  members: MemberType[];
+  messages: MessageType[];
+  has_older: boolean;
+  last_message_id: number | null;
+  since: string;
+}
+
+const OLDER_PAGE_SIZE = 50; // "이전 메시지" 한 번에 불러올 메시지 수
+const MAX_RANGE_SIZE = 500; // 순번 구간 조회 한 번에 받을 수 있는 최대 메시지 수 (서버 toychat.sync.max-messages)
+
+// 메시지 ID로 중복을 제거하고 (수정된 메시지는 버전이 같거나 클 때만 제자리에서 교체) 채팅방 순번 순으로 정렬
+const mergeMessages = (prev: MessageType[], incoming: MessageType[]): MessageType[] => {
+  const byId = new Map(prev.map((msg) => [msg.message_id, msg]));
+  incoming.forEach((msg) => {
+    const existing = byId.get(msg.message_id);
+    if (!existing || msg.version >= existing.version) {
+      byId.set(msg.message_id, msg);
+    }
+  });
+  return Array.from(byId.values()).sort((a, b) => (a.seq ?? 0) - (b.seq ?? 0));
+};
+
 // 채팅방
 const ChatRoom: React.FC = () => {
   const navigate = useNavigate();
@@ -39,6 +93,7 @@ const ChatRoom: React.FC = () => {
   const [messages, setMessages] = useState<MessageType[]>([]);
   const [content, setContent] = useState<string>("");
   const [members, setMembers] = useState<MemberType[]>([]);
+  const [hasOlder, setHasOlder] = useState<boolean>(false);
 
   const [editingContent, setEditingContent] = useState<string>("");
   const [editingMessageId, setEditingMessageId] = useState<number | null>(null);
@@ -48,22 +103,95 @@ const ChatRoom: React.FC = () => {
 
   const messageEndRef = useRef<HTMLDivElement>(null);
 
+  // 마지막으로 받은 메시지 ID와 수정 내역 기준 시각 (재연결 시 놓친 변경분만 받기 위한 커서)
+  const syncCursorRef = useRef<{ last_message_id: number | null; since: string | null }>({
+    last_message_id: null,
+    since: null,
+  });
+
+  // 지금까지 받은 가장 큰 채팅방 순번 (실시간 메시지의 순번이 건너뛰면 빠진 구간만 다시 조회)
+  const lastSeqRef = useRef<number>(0);
+
+  const trackSeq = (received: MessageType[]) => {
+    received.forEach((msg) => {
+      if (msg.seq !== null && msg.seq > lastSeqRef.current) {
+        lastSeqRef.current = msg.seq;
+      }
+    });
+  };
+
+  // 빠진 순번 구간의 메시지를 받아 목록에 반영
+  const fetchMissing = async (fromSeq: number, toSeq: number) => {
+    const token = localStorage.getItem("token");
+    for (let from = fromSeq; from <= toSeq; from += MAX_RANGE_SIZE) {
+      const response = await axios.get<MessageType[]>(`/api/messages/${roomId}/range`, {
+        params: { from_seq: from, to_seq: Math.min(toSeq, from + MAX_RANGE_SIZE - 1) },
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      setMessages((prev) => mergeMessages(prev, response.data));
+    }
+  };
+
+  // 커서 이후의 새 메시지와 수정된 메시지를 받아 목록에 반영 (has_more면 이어서 요청)
+  const syncMessages = async () => {
+    const token = localStorage.getItem("token");
+    let hasMore = true;
+    while (hasMore) {
+      const response = await axios.post<SyncResponse>(
+        "/api/messages/sync",
+        { rooms: [{ chatroom_id: Number(roomId), ...syncCursorRef.current }] },
+        { headers: { Authorization: `Bearer ${token}` } }
+      );
+      const delta = response.data.rooms[0];
+      if (delta.error) {
+        throw new Error(delta.error);
+      }
+      const received = [...(delta.edited || []), ...(delta.messages || [])];
+      setMessages((prev) => mergeMessages(prev, received));
+      trackSeq(received);
+      syncCursorRef.current = { last_message_id: delta.last_message_id ?? null, since: delta.since ?? null };
+      hasMore = response.data.has_more;
+    }
+  };
+
+  // 지금 보이는 가장 오래된 메시지 이전의 한 페이지를 순번 구간 조회로 받음
+  const loadOlderMessages = async () => {
+    const firstSeq = messages.length > 0 ? messages[0].seq : null;
+    if (firstSeq === null || firstSeq <= 1) {
+      setHasOlder(false);
+      return;
+    }
+    try {
+      const fromSeq = Math.max(1, firstSeq - OLDER_PAGE_SIZE);
+      await fetchMissing(fromSeq, firstSeq - 1);
+      setHasOlder(fromSeq > 1);
+    } catch (error: any) {
+      console.error("Older message fetch failed:", error);
+    }
+  };
+
   useEffect(() => {
-    const fetchMessagesAndMembers = async () => {
+    syncCursorRef.current = { last_message_id: null, since: null };
+    lastSeqRef.current = 0;
+    setMessages([]);
+    setHasOlder(false);
+
+    // 채팅방 정보, 멤버 목록, 최신 메시지 한 페이지를 한 번에 받고, 이후 동기화 커서를 설정
+    const fetchSnapshot = async () => {
       const token = localStorage.getItem("token");
 
       setLoading(true);
 
       try {
-        const messagesResponse = await axios.get<MessageType[]>(`/api/messages/${roomId}`, {
+        const response = await axios.get<SnapshotResponse>(`/api/chatrooms/${roomId}/snapshot`, {
           headers: { Authorization: `Bearer ${token}` },
         });
-        setMessages(messagesResponse.data);
-
-        const membersResponse = await axios.get<MemberType[]>(`/api/chatrooms/${roomId}/members`, {
-          headers: { Authorization: `Bearer ${token}` },
-        });
-        setMembers(membersResponse.data);
+        const snapshot = response.data;
+        setMessages((prev) => mergeMessages(prev, snapshot.messages));
+        trackSeq(snapshot.messages);
+        setMembers(snapshot.members);
+        setHasOlder(snapshot.has_older);
+        syncCursorRef.current = { last_message_id: snapshot.last_message_id, since: snapshot.since };
       } catch (error: any) {
         Swal.fire({
           icon: "error",
@@ -76,19 +204,46 @@ const ChatRoom: React.FC = () => {
       }
     };
 
-    fetchMessagesAndMembers();
+    fetchSnapshot();
 
-    const stompClient = Stomp.client("ws://localhost:8080/ws");
+    const stompClient = Stomp.client(`${window.location.protocol === "https:" ? "wss" : "ws"}://${window.location.host}/ws`);
 
     stompClient.debug = () => {};
+    stompClient.reconnect_delay = 5000;
 
+    let everConnected = false;
+    // 재연결할 때마다 최신 액세스 토큰으로 CONNECT (세션 사용자 식별)
+    stompClient.beforeConnect = () => {
+      stompClient.connectHeaders = { Authorization: `Bearer ${localStorage.getItem("token")}` };
+    };
     stompClient.connect(
       {},
       () => {
         setConnected(true);
 
+        // 재연결이면 끊긴 동안 놓친 메시지만 받아옴
+        if (everConnected) {
+          syncMessages().catch((error) => console.error("Message sync failed:", error));
+        }
+        everConnected = true;
+
         stompClient.subscribe(`/topic/public/${roomId}`, (message: any) => {
-          const { username, content, message_id, user_id, updated_at } = JSON.parse(message.body);
+          const body = JSON.parse(message.body);
+
+          // 수정 알림은 가진 메시지보다 버전이 클 때만 제자리에서 반영 (늦게 도착한 이전 수정은 무시)
+          if (body.type === "edited") {
+            const edit: MessageEditEvent = body;
+            setMessages((prev) =>
+              prev.map((msg) =>
+                msg.message_id === edit.message_id && edit.version > msg.version
+                  ? { ...msg, content: edit.content, updated_at: edit.updated_at, version: edit.version }
+                  : msg
+              )
+            );
+            return;
+          }
+
+          const { username, content, message_id, user_id, updated_at, seq, version } = body;
 
           const newMessage: MessageType = {
             username: username,
@@ -96,9 +251,21 @@ const ChatRoom: React.FC = () => {
             message_id: message_id,
             user_id: user_id,
             updated_at: updated_at,
+            seq: seq ?? null,
+            version: version ?? 0,
           };
 
-          setMessages((prev) => [...prev, newMessage]);
+          // 순번이 건너뛰었으면 그 사이 메시지를 놓친 것이므로 해당 구간만 조회
+          const lastSeq = lastSeqRef.current;
+          if (newMessage.seq !== null && lastSeq > 0 && newMessage.seq > lastSeq + 1) {
+            fetchMissing(lastSeq + 1, newMessage.seq - 1).catch((error) => console.error("Missing message fetch failed:", error));
+          }
+          trackSeq([newMessage]);
+
+          setMessages((prev) => mergeMessages(prev, [newMessage]));
+          if (message_id > (syncCursorRef.current.last_message_id ?? 0)) {
+            syncCursorRef.current = { ...syncCursorRef.current, last_message_id: message_id };
+          }
         });
       },
       (error: string) => {
@@ -142,10 +309,12 @@ const ChatRoom: React.FC = () => {
   const handleUpdateMessage = async () => {
     const token = localStorage.getItem("token");
     if (editingMessageId !== null && editingContent !== "") {
+      // 수정을 시작한 버전을 함께 보내 그사이 다른 수정이 있었으면 409로 거절되게 함
+      const version = messages.find((msg) => msg.message_id === editingMessageId)?.version;
       try {
         const response = await axios.put<{ message: string }>(
           `/api/messages/${roomId}/${editingMessageId}`,
-          { content: editingContent },
+          { content: editingContent, version },
           {
             headers: { Authorization: `Bearer ${token}` },
           }
@@ -155,11 +324,7 @@ const ChatRoom: React.FC = () => {
           title: "수정 성공",
           text: response.data.message,
         });
-        setMessages(
-          messages.map((msg) =>
-            msg.message_id === editingMessageId ? { ...msg, content: editingContent, updated_at: new Date().toISOString() } : msg
-          )
-        );
+        // 목록은 채팅방 토픽의 수정 알림으로 갱신됨
         setEditingMessageId(null);
         setEditingContent("");
       } catch (error: any) {
@@ -268,6 +433,7 @@ const ChatRoom: React.FC = () => {
       </Header>
 
       <MessageContainer>
+        {hasOlder && !loading && <OlderButton onClick={loadOlderMessages}>이전 메시지 보기</OlderButton>}
         {loading && connected ? (
           <LoadingText>로딩 중...</LoadingText>
         ) : messages.length > 0 ? (
@@ -424,6 +590,15 @@ const MessageContainer = styled.div`
   gap: 0.5rem;
 `;
 
+const OlderButton = styled.button`
+  align-self: center;
+  background: none;
+  border: none;
+  color: #007bff;
+  cursor: pointer;
+  font-size: 0.9rem;
+`;
+
 const LoadingText = styled.div`
   text-align: center;
   font-size: 1.2rem;
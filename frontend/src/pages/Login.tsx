@@ -20,6 +20,7 @@ const Login = () => {
         text: response.data.message,
       });
       localStorage.setItem("token", response.data.token);
+      localStorage.setItem("refresh_token", response.data.refresh_token);
       localStorage.setItem("user_id", response.data.user_id);
       navigate("/chatList");
     } catch (error: any) {